@@ -0,0 +1,129 @@
+package com.modulythe.framework.application.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, thread-safe cache whose entries expire after a fixed time-to-live.
+ * <p>
+ * When the cache is full, the least recently used entry is evicted. Expired entries are dropped lazily,
+ * when they are read. Access is serialized on the cache instance, which keeps it suited to small values
+ * (counts, pages of identifiers) whose computation dominates the cost of a lookup.
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of entries, must be positive.
+     * @param ttl        the time-to-live of an entry, must be positive.
+     */
+    public ExpiringLruCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    ExpiringLruCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        }
+        Objects.requireNonNull(ttl, "Cache TTL cannot be null");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the value of a key, if present and not expired.
+     *
+     * @param key the key.
+     * @return the value, or null if absent or expired.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Stores the value of a key, replacing any previous value and restarting its time-to-live.
+     *
+     * @param key   the key.
+     * @param value the value, must not be null.
+     */
+    public synchronized void put(K key, V value) {
+        Objects.requireNonNull(value, "Cached value cannot be null");
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * Removes the value of a key.
+     *
+     * @param key the key.
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes the values of every key matching a predicate.
+     *
+     * @param predicate the predicate selecting the keys to remove.
+     * @return the number of removed entries.
+     */
+    public synchronized int invalidateIf(Predicate<? super K> predicate) {
+        int removed = 0;
+        for (Iterator<K> iterator = entries.keySet().iterator(); iterator.hasNext(); ) {
+            if (predicate.test(iterator.next())) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of entries, expired entries not yet dropped included.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
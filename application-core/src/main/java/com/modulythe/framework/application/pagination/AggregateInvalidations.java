@@ -0,0 +1,77 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.application.cache.ExpiringLruCache;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalidation state of a cache of paginated query results ({@link PageCountResolver}, {@link PageResultCache}):
+ * the aggregate type affected by each registered domain event, and a generation per aggregate type, incremented
+ * by each invalidation.
+ * <p>
+ * A result loaded while its aggregate type is invalidated may already be stale: callers read the generation
+ * before loading, and {@link #store(ExpiringLruCache, Class, long, Object, Object) store} the result only if no
+ * invalidation happened meanwhile.
+ * </p>
+ */
+final class AggregateInvalidations {
+
+    private final Map<Class<?>, Class<?>> aggregateTypeByEvent = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    void registerEvent(Class<? extends BaseDomainEvent<?>> eventType, Class<?> aggregateType) {
+        aggregateTypeByEvent.put(
+                Objects.requireNonNull(eventType, "Event type cannot be null"),
+                Objects.requireNonNull(aggregateType, "Aggregate type cannot be null"));
+    }
+
+    /**
+     * @param event a published domain event.
+     * @return the aggregate type registered for the event, or null if none.
+     */
+    Class<?> aggregateTypeOf(BaseDomainEvent<?> event) {
+        return aggregateTypeByEvent.get(event.getClass());
+    }
+
+    /**
+     * @param aggregateType the aggregate type.
+     * @return the number of invalidations of the aggregate type so far.
+     */
+    long generation(Class<?> aggregateType) {
+        AtomicLong generation = generations.get(aggregateType);
+        return generation != null ? generation.get() : 0;
+    }
+
+    /**
+     * Starts the invalidation of an aggregate type, to be called before its cached results are removed.
+     *
+     * @param aggregateType the aggregate type.
+     */
+    void invalidate(Class<?> aggregateType) {
+        generations.computeIfAbsent(aggregateType, type -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Caches a loaded result, unless its aggregate type was invalidated since the generation was read.
+     *
+     * @param cache         the cache.
+     * @param aggregateType the aggregate type of the result.
+     * @param generation    the generation read before loading the result.
+     * @param key           the key of the result.
+     * @param value         the result.
+     */
+    <K, V> void store(ExpiringLruCache<K, V> cache, Class<?> aggregateType, long generation, K key, V value) {
+        if (generation(aggregateType) != generation) {
+            return;
+        }
+        cache.put(key, value);
+        // An invalidation may have started between the check and the put, and missed the entry
+        if (generation(aggregateType) != generation) {
+            cache.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterBoolean;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Column of boolean values stored as two bitmaps, answering boolean filters without scanning the rows.
+ */
+final class BooleanIndexColumn extends IndexColumn {
+
+    private final BitSet trueRows;
+    private final BitSet falseRows;
+
+    BooleanIndexColumn(PropertyAccessor accessor, List<?> rows) {
+        super(rows.size());
+        this.trueRows = new BitSet(size);
+        this.falseRows = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            Object value = accessor.get(rows.get(row));
+            if (value == null) {
+                nulls.set(row);
+            } else if ((Boolean) value) {
+                trueRows.set(row);
+            } else {
+                falseRows.set(row);
+            }
+        }
+        sortNonNullRows((a, b) -> Boolean.compare(trueRows.get(a), trueRows.get(b)));
+    }
+
+    @Override
+    BitSet match(Filter leaf) {
+        if (leaf.getType() != Filter.FilterType.BOOLEAN) {
+            return null;
+        }
+        return (BitSet) (((FilterBoolean) leaf).getValue() ? trueRows : falseRows).clone();
+    }
+}
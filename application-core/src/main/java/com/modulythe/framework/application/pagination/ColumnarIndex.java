@@ -0,0 +1,347 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterComposite;
+import com.modulythe.framework.domain.common.pagination.FilterSimplifier;
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable indexed snapshot of a large in-memory collection, e.g. a reference table of millions of rows, answering
+ * domain {@link Filter}s and {@link PageableModel}s without scanning every object.
+ * <p>
+ * Each indexed property is stored as a column specialized for its type: {@code long[]} for integers and dates,
+ * {@code double[]} for decimals, dictionary-encoded codes for strings and enums, bitmaps for booleans. Every column
+ * keeps its rows sorted by value, so number, range and date filters are answered by binary searches, list and boolean
+ * filters by bitmaps, and string filters by a scan of the distinct values only. The rows matching a list of filters
+ * are then the intersection of the bitmaps of each filter; AND/OR/NOT composites combine them the same way.
+ * </p>
+ * <p>
+ * Filters on non-indexed properties, and filter types a column cannot answer, are evaluated row by row with the
+ * {@link InMemoryFilterEvaluator}, whose semantics the index follows exactly: a row with a null property matches
+ * neither a filter nor its negation, and nulls sort last in ascending order.
+ * </p>
+ * <p>
+ * The index is built once from a snapshot of the collection and never changes: rebuild it to reflect updates.
+ * It is safe to query from several threads.
+ * </p>
+ *
+ * @param <T> the type of the indexed objects
+ */
+public final class ColumnarIndex<T> {
+
+    private final Class<T> type;
+    private final List<T> rows;
+    private final Map<String, IndexColumn> columns;
+
+    private ColumnarIndex(Class<T> type, List<T> rows, Map<String, IndexColumn> columns) {
+        this.type = type;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    public static <T> Builder<T> builder(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private final Set<String> properties = new LinkedHashSet<>();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Adds properties to index.
+         *
+         * @param properties the property names, or dot-separated paths of property names.
+         * @return this builder.
+         */
+        public Builder<T> index(String... properties) {
+            this.properties.addAll(Arrays.asList(properties));
+            return this;
+        }
+
+        /**
+         * Builds the index of a snapshot of a collection.
+         *
+         * @param items the collection, copied; later changes to it are not reflected by the index.
+         * @return the index.
+         * @throws IllegalArgumentException if a property does not exist, or its type cannot be indexed.
+         */
+        public ColumnarIndex<T> build(Collection<? extends T> items) {
+            List<T> rows = List.copyOf(items);
+            Map<String, IndexColumn> columns = new LinkedHashMap<>();
+            for (String property : properties) {
+                columns.put(property, IndexColumn.of(PropertyAccessor.of(type, property), rows));
+            }
+            return new ColumnarIndex<>(type, rows, Map.copyOf(columns));
+        }
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public Set<String> getIndexedProperties() {
+        return columns.keySet();
+    }
+
+    /**
+     * Selects the rows matching filters.
+     *
+     * @param filters the filters, combined with AND logic; null or empty to match everything.
+     * @return the positions of the matching rows in the indexed snapshot.
+     * @throws IllegalArgumentException if a filter property does not exist.
+     */
+    public BitSet select(List<Filter> filters) {
+        return evaluate(FilterSimplifier.simplify(filters)).trueRows();
+    }
+
+    /**
+     * @return the number of rows matching the filters.
+     */
+    public long count(List<Filter> filters) {
+        return select(filters).cardinality();
+    }
+
+    /**
+     * Filters and sorts the rows.
+     *
+     * @param filters the filters, combined with AND logic; null or empty to match everything.
+     * @param sort    the sort; null or empty to keep the order of the snapshot.
+     * @return the matching rows, sorted.
+     */
+    public List<T> filter(List<Filter> filters, SortModel sort) {
+        BitSet selected = select(filters);
+        return toRows(order(selected, sort, selected.cardinality()), 0);
+    }
+
+    /**
+     * Filters and sorts the rows, then extracts the requested page. Only the rows up to the end of the page are
+     * ordered.
+     *
+     * @param filters  the filters, combined with AND logic; null or empty to match everything.
+     * @param pageable the pagination request, in paged or slice mode, with its sort.
+     * @return the page, with the number of matching rows as total for a paged request.
+     * @throws IllegalArgumentException if the request is a keyset one, or the page is out of bounds.
+     */
+    public PageModel<T> page(List<Filter> filters, PageableModel pageable) {
+        if (pageable.isKeyset()) {
+            throw new IllegalArgumentException("Keyset pagination is not supported on in-memory collections");
+        }
+        BitSet selected = select(filters);
+        int matching = selected.cardinality();
+        int size = pageable.getItemsPerPage();
+        int from = (int) Math.min((long) pageable.getPageNumber() * size, matching);
+        int to = (int) Math.min((long) from + size + (pageable.isSlice() ? 1 : 0), matching);
+        List<T> items = toRows(order(selected, pageable.getSort(), to), from);
+
+        if (pageable.isSlice()) {
+            return PageModel.ofSlice(items, pageable);
+        }
+        return PageModel.builder(items)
+                .itemsPerPage(size)
+                .pageNumber(pageable.getPageNumber())
+                .totalItems(matching)
+                .build();
+    }
+
+    private List<T> toRows(int[] positions, int from) {
+        List<T> result = new ArrayList<>(positions.length - from);
+        for (int i = from; i < positions.length; i++) {
+            result.add(rows.get(positions[i]));
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Evaluates a simplified filter into the rows where it is true and the rows where it is false; the others, where
+     * it is unknown because of a null property, belong to neither.
+     */
+    private Match evaluate(Filter filter) {
+        if (filter instanceof FilterComposite composite) {
+            return switch (composite.getType()) {
+                case NOT -> evaluate(composite.getOperand()).negate();
+                case OR -> {
+                    Match result = new Match(new BitSet(rows.size()), all());
+                    for (Filter operand : composite.getFilters()) {
+                        result = result.or(evaluate(operand));
+                    }
+                    yield result;
+                }
+                default -> {
+                    Match result = new Match(all(), new BitSet(rows.size()));
+                    for (Filter operand : composite.getFilters()) {
+                        result = result.and(evaluate(operand));
+                    }
+                    yield result;
+                }
+            };
+        }
+        IndexColumn column = columns.get(filter.getName());
+        BitSet trueRows = column != null ? column.match(filter) : null;
+        if (trueRows == null) {
+            return scan(filter);
+        }
+        BitSet falseRows = column.nonNull();
+        falseRows.andNot(trueRows);
+        return new Match(trueRows, falseRows);
+    }
+
+    /**
+     * Evaluates a leaf filter row by row, for properties without a column able to answer it.
+     */
+    private Match scan(Filter leaf) {
+        InMemoryFilterEvaluator<T> positive = InMemoryFilterEvaluator.compile(type, List.of(leaf), null);
+        InMemoryFilterEvaluator<T> negative = InMemoryFilterEvaluator.compile(type, List.of(FilterComposite.not(leaf)), null);
+        BitSet trueRows = new BitSet(rows.size());
+        BitSet falseRows = new BitSet(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            T item = rows.get(row);
+            if (positive.test(item)) {
+                trueRows.set(row);
+            } else if (negative.test(item)) {
+                falseRows.set(row);
+            }
+        }
+        return new Match(trueRows, falseRows);
+    }
+
+    private BitSet all() {
+        BitSet result = new BitSet(rows.size());
+        result.set(0, rows.size());
+        return result;
+    }
+
+    /**
+     * Orders the selected rows and returns the first ones.
+     *
+     * @param limit the number of rows to return, at most the number of selected rows.
+     */
+    private int[] order(BitSet selected, SortModel sort, int limit) {
+        if (sort == null || sort.isEmpty()) {
+            return selected.stream().limit(limit).toArray();
+        }
+        if (sort.getOrders().size() == 1) {
+            SortModel.Order order = sort.getOrders().get(0);
+            IndexColumn column = columns.get(order.getProperty());
+            if (column != null) {
+                return walk(column, order.getDirection().isAscending(), selected, limit);
+            }
+        }
+        int[] positions = selected.stream().toArray();
+        IndexColumn.sortRows(positions, rowComparator(sort));
+        return limit == positions.length ? positions : Arrays.copyOf(positions, limit);
+    }
+
+    /**
+     * Reads the selected rows in the order of a column, stopping at the limit. In descending order, rows with equal
+     * values keep the order of the snapshot, as with a stable sort.
+     */
+    private static int[] walk(IndexColumn column, boolean ascending, BitSet selected, int limit) {
+        int[] result = new int[limit];
+        int count = 0;
+        int[] sorted = column.sortedRows();
+        if (!ascending) {
+            count = appendNulls(column, selected, result, count);
+            int end = sorted.length - 1;
+            while (end >= 0 && count < limit) {
+                int start = end;
+                while (start > 0 && column.rank(sorted[start - 1]) == column.rank(sorted[end])) {
+                    start--;
+                }
+                for (int i = start; i <= end && count < limit; i++) {
+                    if (selected.get(sorted[i])) {
+                        result[count++] = sorted[i];
+                    }
+                }
+                end = start - 1;
+            }
+            return result;
+        }
+        for (int i = 0; i < sorted.length && count < limit; i++) {
+            if (selected.get(sorted[i])) {
+                result[count++] = sorted[i];
+            }
+        }
+        appendNulls(column, selected, result, count);
+        return result;
+    }
+
+    private static int appendNulls(IndexColumn column, BitSet selected, int[] result, int count) {
+        for (int row = selected.nextSetBit(0); row >= 0 && count < result.length; row = selected.nextSetBit(row + 1)) {
+            if (column.rank(row) == IndexColumn.NULL_RANK) {
+                result[count++] = row;
+            }
+        }
+        return count;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private IndexColumn.RowComparator rowComparator(SortModel sort) {
+        List<IndexColumn.RowComparator> comparators = new ArrayList<>();
+        for (SortModel.Order order : sort.getOrders()) {
+            IndexColumn column = columns.get(order.getProperty());
+            IndexColumn.RowComparator byProperty;
+            if (column != null) {
+                byProperty = (a, b) -> Integer.compare(column.rank(a), column.rank(b));
+            } else {
+                PropertyAccessor accessor = PropertyAccessor.of(type, order.getProperty());
+                // Nulls are greater than any value, as in PostgreSQL
+                Comparator<Object> values = Comparator.nullsLast((a, b) -> ((Comparable) a).compareTo(b));
+                byProperty = (a, b) -> values.compare(accessor.get(rows.get(a)), accessor.get(rows.get(b)));
+            }
+            if (order.getDirection().isAscending()) {
+                comparators.add(byProperty);
+            } else {
+                comparators.add((a, b) -> byProperty.compare(b, a));
+            }
+        }
+        return (a, b) -> {
+            for (IndexColumn.RowComparator comparator : comparators) {
+                int result = comparator.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Rows where a filter is true, and rows where it is false, following the three-valued logic of SQL.
+     */
+    private record Match(BitSet trueRows, BitSet falseRows) {
+
+        Match negate() {
+            return new Match(falseRows, trueRows);
+        }
+
+        Match and(Match other) {
+            trueRows.and(other.trueRows);
+            falseRows.or(other.falseRows);
+            return this;
+        }
+
+        Match or(Match other) {
+            trueRows.or(other.trueRows);
+            falseRows.and(other.falseRows);
+            return this;
+        }
+    }
+}
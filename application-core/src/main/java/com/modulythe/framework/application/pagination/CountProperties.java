@@ -0,0 +1,79 @@
+package com.modulythe.framework.application.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the total counts of paginated queries.
+ * <p>
+ * Maps properties prefixed with "modulythe.pagination.count".
+ * Controls the caching of counts and their estimation from database statistics on large result sets.
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "modulythe.pagination.count")
+public class CountProperties {
+
+    /**
+     * Whether counts are cached per aggregate type and filter signature.
+     */
+    private boolean cacheEnabled = true;
+    /**
+     * Time-to-live of a cached count.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+    /**
+     * Maximum number of cached counts.
+     */
+    private int cacheMaxEntries = 1_000;
+    /**
+     * Whether planner estimates may replace exact counts.
+     */
+    private boolean estimateEnabled = false;
+    /**
+     * Estimated number of rows above which the estimate is returned instead of running the exact count.
+     */
+    private long estimateThreshold = 100_000;
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public boolean isEstimateEnabled() {
+        return estimateEnabled;
+    }
+
+    public void setEstimateEnabled(boolean estimateEnabled) {
+        this.estimateEnabled = estimateEnabled;
+    }
+
+    public long getEstimateThreshold() {
+        return estimateThreshold;
+    }
+
+    public void setEstimateThreshold(long estimateThreshold) {
+        this.estimateThreshold = estimateThreshold;
+    }
+}
@@ -0,0 +1,172 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Column of strings or enums, dictionary-encoded: each distinct value is stored once, in sort order, and every row
+ * holds the code of its value in an {@code int[]}.
+ * <p>
+ * Filters are first evaluated against the dictionary, then the rows holding a matching code are collected: from a
+ * bitmap per value for low-cardinality columns, by scanning the codes otherwise.
+ * </p>
+ */
+final class DictionaryIndexColumn extends IndexColumn {
+
+    /**
+     * Number of distinct values up to which a bitmap is kept per value.
+     */
+    static final int MAX_BITMAP_CARDINALITY = 1024;
+
+    private static final int NULL_CODE = -1;
+
+    private final boolean text;
+    /**
+     * Distinct values in sort order, the code of a value being its position.
+     */
+    private final Object[] dictionary;
+    /**
+     * Code of each distinct value by its text: the string itself, or the constant name of an enum.
+     */
+    private final Map<String, Integer> codesByText;
+    private final int[] codes;
+    private final BitSet[] bitmaps;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    DictionaryIndexColumn(PropertyAccessor accessor, List<?> rows) {
+        super(rows.size());
+        this.text = accessor.getValueType() == String.class;
+
+        TreeSet<Object> distinct = new TreeSet<>((a, b) -> ((Comparable) a).compareTo(b));
+        Object[] values = new Object[size];
+        for (int row = 0; row < size; row++) {
+            Object value = accessor.get(rows.get(row));
+            values[row] = value;
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                distinct.add(value);
+            }
+        }
+        this.dictionary = distinct.toArray();
+        this.codesByText = new HashMap<>();
+        for (int code = 0; code < dictionary.length; code++) {
+            codesByText.put(asText(dictionary[code]), code);
+        }
+
+        this.codes = new int[size];
+        for (int row = 0; row < size; row++) {
+            codes[row] = values[row] == null ? NULL_CODE : codesByText.get(asText(values[row]));
+        }
+        this.bitmaps = dictionary.length <= MAX_BITMAP_CARDINALITY ? buildBitmaps() : null;
+        countingSort();
+    }
+
+    @Override
+    BitSet match(Filter leaf) {
+        return switch (leaf.getType()) {
+            case STRING -> {
+                String expected = ((FilterString) leaf).getValue();
+                FilterString.MatchMode mode = ((FilterString) leaf).getMatchModeOr(null);
+                if (!text || mode == FilterString.MatchMode.EXACT) {
+                    Integer code = codesByText.get(expected);
+                    yield code == null ? new BitSet(size) : rowsOf(List.of(code));
+                }
+                List<Integer> matching = new ArrayList<>();
+                for (int code = 0; code < dictionary.length; code++) {
+                    if (mode.matches((String) dictionary[code], expected)) {
+                        matching.add(code);
+                    }
+                }
+                yield rowsOf(matching);
+            }
+            case LIST -> {
+                List<Integer> matching = new ArrayList<>();
+                for (String value : ((FilterList) leaf).getValues().getValues()) {
+                    Integer code = codesByText.get(value);
+                    if (code != null) {
+                        matching.add(code);
+                    }
+                }
+                yield rowsOf(matching);
+            }
+            default -> null;
+        };
+    }
+
+    private BitSet rowsOf(List<Integer> matchingCodes) {
+        BitSet rows = new BitSet(size);
+        if (matchingCodes.isEmpty()) {
+            return rows;
+        }
+        if (bitmaps != null) {
+            for (int code : matchingCodes) {
+                rows.or(bitmaps[code]);
+            }
+            return rows;
+        }
+        boolean[] matched = new boolean[dictionary.length];
+        for (int code : matchingCodes) {
+            matched[code] = true;
+        }
+        for (int row = 0; row < size; row++) {
+            if (codes[row] != NULL_CODE && matched[codes[row]]) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    private BitSet[] buildBitmaps() {
+        BitSet[] result = new BitSet[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            result[code] = new BitSet(size);
+        }
+        for (int row = 0; row < size; row++) {
+            if (codes[row] != NULL_CODE) {
+                result[codes[row]].set(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the rows by code, which is the sort order of the values, in linear time.
+     */
+    private void countingSort() {
+        int[] starts = new int[dictionary.length + 1];
+        for (int code : codes) {
+            if (code != NULL_CODE) {
+                starts[code + 1]++;
+            }
+        }
+        for (int code = 0; code < dictionary.length; code++) {
+            starts[code + 1] += starts[code];
+        }
+        int[] positions = starts.clone();
+        int[] rows = new int[starts[dictionary.length]];
+        this.ranks = new int[size];
+        for (int row = 0; row < size; row++) {
+            int code = codes[row];
+            if (code == NULL_CODE) {
+                ranks[row] = NULL_RANK;
+            } else {
+                rows[positions[code]++] = row;
+                ranks[row] = code;
+            }
+        }
+        this.sortedRows = rows;
+    }
+
+    private static String asText(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : (String) value;
+    }
+}
@@ -0,0 +1,83 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterNumber;
+import com.modulythe.framework.domain.common.pagination.FilterRange;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Column of decimal values stored in a {@code double[]}, answering number and range filters with binary searches
+ * over the sorted values.
+ */
+final class DoubleIndexColumn extends IndexColumn {
+
+    private final double[] values;
+    private final double[] sortedValues;
+
+    DoubleIndexColumn(PropertyAccessor accessor, List<?> rows) {
+        super(rows.size());
+        this.values = new double[size];
+        for (int row = 0; row < size; row++) {
+            Object value = accessor.get(rows.get(row));
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                values[row] = ((Number) value).doubleValue();
+            }
+        }
+        sortNonNullRows((a, b) -> Double.compare(values[a], values[b]));
+        this.sortedValues = new double[sortedRows.length];
+        for (int i = 0; i < sortedRows.length; i++) {
+            sortedValues[i] = values[sortedRows[i]];
+        }
+    }
+
+    @Override
+    BitSet match(Filter leaf) {
+        return switch (leaf.getType()) {
+            case NUMBER -> between(((FilterNumber) leaf).getValue(), ((FilterNumber) leaf).getValue());
+            case RANGE -> between(((FilterRange) leaf).getMin(), ((FilterRange) leaf).getMax());
+            default -> null;
+        };
+    }
+
+    /**
+     * @return the rows whose value lies in {@code [min, max]}.
+     */
+    private BitSet between(double min, double max) {
+        if (min > max) {
+            return new BitSet(size);
+        }
+        return sortedRange(lowerBound(min), upperBound(max));
+    }
+
+    private int lowerBound(double key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(sortedValues[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(double key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(sortedValues[middle], key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
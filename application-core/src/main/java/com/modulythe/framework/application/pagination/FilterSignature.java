@@ -0,0 +1,139 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Canonical hash of a list of {@link Filter}s, usable as a cache key.
+ * <p>
+ * Filters are combined with AND logic, so two lists holding the same filters in a different order
+ * (or the same list values in a different order) get the same signature. Each filter is serialized to
+ * a length-prefixed canonical form before hashing, so that values containing separators cannot collide.
+ * Operands of {@link FilterComposite AND/OR composites} are ordered the same way, recursively.
+ * </p>
+ */
+public final class FilterSignature {
+
+    private static final FilterSignature EMPTY = new FilterSignature("");
+
+    private final String value;
+
+    private FilterSignature(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Computes the signature of a list of filters.
+     *
+     * @param filters the filters, null or empty for an unfiltered query.
+     * @return the signature.
+     */
+    public static FilterSignature of(List<? extends Filter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> canonicalFilters = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            if (filter != null) {
+                canonicalFilters.add(canonicalForm(filter));
+            }
+        }
+        canonicalFilters.sort(null);
+
+        StringBuilder canonical = new StringBuilder();
+        canonicalFilters.forEach(canonical::append);
+        return new FilterSignature(sha256(canonical.toString()));
+    }
+
+    /**
+     * @return the hexadecimal hash, empty for an unfiltered query.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return value.isEmpty();
+    }
+
+    static String canonicalForm(Filter filter) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, filter.getType().name());
+        append(sb, filter.getName());
+        switch (filter.getType()) {
+            case STRING -> {
+                FilterString fs = (FilterString) filter;
+                append(sb, fs.getValue());
+                if (fs.getMatchMode() != null) {
+                    append(sb, fs.getMatchMode().name());
+                }
+            }
+            case NUMBER -> append(sb, ((FilterNumber) filter).getValue());
+            case BOOLEAN -> append(sb, ((FilterBoolean) filter).getValue());
+            case DATE -> {
+                FilterDate fd = (FilterDate) filter;
+                append(sb, fd.getFilterDateType().name());
+                append(sb, fd.getStartDate());
+                append(sb, fd.getEndDate());
+            }
+            case RANGE -> {
+                FilterRange fr = (FilterRange) filter;
+                append(sb, fr.getMin());
+                append(sb, fr.getMax());
+            }
+            case LIST -> {
+                List<String> values = new ArrayList<>(((FilterList) filter).getValues().getValues());
+                values.sort(null);
+                append(sb, values.size());
+                values.forEach(v -> append(sb, v));
+            }
+            case AND, OR, NOT -> {
+                List<String> operands = new ArrayList<>();
+                ((FilterComposite) filter).getFilters().forEach(operand -> operands.add(canonicalForm(operand)));
+                operands.sort(null);
+                append(sb, operands.size());
+                operands.forEach(operand -> append(sb, operand));
+            }
+            default -> append(sb, filter.toString());
+        }
+        return sb.append(';').toString();
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        String text = String.valueOf(value);
+        sb.append(text.length()).append(':').append(text);
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is a mandatory algorithm of every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        return value.equals(((FilterSignature) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return "FilterSignature{" + value + '}';
+    }
+}
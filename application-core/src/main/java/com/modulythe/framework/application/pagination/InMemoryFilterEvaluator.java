@@ -0,0 +1,334 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates domain {@link Filter}s and a {@link SortModel} against in-memory objects, e.g. cached reference data,
+ * with the semantics of the database paths ({@code FilterSpecificationBuilder}, {@code FilterCriteriaBuilder}).
+ * <p>
+ * The filters are compiled once into a predicate and the sort into a comparator; properties are read through
+ * {@link java.lang.invoke.MethodHandle}s resolved at compile time, so evaluating a row involves no reflection.
+ * An evaluator is immutable and can be reused for every request with the same filters and sort.
+ * </p>
+ * <p>
+ * Semantics follow SQL:
+ * <ul>
+ *     <li>a string filter is a case-insensitive substring match on string properties, an equality otherwise;</li>
+ *     <li>date filters compare {@link LocalDate} properties, and {@link LocalDateTime} ones from the start of day;
+ *     BETWEEN and ranges include both bounds;</li>
+ *     <li>a comparison with a null property is unknown: the row matches neither the filter nor its negation;</li>
+ *     <li>nulls sort last in ascending order and first in descending order (PostgreSQL default);
+ *     strings are compared by code point, as with a binary collation.</li>
+ * </ul>
+ * Collections of at least {@link #DEFAULT_PARALLEL_THRESHOLD} items (or the configured threshold) are filtered and
+ * sorted in parallel.
+ * </p>
+ *
+ * @param <T> the type of the evaluated objects
+ */
+public final class InMemoryFilterEvaluator<T> {
+
+    /**
+     * Default collection size from which evaluation runs in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private final Condition condition;
+    private final Comparator<T> comparator;
+    private final int parallelThreshold;
+
+    private InMemoryFilterEvaluator(Condition condition, Comparator<T> comparator, int parallelThreshold) {
+        this.condition = condition;
+        this.comparator = comparator;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Compiles filters and a sort for objects of the given type.
+     *
+     * @param type    the type of the evaluated objects.
+     * @param filters the filters, combined with AND logic; null or empty to match everything.
+     * @param sort    the sort; null or empty to keep the encounter order.
+     * @param <T>     the type of the evaluated objects.
+     * @return the evaluator.
+     * @throws IllegalArgumentException if a filter or sort property does not exist on the type.
+     */
+    public static <T> InMemoryFilterEvaluator<T> compile(Class<T> type, List<Filter> filters, SortModel sort) {
+        return compile(type, filters, sort, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Compiles filters and a sort for objects of the given type.
+     *
+     * @param type              the type of the evaluated objects.
+     * @param filters           the filters, combined with AND logic; null or empty to match everything.
+     * @param sort              the sort; null or empty to keep the encounter order.
+     * @param parallelThreshold the collection size from which evaluation runs in parallel.
+     * @param <T>               the type of the evaluated objects.
+     * @return the evaluator.
+     * @throws IllegalArgumentException if a filter or sort property does not exist on the type.
+     */
+    public static <T> InMemoryFilterEvaluator<T> compile(Class<T> type,
+                                                         List<Filter> filters,
+                                                         SortModel sort,
+                                                         int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be greater than 0");
+        }
+        Filter expression = FilterSimplifier.simplify(filters);
+        Condition condition = FilterSimplifier.isAlwaysTrue(expression) ? null : compileCondition(type, expression);
+        return new InMemoryFilterEvaluator<>(condition, compileComparator(type, sort), parallelThreshold);
+    }
+
+    /**
+     * Tests whether an object matches the filters.
+     *
+     * @param item the object.
+     * @return true if the filters are true for the object; false if they are false or unknown.
+     */
+    public boolean test(T item) {
+        return condition == null || condition.evaluate(item) == Truth.TRUE;
+    }
+
+    public Predicate<T> asPredicate() {
+        return this::test;
+    }
+
+    /**
+     * @return the comparator of the sort, considering all objects equal when unsorted.
+     */
+    public Comparator<T> getComparator() {
+        return comparator != null ? comparator : (a, b) -> 0;
+    }
+
+    /**
+     * Filters and sorts a collection.
+     *
+     * @param items the collection.
+     * @return the matching objects, sorted.
+     */
+    public List<T> filter(Collection<? extends T> items) {
+        Stream<? extends T> stream = items.size() >= parallelThreshold ? items.parallelStream() : items.stream();
+        Stream<T> matching = stream.<T>map(item -> item);
+        if (condition != null) {
+            matching = matching.filter(this::test);
+        }
+        if (comparator != null) {
+            matching = matching.sorted(comparator);
+        }
+        return matching.toList();
+    }
+
+    /**
+     * Filters and sorts a collection, then extracts the requested page.
+     *
+     * @param items    the collection.
+     * @param pageable the pagination request, in paged or slice mode.
+     * @return the page, with the number of matching objects as total for a paged request.
+     * @throws IllegalArgumentException if the request is a keyset one, or the page is out of bounds.
+     */
+    public PageModel<T> page(Collection<? extends T> items, PageableModel pageable) {
+        if (pageable.isKeyset()) {
+            throw new IllegalArgumentException("Keyset pagination is not supported on in-memory collections");
+        }
+        List<T> matching = filter(items);
+        int size = pageable.getItemsPerPage();
+        int from = (int) Math.min((long) pageable.getPageNumber() * size, matching.size());
+
+        if (pageable.isSlice()) {
+            int to = (int) Math.min((long) from + size + 1, matching.size());
+            return PageModel.ofSlice(List.copyOf(matching.subList(from, to)), pageable);
+        }
+        int to = (int) Math.min((long) from + size, matching.size());
+        return PageModel.builder(List.copyOf(matching.subList(from, to)))
+                .itemsPerPage(size)
+                .pageNumber(pageable.getPageNumber())
+                .totalItems(matching.size())
+                .build();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<T> compileComparator(Class<T> type, SortModel sort) {
+        if (sort == null || sort.isEmpty()) {
+            return null;
+        }
+        Comparator<T> result = null;
+        for (SortModel.Order order : sort.getOrders()) {
+            PropertyAccessor accessor = PropertyAccessor.of(type, order.getProperty());
+            // Nulls are greater than any value, as in PostgreSQL
+            Comparator<Object> values = Comparator.nullsLast((a, b) -> ((Comparable) a).compareTo(b));
+            Comparator<T> byProperty = (a, b) -> values.compare(accessor.get(a), accessor.get(b));
+            if (!order.getDirection().isAscending()) {
+                byProperty = byProperty.reversed();
+            }
+            result = result == null ? byProperty : result.thenComparing(byProperty);
+        }
+        return result;
+    }
+
+    private static Condition compileCondition(Class<?> type, Filter filter) {
+        if (filter instanceof FilterComposite composite) {
+            return compileComposite(type, composite);
+        }
+        PropertyAccessor accessor = PropertyAccessor.of(type, filter.getName());
+        LeafCondition leaf = compileLeaf(filter, accessor.getValueType());
+        return item -> {
+            Object value = accessor.get(item);
+            if (value == null) {
+                return Truth.UNKNOWN;
+            }
+            return leaf.test(value) ? Truth.TRUE : Truth.FALSE;
+        };
+    }
+
+    private static Condition compileComposite(Class<?> type, FilterComposite composite) {
+        List<Condition> operands = new ArrayList<>(composite.getFilters().size());
+        for (Filter operand : composite.getFilters()) {
+            operands.add(compileCondition(type, operand));
+        }
+        return switch (composite.getType()) {
+            case NOT -> {
+                Condition operand = operands.get(0);
+                yield item -> operand.evaluate(item).not();
+            }
+            case OR -> item -> {
+                Truth result = Truth.FALSE;
+                for (Condition operand : operands) {
+                    result = result.or(operand.evaluate(item));
+                    if (result == Truth.TRUE) {
+                        break;
+                    }
+                }
+                return result;
+            };
+            default -> item -> {
+                Truth result = Truth.TRUE;
+                for (Condition operand : operands) {
+                    result = result.and(operand.evaluate(item));
+                    if (result == Truth.FALSE) {
+                        break;
+                    }
+                }
+                return result;
+            };
+        };
+    }
+
+    private static LeafCondition compileLeaf(Filter filter, Class<?> valueType) {
+        return switch (filter.getType()) {
+            case STRING -> {
+                String expected = ((FilterString) filter).getValue();
+                if (valueType == String.class) {
+                    FilterString.MatchMode mode = ((FilterString) filter).getMatchModeOr(null);
+                    if (mode == FilterString.MatchMode.CONTAINS) {
+                        String needle = expected.toLowerCase(Locale.ROOT);
+                        yield value -> ((String) value).toLowerCase(Locale.ROOT).contains(needle);
+                    }
+                    yield value -> mode.matches((String) value, expected);
+                }
+                yield value -> asText(value).equals(expected);
+            }
+            case NUMBER -> {
+                double expected = ((FilterNumber) filter).getValue();
+                yield value -> value instanceof BigDecimal decimal
+                        ? decimal.compareTo(BigDecimal.valueOf(expected)) == 0
+                        : ((Number) value).doubleValue() == expected;
+            }
+            case BOOLEAN -> {
+                Boolean expected = ((FilterBoolean) filter).getValue();
+                yield expected::equals;
+            }
+            case DATE -> {
+                FilterDate fd = (FilterDate) filter;
+                LocalDate start = fd.getStartDate();
+                LocalDate end = fd.getEndDate();
+                yield switch (fd.getFilterDateType()) {
+                    case BETWEEN -> value -> compareDate(value, start) >= 0 && compareDate(value, end) <= 0;
+                    case AFTER -> value -> compareDate(value, start) > 0;
+                    case BEFORE -> value -> compareDate(value, end) < 0;
+                };
+            }
+            case RANGE -> {
+                FilterRange fr = (FilterRange) filter;
+                yield value -> {
+                    double number = ((Number) value).doubleValue();
+                    return number >= fr.getMin() && number <= fr.getMax();
+                };
+            }
+            case LIST -> {
+                Set<String> expected = new HashSet<>(((FilterList) filter).getValues().getValues());
+                yield value -> expected.contains(asText(value));
+            }
+            default -> throw new IllegalArgumentException("Unsupported filter type: " + filter.getType());
+        };
+    }
+
+    private static String asText(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : String.valueOf(value);
+    }
+
+    private static int compareDate(Object value, LocalDate date) {
+        if (value instanceof LocalDate localDate) {
+            return localDate.compareTo(date);
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.compareTo(date.atStartOfDay());
+        }
+        throw new IllegalArgumentException("Date filters only apply to LocalDate and LocalDateTime properties, not "
+                + value.getClass().getSimpleName());
+    }
+
+    /**
+     * Three-valued logic of SQL conditions.
+     */
+    private enum Truth {
+        TRUE,
+        FALSE,
+        UNKNOWN;
+
+        Truth and(Truth other) {
+            if (this == FALSE || other == FALSE) {
+                return FALSE;
+            }
+            return this == UNKNOWN || other == UNKNOWN ? UNKNOWN : TRUE;
+        }
+
+        Truth or(Truth other) {
+            if (this == TRUE || other == TRUE) {
+                return TRUE;
+            }
+            return this == UNKNOWN || other == UNKNOWN ? UNKNOWN : FALSE;
+        }
+
+        Truth not() {
+            return switch (this) {
+                case TRUE -> FALSE;
+                case FALSE -> TRUE;
+                case UNKNOWN -> UNKNOWN;
+            };
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        Truth evaluate(Object item);
+    }
+
+    @FunctionalInterface
+    private interface LeafCondition {
+        boolean test(Object nonNullValue);
+    }
+}
@@ -0,0 +1,166 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A column of a {@link ColumnarIndex}: the values of one property for every row, stored in a layout suited to
+ * their type, with the rows sorted by value for range scans and ordering.
+ */
+abstract class IndexColumn {
+
+    /**
+     * Rank of the null values, greater than any other rank: nulls sort last in ascending order, as in PostgreSQL.
+     */
+    static final int NULL_RANK = Integer.MAX_VALUE;
+
+    /**
+     * Compares two rows by their index.
+     */
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int row, int otherRow);
+    }
+
+    protected final int size;
+    protected final BitSet nulls;
+    /**
+     * Rows holding a non-null value, sorted by value.
+     */
+    protected int[] sortedRows;
+    /**
+     * Rank of the value of each row in the sort order, equal values sharing a rank; {@link #NULL_RANK} for nulls.
+     */
+    protected int[] ranks;
+
+    protected IndexColumn(int size) {
+        this.size = size;
+        this.nulls = new BitSet(size);
+    }
+
+    /**
+     * Creates the column of a property, according to its declared type.
+     *
+     * @param accessor the accessor of the property.
+     * @param rows     the indexed rows.
+     * @return the column.
+     * @throws IllegalArgumentException if the property type cannot be indexed.
+     */
+    static IndexColumn of(PropertyAccessor accessor, List<?> rows) {
+        Class<?> type = accessor.getValueType();
+        if (type == boolean.class || type == Boolean.class) {
+            return new BooleanIndexColumn(accessor, rows);
+        }
+        if (type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == LocalDate.class || type == LocalDateTime.class) {
+            return new LongIndexColumn(accessor, rows);
+        }
+        if (type == double.class || type == float.class || type == Double.class || type == Float.class
+                || type == BigDecimal.class) {
+            return new DoubleIndexColumn(accessor, rows);
+        }
+        if (type == String.class || type.isEnum()) {
+            return new DictionaryIndexColumn(accessor, rows);
+        }
+        throw new IllegalArgumentException("Property type " + type.getSimpleName() + " cannot be indexed");
+    }
+
+    /**
+     * Returns the rows for which a leaf filter is true.
+     *
+     * @param leaf the filter, on this column's property.
+     * @return the matching rows, or null if this column cannot answer the filter.
+     */
+    abstract BitSet match(Filter leaf);
+
+    /**
+     * @return the rows holding a non-null value.
+     */
+    BitSet nonNull() {
+        BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        rows.andNot(nulls);
+        return rows;
+    }
+
+    int[] sortedRows() {
+        return sortedRows;
+    }
+
+    int rank(int row) {
+        return ranks[row];
+    }
+
+    /**
+     * @return the rows at positions {@code [fromIndex, toIndex)} of {@link #sortedRows}.
+     */
+    protected BitSet sortedRange(int fromIndex, int toIndex) {
+        BitSet rows = new BitSet(size);
+        for (int i = fromIndex; i < toIndex; i++) {
+            rows.set(sortedRows[i]);
+        }
+        return rows;
+    }
+
+    /**
+     * Sorts the non-null rows and computes their ranks.
+     *
+     * @param comparator compares the values of two non-null rows.
+     */
+    protected void sortNonNullRows(RowComparator comparator) {
+        int[] rows = nonNull().stream().toArray();
+        sortRows(rows, comparator);
+        this.sortedRows = rows;
+        this.ranks = new int[size];
+        Arrays.fill(ranks, NULL_RANK);
+        int rank = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0 && comparator.compare(rows[i - 1], rows[i]) != 0) {
+                rank = i;
+            }
+            ranks[rows[i]] = rank;
+        }
+    }
+
+    /**
+     * Sorts row indexes with a stable merge sort, without boxing them.
+     *
+     * @param rows       the rows, sorted in place.
+     * @param comparator the row order.
+     */
+    static void sortRows(int[] rows, RowComparator comparator) {
+        if (rows.length < 2) {
+            return;
+        }
+        int[] buffer = new int[rows.length];
+        for (int width = 1; width < rows.length; width <<= 1) {
+            for (int from = 0; from < rows.length - width; from += width << 1) {
+                int middle = from + width;
+                int to = Math.min(from + (width << 1), rows.length);
+                if (comparator.compare(rows[middle - 1], rows[middle]) <= 0) {
+                    continue;
+                }
+                int left = from;
+                int right = middle;
+                int out = from;
+                while (left < middle && right < to) {
+                    buffer[out++] = comparator.compare(rows[left], rows[right]) <= 0 ? rows[left++] : rows[right++];
+                }
+                while (left < middle) {
+                    buffer[out++] = rows[left++];
+                }
+                while (right < to) {
+                    buffer[out++] = rows[right++];
+                }
+                System.arraycopy(buffer, from, rows, from, to - from);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterDate;
+import com.modulythe.framework.domain.common.pagination.FilterNumber;
+import com.modulythe.framework.domain.common.pagination.FilterRange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Column of integral values stored in a {@code long[]}: integers, {@link LocalDate}s as epoch days and
+ * {@link LocalDateTime}s as epoch microseconds (the precision of PostgreSQL timestamps).
+ * <p>
+ * Answers number and range filters on integers and date filters on dates with binary searches
+ * over the sorted values.
+ * </p>
+ */
+final class LongIndexColumn extends IndexColumn {
+
+    private enum Kind {
+        INTEGRAL,
+        DATE,
+        DATE_TIME
+    }
+
+    private final Kind kind;
+    private final long[] values;
+    private final long[] sortedValues;
+
+    LongIndexColumn(PropertyAccessor accessor, List<?> rows) {
+        super(rows.size());
+        Class<?> type = accessor.getValueType();
+        this.kind = type == LocalDate.class ? Kind.DATE : type == LocalDateTime.class ? Kind.DATE_TIME : Kind.INTEGRAL;
+        this.values = new long[size];
+        for (int row = 0; row < size; row++) {
+            Object value = accessor.get(rows.get(row));
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                values[row] = encode(value);
+            }
+        }
+        sortNonNullRows((a, b) -> Long.compare(values[a], values[b]));
+        this.sortedValues = new long[sortedRows.length];
+        for (int i = 0; i < sortedRows.length; i++) {
+            sortedValues[i] = values[sortedRows[i]];
+        }
+    }
+
+    @Override
+    BitSet match(Filter leaf) {
+        return switch (leaf.getType()) {
+            case NUMBER -> {
+                if (kind != Kind.INTEGRAL) {
+                    yield null;
+                }
+                double expected = ((FilterNumber) leaf).getValue();
+                yield expected == Math.rint(expected) && Math.abs(expected) < 0x1p63
+                        ? between((long) expected, (long) expected)
+                        : new BitSet(size);
+            }
+            case RANGE -> kind == Kind.INTEGRAL
+                    ? between(((FilterRange) leaf).getMin(), ((FilterRange) leaf).getMax())
+                    : null;
+            case DATE -> kind == Kind.INTEGRAL ? null : matchDate((FilterDate) leaf);
+            default -> null;
+        };
+    }
+
+    private BitSet matchDate(FilterDate filter) {
+        return switch (filter.getFilterDateType()) {
+            case BETWEEN -> between(dateKey(filter.getStartDate()), dateKey(filter.getEndDate()));
+            case AFTER -> sortedRange(upperBound(dateKey(filter.getStartDate())), sortedValues.length);
+            case BEFORE -> sortedRange(0, lowerBound(dateKey(filter.getEndDate())));
+        };
+    }
+
+    /**
+     * @return the rows whose value lies in {@code [min, max]}.
+     */
+    private BitSet between(long min, long max) {
+        return min > max ? new BitSet(size) : sortedRange(lowerBound(min), upperBound(max));
+    }
+
+    private long dateKey(LocalDate date) {
+        return kind == Kind.DATE ? date.toEpochDay() : micros(date.atStartOfDay());
+    }
+
+    private long encode(Object value) {
+        return switch (kind) {
+            case DATE -> ((LocalDate) value).toEpochDay();
+            case DATE_TIME -> micros((LocalDateTime) value);
+            case INTEGRAL -> ((Number) value).longValue();
+        };
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    /**
+     * @return the first position of {@link #sortedValues} holding a value greater than or equal to the key.
+     */
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the first position of {@link #sortedValues} holding a value greater than the key.
+     */
+    private int upperBound(long key) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,56 @@
+package com.modulythe.framework.application.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the cache of paginated query results.
+ * <p>
+ * Maps properties prefixed with "modulythe.pagination.page-cache".
+ * The cache is disabled by default: a cached page may be stale for up to its time-to-live when the data changes
+ * without a registered domain event.
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "modulythe.pagination.page-cache")
+public class PageCacheProperties {
+
+    /**
+     * Whether pages are cached per aggregate type, filter signature and pagination request.
+     */
+    private boolean enabled = false;
+    /**
+     * Time-to-live of a cached page.
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+    /**
+     * Maximum number of cached pages.
+     */
+    private int maxEntries = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
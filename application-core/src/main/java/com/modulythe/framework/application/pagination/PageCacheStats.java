@@ -0,0 +1,19 @@
+package com.modulythe.framework.application.pagination;
+
+/**
+ * Snapshot of the activity of a {@link PageResultCache}.
+ *
+ * @param hits    the number of pages read from the cache.
+ * @param misses  the number of pages loaded because they were not cached.
+ * @param entries the number of cached pages, expired ones included until they are read or evicted.
+ */
+public record PageCacheStats(long hits, long misses, int entries) {
+
+    /**
+     * @return the share of lookups served by the cache, between 0 and 1; 0 when nothing was looked up.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,24 @@
+package com.modulythe.framework.application.pagination;
+
+/**
+ * Total count of the items matching a paginated query.
+ *
+ * @param count     the number of items.
+ * @param estimated true if the count comes from database statistics rather than an exact COUNT query.
+ */
+public record PageCount(long count, boolean estimated) {
+
+    public PageCount {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be greater than or equal to 0");
+        }
+    }
+
+    public static PageCount exact(long count) {
+        return new PageCount(count, false);
+    }
+
+    public static PageCount estimated(long count) {
+        return new PageCount(count, true);
+    }
+}
@@ -0,0 +1,207 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.application.cache.ExpiringLruCache;
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves the total count of paginated queries, avoiding to recompute the same COUNT on every page.
+ * <p>
+ * Counts are cached per aggregate type and {@link FilterSignature}, for the configured time-to-live.
+ * The cached counts of an aggregate type are invalidated by {@link #invalidate(Class)}, or when a domain event
+ * registered with {@link #registerEvent(Class, Class)} is published through the Spring application context.
+ * A count computed while its aggregate type is invalidated is returned but not cached.
+ * </p>
+ * <p>
+ * When estimation is enabled and an estimator is provided (see the database specific count estimators of the
+ * infrastructure modules), the estimate is returned as is when it exceeds the configured threshold: on large
+ * result sets, an approximate total is enough for pagination controls and saves a full scan.
+ * Smaller results are counted exactly.
+ * </p>
+ */
+@Component
+public class PageCountResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageCountResolver.class);
+
+    private final CountProperties properties;
+    private final ExpiringLruCache<CountKey, PageCount> cache;
+    private final AggregateInvalidations invalidations = new AggregateInvalidations();
+
+    private record CountKey(Class<?> aggregateType, FilterSignature signature) {
+    }
+
+    public PageCountResolver(CountProperties properties) {
+        this.properties = Objects.requireNonNull(properties, "Count properties cannot be null");
+        this.cache = properties.isCacheEnabled()
+                ? new ExpiringLruCache<>(properties.getCacheMaxEntries(), properties.getCacheTtl())
+                : null;
+    }
+
+    /**
+     * Registers a domain event type whose publication invalidates the cached counts of an aggregate type.
+     *
+     * @param eventType     the domain event type.
+     * @param aggregateType the aggregate type whose counts are affected by the event.
+     * @return this resolver for chaining.
+     */
+    public PageCountResolver registerEvent(Class<? extends BaseDomainEvent<?>> eventType, Class<?> aggregateType) {
+        invalidations.registerEvent(eventType, aggregateType);
+        return this;
+    }
+
+    /**
+     * Resolves the exact count of a query, from the cache if possible.
+     *
+     * @param aggregateType the queried aggregate type.
+     * @param filters       the filters of the query.
+     * @param exactCount    runs the COUNT query.
+     * @return the count.
+     */
+    public PageCount resolve(Class<?> aggregateType, List<Filter> filters, LongSupplier exactCount) {
+        return resolve(aggregateType, filters, exactCount, null);
+    }
+
+    /**
+     * Resolves the count of a query, from the cache if possible, otherwise from the estimator when
+     * estimation is enabled and the estimate exceeds the threshold, otherwise from the exact count.
+     *
+     * @param aggregateType  the queried aggregate type.
+     * @param filters        the filters of the query.
+     * @param exactCount     runs the COUNT query.
+     * @param estimatedCount returns the planner estimate of the number of rows, may be null.
+     * @return the count.
+     */
+    public PageCount resolve(Class<?> aggregateType,
+                             List<Filter> filters,
+                             LongSupplier exactCount,
+                             LongSupplier estimatedCount) {
+        CountKey key = new CountKey(aggregateType, FilterSignature.of(filters));
+        long generation = invalidations.generation(aggregateType);
+        PageCount cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        PageCount count = null;
+        if (isEstimationEnabled(estimatedCount)) {
+            count = estimate(estimatedCount);
+        }
+        if (count == null) {
+            count = PageCount.exact(exactCount.getAsLong());
+        }
+        store(key, generation, count);
+        return count;
+    }
+
+    /**
+     * Reactive variant of {@link #resolve(Class, List, LongSupplier)}: the count {@link Mono} is only subscribed
+     * when no cached count is available.
+     *
+     * @param aggregateType the queried aggregate type.
+     * @param filters       the filters of the query.
+     * @param exactCount    the COUNT query.
+     * @return the count.
+     */
+    public Mono<PageCount> resolve(Class<?> aggregateType, List<Filter> filters, Mono<Long> exactCount) {
+        return resolve(aggregateType, filters, exactCount, null);
+    }
+
+    /**
+     * Reactive variant of {@link #resolve(Class, List, LongSupplier, LongSupplier)}: the count and estimate
+     * {@link Mono}s are only subscribed when needed, and a failing estimate falls back to the exact count.
+     *
+     * @param aggregateType  the queried aggregate type.
+     * @param filters        the filters of the query.
+     * @param exactCount     the COUNT query.
+     * @param estimatedCount the planner estimate of the number of rows, may be null.
+     * @return the count.
+     */
+    public Mono<PageCount> resolve(Class<?> aggregateType,
+                                   List<Filter> filters,
+                                   Mono<Long> exactCount,
+                                   Mono<Long> estimatedCount) {
+        return Mono.defer(() -> {
+            CountKey key = new CountKey(aggregateType, FilterSignature.of(filters));
+            long generation = invalidations.generation(aggregateType);
+            PageCount cached = lookup(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+
+            Mono<PageCount> exact = exactCount.map(PageCount::exact);
+            Mono<PageCount> count = exact;
+            if (isEstimationEnabled(estimatedCount)) {
+                long threshold = properties.getEstimateThreshold();
+                count = estimatedCount
+                        .filter(estimate -> estimate >= threshold)
+                        .map(PageCount::estimated)
+                        .onErrorResume(e -> {
+                            LOGGER.debug("Count estimation failed, falling back to an exact count", e);
+                            return Mono.empty();
+                        })
+                        .switchIfEmpty(exact);
+            }
+            return count.doOnNext(c -> store(key, generation, c));
+        });
+    }
+
+    /**
+     * Invalidates the cached counts of an aggregate type.
+     *
+     * @param aggregateType the aggregate type.
+     */
+    public void invalidate(Class<?> aggregateType) {
+        if (cache != null) {
+            invalidations.invalidate(aggregateType);
+            int removed = cache.invalidateIf(key -> key.aggregateType().equals(aggregateType));
+            LOGGER.debug("Invalidated {} cached count(s) of {}", removed, aggregateType.getSimpleName());
+        }
+    }
+
+    /**
+     * Invalidates the cached counts of the aggregate type registered for a published domain event.
+     *
+     * @param event the published domain event.
+     */
+    @EventListener
+    public void onDomainEvent(BaseDomainEvent<?> event) {
+        Class<?> aggregateType = invalidations.aggregateTypeOf(event);
+        if (aggregateType != null) {
+            invalidate(aggregateType);
+        }
+    }
+
+    private boolean isEstimationEnabled(Object estimator) {
+        return estimator != null && properties.isEstimateEnabled();
+    }
+
+    private PageCount estimate(LongSupplier estimatedCount) {
+        try {
+            long estimate = estimatedCount.getAsLong();
+            return estimate >= properties.getEstimateThreshold() ? PageCount.estimated(estimate) : null;
+        } catch (RuntimeException e) {
+            LOGGER.debug("Count estimation failed, falling back to an exact count", e);
+            return null;
+        }
+    }
+
+    private PageCount lookup(CountKey key) {
+        return cache != null ? cache.get(key) : null;
+    }
+
+    private void store(CountKey key, long generation, PageCount count) {
+        if (cache != null) {
+            invalidations.store(cache, key.aggregateType(), generation, key, count);
+        }
+    }
+}
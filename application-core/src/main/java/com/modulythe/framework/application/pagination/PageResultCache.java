@@ -0,0 +1,183 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.application.cache.ExpiringLruCache;
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the pages of paginated queries, so that identical requests (typically from dashboards) are served
+ * without querying the database.
+ * <p>
+ * Pages are cached per aggregate type, item type, {@link FilterSignature} and {@link PageableModel}, for the
+ * configured time-to-live: filters given in a different order, or list values in a different order, share the
+ * same entry. The cached pages of an aggregate type are invalidated by {@link #invalidate(Class)}, or when a
+ * domain event registered with {@link #registerEvent(Class, Class)} is published through the Spring application
+ * context. A page loaded while its aggregate type is invalidated is returned but not cached, since it may
+ * already be stale.
+ * </p>
+ * <p>
+ * The page is built by the caller, typically with {@code ServletPageBuilder} or {@code ReactivePageBuilder},
+ * and is only invoked on a miss. Cached pages are shared between callers and must not be modified.
+ * </p>
+ */
+@Component
+public class PageResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageResultCache.class);
+
+    private final ExpiringLruCache<PageKey, PageModel<?>> cache;
+    private final AggregateInvalidations invalidations = new AggregateInvalidations();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private record PageKey(Class<?> aggregateType,
+                           Class<?> itemType,
+                           FilterSignature signature,
+                           PageableModel pageable) {
+    }
+
+    public PageResultCache(PageCacheProperties properties) {
+        Objects.requireNonNull(properties, "Page cache properties cannot be null");
+        this.cache = properties.isEnabled()
+                ? new ExpiringLruCache<>(properties.getMaxEntries(), properties.getTtl())
+                : null;
+    }
+
+    /**
+     * Registers a domain event type whose publication invalidates the cached pages of an aggregate type.
+     *
+     * @param eventType     the domain event type.
+     * @param aggregateType the aggregate type whose pages are affected by the event.
+     * @return this cache for chaining.
+     */
+    public PageResultCache registerEvent(Class<? extends BaseDomainEvent<?>> eventType, Class<?> aggregateType) {
+        invalidations.registerEvent(eventType, aggregateType);
+        return this;
+    }
+
+    /**
+     * Returns the cached page of a query, or builds and caches it.
+     *
+     * @param <T>           the type of the items of the page.
+     * @param aggregateType the queried aggregate type.
+     * @param itemType      the type of the items, which tells entity pages from projection pages.
+     * @param filters       the filters of the query.
+     * @param pageable      the pagination request.
+     * @param page          runs the query and builds the page.
+     * @return the page.
+     */
+    public <T> PageModel<T> get(Class<?> aggregateType,
+                                Class<T> itemType,
+                                List<Filter> filters,
+                                PageableModel pageable,
+                                Supplier<PageModel<T>> page) {
+        if (cache == null) {
+            return page.get();
+        }
+        PageKey key = key(aggregateType, itemType, filters, pageable);
+        long generation = invalidations.generation(aggregateType);
+        PageModel<T> cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        PageModel<T> loaded = page.get();
+        invalidations.store(cache, aggregateType, generation, key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Reactive variant of {@link #get(Class, Class, List, PageableModel, Supplier)}: the page {@link Mono} is only
+     * subscribed when no cached page is available.
+     *
+     * @param <T>           the type of the items of the page.
+     * @param aggregateType the queried aggregate type.
+     * @param itemType      the type of the items, which tells entity pages from projection pages.
+     * @param filters       the filters of the query.
+     * @param pageable      the pagination request.
+     * @param page          the query building the page.
+     * @return the page.
+     */
+    public <T> Mono<PageModel<T>> get(Class<?> aggregateType,
+                                      Class<T> itemType,
+                                      List<Filter> filters,
+                                      PageableModel pageable,
+                                      Mono<PageModel<T>> page) {
+        if (cache == null) {
+            return page;
+        }
+        return Mono.defer(() -> {
+            PageKey key = key(aggregateType, itemType, filters, pageable);
+            long generation = invalidations.generation(aggregateType);
+            PageModel<T> cached = lookup(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return page.doOnNext(loaded -> invalidations.store(cache, aggregateType, generation, key, loaded));
+        });
+    }
+
+    /**
+     * Invalidates the cached pages of an aggregate type.
+     *
+     * @param aggregateType the aggregate type.
+     */
+    public void invalidate(Class<?> aggregateType) {
+        if (cache != null) {
+            invalidations.invalidate(aggregateType);
+            int removed = cache.invalidateIf(key -> key.aggregateType().equals(aggregateType));
+            LOGGER.debug("Invalidated {} cached page(s) of {}", removed, aggregateType.getSimpleName());
+        }
+    }
+
+    /**
+     * Invalidates the cached pages of the aggregate type registered for a published domain event.
+     *
+     * @param event the published domain event.
+     */
+    @EventListener
+    public void onDomainEvent(BaseDomainEvent<?> event) {
+        Class<?> aggregateType = invalidations.aggregateTypeOf(event);
+        if (aggregateType != null) {
+            invalidate(aggregateType);
+        }
+    }
+
+    /**
+     * @return the hits and misses since the cache was created, and its current number of entries.
+     */
+    public PageCacheStats getStats() {
+        return new PageCacheStats(hits.sum(), misses.sum(), cache != null ? cache.size() : 0);
+    }
+
+    private static PageKey key(Class<?> aggregateType, Class<?> itemType, List<Filter> filters, PageableModel pageable) {
+        return new PageKey(
+                Objects.requireNonNull(aggregateType, "Aggregate type cannot be null"),
+                Objects.requireNonNull(itemType, "Item type cannot be null"),
+                FilterSignature.of(filters),
+                Objects.requireNonNull(pageable, "Pageable cannot be null"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> PageModel<T> lookup(PageKey key) {
+        // The item type is part of the key: the cached page holds items of type T
+        PageModel<T> cached = (PageModel<T>) cache.get(key);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+}
@@ -34,13 +34,34 @@ public class PaginationFactory {
         return PageableModel.of(pageIndex, size, sort);
     }
 
+    /**
+     * Creates a {@link PageableModel} from pagination parameters and a sort.
+     * Handles 1-based page index conversion to 0-based.
+     * <p>
+     * The sort is not checked here: sort columns received from clients should be validated against the indexes of
+     * the entity when the request is mapped to a repository query (see {@code SortRegistry}).
+     * </p>
+     *
+     * @param page The page number (1-based).
+     * @param size The number of items per page.
+     * @param sort The sort to apply, unsorted if null.
+     * @return A configured {@link PageableModel}.
+     */
+    public static PageableModel createPageable(int page, int size, SortModel sort) {
+        int pageIndex = (page < 1) ? 0 : page - 1;
+        return PageableModel.of(pageIndex, size, sort);
+    }
+
     /**
      * Creates a {@link PageableModel} with default sorting (sentAt DESC).
      *
      * @param page The page number (1-based).
      * @param size The number of items per page.
      * @return A configured {@link PageableModel}.
+     * @deprecated the default sort column only exists on some entities; use
+     * {@link #createPageable(int, int, SortModel)} with the sort of the queried entity.
      */
+    @Deprecated
     public static PageableModel createPageable(int page, int size) {
         return createPageable(page, size, "sentAt", SortModel.Direction.DESC);
     }
@@ -0,0 +1,138 @@
+package com.modulythe.framework.application.pagination;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads a property, possibly nested ({@code customer.address.city}), through {@link MethodHandle}s resolved once per
+ * class and property path.
+ * <p>
+ * Each segment is read through its getter ({@code getX}, {@code isX}, or the record accessor {@code x}),
+ * or through the field when there is no getter. A null intermediate value yields null.
+ * </p>
+ */
+final class PropertyAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final String path;
+    private final MethodHandle[] segments;
+    private final Class<?> valueType;
+
+    private PropertyAccessor(String path, MethodHandle[] segments, Class<?> valueType) {
+        this.path = path;
+        this.segments = segments;
+        this.valueType = valueType;
+    }
+
+    /**
+     * Returns the accessor of a property path of a class.
+     *
+     * @param type the class holding the property.
+     * @param path the property name, or a dot-separated path of property names.
+     * @return the accessor.
+     * @throws IllegalArgumentException if a segment of the path is neither a readable getter nor a field.
+     */
+    static PropertyAccessor of(Class<?> type, String path) {
+        return ACCESSORS.get(type).computeIfAbsent(path, p -> resolve(type, p));
+    }
+
+    /**
+     * Reads the property of an object.
+     *
+     * @param target the object.
+     * @return the property value, or null if the target or an intermediate value is null.
+     */
+    Object get(Object target) {
+        Object value = target;
+        for (MethodHandle segment : segments) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                value = (Object) segment.invokeExact(value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot read property '" + path + "'", e);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the declared type of the property.
+     */
+    Class<?> getValueType() {
+        return valueType;
+    }
+
+    private static PropertyAccessor resolve(Class<?> type, String path) {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("Property path cannot be null or empty");
+        }
+        String[] names = path.split("\\.");
+        MethodHandle[] segments = new MethodHandle[names.length];
+        Class<?> current = type;
+        for (int i = 0; i < names.length; i++) {
+            Method getter = findGetter(current, names[i]);
+            try {
+                if (getter != null) {
+                    segments[i] = LOOKUP.unreflect(getter).asType(GETTER_TYPE);
+                    current = getter.getReturnType();
+                } else {
+                    Field field = findField(current, names[i]);
+                    if (field == null) {
+                        throw new IllegalArgumentException(
+                                "Unknown property '" + names[i] + "' for " + current.getSimpleName());
+                    }
+                    segments[i] = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+                    current = field.getType();
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Property '" + names[i] + "' of " + current.getSimpleName()
+                        + " is not accessible", e);
+            }
+        }
+        return new PropertyAccessor(path, segments, current);
+    }
+
+    private static Method findGetter(Class<?> type, String name) {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String candidate : new String[]{"get" + capitalized, "is" + capitalized, name}) {
+            try {
+                Method method = type.getMethod(candidate);
+                if (method.getReturnType() != void.class && method.trySetAccessible()) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // Try the next naming convention
+            }
+        }
+        return null;
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name) && field.trySetAccessible()) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.modulythe.framework.application.pagination;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A filter query recorded by {@link SlowQueryLog} because it ran longer than the threshold, whether it completed or
+ * not.
+ *
+ * @param recordedAt    when the query ended.
+ * @param scope         the queried type.
+ * @param filterShape   the names and types of the filters, without their values (see {@link SlowQueryLog#shapeOf}).
+ * @param elapsedMillis how long the query ran.
+ * @param outcome       how the query ended.
+ * @param statements    the SQL statements of the query, with bind markers instead of values.
+ * @param plans         the generic plans of the statements, in the same order; empty if not captured.
+ */
+public record SlowQuery(Instant recordedAt,
+                        String scope,
+                        String filterShape,
+                        long elapsedMillis,
+                        Outcome outcome,
+                        List<String> statements,
+                        List<String> plans) {
+
+    /**
+     * How a slow query ended.
+     */
+    public enum Outcome {
+        COMPLETED,
+        FAILED,
+        /**
+         * Failed by exceeding its time budget.
+         */
+        TIMED_OUT,
+        /**
+         * Cancelled by its subscriber, e.g. a client going away.
+         */
+        CANCELLED
+    }
+
+    public SlowQuery {
+        Objects.requireNonNull(outcome, "Outcome cannot be null");
+        statements = List.copyOf(statements);
+        plans = List.copyOf(plans);
+    }
+}
@@ -0,0 +1,37 @@
+package com.modulythe.framework.application.pagination;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the {@link SlowQueryLog}: {@code GET /actuator/slowqueries} lists the recorded queries,
+ * most recent first, and {@code DELETE /actuator/slowqueries} clears them.
+ * <p>
+ * Like any actuator endpoint, it must be exposed explicitly ({@code management.endpoints.web.exposure.include}).
+ * The recorded SQL holds no bound values, but reveals the schema: keep the endpoint behind the management security.
+ * </p>
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog log;
+
+    public SlowQueryEndpoint(SlowQueryLog log) {
+        this.log = log;
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return log.getEntries();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        log.clear();
+    }
+}
@@ -0,0 +1,129 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterComposite;
+import com.modulythe.framework.domain.common.pagination.FilterDate;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bounded in-memory ring of the slow filter queries, fed by the slow query detectors of the infrastructure modules
+ * ({@code JpaSlowQueryDetector}, {@code R2dbcSlowQueryDetector}) and exposed by {@link SlowQueryEndpoint}.
+ * <p>
+ * Each entry holds the shape of the filters (their names and types, never their values), how the query ended, the SQL
+ * statements and their plans: grouping the entries by shape tells which filter combinations need an index. Queries
+ * failing, timing out or cancelled past the threshold are recorded too, as they are often the slowest. When the ring
+ * is full, the oldest entry is dropped.
+ * </p>
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final SlowQueryProperties properties;
+    private final Deque<SlowQuery> entries;
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = Objects.requireNonNull(properties, "Slow query properties cannot be null");
+        if (properties.getMaxEntries() < 1) {
+            throw new IllegalArgumentException("Slow query log size must be greater than 0");
+        }
+        this.entries = new ArrayDeque<>(properties.getMaxEntries());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return whether the plans of the slow queries are captured.
+     */
+    public boolean isExplain() {
+        return properties.isExplain();
+    }
+
+    /**
+     * @param elapsed how long a query ran.
+     * @return whether the query is slow enough to be recorded.
+     */
+    public boolean isSlow(Duration elapsed) {
+        return properties.isEnabled() && elapsed.compareTo(properties.getThreshold()) > 0;
+    }
+
+    /**
+     * Records a slow query, dropping the oldest entry when the ring is full.
+     *
+     * @param query the slow query.
+     */
+    public void record(SlowQuery query) {
+        Objects.requireNonNull(query, "Slow query cannot be null");
+        LOGGER.warn("Slow {} query ({} ms, {}) filtered by [{}]",
+                query.scope(), query.elapsedMillis(), query.outcome(), query.filterShape());
+        synchronized (entries) {
+            if (entries.size() == properties.getMaxEntries()) {
+                entries.removeLast();
+            }
+            entries.addFirst(query);
+        }
+    }
+
+    /**
+     * @return the recorded queries, most recent first.
+     */
+    public List<SlowQuery> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Describes the shape of a list of filters: the name and type of each filter, with the match mode of string
+     * filters and the comparison of date filters, sorted by name; composites list their operands in parentheses.
+     * Values are left out, so that queries differing only by their values share the same shape.
+     *
+     * @param filters the filters, null or empty for an unfiltered query.
+     * @return the shape, e.g. {@code createdAt:DATE/BETWEEN, name:STRING/CONTAINS, OR(city:STRING, zip:STRING)}.
+     */
+    public static String shapeOf(List<? extends Filter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return "";
+        }
+        List<String> shapes = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            if (filter != null) {
+                shapes.add(shapeOf(filter));
+            }
+        }
+        shapes.sort(null);
+        return String.join(", ", shapes);
+    }
+
+    private static String shapeOf(Filter filter) {
+        if (filter instanceof FilterComposite composite) {
+            return composite.getType() + "(" + shapeOf(composite.getFilters()) + ")";
+        }
+        StringBuilder shape = new StringBuilder(filter.getName()).append(':').append(filter.getType());
+        if (filter instanceof FilterString string && string.getMatchMode() != null) {
+            shape.append('/').append(string.getMatchMode());
+        } else if (filter instanceof FilterDate date) {
+            shape.append('/').append(date.getFilterDateType());
+        }
+        return shape.toString();
+    }
+}
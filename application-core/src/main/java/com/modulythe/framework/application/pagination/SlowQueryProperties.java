@@ -0,0 +1,67 @@
+package com.modulythe.framework.application.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the slow filter-query detector.
+ * <p>
+ * Maps properties prefixed with "modulythe.pagination.slow-query".
+ * The detector is disabled by default: capturing the SQL and running EXPLAIN adds work to every slow query.
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "modulythe.pagination.slow-query")
+public class SlowQueryProperties {
+
+    /**
+     * Whether filter queries are timed and slow ones recorded.
+     */
+    private boolean enabled = false;
+    /**
+     * Duration above which a query is recorded.
+     */
+    private Duration threshold = Duration.ofMillis(500);
+    /**
+     * Maximum number of recorded queries, the oldest being dropped first.
+     */
+    private int maxEntries = 100;
+    /**
+     * Whether the plan of a slow query is captured with EXPLAIN.
+     */
+    private boolean explain = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+}
@@ -0,0 +1,29 @@
+package com.modulythe.framework.application.projection;
+
+import java.util.List;
+
+/**
+ * Port for reading domain events sequentially from an event store or an outbox table.
+ * <p>
+ * Implementations must return events ordered by ascending position. Reads are expected
+ * to be cheap for consecutive ranges (e.g. an indexed {@code position > ? ORDER BY position LIMIT ?} query).
+ * </p>
+ */
+public interface DomainEventStoreReader {
+
+    /**
+     * Reads at most {@code maxEvents} events whose position is greater than or equal to {@code fromPosition}.
+     *
+     * @param fromPosition the first position to read (inclusive).
+     * @param maxEvents    the maximum number of events to return.
+     * @return the events ordered by position, or an empty list if there is nothing to read.
+     */
+    List<StoredDomainEvent> readFrom(long fromPosition, int maxEvents);
+
+    /**
+     * Returns the position of the last event currently stored.
+     *
+     * @return the head position, or -1 if the store is empty.
+     */
+    long getHeadPosition();
+}
@@ -0,0 +1,25 @@
+package com.modulythe.framework.application.projection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Simple {@link ProjectionCheckpointStore} keeping checkpoints in memory.
+ * <p>
+ * Suitable for tests and for projections that are rebuilt at every startup.
+ * </p>
+ */
+public class InMemoryProjectionCheckpointStore implements ProjectionCheckpointStore {
+
+    private final Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public long load(String projectionName) {
+        return checkpoints.getOrDefault(projectionName, NO_CHECKPOINT);
+    }
+
+    @Override
+    public void save(String projectionName, long position) {
+        checkpoints.put(projectionName, position);
+    }
+}
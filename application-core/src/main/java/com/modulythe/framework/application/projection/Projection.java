@@ -0,0 +1,58 @@
+package com.modulythe.framework.application.projection;
+
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+
+import java.util.List;
+
+/**
+ * A denormalized read model built incrementally from domain events.
+ * <p>
+ * The {@link ProjectionEngine} hands events to the projection in batches; implementations are expected
+ * to apply a whole batch in a single round trip to their storage (e.g. a JDBC batch or a multi-row upsert).
+ * </p>
+ */
+public interface Projection {
+
+    /**
+     * Returns the unique name of the projection, used as the checkpoint key.
+     *
+     * @return the projection name.
+     */
+    String getName();
+
+    /**
+     * Indicates whether this projection is interested in the given event.
+     * Events that are not supported still advance the checkpoint.
+     *
+     * @param event the domain event.
+     * @return {@code true} if the event must be applied.
+     */
+    default boolean supports(BaseDomainEvent<?> event) {
+        return true;
+    }
+
+    /**
+     * Applies a batch of events, ordered by position, to the read model.
+     *
+     * @param events the events to apply (never empty).
+     */
+    void apply(List<StoredDomainEvent> events);
+
+    /**
+     * Clears the read model before a rebuild.
+     */
+    void reset();
+
+    /**
+     * Indicates whether batches may be applied concurrently and out of order during a rebuild.
+     * <p>
+     * This is typically the case when updates are commutative (counters, upserts keyed by aggregate
+     * where each aggregate only emits one relevant event, ...). Defaults to {@code false}.
+     * </p>
+     *
+     * @return {@code true} if {@link ProjectionEngine#rebuild(Projection)} may use parallel chunks.
+     */
+    default boolean isParallelRebuildSafe() {
+        return false;
+    }
+}
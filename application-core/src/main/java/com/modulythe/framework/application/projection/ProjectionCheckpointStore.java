@@ -0,0 +1,33 @@
+package com.modulythe.framework.application.projection;
+
+/**
+ * Port for persisting the progress (checkpoint) of each projection.
+ * <p>
+ * A checkpoint is the position of the last event that has been applied to the projection.
+ * Implementations backed by a database should store the checkpoint in the same transaction
+ * as the read model update whenever possible, to obtain exactly-once semantics.
+ * </p>
+ */
+public interface ProjectionCheckpointStore {
+
+    /**
+     * Value returned when a projection has not processed any event yet.
+     */
+    long NO_CHECKPOINT = -1L;
+
+    /**
+     * Loads the checkpoint of a projection.
+     *
+     * @param projectionName the unique name of the projection.
+     * @return the position of the last applied event, or {@link #NO_CHECKPOINT}.
+     */
+    long load(String projectionName);
+
+    /**
+     * Saves the checkpoint of a projection.
+     *
+     * @param projectionName the unique name of the projection.
+     * @param position       the position of the last applied event.
+     */
+    void save(String projectionName, long position);
+}
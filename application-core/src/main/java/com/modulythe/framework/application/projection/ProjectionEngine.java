@@ -0,0 +1,210 @@
+package com.modulythe.framework.application.projection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Engine maintaining {@link Projection read models} from the domain events of an event store or outbox.
+ * <p>
+ * Each projection has its own checkpoint. {@link #catchUp(Projection)} reads the events located after
+ * the checkpoint in batches, hands every batch to the projection in a single call (one storage round trip
+ * per batch), then advances the checkpoint. {@link #rebuild(Projection)} resets the projection and replays
+ * the whole store, in parallel chunks when the projection allows it.
+ * </p>
+ * <p>
+ * Calls for the same projection are serialized; different projections can be processed concurrently.
+ * </p>
+ */
+public class ProjectionEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProjectionEngine.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final long DEFAULT_REBUILD_CHUNK_SIZE = 50_000L;
+
+    private final DomainEventStoreReader eventStoreReader;
+    private final ProjectionCheckpointStore checkpointStore;
+    private final int batchSize;
+    private final int rebuildParallelism;
+    private final long rebuildChunkSize;
+    private final Map<String, Object> projectionLocks = new ConcurrentHashMap<>();
+
+    public ProjectionEngine(DomainEventStoreReader eventStoreReader, ProjectionCheckpointStore checkpointStore) {
+        this(eventStoreReader, checkpointStore, DEFAULT_BATCH_SIZE,
+                Runtime.getRuntime().availableProcessors(), DEFAULT_REBUILD_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a projection engine.
+     *
+     * @param eventStoreReader   the source of domain events.
+     * @param checkpointStore    the store holding the checkpoint of each projection.
+     * @param batchSize          the maximum number of events handed to a projection at once.
+     * @param rebuildParallelism the number of chunks replayed concurrently during a parallel rebuild.
+     * @param rebuildChunkSize   the number of positions covered by a single rebuild chunk.
+     */
+    public ProjectionEngine(DomainEventStoreReader eventStoreReader,
+                            ProjectionCheckpointStore checkpointStore,
+                            int batchSize,
+                            int rebuildParallelism,
+                            long rebuildChunkSize) {
+        this.eventStoreReader = Objects.requireNonNull(eventStoreReader, "Event store reader cannot be null");
+        this.checkpointStore = Objects.requireNonNull(checkpointStore, "Checkpoint store cannot be null");
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        if (rebuildParallelism < 1) {
+            throw new IllegalArgumentException("Rebuild parallelism must be greater than 0");
+        }
+        if (rebuildChunkSize < 1) {
+            throw new IllegalArgumentException("Rebuild chunk size must be greater than 0");
+        }
+        this.batchSize = batchSize;
+        this.rebuildParallelism = rebuildParallelism;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * Applies all the events stored after the checkpoint of the projection.
+     *
+     * @param projection the projection to update.
+     * @return the number of events applied to the projection.
+     */
+    public long catchUp(Projection projection) {
+        Objects.requireNonNull(projection, "Projection cannot be null");
+        synchronized (lockFor(projection)) {
+            long checkpoint = checkpointStore.load(projection.getName());
+            long applied = 0;
+            while (true) {
+                List<StoredDomainEvent> batch = eventStoreReader.readFrom(checkpoint + 1, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                applied += applyBatch(projection, batch, Long.MAX_VALUE);
+                checkpoint = batch.get(batch.size() - 1).position();
+                checkpointStore.save(projection.getName(), checkpoint);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Catches up several projections, one after the other.
+     *
+     * @param projections the projections to update.
+     * @return the total number of events applied.
+     */
+    public long catchUpAll(Collection<? extends Projection> projections) {
+        long applied = 0;
+        for (Projection projection : projections) {
+            applied += catchUp(projection);
+        }
+        return applied;
+    }
+
+    /**
+     * Resets the projection and replays every stored event.
+     * <p>
+     * When {@link Projection#isParallelRebuildSafe()} is {@code true}, the positions up to the current head
+     * are split into chunks replayed concurrently. Events appended during the rebuild are applied afterward
+     * by a regular {@link #catchUp(Projection)}.
+     * </p>
+     *
+     * @param projection the projection to rebuild.
+     * @return the number of events applied to the projection.
+     */
+    public long rebuild(Projection projection) {
+        Objects.requireNonNull(projection, "Projection cannot be null");
+        synchronized (lockFor(projection)) {
+            projection.reset();
+            checkpointStore.save(projection.getName(), ProjectionCheckpointStore.NO_CHECKPOINT);
+
+            long head = eventStoreReader.getHeadPosition();
+            long applied = 0;
+            if (head >= 0) {
+                applied = projection.isParallelRebuildSafe() && rebuildParallelism > 1 && head >= rebuildChunkSize
+                        ? replayInParallel(projection, head)
+                        : replayRange(projection, 0, head);
+                checkpointStore.save(projection.getName(), head);
+            }
+            LOGGER.info("Projection {} rebuilt up to position {} ({} events applied)", projection.getName(), head, applied);
+            return applied + catchUp(projection);
+        }
+    }
+
+    private long replayInParallel(Projection projection, long head) {
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism);
+        List<Future<Long>> chunks = new ArrayList<>();
+        try {
+            for (long from = 0; from <= head; from += rebuildChunkSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(head, from + rebuildChunkSize - 1);
+                chunks.add(executor.submit(() -> replayRange(projection, chunkStart, chunkEnd)));
+            }
+
+            long applied = 0;
+            for (Future<Long> chunk : chunks) {
+                applied += chunk.get();
+            }
+            return applied;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Rebuild of projection " + projection.getName() + " was interrupted", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Rebuild of projection " + projection.getName() + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long replayRange(Projection projection, long fromPosition, long toPosition) {
+        long next = fromPosition;
+        long applied = 0;
+        while (next <= toPosition) {
+            int maxEvents = (int) Math.min(batchSize, toPosition - next + 1);
+            List<StoredDomainEvent> batch = eventStoreReader.readFrom(next, maxEvents);
+            if (batch.isEmpty()) {
+                break;
+            }
+            applied += applyBatch(projection, batch, toPosition);
+            next = batch.get(batch.size() - 1).position() + 1;
+        }
+        return applied;
+    }
+
+    private long applyBatch(Projection projection, List<StoredDomainEvent> batch, long maxPosition) {
+        List<StoredDomainEvent> relevant = new ArrayList<>(batch.size());
+        for (StoredDomainEvent storedEvent : batch) {
+            if (storedEvent.position() > maxPosition) {
+                break;
+            }
+            if (projection.supports(storedEvent.event())) {
+                relevant.add(storedEvent);
+            }
+        }
+        if (!relevant.isEmpty()) {
+            projection.apply(relevant);
+        }
+        return relevant.size();
+    }
+
+    private Object lockFor(Projection projection) {
+        return projectionLocks.computeIfAbsent(projection.getName(), name -> new Object());
+    }
+}
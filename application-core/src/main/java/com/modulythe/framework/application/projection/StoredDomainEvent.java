@@ -0,0 +1,26 @@
+package com.modulythe.framework.application.projection;
+
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+
+import java.util.Objects;
+
+/**
+ * A domain event as persisted in an event store or outbox, together with its global position.
+ * <p>
+ * Positions are assigned by the store, start at 0 and are strictly increasing.
+ * They are the unit used by projections to track their progress.
+ * </p>
+ *
+ * @param position    the global position of the event in the store.
+ * @param aggregateId the identifier of the aggregate that emitted the event (may be null if unknown).
+ * @param event       the domain event itself.
+ */
+public record StoredDomainEvent(long position, String aggregateId, BaseDomainEvent<?> event) {
+
+    public StoredDomainEvent {
+        if (position < 0) {
+            throw new IllegalArgumentException("Event position must be greater than or equal to 0");
+        }
+        Objects.requireNonNull(event, "Event cannot be null");
+    }
+}
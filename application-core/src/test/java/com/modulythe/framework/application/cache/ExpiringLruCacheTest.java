@@ -0,0 +1,38 @@
+package com.modulythe.framework.application.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringLruCacheTest {
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        AtomicLong clock = new AtomicLong();
+        ExpiringLruCache<String, Long> cache = new ExpiringLruCache<>(10, Duration.ofNanos(100), clock::get);
+
+        cache.put("a", 1L);
+        clock.set(99);
+        assertEquals(1L, cache.get("a"));
+        clock.set(100);
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        ExpiringLruCache<String, Long> cache = new ExpiringLruCache<>(2, Duration.ofMinutes(1));
+
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a");
+        cache.put("c", 3L);
+
+        assertEquals(1L, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.invalidateIf(key -> key.equals("c")));
+        assertEquals(1, cache.size());
+    }
+}
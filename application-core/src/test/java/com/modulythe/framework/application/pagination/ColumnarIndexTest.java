@@ -0,0 +1,132 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarIndexTest {
+
+    enum Status {
+        ACTIVE,
+        RETIRED
+    }
+
+    record Product(long id, String name, BigDecimal price, Status status, Boolean featured, LocalDate launchedAt,
+                   String supplier) {
+    }
+
+    private final List<Product> products = List.of(
+            new Product(1, "Red Chair", new BigDecimal("49.0"), Status.ACTIVE, true, LocalDate.of(2024, 1, 10), "acme"),
+            new Product(2, "Blue chair", new BigDecimal("59.0"), Status.RETIRED, false, LocalDate.of(2023, 6, 1), "acme"),
+            new Product(3, "Table", new BigDecimal("199.0"), Status.ACTIVE, null, LocalDate.of(2024, 3, 5), "globex"),
+            new Product(4, "Lamp", null, Status.ACTIVE, true, null, null));
+
+    private final ColumnarIndex<Product> index = ColumnarIndex.builder(Product.class)
+            .index("id", "name", "price", "status", "featured", "launchedAt")
+            .build(products);
+
+    @Test
+    void shouldIntersectIndexedFilters() {
+        List<Filter> filters = List.of(
+                new FilterString("name", "CHAIR"),
+                new FilterList("status", new FilterListValues(List.of("ACTIVE"))),
+                new FilterBoolean("featured", true));
+
+        assertEquals(List.of("Red Chair"), names(index.filter(filters, null)));
+        assertEquals(1, index.count(filters));
+    }
+
+    @Test
+    void shouldAnswerRangeAndDateFiltersWithBinarySearch() {
+        Filter cheap = FilterRange.builder().name("price").min(50).max(200).build();
+        Filter launchedAfter = FilterDate.builder()
+                .name("launchedAt")
+                .startDate(LocalDate.of(2023, 12, 31))
+                .filterDateType(FilterDate.FilterDateType.AFTER)
+                .build();
+
+        assertEquals(List.of("Blue chair", "Table"), names(index.filter(List.of(cheap), null)));
+        assertEquals(List.of("Red Chair", "Table"), names(index.filter(List.of(launchedAfter), null)));
+        assertEquals(List.of("Table"), names(index.filter(List.of(new FilterNumber("id", 3.0)), null)));
+        assertEquals(List.of(), names(index.filter(List.of(new FilterNumber("id", 3.5)), null)));
+    }
+
+    @Test
+    void shouldExcludeNullPropertiesFromFilterAndNegation() {
+        Filter featured = new FilterBoolean("featured", true);
+
+        assertEquals(List.of("Red Chair", "Lamp"), names(index.filter(List.of(featured), null)));
+        assertEquals(List.of("Blue chair"), names(index.filter(List.of(FilterComposite.not(featured)), null)));
+        assertEquals(List.of("Blue chair", "Table", "Lamp"), names(index.filter(List.of(
+                FilterComposite.or(FilterComposite.not(featured), new FilterString("status", "ACTIVE")),
+                FilterComposite.not(new FilterString("name", "red"))), null)));
+    }
+
+    @Test
+    void shouldFallBackToScanForNonIndexedProperties() {
+        List<Filter> filters = List.of(FilterComposite.not(new FilterString("supplier", "acme")));
+
+        assertEquals(List.of("Table"), names(index.filter(filters, null)));
+    }
+
+    @Test
+    void shouldSortAndPageLikeTheDatabase() {
+        PageModel<Product> page = index.page(List.of(), PageableModel.of(0, 3,
+                SortModel.by(List.of(SortModel.Order.by("price", SortModel.Direction.DESC)))));
+        PageModel<Product> slice = index.page(List.of(), PageableModel.slice(1, 2,
+                SortModel.by(List.of(SortModel.Order.by("launchedAt", SortModel.Direction.ASC)))));
+
+        assertEquals(List.of("Lamp", "Table", "Blue chair"), names(page.getItems()));
+        assertEquals(4, page.getTotalItems());
+        assertTrue(page.hasNext());
+        assertEquals(List.of("Table", "Lamp"), names(slice.getItems()));
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void shouldRejectKeysetRequestsAndNonIndexableProperties() {
+        PageableModel keyset = PageableModel.keyset(10, SortModel.by(List.of(SortModel.Order.by("id", SortModel.Direction.ASC))), null);
+        ColumnarIndex.Builder<Product> builder = ColumnarIndex.builder(Product.class).index("weight");
+
+        assertThrows(IllegalArgumentException.class, () -> index.page(List.of(), keyset));
+        assertThrows(IllegalArgumentException.class, () -> builder.build(products));
+    }
+
+    @Test
+    void shouldMatchInMemoryEvaluatorOnLargeCollection() {
+        List<Product> catalog = new ArrayList<>();
+        IntStream.range(0, 20_000).forEach(i -> catalog.add(new Product(i, "item " + (i % 3_000),
+                i % 7 == 0 ? null : BigDecimal.valueOf(i % 500), Status.values()[i % 2], i % 5 == 0 ? null : i % 3 == 0,
+                LocalDate.of(2024, 1, 1).plusDays(i % 400), "supplier " + (i % 11))));
+        ColumnarIndex<Product> large = ColumnarIndex.builder(Product.class)
+                .index("id", "name", "price", "status", "featured", "launchedAt")
+                .build(catalog);
+        List<Filter> filters = List.of(
+                FilterComposite.or(FilterRange.builder().name("price").min(100).max(250).build(),
+                        FilterComposite.not(new FilterBoolean("featured", false))),
+                new FilterString("name", "9"),
+                FilterComposite.not(new FilterString("supplier", "supplier 3")));
+        SortModel sort = SortModel.by(List.of(SortModel.Order.by("price", SortModel.Direction.DESC),
+                SortModel.Order.by("launchedAt", SortModel.Direction.ASC)));
+
+        List<Product> expected = InMemoryFilterEvaluator.compile(Product.class, filters, sort).filter(catalog);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, large.filter(filters, sort));
+        assertEquals(expected.subList(40, 60), large.page(filters, PageableModel.of(2, 20, sort)).getItems());
+        SortModel byPrice = SortModel.by(List.of(SortModel.Order.by("price", SortModel.Direction.DESC)));
+        assertEquals(InMemoryFilterEvaluator.compile(Product.class, filters, byPrice).filter(catalog),
+                large.filter(filters, byPrice));
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::name).toList();
+    }
+}
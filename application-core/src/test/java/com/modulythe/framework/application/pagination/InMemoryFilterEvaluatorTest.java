@@ -0,0 +1,125 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryFilterEvaluatorTest {
+
+    enum Status {
+        ACTIVE,
+        RETIRED
+    }
+
+    record Country(String code) {
+    }
+
+    record Product(String name, Double price, Status status, LocalDate launchedAt, Country country) {
+    }
+
+    private final List<Product> products = List.of(
+            new Product("Red Chair", 49.0, Status.ACTIVE, LocalDate.of(2024, 1, 10), new Country("FR")),
+            new Product("Blue chair", 59.0, Status.RETIRED, LocalDate.of(2023, 6, 1), new Country("DE")),
+            new Product("Table", 199.0, Status.ACTIVE, LocalDate.of(2024, 3, 5), null),
+            new Product("Lamp", null, Status.ACTIVE, null, new Country("FR")));
+
+    @Test
+    void shouldFilterSortAndPage() {
+        InMemoryFilterEvaluator<Product> evaluator = InMemoryFilterEvaluator.compile(Product.class,
+                List.of(new FilterString("name", "CHAIR"), new FilterList("status", new FilterListValues(List.of("ACTIVE", "RETIRED")))),
+                SortModel.by(List.of(SortModel.Order.by("price", SortModel.Direction.DESC))));
+
+        PageModel<Product> page = evaluator.page(products, PageableModel.of(0, 1, SortModel.empty()));
+
+        assertEquals(List.of("Blue chair"), page.getItems().stream().map(Product::name).toList());
+        assertEquals(2, page.getTotalItems());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void shouldFollowStringMatchModes() {
+        assertEquals(List.of("Red Chair", "Blue chair"), names(new FilterString("name", "CHAIR")));
+        assertEquals(List.of("Table"), names(new FilterString("name", "Table", FilterString.MatchMode.EXACT)));
+        assertEquals(List.of(), names(new FilterString("name", "table", FilterString.MatchMode.EXACT)));
+        assertEquals(List.of("Blue chair"), names(new FilterString("name", "Bl", FilterString.MatchMode.PREFIX)));
+        assertEquals(List.of(), names(new FilterString("name", "bl", FilterString.MatchMode.PREFIX)));
+        assertEquals(List.of("Red Chair"), names(new FilterString("name", "rED", FilterString.MatchMode.CASE_INSENSITIVE_PREFIX)));
+    }
+
+    private List<String> names(Filter filter) {
+        return InMemoryFilterEvaluator.compile(Product.class, List.of(filter), null)
+                .filter(products).stream().map(Product::name).toList();
+    }
+
+    @Test
+    void shouldExcludeNullPropertiesFromFilterAndNegation() {
+        Filter launchedIn2024 = FilterDate.builder()
+                .name("launchedAt")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .filterDateType(FilterDate.FilterDateType.BETWEEN)
+                .build();
+
+        List<Product> launched = InMemoryFilterEvaluator.compile(Product.class, List.of(launchedIn2024), null)
+                .filter(products);
+        List<Product> notLaunched = InMemoryFilterEvaluator.compile(Product.class, List.of(FilterComposite.not(launchedIn2024)), null)
+                .filter(products);
+
+        assertEquals(List.of("Red Chair", "Table"), launched.stream().map(Product::name).toList());
+        assertEquals(List.of("Blue chair"), notLaunched.stream().map(Product::name).toList());
+    }
+
+    @Test
+    void shouldExcludeNullProperties_WhenFilterIsOredWithItsNegation() {
+        Filter launchedIn2024 = FilterDate.builder()
+                .name("launchedAt")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .filterDateType(FilterDate.FilterDateType.BETWEEN)
+                .build();
+
+        List<Product> matching = InMemoryFilterEvaluator.compile(Product.class,
+                        List.of(FilterComposite.or(launchedIn2024, FilterComposite.not(launchedIn2024))), null)
+                .filter(products);
+
+        assertEquals(List.of("Red Chair", "Blue chair", "Table"), matching.stream().map(Product::name).toList());
+    }
+
+    @Test
+    void shouldReadNestedPropertiesAndSortNullsLast() {
+        InMemoryFilterEvaluator<Product> evaluator = InMemoryFilterEvaluator.compile(Product.class,
+                List.of(FilterComposite.or(new FilterString("country.code", "FR"), new FilterNumber("price", 199.0))),
+                SortModel.by(List.of(SortModel.Order.by("price", SortModel.Direction.ASC))));
+
+        assertEquals(List.of("Red Chair", "Table", "Lamp"), evaluator.filter(products).stream().map(Product::name).toList());
+    }
+
+    @Test
+    void shouldEvaluateInParallelWithSameResult() {
+        List<Product> catalog = new ArrayList<>();
+        IntStream.range(0, 50_000).forEach(i -> catalog.add(
+                new Product("item " + i, (double) (i % 1000), Status.values()[i % 2], LocalDate.of(2024, 1, 1), null)));
+        List<Filter> filters = List.of(FilterRange.builder().name("price").min(100).max(199).build());
+        SortModel sort = SortModel.by(List.of(SortModel.Order.by("price", SortModel.Direction.DESC),
+                SortModel.Order.by("name", SortModel.Direction.ASC)));
+
+        List<Product> sequential = InMemoryFilterEvaluator.compile(Product.class, filters, sort, Integer.MAX_VALUE).filter(catalog);
+        List<Product> parallel = InMemoryFilterEvaluator.compile(Product.class, filters, sort, 1).filter(catalog);
+
+        assertEquals(5_000, parallel.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void shouldRejectUnknownProperty() {
+        List<Filter> filters = List.of(new FilterString("weight", "1"));
+
+        assertThrows(IllegalArgumentException.class, () -> InMemoryFilterEvaluator.compile(Product.class, filters, null));
+    }
+}
@@ -0,0 +1,107 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCountResolverTest {
+
+    static class Order {
+    }
+
+    static class OrderPlaced extends BaseDomainEvent<OrderPlaced> {
+        OrderPlaced() {
+            super(OrderPlaced.class, DomainEventTypes.CREATED);
+        }
+    }
+
+    private CountProperties properties;
+    private AtomicInteger counts;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CountProperties();
+        counts = new AtomicInteger();
+    }
+
+    private long count() {
+        counts.incrementAndGet();
+        return 42;
+    }
+
+    @Test
+    void shouldGiveSameSignatureRegardlessOfFilterOrder() {
+        Filter status = new FilterList("status", new FilterListValues(List.of("OPEN", "CLOSED")));
+        Filter name = new FilterString("name", "john");
+
+        assertEquals(
+                FilterSignature.of(List.of(status, name)),
+                FilterSignature.of(List.of(name, new FilterList("status", new FilterListValues(List.of("CLOSED", "OPEN"))))));
+        assertNotEquals(FilterSignature.of(List.of(name)), FilterSignature.of(List.of(new FilterString("name", "jane"))));
+        assertTrue(FilterSignature.of(null).isEmpty());
+    }
+
+    @Test
+    void shouldCacheCountPerFilterSignature() {
+        PageCountResolver resolver = new PageCountResolver(properties);
+        List<Filter> filters = List.of(new FilterString("name", "john"));
+
+        assertEquals(PageCount.exact(42), resolver.resolve(Order.class, filters, this::count));
+        assertEquals(PageCount.exact(42), resolver.resolve(Order.class, List.of(new FilterString("name", "john")), this::count));
+        assertEquals(1, counts.get());
+
+        resolver.resolve(Order.class, List.of(new FilterString("name", "jane")), this::count);
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void shouldInvalidateCountsOnRegisteredDomainEvent() {
+        PageCountResolver resolver = new PageCountResolver(properties).registerEvent(OrderPlaced.class, Order.class);
+
+        resolver.resolve(Order.class, List.of(), this::count);
+        resolver.onDomainEvent(new OrderPlaced());
+        resolver.resolve(Order.class, List.of(), this::count);
+
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void shouldNotCacheCount_WhenInvalidatedWhileCounting() {
+        PageCountResolver resolver = new PageCountResolver(properties);
+
+        resolver.resolve(Order.class, List.of(), () -> {
+            resolver.invalidate(Order.class);
+            return count();
+        });
+        resolver.resolve(Order.class, List.of(), this::count);
+        resolver.resolve(Order.class, List.of(), this::count);
+
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void shouldUseEstimateAboveThresholdOnly() {
+        properties.setEstimateEnabled(true);
+        properties.setEstimateThreshold(1_000);
+        properties.setCacheEnabled(false);
+        PageCountResolver resolver = new PageCountResolver(properties);
+
+        assertEquals(PageCount.estimated(5_000), resolver.resolve(Order.class, List.of(), this::count, () -> 5_000));
+        assertEquals(0, counts.get());
+
+        assertEquals(PageCount.exact(42), resolver.resolve(Order.class, List.of(), this::count, () -> 50));
+        assertEquals(PageCount.exact(42), resolver.resolve(Order.class, List.of(), this::count, () -> {
+            throw new IllegalStateException("no statistics");
+        }));
+        assertEquals(2, counts.get());
+    }
+}
@@ -0,0 +1,118 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResultCacheTest {
+
+    static class Order {
+    }
+
+    record OrderSummary(String reference) {
+    }
+
+    static class OrderPlaced extends BaseDomainEvent<OrderPlaced> {
+        OrderPlaced() {
+            super(OrderPlaced.class, DomainEventTypes.CREATED);
+        }
+    }
+
+    private static final PageableModel FIRST_PAGE = PageableModel.of(0, 2, SortModel.empty());
+
+    private PageCacheProperties properties;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PageCacheProperties();
+        properties.setEnabled(true);
+        queries = new AtomicInteger();
+    }
+
+    private PageModel<Order> page() {
+        queries.incrementAndGet();
+        return PageModel.builder(List.of(new Order())).itemsPerPage(2).pageNumber(0).totalItems(1).build();
+    }
+
+    @Test
+    void shouldServeIdenticalQueriesFromCache() {
+        PageResultCache cache = new PageResultCache(properties);
+        Filter status = new FilterList("status", new FilterListValues(List.of("OPEN", "CLOSED")));
+        Filter name = new FilterString("name", "john");
+
+        PageModel<Order> loaded = cache.get(Order.class, Order.class, List.of(status, name), FIRST_PAGE, this::page);
+        PageModel<Order> cached = cache.get(Order.class, Order.class,
+                List.of(name, new FilterList("status", new FilterListValues(List.of("CLOSED", "OPEN")))),
+                PageableModel.of(0, 2, SortModel.empty()), this::page);
+
+        assertSame(loaded, cached);
+        assertEquals(1, queries.get());
+        assertEquals(new PageCacheStats(1, 1, 1), cache.getStats());
+        assertEquals(0.5, cache.getStats().hitRate());
+    }
+
+    @Test
+    void shouldKeepPagesApart_WhenPageableOrItemTypeDiffers() {
+        PageResultCache cache = new PageResultCache(properties);
+
+        cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page);
+        cache.get(Order.class, Order.class, List.of(), PageableModel.of(1, 2, SortModel.empty()), this::page);
+        PageModel<OrderSummary> summaries = cache.get(Order.class, OrderSummary.class, List.of(), FIRST_PAGE,
+                () -> PageModel.builder(List.of(new OrderSummary("A-1"))).itemsPerPage(2).totalItems(1).build());
+
+        assertEquals(2, queries.get());
+        assertEquals(List.of(new OrderSummary("A-1")), summaries.getItems());
+        assertEquals(3, cache.getStats().entries());
+    }
+
+    @Test
+    void shouldInvalidatePagesOnRegisteredDomainEvent() {
+        PageResultCache cache = new PageResultCache(properties).registerEvent(OrderPlaced.class, Order.class);
+
+        cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page);
+        cache.onDomainEvent(new OrderPlaced());
+        cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page);
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void shouldNotCachePage_WhenInvalidatedWhileLoading() {
+        PageResultCache cache = new PageResultCache(properties).registerEvent(OrderPlaced.class, Order.class);
+
+        PageModel<Order> stale = cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, () -> {
+            cache.onDomainEvent(new OrderPlaced());
+            return page();
+        });
+        PageModel<Order> reloaded = cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page);
+
+        assertNotSame(stale, reloaded);
+        assertEquals(2, queries.get());
+        assertSame(reloaded, cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page));
+    }
+
+    @Test
+    void shouldQueryEveryTime_WhenDisabled() {
+        properties.setEnabled(false);
+        PageResultCache cache = new PageResultCache(properties);
+
+        cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page);
+        cache.get(Order.class, Order.class, List.of(), FIRST_PAGE, this::page);
+
+        assertEquals(2, queries.get());
+        assertEquals(new PageCacheStats(0, 0, 0), cache.getStats());
+    }
+}
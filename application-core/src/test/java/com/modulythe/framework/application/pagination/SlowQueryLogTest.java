@@ -0,0 +1,65 @@
+package com.modulythe.framework.application.pagination;
+
+import com.modulythe.framework.domain.common.pagination.FilterComposite;
+import com.modulythe.framework.domain.common.pagination.FilterDate;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    private static SlowQuery query(String scope) {
+        return new SlowQuery(Instant.now(), scope, "", 900, SlowQuery.Outcome.COMPLETED, List.of("select 1"), List.of());
+    }
+
+    @Test
+    void shouldKeepMostRecentEntries_WhenRingIsFull() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setEnabled(true);
+        properties.setMaxEntries(2);
+        SlowQueryLog log = new SlowQueryLog(properties);
+
+        log.record(query("A"));
+        log.record(query("B"));
+        log.record(query("C"));
+
+        assertEquals(List.of("C", "B"), log.getEntries().stream().map(SlowQuery::scope).toList());
+        log.clear();
+        assertTrue(log.getEntries().isEmpty());
+    }
+
+    @Test
+    void shouldOnlyReportSlowQueries_WhenEnabled() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ofMillis(500));
+        SlowQueryLog log = new SlowQueryLog(properties);
+
+        assertFalse(log.isSlow(Duration.ofSeconds(3)));
+        properties.setEnabled(true);
+        assertTrue(log.isSlow(Duration.ofSeconds(3)));
+        assertFalse(log.isSlow(Duration.ofMillis(500)));
+    }
+
+    @Test
+    void shouldDescribeFilterShapeWithoutValues() {
+        String shape = SlowQueryLog.shapeOf(List.of(
+                new FilterList("status", new FilterListValues(List.of("OPEN"))),
+                FilterDate.builder()
+                        .name("createdAt")
+                        .startDate(LocalDate.of(2024, 1, 1))
+                        .filterDateType(FilterDate.FilterDateType.AFTER)
+                        .build(),
+                FilterComposite.or(new FilterString("zip", "75001"), new FilterString("city", "Paris"))));
+
+        assertEquals("OR(city:STRING, zip:STRING), createdAt:DATE/AFTER, status:LIST", shape);
+        assertEquals("", SlowQueryLog.shapeOf(null));
+    }
+}
@@ -0,0 +1,155 @@
+package com.modulythe.framework.application.projection;
+
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionEngineTest {
+
+    static class TestEvent extends BaseDomainEvent<TestEvent> {
+        TestEvent() {
+            super(TestEvent.class, DomainEventTypes.CREATED);
+        }
+    }
+
+    static class OtherEvent extends BaseDomainEvent<OtherEvent> {
+        OtherEvent() {
+            super(OtherEvent.class, DomainEventTypes.UPDATED);
+        }
+    }
+
+    static class ListEventStore implements DomainEventStoreReader {
+        private final List<StoredDomainEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+        void append(BaseDomainEvent<?> event) {
+            events.add(new StoredDomainEvent(events.size(), "aggregate-" + events.size(), event));
+        }
+
+        @Override
+        public List<StoredDomainEvent> readFrom(long fromPosition, int maxEvents) {
+            int from = (int) Math.min(fromPosition, events.size());
+            int to = Math.min(events.size(), from + maxEvents);
+            return List.copyOf(events.subList(from, to));
+        }
+
+        @Override
+        public long getHeadPosition() {
+            return events.size() - 1L;
+        }
+    }
+
+    static class CountingProjection implements Projection {
+        private final AtomicLong applied = new AtomicLong();
+        private final AtomicInteger batches = new AtomicInteger();
+        private final boolean parallelSafe;
+
+        CountingProjection(boolean parallelSafe) {
+            this.parallelSafe = parallelSafe;
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public boolean supports(BaseDomainEvent<?> event) {
+            return event instanceof TestEvent;
+        }
+
+        @Override
+        public void apply(List<StoredDomainEvent> events) {
+            batches.incrementAndGet();
+            applied.addAndGet(events.size());
+        }
+
+        @Override
+        public void reset() {
+            applied.set(0);
+            batches.set(0);
+        }
+
+        @Override
+        public boolean isParallelRebuildSafe() {
+            return parallelSafe;
+        }
+    }
+
+    private ListEventStore eventStore;
+    private InMemoryProjectionCheckpointStore checkpointStore;
+
+    @BeforeEach
+    void setUp() {
+        eventStore = new ListEventStore();
+        checkpointStore = new InMemoryProjectionCheckpointStore();
+    }
+
+    @Test
+    void shouldApplyEventsInBatchesAndAdvanceCheckpoint() {
+        for (int i = 0; i < 25; i++) {
+            eventStore.append(new TestEvent());
+        }
+        ProjectionEngine engine = new ProjectionEngine(eventStore, checkpointStore, 10, 1, 100);
+        CountingProjection projection = new CountingProjection(false);
+
+        long applied = engine.catchUp(projection);
+
+        assertEquals(25, applied);
+        assertEquals(3, projection.batches.get());
+        assertEquals(24, checkpointStore.load("counting"));
+    }
+
+    @Test
+    void shouldOnlyApplyNewEventsOnSubsequentCatchUp() {
+        ProjectionEngine engine = new ProjectionEngine(eventStore, checkpointStore, 10, 1, 100);
+        CountingProjection projection = new CountingProjection(false);
+        eventStore.append(new TestEvent());
+        engine.catchUp(projection);
+
+        eventStore.append(new TestEvent());
+        eventStore.append(new OtherEvent());
+
+        assertEquals(1, engine.catchUp(projection));
+        assertEquals(2, projection.applied.get());
+        assertEquals(2, checkpointStore.load("counting"));
+    }
+
+    @Test
+    void shouldNotAdvanceCheckpointWhenBatchFails() {
+        eventStore.append(new TestEvent());
+        ProjectionEngine engine = new ProjectionEngine(eventStore, checkpointStore);
+        Projection failing = new CountingProjection(false) {
+            @Override
+            public void apply(List<StoredDomainEvent> events) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> engine.catchUp(failing));
+        assertEquals(ProjectionCheckpointStore.NO_CHECKPOINT, checkpointStore.load("counting"));
+    }
+
+    @Test
+    void shouldRebuildInParallelChunks() {
+        for (int i = 0; i < 1_000; i++) {
+            eventStore.append(i % 4 == 0 ? new OtherEvent() : new TestEvent());
+        }
+        ProjectionEngine engine = new ProjectionEngine(eventStore, checkpointStore, 50, 4, 100);
+        CountingProjection projection = new CountingProjection(true);
+        engine.catchUp(projection);
+
+        long applied = engine.rebuild(projection);
+
+        assertEquals(750, applied);
+        assertEquals(750, projection.applied.get());
+        assertEquals(999, checkpointStore.load("counting"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import com.modulythe.framework.domain.validation.Validate;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Represents a page of data obtained through keyset (cursor-based) pagination.
+ * <p>
+ * Unlike {@link PageModel}, it carries no page number nor total count: the neighbouring pages
+ * are reached through the {@link #getNextCursor() next} and {@link #getPreviousCursor() previous} cursors.
+ * </p>
+ *
+ * @param <T> the type of the items in the page
+ */
+public final class CursorPageModel<T> implements Validate<CursorPageModel<T>> {
+
+    @NotNull
+    private final List<T> items;
+    private final int itemsPerPage;
+    private final KeysetCursor nextCursor;
+    private final KeysetCursor previousCursor;
+
+    private CursorPageModel(List<T> items, int itemsPerPage, KeysetCursor nextCursor, KeysetCursor previousCursor) {
+        this.items = items;
+        this.itemsPerPage = itemsPerPage;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+        validate(this);
+
+        if (itemsPerPage < 1) {
+            throw new IllegalArgumentException("Items per page must be greater than 0");
+        }
+    }
+
+    /**
+     * Builds a cursor page from the rows returned by a keyset query.
+     * <p>
+     * The query is expected to be sorted with {@link PageableModel#getEffectiveSort()} and limited to
+     * {@code itemsPerPage + 1} rows: the extra row only tells whether another page exists in the seek direction.
+     * Rows read backward are put back in the requested order.
+     * </p>
+     *
+     * @param rows         the rows returned by the query (at most {@code itemsPerPage + 1}).
+     * @param pageable     the keyset request.
+     * @param keyExtractor extracts the sort key values of a row, in the order of the sort orders.
+     * @param <T>          the type of the rows.
+     * @return the cursor page.
+     */
+    public static <T> CursorPageModel<T> of(List<T> rows,
+                                            PageableModel pageable,
+                                            Function<? super T, ? extends List<?>> keyExtractor) {
+        Objects.requireNonNull(rows, "Rows cannot be null");
+        if (!pageable.isKeyset()) {
+            throw new IllegalArgumentException("A keyset pageable is required to build a cursor page");
+        }
+        int size = pageable.getItemsPerPage();
+        boolean hasMore = rows.size() > size;
+        List<T> items = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+
+        KeysetCursor cursor = pageable.getCursor();
+        boolean backward = cursor != null && cursor.isBackward();
+        if (backward) {
+            Collections.reverse(items);
+        }
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+
+        KeysetCursor next = null;
+        KeysetCursor previous = null;
+        if (!items.isEmpty()) {
+            if (hasNext) {
+                next = KeysetCursor.after(keyExtractor.apply(items.get(items.size() - 1)));
+            }
+            if (hasPrevious) {
+                previous = KeysetCursor.before(keyExtractor.apply(items.get(0)));
+            }
+        }
+        return new CursorPageModel<>(List.copyOf(items), size, next, previous);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getItemsPerPage() {
+        return itemsPerPage;
+    }
+
+    /**
+     * @return the cursor of the following page, or null if this is the last page.
+     */
+    public KeysetCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return the cursor of the preceding page, or null if this is the first page.
+     */
+    public KeysetCursor getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorPageModel<?> that = (CursorPageModel<?>) o;
+        return itemsPerPage == that.itemsPerPage
+                && Objects.equals(items, that.items)
+                && Objects.equals(nextCursor, that.nextCursor)
+                && Objects.equals(previousCursor, that.previousCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, itemsPerPage, nextCursor, previousCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorPageModel{" +
+                "itemsPerPage=" + itemsPerPage +
+                ", items=" + items +
+                ", nextCursor=" + nextCursor +
+                ", previousCursor=" + previousCursor +
+                '}';
+    }
+}
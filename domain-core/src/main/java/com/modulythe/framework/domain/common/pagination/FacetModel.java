@@ -0,0 +1,106 @@
+package com.modulythe.framework.domain.common.pagination;
+
+
+import com.modulythe.framework.domain.ddd.BaseValueObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes the facets to compute for a list of filters: the properties whose distinct values are counted
+ * (rendered as {@link FilterListValues}) and the numeric properties whose range is read
+ * (rendered as {@link FilterRangeValues}).
+ * <p>
+ * It is passed alongside the filters of a search so that all the facets are computed in a single grouped query,
+ * instead of one {@code SELECT DISTINCT} or {@code MIN}/{@code MAX} query per facet. The properties follow the
+ * naming of the filters; the result is a {@link FacetResultModel}.
+ * </p>
+ */
+@SuppressWarnings("java:S2160") // "false positive"
+public final class FacetModel extends BaseValueObject<FacetModel> {
+
+    private final List<String> countFacets;
+    private final List<String> rangeFacets;
+
+    private FacetModel(FacetBuilder builder) {
+        super(FacetModel.class);
+        this.countFacets = List.copyOf(builder.countFacets);
+        this.rangeFacets = List.copyOf(builder.rangeFacets);
+        validate(this);
+
+        assertFacets();
+    }
+
+    public static FacetBuilder builder() {
+        return new FacetBuilder();
+    }
+
+    public static final class FacetBuilder {
+        private final List<String> countFacets = new ArrayList<>();
+        private final List<String> rangeFacets = new ArrayList<>();
+
+        private FacetBuilder() {
+        }
+
+        /**
+         * @param properties the properties whose distinct values are counted.
+         * @return this builder.
+         */
+        public FacetBuilder count(String... properties) {
+            countFacets.addAll(Arrays.asList(properties));
+            return this;
+        }
+
+        /**
+         * @param properties the numeric properties whose minimum and maximum are read.
+         * @return this builder.
+         */
+        public FacetBuilder range(String... properties) {
+            rangeFacets.addAll(Arrays.asList(properties));
+            return this;
+        }
+
+        public FacetModel build() {
+            return new FacetModel(this);
+        }
+    }
+
+    private void assertFacets() {
+        if (countFacets.isEmpty() && rangeFacets.isEmpty()) {
+            throw new IllegalArgumentException("At least one facet must be requested");
+        }
+        Set<String> seen = new HashSet<>();
+        List<String> facets = new ArrayList<>(countFacets);
+        facets.addAll(rangeFacets);
+        for (String facet : facets) {
+            if (facet.isBlank()) {
+                throw new IllegalArgumentException("Facet property cannot be blank");
+            }
+            if (!seen.add(facet)) {
+                throw new IllegalArgumentException("Duplicate facet property '" + facet + "'");
+            }
+        }
+    }
+
+    /**
+     * @return the properties whose distinct values are counted, in the requested order.
+     */
+    public List<String> getCountFacets() {
+        return countFacets;
+    }
+
+    /**
+     * @return the numeric properties whose range is read, in the requested order.
+     */
+    public List<String> getRangeFacets() {
+        return rangeFacets;
+    }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(countFacets, rangeFacets);
+    }
+}
@@ -0,0 +1,168 @@
+package com.modulythe.framework.domain.common.pagination;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The facets computed for a list of filters, as requested by a {@link FacetModel}.
+ * <p>
+ * Count facets hold the number of matching items per distinct value, most frequent first; items whose value is null
+ * are not counted. Range facets hold the minimum and maximum of the property over the matching items, and are
+ * absent when no matching item has a value. {@link #toFilterValues()} renders them as the {@link FilterValues}
+ * used by UIs to display the facets.
+ * </p>
+ */
+public final class FacetResultModel {
+
+    private final FacetModel facets;
+    private final Map<String, Map<String, Long>> counts;
+    private final Map<String, FilterRangeValues> ranges;
+    private final long totalItems;
+
+    private FacetResultModel(FacetResultBuilder builder) {
+        this.facets = builder.facets;
+        Map<String, Map<String, Long>> sortedCounts = new HashMap<>();
+        for (String facet : facets.getCountFacets()) {
+            sortedCounts.put(facet, sortByCount(builder.counts.getOrDefault(facet, Map.of())));
+        }
+        this.counts = Collections.unmodifiableMap(sortedCounts);
+        this.ranges = Map.copyOf(builder.ranges);
+        this.totalItems = builder.totalItems;
+    }
+
+    public static FacetResultBuilder builder(FacetModel facets) {
+        return new FacetResultBuilder(facets);
+    }
+
+    public static final class FacetResultBuilder {
+        private final FacetModel facets;
+        private final Map<String, Map<String, Long>> counts = new HashMap<>();
+        private final Map<String, FilterRangeValues> ranges = new HashMap<>();
+        private long totalItems;
+
+        private FacetResultBuilder(FacetModel facets) {
+            this.facets = Objects.requireNonNull(facets, "Facets cannot be null");
+        }
+
+        /**
+         * Adds the number of items having a value of a count facet; counts of the same value are summed.
+         *
+         * @param facet the count facet.
+         * @param value the value, ignored if null.
+         * @param count the number of items.
+         * @return this builder.
+         */
+        public FacetResultBuilder count(String facet, Object value, long count) {
+            if (!facets.getCountFacets().contains(facet)) {
+                throw new IllegalArgumentException("'" + facet + "' is not a requested count facet");
+            }
+            if (value != null) {
+                counts.computeIfAbsent(facet, key -> new HashMap<>()).merge(String.valueOf(value), count, Long::sum);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the range of a range facet.
+         *
+         * @param facet the range facet.
+         * @param min   the minimum, null if no item has a value.
+         * @param max   the maximum, null if no item has a value.
+         * @return this builder.
+         */
+        public FacetResultBuilder range(String facet, Number min, Number max) {
+            if (!facets.getRangeFacets().contains(facet)) {
+                throw new IllegalArgumentException("'" + facet + "' is not a requested range facet");
+            }
+            if (min != null && max != null) {
+                ranges.put(facet, new FilterRangeValues(min.doubleValue(), max.doubleValue()));
+            }
+            return this;
+        }
+
+        public FacetResultBuilder totalItems(long totalItems) {
+            this.totalItems = totalItems;
+            return this;
+        }
+
+        public FacetResultModel build() {
+            return new FacetResultModel(this);
+        }
+    }
+
+    public FacetModel getFacets() {
+        return facets;
+    }
+
+    /**
+     * @param facet a requested count facet.
+     * @return the number of items per value, most frequent first.
+     * @throws IllegalArgumentException if the facet is not a requested count facet.
+     */
+    public Map<String, Long> getCounts(String facet) {
+        Map<String, Long> facetCounts = counts.get(facet);
+        if (facetCounts == null) {
+            throw new IllegalArgumentException("'" + facet + "' is not a requested count facet");
+        }
+        return facetCounts;
+    }
+
+    /**
+     * @param facet a requested range facet.
+     * @return the range of the facet, empty if no matching item has a value.
+     * @throws IllegalArgumentException if the facet is not a requested range facet.
+     */
+    public Optional<FilterRangeValues> getRange(String facet) {
+        if (!facets.getRangeFacets().contains(facet)) {
+            throw new IllegalArgumentException("'" + facet + "' is not a requested range facet");
+        }
+        return Optional.ofNullable(ranges.get(facet));
+    }
+
+    /**
+     * @return the number of items matching the filters.
+     */
+    public long getTotalItems() {
+        return totalItems;
+    }
+
+    /**
+     * Renders the facets as filter values: the values of each count facet, in the order of
+     * {@link FacetModel#getCountFacets()}, and the range of each range facet having one, in the order of
+     * {@link FacetModel#getRangeFacets()}.
+     *
+     * @return the filter values.
+     */
+    public FilterValues toFilterValues() {
+        List<FilterListValues> lists = new ArrayList<>(facets.getCountFacets().size());
+        for (String facet : facets.getCountFacets()) {
+            lists.add(new FilterListValues(List.copyOf(counts.get(facet).keySet())));
+        }
+        List<FilterRangeValues> rangeValues = new ArrayList<>(ranges.size());
+        for (String facet : facets.getRangeFacets()) {
+            FilterRangeValues range = ranges.get(facet);
+            if (range != null) {
+                rangeValues.add(range);
+            }
+        }
+        return FilterValues.builder()
+                .filterListValuesList(lists)
+                .filterRangeValuesList(rangeValues)
+                .build();
+    }
+
+    private static Map<String, Long> sortByCount(Map<String, Long> facetCounts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        facetCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(sorted);
+    }
+}
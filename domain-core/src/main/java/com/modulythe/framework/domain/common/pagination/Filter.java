@@ -4,6 +4,7 @@ import com.modulythe.framework.domain.validation.Validate;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,6 +13,11 @@ import java.util.Objects;
  * This class defines the common properties of a filter, such as its name and type.
  * It also implements the {@link Validate} interface to ensure the integrity of the filter data.
  * </p>
+ * <p>
+ * Filters are compared by value: two filters are equal when they have the same class, name, type and values.
+ * Subclasses declare their values by overriding {@link #attributesToIncludeInEqualityCheck()}; those that do not
+ * keep comparing by identity.
+ * </p>
  */
 public abstract class Filter implements Validate<Filter> {
 
@@ -39,7 +45,17 @@ public abstract class Filter implements Validate<Filter> {
         DATE,
         RANGE,
         BOOLEAN,
-        LIST
+        LIST,
+        AND,
+        OR,
+        NOT;
+
+        /**
+         * @return whether this type is a logical operator combining other filters (see {@link FilterComposite}).
+         */
+        public boolean isComposite() {
+            return this == AND || this == OR || this == NOT;
+        }
     }
 
     public static FilterType fromName(String name) {
@@ -49,6 +65,33 @@ public abstract class Filter implements Validate<Filter> {
                 .orElseThrow(() -> new IllegalArgumentException("Unknown filter type: " + name));
     }
 
+    /**
+     * Values participating in equals/hashCode, besides the name and the type.
+     *
+     * @return the values of the filter, or null (the default) to compare filters by identity.
+     */
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Filter filter = (Filter) o;
+        List<Object> attributes = attributesToIncludeInEqualityCheck();
+        return attributes != null
+                && name.equals(filter.name)
+                && type == filter.type
+                && attributes.equals(filter.attributesToIncludeInEqualityCheck());
+    }
+
+    @Override
+    public int hashCode() {
+        List<Object> attributes = attributesToIncludeInEqualityCheck();
+        return attributes != null ? Objects.hash(name, type, attributes) : System.identityHashCode(this);
+    }
+
     @Override
     public String toString() {
         return "Filter{" +
@@ -0,0 +1,150 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Represents a logical combination of filters: {@link FilterType#AND}, {@link FilterType#OR} or {@link FilterType#NOT}.
+ * <p>
+ * Composites can be nested to express any boolean condition in a single query, e.g.
+ * {@code and(status, or(not(archived), owner))}. An AND without operand always matches and an OR without operand
+ * never matches; {@link FilterSimplifier} folds these constants before the expression is translated to a query.
+ * The name of a composite is not a property: it defaults to the name of its operator.
+ * </p>
+ */
+public final class FilterComposite extends Filter {
+
+    public static FilterCompositeBuilder builder() {
+        return new FilterCompositeBuilder();
+    }
+
+    public static final class FilterCompositeBuilder extends FilterBuilder<FilterComposite, FilterCompositeBuilder> {
+        private FilterType operator;
+        private List<Filter> filters = List.of();
+
+        public FilterCompositeBuilder operator(FilterType operator) {
+            this.operator = operator;
+            return this;
+        }
+
+        public FilterCompositeBuilder filters(List<? extends Filter> filters) {
+            this.filters = filters == null ? null : List.copyOf(filters);
+            return this;
+        }
+
+        @Override
+        protected FilterCompositeBuilder self() {
+            return this;
+        }
+
+        @Override
+        protected FilterComposite buildFilter() {
+            if (getName() == null && operator != null) {
+                name(operator.name().toLowerCase(Locale.ROOT));
+            }
+            return new FilterComposite(this);
+        }
+    }
+
+    @NotNull
+    private final List<Filter> filters;
+
+    private FilterComposite(FilterCompositeBuilder builder) {
+        super(builder, requireComposite(builder.operator));
+        this.filters = Objects.requireNonNull(builder.filters, "Composite filter operands cannot be null");
+        if (builder.operator == FilterType.NOT && filters.size() != 1) {
+            throw new IllegalArgumentException("NOT filter requires exactly one operand");
+        }
+        validate(this);
+    }
+
+    /**
+     * Combines filters with AND logic.
+     *
+     * @param filters the operands; none for a filter matching everything.
+     * @return the AND composite.
+     */
+    public static FilterComposite and(Filter... filters) {
+        return and(Arrays.asList(filters));
+    }
+
+    public static FilterComposite and(List<? extends Filter> filters) {
+        return builder().operator(FilterType.AND).filters(filters).build();
+    }
+
+    /**
+     * Combines filters with OR logic.
+     *
+     * @param filters the operands; none for a filter matching nothing.
+     * @return the OR composite.
+     */
+    public static FilterComposite or(Filter... filters) {
+        return or(Arrays.asList(filters));
+    }
+
+    public static FilterComposite or(List<? extends Filter> filters) {
+        return builder().operator(FilterType.OR).filters(filters).build();
+    }
+
+    /**
+     * Negates a filter.
+     *
+     * @param filter the negated filter.
+     * @return the NOT composite.
+     */
+    public static FilterComposite not(Filter filter) {
+        return builder().operator(FilterType.NOT).filters(List.of(filter)).build();
+    }
+
+    private static FilterType requireComposite(FilterType operator) {
+        if (operator == null || !operator.isComposite()) {
+            throw new IllegalArgumentException("Composite filter operator must be AND, OR or NOT: " + operator);
+        }
+        return operator;
+    }
+
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    /**
+     * @return the negated filter of a NOT composite.
+     */
+    public Filter getOperand() {
+        if (getType() != FilterType.NOT) {
+            throw new IllegalStateException("Only a NOT filter has a single operand");
+        }
+        return filters.get(0);
+    }
+
+    /**
+     * @return whether this composite is an AND without operand, matching everything.
+     */
+    public boolean isAlwaysTrue() {
+        return getType() == FilterType.AND && filters.isEmpty();
+    }
+
+    /**
+     * @return whether this composite is an OR without operand, matching nothing.
+     */
+    public boolean isAlwaysFalse() {
+        return getType() == FilterType.OR && filters.isEmpty();
+    }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(filters);
+    }
+
+    @Override
+    public String toString() {
+        return "FilterComposite{" +
+                "type=" + getType() +
+                ", filters=" + filters +
+                '}';
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 
 import static java.util.Collections.emptySet;
 
@@ -126,4 +127,9 @@ public final class FilterDate extends Filter {
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Unknown filter date type: " + name));
     }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return Arrays.asList(filterDateType, startDate, endDate);
+    }
 }
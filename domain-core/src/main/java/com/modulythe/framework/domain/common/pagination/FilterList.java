@@ -2,6 +2,7 @@ package com.modulythe.framework.domain.common.pagination;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -55,4 +56,9 @@ public final class FilterList extends Filter {
     public FilterListValues getValues() {
         return values;
     }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(values);
+    }
 }
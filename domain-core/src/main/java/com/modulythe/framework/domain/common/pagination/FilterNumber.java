@@ -2,6 +2,7 @@ package com.modulythe.framework.domain.common.pagination;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -54,4 +55,9 @@ public final class FilterNumber extends Filter {
     public Double getValue() {
         return value;
     }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(value);
+    }
 }
@@ -1,5 +1,7 @@
 package com.modulythe.framework.domain.common.pagination;
 
+import java.util.List;
+
 /**
  * Represents a filter for a numeric range.
  * <p>
@@ -55,4 +57,9 @@ public final class FilterRange extends Filter {
     public int getMax() {
         return max;
     }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(min, max);
+    }
 }
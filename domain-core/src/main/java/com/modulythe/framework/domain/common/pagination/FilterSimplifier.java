@@ -0,0 +1,130 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Simplifies filter expressions before they are translated to a query.
+ * <p>
+ * The following rewrites are applied bottom-up:
+ * <ul>
+ *     <li>flattening: {@code and(a, and(b, c))} becomes {@code and(a, b, c)}, likewise for OR;</li>
+ *     <li>double negation: {@code not(not(a))} becomes {@code a};</li>
+ *     <li>constant folding: always-true operands are dropped from an AND, and an always-false operand makes the
+ *     whole AND always false (dually for OR); the negation of a constant is folded;</li>
+ *     <li>duplicate elimination: equal operands are kept once, in their first position;</li>
+ *     <li>single operands: an AND or OR with a single operand is replaced by it.</li>
+ * </ul>
+ * The result is either a leaf filter, a NOT of a non-constant filter, or an AND/OR of at least two operands,
+ * except at the root where a constant is kept to tell that the expression matches everything or nothing.
+ * </p>
+ * <p>
+ * Complements are deliberately not folded: under SQL three-valued logic {@code and(a, not(a))} and
+ * {@code or(a, not(a))} are both unknown for a row whose property is null, so such a row matches neither.
+ * </p>
+ */
+public final class FilterSimplifier {
+
+    private FilterSimplifier() {
+        // Utility class
+    }
+
+    /**
+     * Simplifies a list of filters combined with AND logic.
+     *
+     * @param filters the filters; null elements are ignored.
+     * @return the simplified expression, {@link FilterComposite#isAlwaysTrue() always true} for no filter.
+     */
+    public static Filter simplify(List<? extends Filter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return FilterComposite.and();
+        }
+        return simplify(FilterComposite.and(filters.stream().filter(Objects::nonNull).toList()));
+    }
+
+    /**
+     * Simplifies a filter expression.
+     *
+     * @param filter the expression.
+     * @return the simplified expression, equivalent to the given one.
+     */
+    public static Filter simplify(Filter filter) {
+        if (!(filter instanceof FilterComposite composite)) {
+            return filter;
+        }
+        if (composite.getType() == Filter.FilterType.NOT) {
+            return negate(simplify(composite.getOperand()));
+        }
+        return simplifyJunction(composite.getType(), composite.getFilters());
+    }
+
+    /**
+     * Splits a simplified expression into the operands of its top-level AND.
+     *
+     * @param simplified an expression returned by {@link #simplify(Filter)}.
+     * @return the conjuncts: empty when the expression always matches.
+     */
+    public static List<Filter> conjuncts(Filter simplified) {
+        if (simplified instanceof FilterComposite composite && composite.getType() == Filter.FilterType.AND) {
+            return composite.getFilters();
+        }
+        return List.of(simplified);
+    }
+
+    /**
+     * @return whether the expression is a constant never matching anything.
+     */
+    public static boolean isAlwaysFalse(Filter filter) {
+        return filter instanceof FilterComposite composite && composite.isAlwaysFalse();
+    }
+
+    /**
+     * @return whether the expression is a constant matching everything.
+     */
+    public static boolean isAlwaysTrue(Filter filter) {
+        return filter instanceof FilterComposite composite && composite.isAlwaysTrue();
+    }
+
+    private static Filter negate(Filter simplified) {
+        if (isAlwaysTrue(simplified)) {
+            return FilterComposite.or();
+        }
+        if (isAlwaysFalse(simplified)) {
+            return FilterComposite.and();
+        }
+        if (simplified instanceof FilterComposite composite && composite.getType() == Filter.FilterType.NOT) {
+            return composite.getOperand();
+        }
+        return FilterComposite.not(simplified);
+    }
+
+    private static Filter simplifyJunction(Filter.FilterType operator, List<Filter> operands) {
+        boolean and = operator == Filter.FilterType.AND;
+        Filter absorbing = and ? FilterComposite.or() : FilterComposite.and();
+
+        Set<Filter> kept = new LinkedHashSet<>();
+        for (Filter operand : operands) {
+            Filter simplified = simplify(operand);
+            List<Filter> flattened = simplified.getType() == operator
+                    ? ((FilterComposite) simplified).getFilters()
+                    : List.of(simplified);
+            for (Filter child : flattened) {
+                if (and ? isAlwaysFalse(child) : isAlwaysTrue(child)) {
+                    return absorbing;
+                }
+                if (!(and ? isAlwaysTrue(child) : isAlwaysFalse(child))) {
+                    kept.add(child);
+                }
+            }
+        }
+
+        if (kept.size() == 1) {
+            return kept.iterator().next();
+        }
+        List<Filter> result = new ArrayList<>(kept);
+        return and ? FilterComposite.and(result) : FilterComposite.or(result);
+    }
+}
@@ -2,29 +2,90 @@ package com.modulythe.framework.domain.common.pagination;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
  * Represents a filter for string values.
  * <p>
  * This filter is used to filter data based on exact string matches or substrings,
- * depending on the interpretation in the infrastructure layer.
+ * depending on its {@link MatchMode}. A filter without match mode uses the mode configured for its property
+ * in the infrastructure layer, {@link #DEFAULT_MATCH_MODE} by default.
  * </p>
  */
 public final class FilterString extends Filter {
 
+    /**
+     * Match mode of the filters and properties without any configured mode.
+     */
+    public static final MatchMode DEFAULT_MATCH_MODE = MatchMode.CONTAINS;
+
+    /**
+     * How the value of a string filter is compared to the property.
+     * <p>
+     * Only {@link #EXACT} and the prefix modes can be answered from a B-tree index: a substring search reads
+     * every row, unless backed by a dedicated (e.g. trigram) index.
+     * </p>
+     */
+    public enum MatchMode {
+        /**
+         * The property contains the value, ignoring case.
+         */
+        CONTAINS,
+        /**
+         * The property equals the value.
+         */
+        EXACT,
+        /**
+         * The property starts with the value, case-sensitive.
+         */
+        PREFIX,
+        /**
+         * The property starts with the value, ignoring case.
+         */
+        CASE_INSENSITIVE_PREFIX;
+
+        /**
+         * Evaluates the mode in memory.
+         *
+         * @param text  the property value.
+         * @param value the filter value.
+         * @return whether the property value matches.
+         */
+        public boolean matches(String text, String value) {
+            return switch (this) {
+                case CONTAINS -> text.toLowerCase(Locale.ROOT).contains(value.toLowerCase(Locale.ROOT));
+                case EXACT -> text.equals(value);
+                case PREFIX -> text.startsWith(value);
+                case CASE_INSENSITIVE_PREFIX -> text.regionMatches(true, 0, value, 0, value.length());
+            };
+        }
+    }
+
     public static FilterStringBuilder builder() {
         return new FilterStringBuilder();
     }
 
     public static final class FilterStringBuilder extends FilterBuilder<FilterString, FilterStringBuilder> {
         private String value;
+        private MatchMode matchMode;
 
         public FilterStringBuilder value(String value) {
             this.value = value;
             return this;
         }
 
+        /**
+         * @param matchMode the match mode, or null to use the mode configured for the property.
+         * @return this builder.
+         */
+        public FilterStringBuilder matchMode(MatchMode matchMode) {
+            this.matchMode = matchMode;
+            return this;
+        }
+
         @Override
         protected FilterStringBuilder self() {
             return this;
@@ -38,21 +99,51 @@ public final class FilterString extends Filter {
 
     @NotNull
     private final String value;
+    private final MatchMode matchMode;
 
     private FilterString(FilterStringBuilder builder) {
         super(builder, Filter.FilterType.STRING);
         this.value = Objects.requireNonNull(builder.value, "Filter string value cannot be null");
+        this.matchMode = builder.matchMode;
         validate(this);
     }
 
     // Constructor for direct use in mapper (less ideal, but for quick fix)
     public FilterString(String name, String value) {
+        this(name, value, null);
+    }
+
+    public FilterString(String name, String value, MatchMode matchMode) {
         super(new FilterStringBuilder().name(name).value(value), Filter.FilterType.STRING);
         this.value = Objects.requireNonNull(value, "Filter string value cannot be null");
+        this.matchMode = matchMode;
         validate(this);
     }
 
     public String getValue() {
         return value;
     }
+
+    /**
+     * @return the match mode, or null when the mode configured for the property applies.
+     */
+    public MatchMode getMatchMode() {
+        return matchMode;
+    }
+
+    /**
+     * @param configured the mode configured for the property, may be null.
+     * @return the match mode of this filter, otherwise the configured one, otherwise {@link #DEFAULT_MATCH_MODE}.
+     */
+    public MatchMode getMatchModeOr(MatchMode configured) {
+        if (matchMode != null) {
+            return matchMode;
+        }
+        return configured != null ? configured : DEFAULT_MATCH_MODE;
+    }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return Arrays.asList(value, matchMode);
+    }
 }
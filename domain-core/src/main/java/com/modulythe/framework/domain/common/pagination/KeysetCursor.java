@@ -0,0 +1,185 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import com.modulythe.framework.domain.ddd.BaseValueObject;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Opaque cursor used by keyset (seek) pagination.
+ * <p>
+ * A cursor holds the sort key values of a boundary row, in the order of the {@link SortModel} orders,
+ * and the direction of the seek: {@link SeekDirection#NEXT} reads the rows located after the boundary,
+ * {@link SeekDirection#PREVIOUS} the rows located before it.
+ * </p>
+ * <p>
+ * Cursors are exchanged with clients as URL-safe strings through {@link #encode()} and {@link #decode(String)}.
+ * Supported key types are {@link String}, {@link Integer}, {@link Long}, {@link Double}, {@link BigDecimal},
+ * {@link Boolean}, {@link LocalDate}, {@link LocalDateTime}, {@link Instant} and {@link UUID}; sort keys must not be null.
+ * </p>
+ */
+@SuppressWarnings("java:S2160") // "false positive"
+public final class KeysetCursor extends BaseValueObject<KeysetCursor> {
+
+    private static final char FORMAT_VERSION = '1';
+
+    public enum SeekDirection {
+        NEXT,
+        PREVIOUS
+    }
+
+    @NotNull
+    private final SeekDirection direction;
+    @NotNull
+    private final List<Object> values;
+
+    private KeysetCursor(SeekDirection direction, List<?> values) {
+        super(KeysetCursor.class);
+        this.direction = Objects.requireNonNull(direction, "Seek direction cannot be null");
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Keyset cursor requires at least one key value");
+        }
+        values.forEach(KeysetCursor::tagOf);
+        this.values = List.copyOf(values);
+        validate(this);
+    }
+
+    /**
+     * Creates a cursor reading the rows located after the given sort key values.
+     *
+     * @param values the sort key values of the last row of the current page.
+     * @return the cursor.
+     */
+    public static KeysetCursor after(List<?> values) {
+        return new KeysetCursor(SeekDirection.NEXT, values);
+    }
+
+    /**
+     * Creates a cursor reading the rows located before the given sort key values.
+     *
+     * @param values the sort key values of the first row of the current page.
+     * @return the cursor.
+     */
+    public static KeysetCursor before(List<?> values) {
+        return new KeysetCursor(SeekDirection.PREVIOUS, values);
+    }
+
+    public SeekDirection getDirection() {
+        return direction;
+    }
+
+    public List<Object> getValues() {
+        return values;
+    }
+
+    public boolean isBackward() {
+        return direction == SeekDirection.PREVIOUS;
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe string.
+     *
+     * @return the encoded cursor.
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder().append(FORMAT_VERSION).append(direction == SeekDirection.NEXT ? 'N' : 'P');
+        for (Object value : values) {
+            String text = value.toString();
+            sb.append(tagOf(value)).append(text.length()).append(':').append(text);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @param encoded the encoded cursor.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static KeysetCursor decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            if (text.length() < 2 || text.charAt(0) != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor format");
+            }
+            SeekDirection direction = switch (text.charAt(1)) {
+                case 'N' -> SeekDirection.NEXT;
+                case 'P' -> SeekDirection.PREVIOUS;
+                default -> throw new IllegalArgumentException("Unknown cursor direction");
+            };
+
+            List<Object> values = new ArrayList<>();
+            int index = 2;
+            while (index < text.length()) {
+                char tag = text.charAt(index);
+                int separator = text.indexOf(':', index + 1);
+                int length = Integer.parseInt(text.substring(index + 1, separator));
+                String value = text.substring(separator + 1, separator + 1 + length);
+                values.add(parseValue(tag, value));
+                index = separator + 1 + length;
+            }
+            return new KeysetCursor(direction, values);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed pagination cursor", e);
+        }
+    }
+
+    private static char tagOf(Object value) {
+        if (value instanceof String) return 's';
+        if (value instanceof Integer) return 'i';
+        if (value instanceof Long) return 'l';
+        if (value instanceof Double) return 'd';
+        if (value instanceof BigDecimal) return 'n';
+        if (value instanceof Boolean) return 'b';
+        if (value instanceof LocalDate) return 'D';
+        if (value instanceof LocalDateTime) return 'T';
+        if (value instanceof Instant) return 'I';
+        if (value instanceof UUID) return 'u';
+        if (value == null) {
+            throw new IllegalArgumentException("Keyset sort keys cannot be null");
+        }
+        throw new IllegalArgumentException("Unsupported keyset sort key type: " + value.getClass().getName());
+    }
+
+    private static Object parseValue(char tag, String value) {
+        return switch (tag) {
+            case 's' -> value;
+            case 'i' -> Integer.valueOf(value);
+            case 'l' -> Long.valueOf(value);
+            case 'd' -> Double.valueOf(value);
+            case 'n' -> new BigDecimal(value);
+            case 'b' -> Boolean.valueOf(value);
+            case 'D' -> LocalDate.parse(value);
+            case 'T' -> LocalDateTime.parse(value);
+            case 'I' -> Instant.parse(value);
+            case 'u' -> UUID.fromString(value);
+            default -> throw new IllegalArgumentException("Unknown cursor value tag: " + tag);
+        };
+    }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(direction, values);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+                "direction=" + direction +
+                ", values=" + values +
+                '}';
+    }
+}
@@ -13,20 +13,58 @@ import java.util.Objects;
  * This class contains the content of a page, as well as metadata about the pagination,
  * such as the current page number, items per page, and total items.
  * </p>
+ * <p>
+ * A page built in slice mode (see {@link PageableModel#slice(int, int, SortModel)}) has no total count:
+ * {@link #getTotalItems()} returns {@link #UNKNOWN_TOTAL_ITEMS} and only {@link #hasNext()} is known.
+ * </p>
+ * <p>
+ * The total may also be {@link #isTotalEstimated() estimated} from database statistics: the page bounds are then
+ * not checked against it, since the actual number of items may differ.
+ * </p>
  *
  * @param <T> the type of the items in the page
  */
 public final class PageModel<T> implements Validate<PageModel<T>> {
 
+    /**
+     * Total items of a slice, whose count has not been computed.
+     */
+    public static final long UNKNOWN_TOTAL_ITEMS = -1L;
+
     public static <T> PageBuilder<T> builder(List<T> content) {
         return new PageBuilder<>(content);
     }
 
+    /**
+     * Builds a slice from the rows of a query fetching {@code itemsPerPage + 1} rows from the page offset.
+     * <p>
+     * The extra row, if present, is dropped and only tells that a next page exists.
+     * </p>
+     *
+     * @param rows     the rows returned by the query (at most {@code itemsPerPage + 1}).
+     * @param pageable the pagination request.
+     * @param <T>      the type of the rows.
+     * @return the slice.
+     */
+    public static <T> PageModel<T> ofSlice(List<T> rows, PageableModel pageable) {
+        Objects.requireNonNull(rows, "Rows cannot be null");
+        int size = pageable.getItemsPerPage();
+        boolean hasNext = rows.size() > size;
+        return PageModel.builder(hasNext ? List.copyOf(rows.subList(0, size)) : rows)
+                .itemsPerPage(size)
+                .pageNumber(pageable.getPageNumber())
+                .slice(hasNext)
+                .build();
+    }
+
     public static class PageBuilder<T> {
         private final List<T> content;
         private int itemsPerPage;
         private int pageNumber;
         private long totalItems;
+        private boolean slice;
+        private boolean hasNext;
+        private boolean totalEstimated;
 
         private PageBuilder(List<T> content) {
             this.content = content;
@@ -47,6 +85,30 @@ public final class PageModel<T> implements Validate<PageModel<T>> {
             return this;
         }
 
+        /**
+         * Marks the total items as an estimate rather than an exact count.
+         *
+         * @param totalEstimated whether the total items are estimated.
+         * @return this builder.
+         */
+        public PageBuilder<T> totalEstimated(boolean totalEstimated) {
+            this.totalEstimated = totalEstimated;
+            return this;
+        }
+
+        /**
+         * Builds a slice: no total count, only whether a next page exists.
+         *
+         * @param hasNext whether a page follows this one.
+         * @return this builder.
+         */
+        public PageBuilder<T> slice(boolean hasNext) {
+            this.slice = true;
+            this.hasNext = hasNext;
+            this.totalItems = UNKNOWN_TOTAL_ITEMS;
+            return this;
+        }
+
         public PageModel<T> build() {
             return new PageModel<>(this);
         }
@@ -58,12 +120,18 @@ public final class PageModel<T> implements Validate<PageModel<T>> {
     @NotNull
     private final List<T> items;
     private final long totalItems;
+    private final boolean slice;
+    private final boolean hasNext;
+    private final boolean totalEstimated;
 
     private PageModel(PageBuilder<T> builder) {
         this.itemsPerPage = builder.itemsPerPage;
         this.pageNumber = builder.pageNumber;
         this.items = builder.content;
         this.totalItems = builder.totalItems;
+        this.slice = builder.slice;
+        this.hasNext = builder.hasNext;
+        this.totalEstimated = !builder.slice && builder.totalEstimated;
         validate(this);
 
         assertBoundaries();
@@ -79,13 +147,13 @@ public final class PageModel<T> implements Validate<PageModel<T>> {
             throw new IllegalArgumentException("Items per page must be greater than 0");
         }
 
-        if (totalItems < 0) {
+        if (!slice && totalItems < 0) {
             throw new IllegalArgumentException("Total items must be greater than or equal to 0");
         }
     }
 
     public void assertContent() {
-        if ((long) pageNumber * itemsPerPage > totalItems) {
+        if (!slice && !totalEstimated && (long) pageNumber * itemsPerPage > totalItems) {
             throw new IllegalArgumentException("PageModel number is out of bounds");
         }
     }
@@ -95,10 +163,47 @@ public final class PageModel<T> implements Validate<PageModel<T>> {
     }
 
     public boolean isLast() {
+        if (slice) {
+            return !hasNext;
+        }
+        if (totalEstimated) {
+            return !hasNext();
+        }
         return getNumberOfPages() == pageNumber + 1;
     }
 
+    public boolean hasNext() {
+        if (slice) {
+            return hasNext;
+        }
+        if (totalEstimated && items.size() < itemsPerPage) {
+            return false;
+        }
+        return (long) (pageNumber + 1) * itemsPerPage < totalItems;
+    }
+
+    public boolean isSlice() {
+        return slice;
+    }
+
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+
+    /**
+     * Returns the number of pages.
+     * <p>
+     * For a slice, the total is unknown and the number of pages known so far is returned instead
+     * (up to the next page, if any).
+     * </p>
+     *
+     * @return the number of pages.
+     */
     public int getNumberOfPages() {
+        if (slice) {
+            return pageNumber + (hasNext ? 2 : 1);
+        }
+
         if (itemsPerPage == 0) {
             return 1;
         }
@@ -129,12 +234,15 @@ public final class PageModel<T> implements Validate<PageModel<T>> {
         return itemsPerPage == pageModel.itemsPerPage
                 && pageNumber == pageModel.pageNumber
                 && totalItems == pageModel.totalItems
+                && slice == pageModel.slice
+                && hasNext == pageModel.hasNext
+                && totalEstimated == pageModel.totalEstimated
                 && Objects.equals(items, pageModel.items);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(itemsPerPage, pageNumber, items, totalItems);
+        return Objects.hash(itemsPerPage, pageNumber, items, totalItems, slice, hasNext, totalEstimated);
     }
 
     @Override
@@ -144,6 +252,9 @@ public final class PageModel<T> implements Validate<PageModel<T>> {
                 ", pageNumber=" + pageNumber +
                 ", items=" + items +
                 ", totalItems=" + totalItems +
+                ", slice=" + slice +
+                ", hasNext=" + hasNext +
+                ", totalEstimated=" + totalEstimated +
                 '}';
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.modulythe.framework.domain.common.pagination;
 import com.modulythe.framework.domain.ddd.BaseValueObject;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -11,6 +12,11 @@ import java.util.List;
  * This class encapsulates the page number, the number of items per page, and
  * the sorting criteria. It is typically used to request a specific page of data from a repository.
  * </p>
+ * <p>
+ * In keyset mode (see {@link #keyset(int, SortModel, KeysetCursor)}) the page is located by a {@link KeysetCursor}
+ * holding the sort key values of a boundary row instead of a page number, so that repositories can seek
+ * directly to it instead of skipping rows with an OFFSET.
+ * </p>
  */
 @SuppressWarnings("java:S2160") // "false positive"
 public final class PageableModel extends BaseValueObject<PageableModel> {
@@ -19,21 +25,82 @@ public final class PageableModel extends BaseValueObject<PageableModel> {
     private final int itemsPerPage;
     @NotNull
     private final SortModel sort;
+    @NotNull
+    private final Mode mode;
+    private final KeysetCursor cursor;
+
+    /**
+     * How the requested page is located and which metadata the resulting page carries.
+     */
+    public enum Mode {
+        /**
+         * Offset pagination with a total count of items.
+         */
+        PAGED,
+        /**
+         * Offset pagination without total count: only whether a next page exists is computed.
+         */
+        SLICE,
+        /**
+         * Cursor-based pagination seeking after (or before) a {@link KeysetCursor}.
+         */
+        KEYSET
+    }
 
-    private PageableModel(int pageNumber, int itemsPerPage, SortModel sort) {
+    private PageableModel(int pageNumber, int itemsPerPage, SortModel sort, Mode mode, KeysetCursor cursor) {
         super(PageableModel.class);
         this.pageNumber = pageNumber;
         this.itemsPerPage = itemsPerPage;
         this.sort = sort == null ? SortModel.empty() : sort;
+        this.mode = mode;
+        this.cursor = cursor;
         validate(this);
     }
 
     public PageableModel(int pageNumber, int itemsPerPage) {
-        this(pageNumber, itemsPerPage, SortModel.empty());
+        this(pageNumber, itemsPerPage, SortModel.empty(), Mode.PAGED, null);
     }
 
     public static PageableModel of(int pageNumber, int itemsPerPage, SortModel sort) {
-        return new PageableModel(pageNumber, itemsPerPage, sort);
+        return new PageableModel(pageNumber, itemsPerPage, sort, Mode.PAGED, null);
+    }
+
+    /**
+     * Creates a slice pagination request.
+     * <p>
+     * The page is located by its number like {@link #of(int, int, SortModel)}, but no total count is computed:
+     * one extra row is fetched to know whether a next page exists. Suited to infinite scrolling,
+     * where counting the matching rows often costs more than reading the page itself.
+     * </p>
+     *
+     * @param pageNumber   the page number, starting from 0.
+     * @param itemsPerPage the number of items per page.
+     * @param sort         the sort to apply.
+     * @return a slice {@link PageableModel}.
+     */
+    public static PageableModel slice(int pageNumber, int itemsPerPage, SortModel sort) {
+        return new PageableModel(pageNumber, itemsPerPage, sort, Mode.SLICE, null);
+    }
+
+    /**
+     * Creates a keyset (cursor-based) pagination request.
+     * <p>
+     * The sort should end with a unique property (e.g. the identifier) so that the seek position is unambiguous.
+     * </p>
+     *
+     * @param itemsPerPage the number of items per page.
+     * @param sort         the sort defining the keyset, must not be empty.
+     * @param cursor       the cursor returned with the previous page, or null to read the first page.
+     * @return a keyset {@link PageableModel}.
+     */
+    public static PageableModel keyset(int itemsPerPage, SortModel sort, KeysetCursor cursor) {
+        if (sort == null || sort.isEmpty()) {
+            throw new IllegalArgumentException("Keyset pagination requires at least one sort order");
+        }
+        if (cursor != null && cursor.getValues().size() != sort.getOrders().size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return new PageableModel(0, itemsPerPage, sort, Mode.KEYSET, cursor);
     }
 
     public int getPageNumber() {
@@ -48,9 +115,40 @@ public final class PageableModel extends BaseValueObject<PageableModel> {
         return sort;
     }
 
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isKeyset() {
+        return mode == Mode.KEYSET;
+    }
+
+    public boolean isSlice() {
+        return mode == Mode.SLICE;
+    }
+
+    /**
+     * Returns the keyset cursor of this request.
+     *
+     * @return the cursor, or null for offset pagination and for the first keyset page.
+     */
+    public KeysetCursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Returns the sort to apply to the query: the requested sort, reversed when seeking backward
+     * with a {@link KeysetCursor.SeekDirection#PREVIOUS} cursor.
+     *
+     * @return the sort to apply.
+     */
+    public SortModel getEffectiveSort() {
+        return cursor != null && cursor.isBackward() ? sort.reverse() : sort;
+    }
+
     @Override
     protected List<Object> attributesToIncludeInEqualityCheck() {
-        return List.of(pageNumber, itemsPerPage, sort);
+        return Arrays.asList(pageNumber, itemsPerPage, sort, mode, cursor);
     }
 
     @Override
@@ -59,6 +157,8 @@ public final class PageableModel extends BaseValueObject<PageableModel> {
                 "pageNumber=" + pageNumber +
                 ", itemsPerPage=" + itemsPerPage +
                 ", sort=" + sort +
+                ", mode=" + mode +
+                ", cursor=" + cursor +
                 '}';
     }
 }
@@ -0,0 +1,77 @@
+package com.modulythe.framework.domain.common.pagination;
+
+
+import com.modulythe.framework.domain.ddd.BaseValueObject;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Describes the projection of a paginated query: the properties to read, and the type built from them.
+ * <p>
+ * It is passed alongside a {@link PageableModel} so that only the listed columns are selected, instead of whole
+ * entities, and the page holds projections rather than entities ({@code PageModel<P>}).
+ * The properties follow the naming of the filters and sort orders; they are read in the listed order,
+ * which is the order of the constructor parameters of the projection type.
+ * </p>
+ *
+ * @param <P> the projection type, typically a record.
+ */
+@SuppressWarnings("java:S2160") // "false positive"
+public final class ProjectionModel<P> extends BaseValueObject<ProjectionModel<P>> {
+
+    private final Class<P> type;
+    private final List<String> properties;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ProjectionModel(Class<P> type, List<String> properties) {
+        super((Class) ProjectionModel.class);
+        this.type = Objects.requireNonNull(type, "Projection type cannot be null");
+        this.properties = List.copyOf(Objects.requireNonNull(properties, "Projection properties cannot be null"));
+        validate(this);
+
+        assertProperties();
+    }
+
+    public static <P> ProjectionModel<P> of(Class<P> type, String... properties) {
+        return new ProjectionModel<>(type, Arrays.asList(properties));
+    }
+
+    public static <P> ProjectionModel<P> of(Class<P> type, List<String> properties) {
+        return new ProjectionModel<>(type, properties);
+    }
+
+    private void assertProperties() {
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException("Projection must select at least one property");
+        }
+        Set<String> seen = new HashSet<>();
+        for (String property : properties) {
+            if (property.isBlank()) {
+                throw new IllegalArgumentException("Projection property cannot be blank");
+            }
+            if (!seen.add(property)) {
+                throw new IllegalArgumentException("Duplicate projection property '" + property + "'");
+            }
+        }
+    }
+
+    public Class<P> getType() {
+        return type;
+    }
+
+    /**
+     * @return the selected properties, in the order of the constructor parameters of the projection type.
+     */
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    @Override
+    protected List<Object> attributesToIncludeInEqualityCheck() {
+        return List.of(type, properties);
+    }
+}
@@ -44,6 +44,18 @@ public final class SortModel extends BaseValueObject<SortModel> {
         return orders;
     }
 
+    /**
+     * Returns a sort model with every order direction inverted.
+     * Used to read the rows located before a keyset cursor.
+     *
+     * @return the reversed sort model.
+     */
+    public SortModel reverse() {
+        return SortModel.by(orders.stream()
+                .map(order -> Order.by(order.getProperty(), order.getDirection().reverse()))
+                .toList());
+    }
+
     @Override
     protected List<Object> attributesToIncludeInEqualityCheck() {
         return List.of(orders);
@@ -60,6 +72,10 @@ public final class SortModel extends BaseValueObject<SortModel> {
         public boolean isDescending() {
             return this == DESC;
         }
+
+        public Direction reverse() {
+            return this == ASC ? DESC : ASC;
+        }
     }
 
     public static class Order extends BaseValueObject<Order> {
@@ -0,0 +1,68 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageModelTest {
+
+    private static final SortModel SORT = SortModel.by(List.of(
+            SortModel.Order.by("createdAt", SortModel.Direction.DESC),
+            SortModel.Order.by("id", SortModel.Direction.ASC)));
+
+    @Test
+    void shouldEncodeAndDecodeCursor() {
+        KeysetCursor cursor = KeysetCursor.after(List.of(LocalDateTime.of(2024, 5, 1, 10, 30), 42L, "a:b", UUID.randomUUID()));
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertFalse(decoded.isBackward());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.after(List.of(new Object())));
+    }
+
+    @Test
+    void shouldReverseSortWhenSeekingBackward() {
+        PageableModel pageable = PageableModel.keyset(10, SORT, KeysetCursor.before(List.of(LocalDateTime.now(), 1L)));
+
+        assertEquals(SORT.reverse(), pageable.getEffectiveSort());
+        assertEquals(SortModel.Direction.ASC, pageable.getEffectiveSort().getOrders().get(0).getDirection());
+        assertThrows(IllegalArgumentException.class,
+                () -> PageableModel.keyset(10, SORT, KeysetCursor.after(List.of(1L))));
+    }
+
+    @Test
+    void shouldExposeNextCursorWhenMoreRowsThanPageSize() {
+        PageableModel pageable = PageableModel.keyset(2, SortModel.by(List.of(SortModel.Order.by("id", SortModel.Direction.ASC))), null);
+
+        CursorPageModel<Long> page = CursorPageModel.of(List.of(1L, 2L, 3L), pageable, List::of);
+
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertTrue(page.hasNext());
+        assertFalse(page.hasPrevious());
+        assertEquals(List.of(2L), page.getNextCursor().getValues());
+    }
+
+    @Test
+    void shouldRestoreOrderWhenReadingBackward() {
+        SortModel sort = SortModel.by(List.of(SortModel.Order.by("id", SortModel.Direction.ASC)));
+        PageableModel pageable = PageableModel.keyset(2, sort, KeysetCursor.before(List.of(5L)));
+
+        // Rows of a backward page come in reversed sort order
+        CursorPageModel<Long> page = CursorPageModel.of(List.of(4L, 3L), pageable, List::of);
+
+        assertEquals(List.of(3L, 4L), page.getItems());
+        assertTrue(page.hasNext());
+        assertFalse(page.hasPrevious());
+        assertEquals(KeysetCursor.after(List.of(4L)), page.getNextCursor());
+    }
+}
@@ -0,0 +1,59 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetResultModelTest {
+
+    private static final FacetModel FACETS = FacetModel.builder()
+            .count("status", "country")
+            .range("amount", "weight")
+            .build();
+
+    @Test
+    void shouldSortCountsByFrequencyAndSkipNullValues() {
+        FacetResultModel result = FacetResultModel.builder(FACETS)
+                .count("status", "OPEN", 3)
+                .count("status", "CLOSED", 7)
+                .count("status", null, 2)
+                .count("status", "ARCHIVED", 3)
+                .totalItems(15)
+                .build();
+
+        assertEquals(List.of("CLOSED", "ARCHIVED", "OPEN"), List.copyOf(result.getCounts("status").keySet()));
+        assertEquals(Map.of(), result.getCounts("country"));
+        assertEquals(15, result.getTotalItems());
+    }
+
+    @Test
+    void shouldRenderFilterValuesInRequestedOrder() {
+        FacetResultModel result = FacetResultModel.builder(FACETS)
+                .count("country", "FR", 2)
+                .count("status", "OPEN", 1)
+                .range("weight", 0.5, 12)
+                .range("amount", null, null)
+                .build();
+
+        FilterValues values = result.toFilterValues();
+
+        assertEquals(List.of(new FilterListValues(List.of("OPEN")), new FilterListValues(List.of("FR"))),
+                values.getFilterListValuesList());
+        assertEquals(List.of(new FilterRangeValues(0.5, 12)), values.getFilterRangeValuesList());
+        assertEquals(Optional.empty(), result.getRange("amount"));
+    }
+
+    @Test
+    void shouldRejectUnrequestedFacets() {
+        FacetResultModel.FacetResultBuilder builder = FacetResultModel.builder(FACETS);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.count("amount", "1", 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.range("status", 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> FacetModel.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> FacetModel.builder().count("status").range("status").build());
+    }
+}
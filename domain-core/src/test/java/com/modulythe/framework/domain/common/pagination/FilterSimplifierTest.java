@@ -0,0 +1,80 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.modulythe.framework.domain.common.pagination.FilterComposite.and;
+import static com.modulythe.framework.domain.common.pagination.FilterComposite.not;
+import static com.modulythe.framework.domain.common.pagination.FilterComposite.or;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterSimplifierTest {
+
+    private final Filter active = new FilterString("status", "ACTIVE");
+    private final Filter archived = new FilterBoolean("archived", true);
+    private final Filter owner = new FilterString("owner", "alice");
+
+    @Test
+    void shouldFlattenNestedJunctions() {
+        Filter simplified = FilterSimplifier.simplify(and(active, and(archived, and(owner))));
+
+        assertEquals(and(active, archived, owner), simplified);
+    }
+
+    @Test
+    void shouldEliminateDuplicatesAndDoubleNegations() {
+        Filter simplified = FilterSimplifier.simplify(or(active, not(not(active)), new FilterString("status", "ACTIVE"), owner));
+
+        assertEquals(or(active, owner), simplified);
+    }
+
+    @Test
+    void shouldKeepFiltersComparedByIdentity_WhenSubclassDeclaresNoValues() {
+        Filter first = new CustomFilter("geo");
+        Filter second = new CustomFilter("geo");
+
+        assertNotEquals(first, second);
+        assertEquals(and(first, second), FilterSimplifier.simplify(and(first, second, first)));
+    }
+
+    @Test
+    void shouldFoldConstants() {
+        assertEquals(active, FilterSimplifier.simplify(and(active, and(), or(owner, and()))));
+        assertTrue(FilterSimplifier.isAlwaysTrue(FilterSimplifier.simplify(or(active, not(or())))));
+        assertTrue(FilterSimplifier.isAlwaysFalse(FilterSimplifier.simplify(and(active, or()))));
+    }
+
+    @Test
+    void shouldNotFoldComplements_WhenPropertyMayBeNull() {
+        assertEquals(and(archived, not(archived)), FilterSimplifier.simplify(and(archived, not(archived))));
+        assertEquals(or(active, not(active)), FilterSimplifier.simplify(or(active, not(active), active)));
+    }
+
+    @Test
+    void shouldSplitTopLevelConjuncts() {
+        Filter simplified = FilterSimplifier.simplify(List.of(active, or(archived, owner)));
+
+        assertEquals(List.of(active, or(archived, owner)), FilterSimplifier.conjuncts(simplified));
+        assertEquals(List.of(), FilterSimplifier.conjuncts(FilterSimplifier.simplify(List.of())));
+    }
+
+    /**
+     * A filter declared outside the framework, without {@code attributesToIncludeInEqualityCheck}.
+     */
+    private static final class CustomFilter extends Filter {
+
+        CustomFilter(String name) {
+            super(FilterString.builder().name(name), FilterType.STRING);
+        }
+    }
+
+    @Test
+    void shouldRejectNotWithoutSingleOperand() {
+        FilterComposite.FilterCompositeBuilder builder = FilterComposite.builder()
+                .operator(Filter.FilterType.NOT)
+                .filters(List.of(active, owner));
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}
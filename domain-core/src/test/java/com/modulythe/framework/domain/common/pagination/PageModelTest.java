@@ -0,0 +1,59 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageModelTest {
+
+    @Test
+    void shouldComputePagesFromTotalItems() {
+        PageModel<String> page = PageModel.builder(List.of("a", "b"))
+                .itemsPerPage(2)
+                .pageNumber(1)
+                .totalItems(5)
+                .build();
+
+        assertEquals(3, page.getNumberOfPages());
+        assertTrue(page.hasNext());
+        assertFalse(page.isLast());
+        assertFalse(page.isSlice());
+    }
+
+    @Test
+    void shouldDropLookaheadRowWhenBuildingSlice() {
+        PageableModel pageable = PageableModel.slice(3, 2, SortModel.empty());
+
+        PageModel<String> slice = PageModel.ofSlice(List.of("a", "b", "c"), pageable);
+
+        assertEquals(List.of("a", "b"), slice.getItems());
+        assertTrue(slice.isSlice());
+        assertTrue(slice.hasNext());
+        assertFalse(slice.isLast());
+        assertEquals(PageModel.UNKNOWN_TOTAL_ITEMS, slice.getTotalItems());
+        assertEquals(5, slice.getNumberOfPages());
+    }
+
+    @Test
+    void shouldBeLastSliceWhenNoLookaheadRow() {
+        PageableModel pageable = PageableModel.slice(10, 2, SortModel.empty());
+
+        PageModel<String> slice = PageModel.ofSlice(List.of("a"), pageable);
+
+        assertFalse(slice.hasNext());
+        assertTrue(slice.isLast());
+        assertEquals(10, slice.getPageNumber());
+    }
+
+    @Test
+    void shouldRejectOutOfBoundsPage() {
+        PageModel.PageBuilder<String> builder = PageModel.builder(List.<String>of())
+                .itemsPerPage(10)
+                .pageNumber(3)
+                .totalItems(5);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}
@@ -0,0 +1,31 @@
+package com.modulythe.framework.domain.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionModelTest {
+
+    record Summary(String reference, String customerName) {
+    }
+
+    @Test
+    void shouldKeepPropertiesInDeclarationOrder() {
+        ProjectionModel<Summary> projection = ProjectionModel.of(Summary.class, "reference", "customer.name");
+
+        assertEquals(Summary.class, projection.getType());
+        assertEquals(List.of("reference", "customer.name"), projection.getProperties());
+        assertEquals(projection, ProjectionModel.of(Summary.class, List.of("reference", "customer.name")));
+        assertNotEquals(projection, ProjectionModel.of(Summary.class, "customer.name", "reference"));
+    }
+
+    @Test
+    void shouldRejectInvalidProperties() {
+        assertThrows(IllegalArgumentException.class, () -> ProjectionModel.of(Summary.class));
+        assertThrows(IllegalArgumentException.class, () -> ProjectionModel.of(Summary.class, "reference", " "));
+        assertThrows(IllegalArgumentException.class, () -> ProjectionModel.of(Summary.class, "reference", "reference"));
+        assertThrows(NullPointerException.class, () -> ProjectionModel.of(null, "reference"));
+    }
+}
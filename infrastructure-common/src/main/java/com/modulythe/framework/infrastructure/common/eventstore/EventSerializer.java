@@ -0,0 +1,25 @@
+package com.modulythe.framework.infrastructure.common.eventstore;
+
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+
+/**
+ * Strategy converting domain events to and from their binary representation in a journal.
+ */
+public interface EventSerializer {
+
+    /**
+     * Serializes a domain event.
+     *
+     * @param event the event to serialize.
+     * @return the binary representation of the event.
+     */
+    byte[] serialize(BaseDomainEvent<?> event);
+
+    /**
+     * Deserializes a domain event.
+     *
+     * @param payload the binary representation produced by {@link #serialize(BaseDomainEvent)}.
+     * @return the domain event.
+     */
+    BaseDomainEvent<?> deserialize(byte[] payload);
+}
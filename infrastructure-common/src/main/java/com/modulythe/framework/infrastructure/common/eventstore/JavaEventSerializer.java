@@ -0,0 +1,40 @@
+package com.modulythe.framework.infrastructure.common.eventstore;
+
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * {@link EventSerializer} relying on standard Java serialization ({@link BaseDomainEvent} is {@link java.io.Serializable}).
+ * <p>
+ * Convenient as a default, but tied to the class layout of the events: prefer a schema-based serializer
+ * (e.g. JSON) when the journal must survive refactorings of the event classes.
+ * </p>
+ */
+public class JavaEventSerializer implements EventSerializer {
+
+    @Override
+    public byte[] serialize(BaseDomainEvent<?> event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(event);
+        } catch (IOException e) {
+            throw new TechnicalException("Unable to serialize domain event " + event.getEventId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public BaseDomainEvent<?> deserialize(byte[] payload) {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (BaseDomainEvent<?>) input.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new TechnicalException("Unable to deserialize domain event", e);
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package com.modulythe.framework.infrastructure.common.eventstore;
+
+import com.modulythe.framework.application.projection.DomainEventStoreReader;
+import com.modulythe.framework.application.projection.StoredDomainEvent;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of domain events stored in segmented memory-mapped files.
+ * <p>
+ * This is an event-store mode that does not require a database, intended for edge deployments and for
+ * benchmarking the event-sourcing path. Events are appended to fixed-size segment files mapped with
+ * {@link FileChannel#map}; each event receives a dense global position starting at 0.
+ * </p>
+ * <p>
+ * Record layout: {@code [int bodyLength][int crc32(body)][long position][short aggregateIdLength][aggregateId][payload]}.
+ * A zero length marks the end of the written data of a segment. On opening, segments are scanned to rebuild
+ * the position and per-aggregate indexes; a torn record at the tail of the last segment is discarded.
+ * </p>
+ * <p>
+ * Durability uses group commit: {@link #append(String, BaseDomainEvent)} only writes to the mapping, and
+ * {@link #awaitDurable(long)} forces the dirty segments to disk. Threads waiting concurrently share a single
+ * {@code force}, so the fsync cost is amortized over every event appended since the previous one.
+ * </p>
+ */
+public final class MappedEventJournal implements DomainEventStoreReader, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedEventJournal.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int BODY_FIXED_SIZE = Long.BYTES + Short.BYTES;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final EventSerializer serializer;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, PositionList> aggregateIndex = new ConcurrentHashMap<>();
+    private volatile long[] locations = new long[1024];
+    private volatile long size;
+    private volatile boolean closed;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private long durableSize;
+    private boolean syncInProgress;
+
+    private MappedEventJournal(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.serializer = builder.serializer;
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    public static final class Builder {
+        private final Path directory;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private EventSerializer serializer = new JavaEventSerializer();
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "Journal directory cannot be null");
+        }
+
+        public Builder segmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder serializer(EventSerializer serializer) {
+            this.serializer = serializer;
+            return this;
+        }
+
+        /**
+         * Opens (or creates) the journal, recovering the indexes from the existing segments.
+         *
+         * @return the opened journal.
+         */
+        public MappedEventJournal open() {
+            if (segmentSize < 1024) {
+                throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+            }
+            Objects.requireNonNull(serializer, "Event serializer cannot be null");
+            MappedEventJournal journal = new MappedEventJournal(this);
+            journal.recover();
+            return journal;
+        }
+    }
+
+    /**
+     * Appends an event to the journal. The event is visible to readers immediately but is only
+     * guaranteed to survive a crash once {@link #awaitDurable(long)} returned for its position.
+     *
+     * @param aggregateId the identifier of the aggregate that emitted the event (may be null).
+     * @param event       the event to append.
+     * @return the position assigned to the event.
+     */
+    public long append(String aggregateId, BaseDomainEvent<?> event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+        byte[] payload = serializer.serialize(event);
+        byte[] id = aggregateId == null ? null : aggregateId.getBytes(StandardCharsets.UTF_8);
+        if (id != null && id.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Aggregate id is too long: " + id.length + " bytes");
+        }
+        int bodyLength = BODY_FIXED_SIZE + (id == null ? 0 : id.length) + payload.length;
+        int recordLength = RECORD_HEADER_SIZE + bodyLength;
+        if (recordLength > segmentSize) {
+            throw new IllegalArgumentException("Event of " + recordLength + " bytes does not fit in a journal segment");
+        }
+
+        writeLock.lock();
+        try {
+            ensureOpen();
+            Segment segment = segments.get(segments.size() - 1);
+            if (segment.writeOffset + recordLength > segment.buffer.capacity()) {
+                segment = createSegment(size);
+            }
+
+            long position = size;
+            int offset = segment.writeOffset;
+            ByteBuffer buffer = segment.buffer.duplicate();
+            buffer.position(offset + RECORD_HEADER_SIZE);
+            buffer.putLong(position);
+            buffer.putShort(id == null ? -1 : (short) id.length);
+            if (id != null) {
+                buffer.put(id);
+            }
+            buffer.put(payload);
+            buffer.putInt(offset + Integer.BYTES, crc(segment.buffer, offset + RECORD_HEADER_SIZE, bodyLength));
+            // The length is written last: a record is only considered complete once it is set
+            buffer.putInt(offset, bodyLength);
+
+            segment.writeOffset = offset + recordLength;
+            index(position, segments.size() - 1, offset, aggregateId);
+            size = position + 1;
+            return position;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Appends an event and waits until it is durably stored.
+     *
+     * @param aggregateId the identifier of the aggregate that emitted the event (may be null).
+     * @param event       the event to append.
+     * @return the position assigned to the event.
+     */
+    public long appendAndSync(String aggregateId, BaseDomainEvent<?> event) {
+        long position = append(aggregateId, event);
+        awaitDurable(position);
+        return position;
+    }
+
+    /**
+     * Blocks until the event at the given position (and every event before it) is forced to disk.
+     * <p>
+     * If no sync is running, the calling thread becomes the leader and forces everything appended so far;
+     * otherwise it waits for the running sync and only starts a new one if its position was not covered.
+     * </p>
+     *
+     * @param position the position that must become durable.
+     */
+    public void awaitDurable(long position) {
+        if (position < 0 || position >= size) {
+            throw new IllegalArgumentException("Unknown journal position: " + position);
+        }
+        syncLock.lock();
+        try {
+            while (durableSize <= position) {
+                if (syncInProgress) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncInProgress = true;
+                long from = durableSize;
+                long target = size;
+                boolean success = false;
+                syncLock.unlock();
+                try {
+                    force(from, target);
+                    success = true;
+                } finally {
+                    syncLock.lock();
+                    syncInProgress = false;
+                    if (success) {
+                        durableSize = Math.max(durableSize, target);
+                    }
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Forces every appended event to disk.
+     */
+    public void sync() {
+        long current = size;
+        if (current > 0) {
+            awaitDurable(current - 1);
+        }
+    }
+
+    @Override
+    public List<StoredDomainEvent> readFrom(long fromPosition, int maxEvents) {
+        long available = size;
+        long start = Math.max(0, fromPosition);
+        if (start >= available || maxEvents <= 0) {
+            return List.of();
+        }
+        long end = Math.min(available, start + maxEvents);
+        List<StoredDomainEvent> events = new ArrayList<>((int) (end - start));
+        for (long position = start; position < end; position++) {
+            events.add(read(position));
+        }
+        return events;
+    }
+
+    @Override
+    public long getHeadPosition() {
+        return size - 1;
+    }
+
+    /**
+     * Reads all the events of an aggregate, in position order, using the per-aggregate offset index.
+     *
+     * @param aggregateId the aggregate identifier.
+     * @return the events of the aggregate.
+     */
+    public List<StoredDomainEvent> readAggregate(String aggregateId) {
+        PositionList positions = aggregateIndex.get(aggregateId);
+        if (positions == null) {
+            return List.of();
+        }
+        long[] snapshot = positions.snapshot();
+        List<StoredDomainEvent> events = new ArrayList<>(snapshot.length);
+        for (long position : snapshot) {
+            events.add(read(position));
+        }
+        return events;
+    }
+
+    /**
+     * Replays the journal sequentially, segment after segment, starting at the given position.
+     *
+     * @param fromPosition the first position to replay (inclusive).
+     * @param consumer     the consumer receiving every event.
+     * @return the number of replayed events.
+     */
+    public long replay(long fromPosition, Consumer<StoredDomainEvent> consumer) {
+        long end = size;
+        long position = Math.max(0, fromPosition);
+        if (position >= end) {
+            return 0;
+        }
+        long location = locations[(int) position];
+        int segmentIndex = (int) (location >>> 32);
+        int offset = (int) location;
+        long replayed = 0;
+
+        while (position < end) {
+            ByteBuffer buffer = segments.get(segmentIndex).buffer;
+            int bodyLength = offset + RECORD_HEADER_SIZE <= buffer.capacity() ? buffer.getInt(offset) : 0;
+            if (bodyLength == 0) {
+                segmentIndex++;
+                offset = 0;
+                continue;
+            }
+            consumer.accept(decode(buffer, offset, bodyLength));
+            offset += RECORD_HEADER_SIZE + bodyLength;
+            position++;
+            replayed++;
+        }
+        return replayed;
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw new TechnicalException("Unable to close event journal " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private StoredDomainEvent read(long position) {
+        long location = locations[(int) position];
+        ByteBuffer buffer = segments.get((int) (location >>> 32)).buffer;
+        int offset = (int) location;
+        return decode(buffer, offset, buffer.getInt(offset));
+    }
+
+    private StoredDomainEvent decode(ByteBuffer buffer, int offset, int bodyLength) {
+        int bodyStart = offset + RECORD_HEADER_SIZE;
+        long position = buffer.getLong(bodyStart);
+        short idLength = buffer.getShort(bodyStart + Long.BYTES);
+        int cursor = bodyStart + BODY_FIXED_SIZE;
+
+        String aggregateId = null;
+        if (idLength >= 0) {
+            aggregateId = new String(bytes(buffer, cursor, idLength), StandardCharsets.UTF_8);
+            cursor += idLength;
+        }
+        byte[] payload = bytes(buffer, cursor, bodyStart + bodyLength - cursor);
+        return new StoredDomainEvent(position, aggregateId, serializer.deserialize(payload));
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing
+                        .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+
+            for (int i = 0; i < files.size(); i++) {
+                Segment segment = Segment.open(files.get(i), segmentSize);
+                segments.add(segment);
+                boolean complete = scan(segment, i);
+                if (!complete && i < files.size() - 1) {
+                    throw new TechnicalException("Corrupted event journal segment " + files.get(i));
+                }
+            }
+            if (segments.isEmpty()) {
+                createSegment(0);
+            }
+            durableSize = size;
+        } catch (IOException e) {
+            throw new TechnicalException("Unable to open event journal " + directory, e);
+        }
+    }
+
+    /**
+     * Scans a segment to rebuild the indexes.
+     *
+     * @return {@code false} if a torn or invalid record was found (and discarded).
+     */
+    private boolean scan(Segment segment, int segmentIndex) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        boolean complete = true;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(offset);
+            if (bodyLength == 0) {
+                break;
+            }
+            int bodyStart = offset + RECORD_HEADER_SIZE;
+            if (bodyLength < BODY_FIXED_SIZE
+                    || bodyLength > buffer.capacity() - bodyStart
+                    || buffer.getInt(offset + Integer.BYTES) != crc(buffer, bodyStart, bodyLength)
+                    || buffer.getLong(bodyStart) != size) {
+                complete = false;
+                break;
+            }
+            short idLength = buffer.getShort(bodyStart + Long.BYTES);
+            String aggregateId = idLength < 0
+                    ? null
+                    : new String(bytes(buffer, bodyStart + BODY_FIXED_SIZE, idLength), StandardCharsets.UTF_8);
+            index(size, segmentIndex, offset, aggregateId);
+            size++;
+            offset = bodyStart + bodyLength;
+        }
+
+        if (!complete) {
+            LOGGER.warn("Discarding torn record at offset {} of journal segment {}", offset, segment.path);
+            ByteBuffer tail = segment.buffer.duplicate();
+            tail.position(offset);
+            while (tail.hasRemaining()) {
+                tail.put((byte) 0);
+            }
+            segment.buffer.force();
+        }
+        segment.writeOffset = offset;
+        return complete;
+    }
+
+    private Segment createSegment(long firstPosition) {
+        ensureOpen();
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstPosition, SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.open(path, segmentSize);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new TechnicalException("Unable to create event journal segment " + path, e);
+        }
+    }
+
+    private void index(long position, int segmentIndex, int offset, String aggregateId) {
+        if (position >= Integer.MAX_VALUE - 8) {
+            throw new TechnicalException("Event journal " + directory + " is full");
+        }
+        long[] current = locations;
+        if (position >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, (int) position + 1));
+            locations = current;
+        }
+        current[(int) position] = ((long) segmentIndex << 32) | (offset & 0xFFFFFFFFL);
+        if (aggregateId != null) {
+            aggregateIndex.computeIfAbsent(aggregateId, key -> new PositionList()).add(position);
+        }
+    }
+
+    private void force(long fromPosition, long toPosition) {
+        if (fromPosition >= toPosition) {
+            return;
+        }
+        int firstSegment = (int) (locations[(int) fromPosition] >>> 32);
+        int lastSegment = (int) (locations[(int) (toPosition - 1)] >>> 32);
+        for (int i = firstSegment; i <= lastSegment; i++) {
+            segments.get(i).buffer.force();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Event journal " + directory + " is closed");
+        }
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer body = buffer.duplicate();
+        body.limit(offset + length).position(offset);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return bytes;
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, int defaultSize) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long existingSize = channel.size();
+            int mappedSize = existingSize > 0 ? (int) existingSize : defaultSize;
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        }
+    }
+
+    private static final class PositionList {
+        private long[] positions = new long[4];
+        private int count;
+
+        private synchronized void add(long position) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+
+        private synchronized long[] snapshot() {
+            return Arrays.copyOf(positions, count);
+        }
+    }
+}
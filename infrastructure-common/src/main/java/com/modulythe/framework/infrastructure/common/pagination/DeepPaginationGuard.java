@@ -0,0 +1,156 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.cache.ExpiringLruCache;
+import com.modulythe.framework.application.pagination.FilterSignature;
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.KeysetCursor;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Protects queries from deep offset pagination, where the database reads and discards every row before the
+ * requested page (typically crawlers walking page after page).
+ * <p>
+ * Offset requests starting beyond the maximum offset are rejected with a {@link MalFormedQueryException}, unless the
+ * guard {@link #seek(long, int, Duration) seeks}: the sort key of the last row of each page beyond the limit is then
+ * kept in a short-lived, bounded server-side cache, and a request for the following page, with the same filters, sort
+ * and page size, is converted into a keyset seek after that row. Clients keep paging by number while the database
+ * seeks through the index; requests jumping straight to a deep page are still rejected.
+ * </p>
+ * <p>
+ * Seeking requires a sort ending with a unique property, as for {@link PageableModel#keyset}. A typical use:
+ * </p>
+ * <pre>{@code
+ * DeepPaginationGuard.GuardedPageable guarded = guard.guard(Order.class, filters, pageable);
+ * List<Order> rows = guarded.isSeek()
+ *         ? repository.findAll(seekSpec(guarded.effective()), PageableMapper.toSpringPageable(guarded.effective()))
+ *         : repository.findAll(spec, PageableMapper.toSpringPageable(guarded.effective())).getContent();
+ * List<Order> content = rows.subList(0, Math.min(rows.size(), pageable.getItemsPerPage()));
+ * if (!content.isEmpty()) {
+ *     guard.remember(Order.class, filters, guarded, sortKeysOf(content.get(content.size() - 1)));
+ * }
+ * }</pre>
+ */
+public final class DeepPaginationGuard {
+
+    private final long maxOffset;
+    private final ExpiringLruCache<CursorKey, KeysetCursor> cursors;
+
+    private record CursorKey(Class<?> scope, FilterSignature signature, SortModel sort, int itemsPerPage,
+                             int pageNumber) {
+    }
+
+    /**
+     * The result of a guarded request.
+     *
+     * @param requested the request of the client, whose page number and size describe the returned page.
+     * @param effective the request to run: the requested one, or a keyset request seeking to the requested page.
+     */
+    public record GuardedPageable(PageableModel requested, PageableModel effective) {
+
+        /**
+         * @return whether the request was converted into a keyset seek.
+         */
+        public boolean isSeek() {
+            return effective.isKeyset() && !requested.isKeyset();
+        }
+    }
+
+    private DeepPaginationGuard(long maxOffset, ExpiringLruCache<CursorKey, KeysetCursor> cursors) {
+        if (maxOffset < 0) {
+            throw new IllegalArgumentException("Maximum offset cannot be negative");
+        }
+        this.maxOffset = maxOffset;
+        this.cursors = cursors;
+    }
+
+    /**
+     * Creates a guard rejecting every offset request starting beyond a maximum offset.
+     *
+     * @param maxOffset the maximum number of skipped rows.
+     * @return the guard.
+     */
+    public static DeepPaginationGuard reject(long maxOffset) {
+        return new DeepPaginationGuard(maxOffset, null);
+    }
+
+    /**
+     * Creates a guard converting sequential requests beyond a maximum offset into keyset seeks.
+     *
+     * @param maxOffset  the maximum number of skipped rows.
+     * @param maxCursors the maximum number of remembered cursors.
+     * @param cursorTtl  how long a cursor is kept for the following page.
+     * @return the guard.
+     */
+    public static DeepPaginationGuard seek(long maxOffset, int maxCursors, Duration cursorTtl) {
+        return new DeepPaginationGuard(maxOffset, new ExpiringLruCache<>(maxCursors, cursorTtl));
+    }
+
+    /**
+     * Guards a pagination request.
+     *
+     * @param scope    the queried type, cursors are not shared between scopes.
+     * @param filters  the filters of the query.
+     * @param pageable the pagination request.
+     * @return the request to run.
+     * @throws MalFormedQueryException if the request starts beyond the maximum offset and cannot be converted.
+     */
+    public GuardedPageable guard(Class<?> scope, List<Filter> filters, PageableModel pageable) {
+        Objects.requireNonNull(pageable, "Pageable cannot be null");
+        if (pageable.isKeyset() || PageableMapper.offsetOf(pageable) <= maxOffset) {
+            return new GuardedPageable(pageable, pageable);
+        }
+        if (cursors != null) {
+            KeysetCursor cursor = cursors.get(key(scope, filters, pageable, pageable.getPageNumber()));
+            if (cursor != null) {
+                return new GuardedPageable(pageable,
+                        PageableModel.keyset(pageable.getItemsPerPage(), pageable.getSort(), cursor));
+            }
+        }
+        PageableMapper.assertOffset(pageable, maxOffset);
+        return new GuardedPageable(pageable, pageable);
+    }
+
+    /**
+     * Remembers the sort key of the last row of a page, so that the following page can be read with a keyset seek.
+     * <p>
+     * Nothing is remembered when the guard rejects deep requests, when the following page starts within the maximum
+     * offset, or when the request is not sorted.
+     * </p>
+     *
+     * @param scope       the queried type.
+     * @param filters     the filters of the query.
+     * @param pageable    the guarded request of the page.
+     * @param lastRowKeys the sort key values of the last row of the page, in the order of the sort orders.
+     * @throws IllegalArgumentException if the key values do not match the sort.
+     */
+    public void remember(Class<?> scope, List<Filter> filters, GuardedPageable pageable, List<?> lastRowKeys) {
+        PageableModel requested = Objects.requireNonNull(pageable, "Pageable cannot be null").requested();
+        if (cursors == null || requested.isKeyset() || requested.getSort().isEmpty()
+                || PageableMapper.offsetOf(requested) + requested.getItemsPerPage() <= maxOffset) {
+            return;
+        }
+        if (lastRowKeys == null || lastRowKeys.size() != requested.getSort().getOrders().size()) {
+            throw new IllegalArgumentException("Last row keys do not match the requested sort");
+        }
+        cursors.put(key(scope, filters, requested, requested.getPageNumber() + 1), KeysetCursor.after(lastRowKeys));
+    }
+
+    public long getMaxOffset() {
+        return maxOffset;
+    }
+
+    private static CursorKey key(Class<?> scope, List<Filter> filters, PageableModel pageable, int pageNumber) {
+        return new CursorKey(
+                Objects.requireNonNull(scope, "Scope cannot be null"),
+                FilterSignature.of(filters),
+                pageable.getSort(),
+                pageable.getItemsPerPage(),
+                pageNumber);
+    }
+}
@@ -0,0 +1,145 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * How the values of a {@code FilterList} are bound in an {@code IN} list.
+ * <p>
+ * Bound as is, every distinct number of values produces a distinct SQL statement, each one parsed, planned and
+ * cached separately by Hibernate's query plan cache and by the prepared statement caches of the driver and the
+ * database. {@link Mode#PADDED} pads the list to the next power of two by repeating its last value, which does not
+ * change its result: lists of 1 to 1024 values share 11 statements. {@link Mode#ARRAY} binds a single array
+ * parameter ({@code col = ANY(?)}), one statement whatever the number of values, on the databases supporting it.
+ * </p>
+ * <p>
+ * Padded lists longer than the chunk size are split into chunks of that size, OR-ed together ({@code col IN (...)
+ * OR col IN (...)}), so that a very large list neither exceeds the bind parameter limits (32767 with PostgreSQL,
+ * 1000 values per list with Oracle) nor produces statements of arbitrary length. For lists of tens of thousands of
+ * values, prefer {@link Mode#ARRAY}, which binds them as a single parameter.
+ * </p>
+ */
+public final class InListStrategy {
+
+    /**
+     * Default chunk size of padded lists, a power of two so that full chunks need no padding.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * The values bound as is, in a single list.
+     */
+    public static final InListStrategy PLAIN = new InListStrategy(Mode.PLAIN, DEFAULT_CHUNK_SIZE);
+
+    public enum Mode {
+        /**
+         * One bind parameter per value.
+         */
+        PLAIN,
+        /**
+         * One bind parameter per value, the list padded to the next power of two and chunked.
+         */
+        PADDED,
+        /**
+         * A single array parameter ({@code col = ANY(?)}); falls back to {@link #PADDED} where arrays are not
+         * supported.
+         */
+        ARRAY
+    }
+
+    private final Mode mode;
+    private final int chunkSize;
+
+    private InListStrategy(Mode mode, int chunkSize) {
+        this.mode = mode;
+        this.chunkSize = chunkSize;
+    }
+
+    public static InListStrategy of(Mode mode) {
+        return of(mode, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param mode      the binding mode.
+     * @param chunkSize the maximum number of values of a padded list, a power of two.
+     * @return the strategy.
+     */
+    public static InListStrategy of(Mode mode, int chunkSize) {
+        Objects.requireNonNull(mode, "In list mode cannot be null");
+        if (chunkSize < 1 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("Chunk size must be a positive power of two: " + chunkSize);
+        }
+        return new InListStrategy(mode, chunkSize);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Splits the values of an {@code IN} list into the lists to bind, OR-ed together: a single list as is in
+     * {@link Mode#PLAIN} and {@link Mode#ARRAY} mode, padded chunks in {@link Mode#PADDED} mode.
+     *
+     * @param <V>    the type of the values.
+     * @param values the values.
+     * @return the lists to bind; a single empty list for no value.
+     */
+    public <V> List<List<V>> chunks(List<V> values) {
+        if (mode != Mode.PADDED || values.isEmpty()) {
+            return List.of(values);
+        }
+        List<List<V>> chunks = new ArrayList<>(1 + (values.size() - 1) / chunkSize);
+        for (int from = 0; from < values.size(); from += chunkSize) {
+            chunks.add(pad(values.subList(from, Math.min(values.size(), from + chunkSize))));
+        }
+        return chunks;
+    }
+
+    /**
+     * Pads values to the next power of two by repeating the last one.
+     *
+     * @param <V>    the type of the values.
+     * @param values the values.
+     * @return the padded values, the values themselves if their number is already a power of two (or zero).
+     */
+    public static <V> List<V> pad(List<V> values) {
+        int size = values.size();
+        int padded = paddedSize(size);
+        if (padded == size) {
+            return values;
+        }
+        List<V> result = new ArrayList<>(padded);
+        result.addAll(values);
+        result.addAll(Collections.nCopies(padded - size, values.get(size - 1)));
+        return result;
+    }
+
+    /**
+     * @param size a number of values.
+     * @return the smallest power of two greater than or equal to the size, or 0 for no value.
+     */
+    public static int paddedSize(int size) {
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof InListStrategy that && mode == that.mode && chunkSize == that.chunkSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, chunkSize);
+    }
+
+    @Override
+    public String toString() {
+        return "InListStrategy{" + mode + ", chunkSize=" + chunkSize + "}";
+    }
+}
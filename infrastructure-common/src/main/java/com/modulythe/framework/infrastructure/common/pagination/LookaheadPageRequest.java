@@ -0,0 +1,100 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+/**
+ * {@link Pageable} reading one row more than the page size from the offset of the page.
+ * <p>
+ * A {@link org.springframework.data.domain.PageRequest} cannot express it, its offset being derived from its size.
+ * The extra row tells whether a next page exists without issuing a count query.
+ * It is meant for queries returning a {@code List} or a {@code Flux}: repository methods returning a
+ * {@link org.springframework.data.domain.Slice} already fetch the extra row by themselves.
+ * </p>
+ */
+final class LookaheadPageRequest implements Pageable {
+
+    private final int pageNumber;
+    private final int itemsPerPage;
+    private final Sort sort;
+
+    LookaheadPageRequest(int pageNumber, int itemsPerPage, Sort sort) {
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page number must be greater than or equal to 0");
+        }
+        if (itemsPerPage < 1) {
+            throw new IllegalArgumentException("Items per page must be greater than 0");
+        }
+        this.pageNumber = pageNumber;
+        this.itemsPerPage = itemsPerPage;
+        this.sort = sort == null ? Sort.unsorted() : sort;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    @Override
+    public int getPageSize() {
+        return itemsPerPage + 1;
+    }
+
+    @Override
+    public long getOffset() {
+        return (long) pageNumber * itemsPerPage;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new LookaheadPageRequest(pageNumber + 1, itemsPerPage, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new LookaheadPageRequest(pageNumber - 1, itemsPerPage, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new LookaheadPageRequest(0, itemsPerPage, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new LookaheadPageRequest(pageNumber, itemsPerPage, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return pageNumber > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        LookaheadPageRequest that = (LookaheadPageRequest) o;
+        return pageNumber == that.pageNumber && itemsPerPage == that.itemsPerPage && Objects.equals(sort, that.sort);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageNumber, itemsPerPage, sort);
+    }
+
+    @Override
+    public String toString() {
+        return "LookaheadPageRequest{" +
+                "pageNumber=" + pageNumber +
+                ", itemsPerPage=" + itemsPerPage +
+                ", sort=" + sort +
+                '}';
+    }
+}
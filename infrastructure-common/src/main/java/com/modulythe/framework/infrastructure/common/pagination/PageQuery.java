@@ -0,0 +1,39 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+
+import java.util.List;
+
+/**
+ * Filters and pagination request read from a query string by a {@link QuerySchema}.
+ */
+public final class PageQuery {
+
+    private final List<Filter> filters;
+    private final PageableModel pageable;
+
+    PageQuery(List<Filter> filters, PageableModel pageable) {
+        this.filters = List.copyOf(filters);
+        this.pageable = pageable;
+    }
+
+    /**
+     * @return the filters of the declared parameters present in the query, in declaration order.
+     */
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    public PageableModel getPageable() {
+        return pageable;
+    }
+
+    @Override
+    public String toString() {
+        return "PageQuery{" +
+                "filters=" + filters +
+                ", pageable=" + pageable +
+                '}';
+    }
+}
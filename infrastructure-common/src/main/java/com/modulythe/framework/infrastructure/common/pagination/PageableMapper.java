@@ -2,11 +2,13 @@ package com.modulythe.framework.infrastructure.common.pagination;
 
 import com.modulythe.framework.domain.common.pagination.PageableModel;
 import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Utility class responsible for mapping Domain pagination models to Spring Data infrastructure models.
@@ -23,25 +25,115 @@ public final class PageableMapper {
 
     /**
      * Converts a domain {@link PageableModel} to a Spring Data {@link Pageable}.
+     * <p>
+     * For keyset requests, no offset is generated: the first page is always requested, sorted with
+     * {@link PageableModel#getEffectiveSort()}, and one extra row is fetched so that
+     * {@link com.modulythe.framework.domain.common.pagination.CursorPageModel#of} can tell whether another page exists.
+     * The seek predicate itself is added by the filter builders.
+     * </p>
+     * <p>
+     * For slice requests, a regular {@link PageRequest} is returned, suited to repository methods returning a
+     * {@link org.springframework.data.domain.Slice}; use {@link #toLookaheadPageable(PageableModel)} for queries
+     * returning a {@code List} or a {@code Flux}.
+     * </p>
      *
      * @param pageableModel the domain pagination model.
      * @return a {@link Pageable} object configured with the page number, size, and sort options.
      * Returns {@link Pageable#unpaged()} if the input model is null.
      */
     public static Pageable toSpringPageable(PageableModel pageableModel) {
+        return toSpringPageable(pageableModel, PageableMapper::toSpringSort);
+    }
+
+    static Pageable toSpringPageable(PageableModel pageableModel, Function<SortModel, Sort> sorts) {
         if (pageableModel == null) {
             return Pageable.unpaged();
         }
 
+        if (pageableModel.isKeyset()) {
+            return PageRequest.of(0, pageableModel.getItemsPerPage() + 1, sorts.apply(pageableModel.getEffectiveSort()));
+        }
+
         int page = pageableModel.getPageNumber();
         int size = pageableModel.getItemsPerPage();
-        Sort sort = toSpringSort(pageableModel.getSort());
+        Sort sort = sorts.apply(pageableModel.getSort());
 
         return PageRequest.of(page, size, sort);
     }
 
+    /**
+     * Converts a domain {@link PageableModel} to a Spring Data {@link Pageable}, rejecting offset requests
+     * reading beyond a maximum offset.
+     * <p>
+     * Databases read and discard every skipped row, so a deep page costs as much as all the pages before it.
+     * Keyset requests are never rejected; see {@link DeepPaginationGuard} to convert sequential deep requests
+     * into keyset seeks instead.
+     * </p>
+     *
+     * @param pageableModel the domain pagination model.
+     * @param maxOffset     the maximum number of skipped rows.
+     * @return a {@link Pageable} object configured with the page number, size, and sort options.
+     * @throws MalFormedQueryException if the requested page starts beyond the maximum offset.
+     */
+    public static Pageable toSpringPageable(PageableModel pageableModel, long maxOffset) {
+        assertOffset(pageableModel, maxOffset);
+        return toSpringPageable(pageableModel);
+    }
+
+    /**
+     * Checks that an offset request does not start beyond a maximum offset.
+     *
+     * @param pageableModel the domain pagination model, ignored if null or keyset.
+     * @param maxOffset     the maximum number of skipped rows.
+     * @throws MalFormedQueryException if the requested page starts beyond the maximum offset.
+     */
+    public static void assertOffset(PageableModel pageableModel, long maxOffset) {
+        if (pageableModel != null && !pageableModel.isKeyset() && offsetOf(pageableModel) > maxOffset) {
+            throw new MalFormedQueryException("page", "offset " + offsetOf(pageableModel)
+                    + " exceeds the maximum of " + maxOffset + ", use cursor pagination to read further");
+        }
+    }
+
+    static long offsetOf(PageableModel pageableModel) {
+        return (long) pageableModel.getPageNumber() * pageableModel.getItemsPerPage();
+    }
+
+    /**
+     * Converts a domain {@link PageableModel} to a Spring Data {@link Pageable} fetching one extra row
+     * from the offset of the requested page.
+     * <p>
+     * The extra row tells whether a next page exists without a count query; the result is meant for
+     * {@code PageModel.ofSlice} and for {@code buildSlice} in the page builders.
+     * </p>
+     *
+     * @param pageableModel the domain pagination model.
+     * @return a {@link Pageable} reading {@code itemsPerPage + 1} rows from {@code pageNumber * itemsPerPage}.
+     * Returns {@link Pageable#unpaged()} if the input model is null.
+     */
+    public static Pageable toLookaheadPageable(PageableModel pageableModel) {
+        return toLookaheadPageable(pageableModel, PageableMapper::toSpringSort);
+    }
+
+    static Pageable toLookaheadPageable(PageableModel pageableModel, Function<SortModel, Sort> sorts) {
+        if (pageableModel == null) {
+            return Pageable.unpaged();
+        }
+
+        if (pageableModel.isKeyset()) {
+            return toSpringPageable(pageableModel, sorts);
+        }
+
+        return new LookaheadPageRequest(
+                pageableModel.getPageNumber(),
+                pageableModel.getItemsPerPage(),
+                sorts.apply(pageableModel.getSort()));
+    }
+
     /**
      * Converts a domain {@link SortModel} to a Spring Data {@link Sort}.
+     * <p>
+     * The sort is neither checked nor cached; see {@link SortRegistry} to restrict sorts to indexed properties.
+     * </p>
      *
      * @param sortModel the domain sort model.
      * @return a {@link Sort} object containing the mapped orders.
@@ -0,0 +1,63 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class holding the PostgreSQL statements used to estimate row counts without scanning the rows.
+ * <p>
+ * Filtered queries are estimated from the planner, through {@code EXPLAIN (FORMAT JSON)}: the {@code "Plan Rows"}
+ * of the root plan node is the number of rows the planner expects the query to return. Unfiltered tables are
+ * estimated from the {@code pg_class.reltuples} statistics maintained by VACUUM and ANALYZE.
+ * Both are approximations, only as fresh as the table statistics.
+ * </p>
+ */
+public final class PostgresCountEstimates {
+
+    /**
+     * Prefix turning a SELECT statement into a planner estimate request.
+     */
+    public static final String EXPLAIN_PREFIX = "EXPLAIN (FORMAT JSON) ";
+
+    /**
+     * Statement returning the estimated number of rows of a table, bound to the (optionally schema-qualified)
+     * table name. Returns -1 for a table never analyzed.
+     */
+    public static final String TABLE_ESTIMATE_SQL = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    private PostgresCountEstimates() {
+        // Utility class
+    }
+
+    /**
+     * Builds the EXPLAIN statement of a SELECT statement.
+     *
+     * @param selectSql the SELECT statement whose result size is estimated.
+     * @return the EXPLAIN statement.
+     */
+    public static String explain(String selectSql) {
+        return EXPLAIN_PREFIX + selectSql;
+    }
+
+    /**
+     * Extracts the estimated number of rows from the JSON output of {@code EXPLAIN (FORMAT JSON)}.
+     *
+     * @param explainJson the EXPLAIN output.
+     * @return the number of rows estimated for the root plan node.
+     * @throws TechnicalException if the output holds no plan rows estimate.
+     */
+    public static long parsePlanRows(String explainJson) {
+        if (explainJson != null) {
+            // The root node is serialized first, before any nested "Plans"
+            Matcher matcher = PLAN_ROWS.matcher(explainJson);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        throw new TechnicalException("Unable to read the planner row estimate from the EXPLAIN output");
+    }
+}
@@ -0,0 +1,51 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+/**
+ * Utility class building the PostgreSQL statements capturing the plan of a query without its bound values.
+ * <p>
+ * {@code EXPLAIN (GENERIC_PLAN)} (PostgreSQL 16+) plans a statement whose parameters are left as {@code $n} markers,
+ * the way a prepared statement is planned once for all its executions. It is used by the slow query detectors, which
+ * record the statements but never the filter values.
+ * </p>
+ */
+public final class PostgresGenericPlans {
+
+    /**
+     * Prefix turning a statement with {@code $n} markers into a generic plan request.
+     */
+    public static final String EXPLAIN_PREFIX = "EXPLAIN (GENERIC_PLAN) ";
+
+    private PostgresGenericPlans() {
+        // Utility class
+    }
+
+    /**
+     * Builds the generic EXPLAIN statement of a statement, its JDBC {@code ?} placeholders being numbered as
+     * {@code $n} markers. Placeholders within quoted literals and identifiers are left untouched.
+     *
+     * @param sql the statement, with JDBC {@code ?} placeholders or {@code $n} markers.
+     * @return the EXPLAIN statement.
+     */
+    public static String explain(String sql) {
+        StringBuilder explain = new StringBuilder(EXPLAIN_PREFIX.length() + sql.length() + 16).append(EXPLAIN_PREFIX);
+        char quote = 0;
+        int marker = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                explain.append(c);
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                explain.append(c);
+            } else if (c == '?') {
+                explain.append('$').append(++marker);
+            } else {
+                explain.append(c);
+            }
+        }
+        return explain.toString();
+    }
+}
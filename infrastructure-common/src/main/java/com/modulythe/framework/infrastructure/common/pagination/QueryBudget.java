@@ -0,0 +1,51 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The time budgets of the queries of an endpoint: one for the content query, and a separate, usually shorter one for
+ * the count query, which may fall back to an estimated count when exceeded.
+ * <p>
+ * Budgets are enforced by {@code JpaQueryBudget} on the servlet stack and {@code R2dbcQueryBudget} on the reactive
+ * stack; a query exceeding its budget is cancelled and reported as a
+ * {@link com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException}. Declare one budget per
+ * endpoint, e.g. as a constant next to its {@link QuerySchema}.
+ * </p>
+ *
+ * @param queryTimeout the budget of the content query.
+ * @param countTimeout the budget of the count query.
+ */
+public record QueryBudget(Duration queryTimeout, Duration countTimeout) {
+
+    public QueryBudget {
+        assertPositive(queryTimeout, "Query timeout");
+        assertPositive(countTimeout, "Count timeout");
+    }
+
+    /**
+     * Creates a budget whose count query has the same budget as the content query.
+     *
+     * @param queryTimeout the budget of both queries.
+     * @return the budget.
+     */
+    public static QueryBudget of(Duration queryTimeout) {
+        return new QueryBudget(queryTimeout, queryTimeout);
+    }
+
+    /**
+     * @param queryTimeout the budget of the content query.
+     * @param countTimeout the budget of the count query.
+     * @return the budget.
+     */
+    public static QueryBudget of(Duration queryTimeout, Duration countTimeout) {
+        return new QueryBudget(queryTimeout, countTimeout);
+    }
+
+    private static void assertPositive(Duration timeout, String name) {
+        Objects.requireNonNull(timeout, name + " cannot be null");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+}
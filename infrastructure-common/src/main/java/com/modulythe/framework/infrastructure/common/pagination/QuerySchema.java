@@ -0,0 +1,588 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterBoolean;
+import com.modulythe.framework.domain.common.pagination.FilterDate;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
+import com.modulythe.framework.domain.common.pagination.FilterNumber;
+import com.modulythe.framework.domain.common.pagination.FilterRange;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.domain.exception.DomainConstraintViolationException;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares the request parameters an endpoint accepts, and reads them from a raw query string into domain
+ * {@link Filter}s and a {@link PageableModel}.
+ * <p>
+ * The query string is parsed in a single pass, without building a parameter map: parameter names are looked up in
+ * the schema directly in the raw string, and values are only decoded (percent-encoding, {@code +}) when they contain
+ * escapes. Numbers, booleans and dates are parsed in place; undeclared parameters are skipped or rejected.
+ * A schema is immutable: declare it once per endpoint, e.g. as a constant, and parse every request with it.
+ * </p>
+ * <p>
+ * Value syntax, per filter type:
+ * <ul>
+ *     <li>STRING: the value; NUMBER: a decimal number; BOOLEAN: {@code true} or {@code false};</li>
+ *     <li>LIST: comma-separated values, the parameter may be repeated ({@code status=A,B&status=C});</li>
+ *     <li>RANGE: {@code min..max}, either bound may be omitted ({@code 10..}, {@code ..20});</li>
+ *     <li>DATE: ISO dates, {@code start..end} (BETWEEN, inclusive), {@code start..} (AFTER, exclusive),
+ *     {@code ..end} (BEFORE, exclusive), or a single day.</li>
+ * </ul>
+ * Pagination follows the Spring Data conventions: {@code page} (0-based unless {@link Builder#oneBasedPages()}),
+ * {@code size}, and {@code sort=property[,asc|desc]}, repeated for several orders.
+ * Empty values are ignored. Any invalid value raises a {@link MalFormedQueryException} naming the parameter.
+ * </p>
+ */
+public final class QuerySchema {
+
+    public static final String DEFAULT_PAGE_PARAMETER = "page";
+    public static final String DEFAULT_SIZE_PARAMETER = "size";
+    public static final String DEFAULT_SORT_PARAMETER = "sort";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 100;
+
+    private static final String RANGE_SEPARATOR = "..";
+
+    private enum Kind {
+        FILTER,
+        PAGE,
+        SIZE,
+        SORT
+    }
+
+    /**
+     * A declared parameter.
+     */
+    private record Parameter(int slot, String name, Kind kind, String property, Filter.FilterType type) {
+    }
+
+    /**
+     * Declared parameters, in an open-addressing table indexed by the hash of their name.
+     */
+    private final Parameter[] table;
+    private final int filterCount;
+    private final Map<String, String> sortableProperties;
+    private final SortModel defaultSort;
+    private final int defaultSize;
+    private final int maxSize;
+    private final boolean oneBasedPages;
+    private final boolean rejectUnknownParameters;
+
+    private QuerySchema(Builder builder) {
+        List<Parameter> parameters = new ArrayList<>();
+        int slot = 0;
+        for (Map.Entry<String, Parameter> entry : builder.filters.entrySet()) {
+            Parameter filter = entry.getValue();
+            parameters.add(new Parameter(slot++, filter.name(), Kind.FILTER, filter.property(), filter.type()));
+        }
+        this.filterCount = slot;
+        parameters.add(new Parameter(-1, builder.pageParameter, Kind.PAGE, null, null));
+        parameters.add(new Parameter(-1, builder.sizeParameter, Kind.SIZE, null, null));
+        parameters.add(new Parameter(-1, builder.sortParameter, Kind.SORT, null, null));
+
+        this.table = new Parameter[Integer.highestOneBit(parameters.size() * 2 - 1) << 1];
+        for (Parameter parameter : parameters) {
+            int index = parameter.name().hashCode() & (table.length - 1);
+            while (table[index] != null) {
+                if (table[index].name().equals(parameter.name())) {
+                    throw new IllegalArgumentException("Parameter '" + parameter.name() + "' is declared twice");
+                }
+                index = (index + 1) & (table.length - 1);
+            }
+            table[index] = parameter;
+        }
+        this.sortableProperties = Map.copyOf(builder.sortableProperties);
+        this.defaultSort = builder.defaultSort;
+        this.defaultSize = builder.defaultSize;
+        this.maxSize = builder.maxSize;
+        this.oneBasedPages = builder.oneBasedPages;
+        this.rejectUnknownParameters = builder.rejectUnknownParameters;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Parameter> filters = new LinkedHashMap<>();
+        private final Map<String, String> sortableProperties = new LinkedHashMap<>();
+        private String pageParameter = DEFAULT_PAGE_PARAMETER;
+        private String sizeParameter = DEFAULT_SIZE_PARAMETER;
+        private String sortParameter = DEFAULT_SORT_PARAMETER;
+        private SortModel defaultSort = SortModel.empty();
+        private int defaultSize = DEFAULT_PAGE_SIZE;
+        private int maxSize = DEFAULT_MAX_PAGE_SIZE;
+        private boolean oneBasedPages;
+        private boolean rejectUnknownParameters;
+
+        private Builder() {
+        }
+
+        /**
+         * Declares a filter parameter named after the filtered property.
+         */
+        public Builder filter(String property, Filter.FilterType type) {
+            return filter(property, property, type);
+        }
+
+        /**
+         * Declares a filter parameter.
+         *
+         * @param parameter the name of the request parameter.
+         * @param property  the name of the filtered property.
+         * @param type      the filter type; composite types cannot be read from a parameter.
+         * @return this builder.
+         */
+        public Builder filter(String parameter, String property, Filter.FilterType type) {
+            if (type == null || type.isComposite()) {
+                throw new IllegalArgumentException("Parameter '" + parameter + "' must declare a leaf filter type");
+            }
+            if (filters.putIfAbsent(parameter, new Parameter(-1, parameter, Kind.FILTER, property, type)) != null) {
+                throw new IllegalArgumentException("Parameter '" + parameter + "' is declared twice");
+            }
+            return this;
+        }
+
+        /**
+         * Declares properties the client may sort by, under their own name.
+         */
+        public Builder sortable(String... properties) {
+            for (String property : properties) {
+                sortableProperties.put(property, property);
+            }
+            return this;
+        }
+
+        /**
+         * Declares a property the client may sort by, under another name.
+         *
+         * @param name     the name used in the sort parameter.
+         * @param property the sorted property.
+         * @return this builder.
+         */
+        public Builder sortableAs(String name, String property) {
+            sortableProperties.put(name, property);
+            return this;
+        }
+
+        /**
+         * Sets the sort used when the query has no sort parameter; empty by default.
+         */
+        public Builder defaultSort(SortModel defaultSort) {
+            this.defaultSort = defaultSort == null ? SortModel.empty() : defaultSort;
+            return this;
+        }
+
+        public Builder defaultSize(int defaultSize) {
+            this.defaultSize = defaultSize;
+            return this;
+        }
+
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Reads the page parameter as 1-based, like {@code PaginationFactory.createPageable}.
+         */
+        public Builder oneBasedPages() {
+            this.oneBasedPages = true;
+            return this;
+        }
+
+        /**
+         * Rejects queries holding undeclared parameters, which are skipped by default.
+         */
+        public Builder rejectUnknownParameters() {
+            this.rejectUnknownParameters = true;
+            return this;
+        }
+
+        public Builder pageParameter(String pageParameter) {
+            this.pageParameter = pageParameter;
+            return this;
+        }
+
+        public Builder sizeParameter(String sizeParameter) {
+            this.sizeParameter = sizeParameter;
+            return this;
+        }
+
+        public Builder sortParameter(String sortParameter) {
+            this.sortParameter = sortParameter;
+            return this;
+        }
+
+        /**
+         * @return the schema.
+         * @throws IllegalArgumentException if a parameter is declared twice, or the page sizes are inconsistent.
+         */
+        public QuerySchema build() {
+            if (maxSize < 1 || defaultSize < 1 || defaultSize > maxSize) {
+                throw new IllegalArgumentException("Page sizes must satisfy 0 < defaultSize <= maxSize");
+            }
+            return new QuerySchema(this);
+        }
+    }
+
+    /**
+     * Parses a raw query string.
+     *
+     * @param rawQuery the query string, still percent-encoded, with or without its leading {@code ?};
+     *                 null or empty for a request without parameters.
+     * @return the filters and pagination request.
+     * @throws MalFormedQueryException if a parameter value is invalid, a single-valued parameter is repeated, or an
+     *                                 undeclared parameter is present while {@link Builder#rejectUnknownParameters()}.
+     */
+    public PageQuery parse(String rawQuery) {
+        State state = new State(filterCount);
+        if (rawQuery != null) {
+            int length = rawQuery.length();
+            int start = rawQuery.startsWith("?") ? 1 : 0;
+            while (start < length) {
+                int end = rawQuery.indexOf('&', start);
+                if (end < 0) {
+                    end = length;
+                }
+                if (end > start) {
+                    parseParameter(rawQuery, start, end, state);
+                }
+                start = end + 1;
+            }
+        }
+        return state.toQuery();
+    }
+
+    private void parseParameter(String raw, int start, int end, State state) {
+        int separator = raw.indexOf('=', start);
+        int nameEnd = separator < 0 || separator > end ? end : separator;
+        int valueStart = nameEnd == end ? end : nameEnd + 1;
+
+        Parameter parameter = lookup(raw, start, nameEnd);
+        if (parameter == null) {
+            if (rejectUnknownParameters) {
+                throw new MalFormedQueryException(raw.substring(start, nameEnd), "unknown parameter");
+            }
+            return;
+        }
+        if (valueStart == end) {
+            return;
+        }
+        if (parameter.type() == Filter.FilterType.LIST) {
+            // Split before decoding, so that encoded commas belong to the values
+            state.addListValues(parameter, raw, valueStart, end);
+        } else if (needsDecoding(raw, valueStart, end)) {
+            String value = decode(raw, valueStart, end, parameter.name());
+            parseValue(parameter, value, 0, value.length(), state);
+        } else {
+            parseValue(parameter, raw, valueStart, end, state);
+        }
+    }
+
+    private Parameter lookup(String raw, int start, int end) {
+        if (needsDecoding(raw, start, end)) {
+            // The decoded name is looked up as is: decoding it again would turn a decoded '+' or '%' into something else
+            String name = decode(raw, start, end, raw.substring(start, end));
+            return probe(name, 0, name.length());
+        }
+        return probe(raw, start, end);
+    }
+
+    private Parameter probe(String raw, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + raw.charAt(i);
+        }
+        int index = hash & (table.length - 1);
+        for (Parameter candidate = table[index]; candidate != null; candidate = table[index]) {
+            String name = candidate.name();
+            if (name.length() == end - start && raw.regionMatches(start, name, 0, name.length())) {
+                return candidate;
+            }
+            index = (index + 1) & (table.length - 1);
+        }
+        return null;
+    }
+
+    private void parseValue(Parameter parameter, String value, int start, int end, State state) {
+        switch (parameter.kind()) {
+            case PAGE -> {
+                int page = parseInt(parameter, value, start, end);
+                int first = oneBasedPages ? 1 : 0;
+                if (page < first) {
+                    throw new MalFormedQueryException(parameter.name(), "must be greater than or equal to " + first);
+                }
+                state.page = state.once(parameter, state.page, page - first);
+            }
+            case SIZE -> {
+                int size = parseInt(parameter, value, start, end);
+                if (size < 1 || size > maxSize) {
+                    throw new MalFormedQueryException(parameter.name(), "must be between 1 and " + maxSize);
+                }
+                state.size = state.once(parameter, state.size, size);
+            }
+            case SORT -> state.orders.add(parseOrder(parameter, value, start, end));
+            case FILTER -> parseFilter(parameter, value, start, end, state);
+        }
+    }
+
+    private SortModel.Order parseOrder(Parameter parameter, String value, int start, int end) {
+        int comma = value.indexOf(',', start);
+        int propertyEnd = comma < 0 || comma > end ? end : comma;
+        SortModel.Direction direction = SortModel.Direction.ASC;
+        if (propertyEnd < end) {
+            int length = end - propertyEnd - 1;
+            if (length == 4 && value.regionMatches(true, propertyEnd + 1, "desc", 0, 4)) {
+                direction = SortModel.Direction.DESC;
+            } else if (length != 3 || !value.regionMatches(true, propertyEnd + 1, "asc", 0, 3)) {
+                throw new MalFormedQueryException(parameter.name(), "direction must be 'asc' or 'desc'");
+            }
+        }
+        String name = value.substring(start, propertyEnd);
+        String property = sortableProperties.get(name);
+        if (property == null) {
+            throw new MalFormedQueryException(parameter.name(), "cannot sort by '" + name + "'");
+        }
+        return SortModel.Order.by(property, direction);
+    }
+
+    private void parseFilter(Parameter parameter, String value, int start, int end, State state) {
+        String property = parameter.property();
+        try {
+            Filter filter = switch (parameter.type()) {
+                case STRING -> new FilterString(property, value.substring(start, end));
+                case NUMBER -> new FilterNumber(property, parseDouble(parameter, value, start, end));
+                case BOOLEAN -> new FilterBoolean(property, parseBoolean(parameter, value, start, end));
+                case RANGE -> parseRange(parameter, value, start, end);
+                case DATE -> parseDate(parameter, value, start, end);
+                case LIST, AND, OR, NOT -> throw new IllegalStateException("Unsupported filter type: " + parameter.type());
+            };
+            state.setFilter(parameter, filter);
+        } catch (DomainConstraintViolationException e) {
+            throw new MalFormedQueryException(parameter.name(), e.getMessage());
+        }
+    }
+
+    private static Filter parseRange(Parameter parameter, String value, int start, int end) {
+        int separator = value.indexOf(RANGE_SEPARATOR, start);
+        if (separator < 0 || separator + 2 > end) {
+            throw new MalFormedQueryException(parameter.name(), "expected a range 'min..max'");
+        }
+        int min = separator == start ? Integer.MIN_VALUE : parseInt(parameter, value, start, separator);
+        int max = separator + 2 == end ? Integer.MAX_VALUE : parseInt(parameter, value, separator + 2, end);
+        if (min > max) {
+            throw new MalFormedQueryException(parameter.name(), "minimum is greater than maximum");
+        }
+        return FilterRange.builder().name(parameter.property()).min(min).max(max).build();
+    }
+
+    private static Filter parseDate(Parameter parameter, String value, int start, int end) {
+        FilterDate.FilterDateBuilder builder = FilterDate.builder().name(parameter.property());
+        int separator = value.indexOf(RANGE_SEPARATOR, start);
+        if (separator < 0 || separator + 2 > end) {
+            LocalDate day = parseIsoDate(parameter, value, start, end);
+            return builder.startDate(day).endDate(day).filterDateType(FilterDate.FilterDateType.BETWEEN).build();
+        }
+        if (separator == start) {
+            return builder.endDate(parseIsoDate(parameter, value, separator + 2, end))
+                    .filterDateType(FilterDate.FilterDateType.BEFORE)
+                    .build();
+        }
+        LocalDate startDate = parseIsoDate(parameter, value, start, separator);
+        if (separator + 2 == end) {
+            return builder.startDate(startDate).filterDateType(FilterDate.FilterDateType.AFTER).build();
+        }
+        return builder.startDate(startDate)
+                .endDate(parseIsoDate(parameter, value, separator + 2, end))
+                .filterDateType(FilterDate.FilterDateType.BETWEEN)
+                .build();
+    }
+
+    private static int parseInt(Parameter parameter, String value, int start, int end) {
+        try {
+            return Integer.parseInt(value, start, end, 10);
+        } catch (NumberFormatException e) {
+            throw new MalFormedQueryException(parameter.name(), "expected an integer");
+        }
+    }
+
+    private static double parseDouble(Parameter parameter, String value, int start, int end) {
+        try {
+            double number = Double.parseDouble(value.substring(start, end));
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new MalFormedQueryException(parameter.name(), "expected a number");
+    }
+
+    private static boolean parseBoolean(Parameter parameter, String value, int start, int end) {
+        int length = end - start;
+        if (length == 4 && value.regionMatches(true, start, "true", 0, 4)) {
+            return true;
+        }
+        if (length == 5 && value.regionMatches(true, start, "false", 0, 5)) {
+            return false;
+        }
+        throw new MalFormedQueryException(parameter.name(), "expected 'true' or 'false'");
+    }
+
+    /**
+     * Parses a {@code yyyy-MM-dd} date in place.
+     */
+    private static LocalDate parseIsoDate(Parameter parameter, String value, int start, int end) {
+        if (end - start == 10 && value.charAt(start + 4) == '-' && value.charAt(start + 7) == '-') {
+            int year = digits(value, start, start + 4);
+            int month = digits(value, start + 5, start + 7);
+            int day = digits(value, start + 8, start + 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // Reported below
+                }
+            }
+        }
+        throw new MalFormedQueryException(parameter.name(), "expected an ISO date 'yyyy-MM-dd'");
+    }
+
+    private static int digits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean needsDecoding(String raw, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decodes a percent-encoded region as UTF-8, {@code +} standing for a space.
+     */
+    private static String decode(String raw, int start, int end, String parameter) {
+        if (!needsDecoding(raw, start, end)) {
+            return raw.substring(start, end);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(end - start);
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c == '+') {
+                bytes.write(' ');
+            } else if (c == '%') {
+                int high = i + 2 < end ? Character.digit(raw.charAt(i + 1), 16) : -1;
+                int low = i + 2 < end ? Character.digit(raw.charAt(i + 2), 16) : -1;
+                if (high < 0 || low < 0) {
+                    throw new MalFormedQueryException(parameter, "invalid percent-encoding");
+                }
+                bytes.write((high << 4) | low);
+                i += 2;
+            } else if (c < 0x80) {
+                bytes.write(c);
+            } else {
+                int charEnd = Character.isHighSurrogate(c) && i + 1 < end ? i + 2 : i + 1;
+                bytes.writeBytes(raw.substring(i, charEnd).getBytes(StandardCharsets.UTF_8));
+                i = charEnd - 1;
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Values read so far from one query string.
+     */
+    private final class State {
+
+        private final Filter[] filters;
+        private final List<String>[] listValues;
+        private final List<SortModel.Order> orders = new ArrayList<>(2);
+        private int page = -1;
+        private int size = -1;
+
+        @SuppressWarnings("unchecked")
+        private State(int filterCount) {
+            this.filters = new Filter[filterCount];
+            this.listValues = new List[filterCount];
+        }
+
+        private int once(Parameter parameter, int current, int value) {
+            if (current >= 0) {
+                throw new MalFormedQueryException(parameter.name(), "must not be repeated");
+            }
+            return value;
+        }
+
+        private void setFilter(Parameter parameter, Filter filter) {
+            if (filters[parameter.slot()] != null) {
+                throw new MalFormedQueryException(parameter.name(), "must not be repeated");
+            }
+            filters[parameter.slot()] = filter;
+        }
+
+        private void addListValues(Parameter parameter, String raw, int start, int end) {
+            List<String> values = listValues[parameter.slot()];
+            if (values == null) {
+                values = new ArrayList<>();
+                listValues[parameter.slot()] = values;
+            }
+            int itemStart = start;
+            while (itemStart <= end) {
+                int itemEnd = raw.indexOf(',', itemStart);
+                if (itemEnd < 0 || itemEnd > end) {
+                    itemEnd = end;
+                }
+                if (itemEnd > itemStart) {
+                    values.add(decode(raw, itemStart, itemEnd, parameter.name()));
+                }
+                itemStart = itemEnd + 1;
+            }
+        }
+
+        private PageQuery toQuery() {
+            List<Filter> result = new ArrayList<>(filters.length);
+            for (Parameter parameter : table) {
+                if (parameter == null || parameter.kind() != Kind.FILTER) {
+                    continue;
+                }
+                int slot = parameter.slot();
+                if (listValues[slot] != null && !listValues[slot].isEmpty()) {
+                    filters[slot] = new FilterList(parameter.property(), new FilterListValues(listValues[slot]));
+                }
+            }
+            for (Filter filter : filters) {
+                if (filter != null) {
+                    result.add(filter);
+                }
+            }
+            SortModel sort = orders.isEmpty() ? defaultSort : SortModel.by(orders);
+            return new PageQuery(result, PageableModel.of(Math.max(page, 0), size < 0 ? defaultSize : size, sort));
+        }
+    }
+}
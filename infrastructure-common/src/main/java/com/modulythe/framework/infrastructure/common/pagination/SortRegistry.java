@@ -0,0 +1,198 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Declares the indexes an entity can be sorted by, and converts the domain sorts matching them into the Spring Data
+ * {@link Sort} used by JPA and R2DBC repositories.
+ * <p>
+ * A sort is accepted when its properties are a leading prefix of a registered index, in the same directions or all
+ * reversed (an index can be scanned backward), so that the database reads the rows in order instead of sorting
+ * them. Other sorts are rejected with a {@link MalFormedQueryException} on the {@code sort} parameter. Declare the
+ * registry once per entity, e.g. as a constant next to its {@link QuerySchema}:
+ * </p>
+ * <pre>{@code
+ * static final SortRegistry ORDER_SORTS = SortRegistry.builder(Order.class)
+ *         .index("createdAt", "id")
+ *         .index("customerId", "createdAt")
+ *         .build();
+ * }</pre>
+ * <p>
+ * Converted sorts are cached per {@link SortModel}: only accepted sorts are cached, and there are at most two per
+ * index prefix.
+ * </p>
+ */
+public final class SortRegistry {
+
+    private static final String SORT_PARAMETER = "sort";
+
+    private final Class<?> entityType;
+    private final List<List<SortModel.Order>> indexes;
+    private final Map<SortModel, Sort> sorts = new ConcurrentHashMap<>();
+
+    private SortRegistry(Builder builder) {
+        this.entityType = builder.entityType;
+        this.indexes = List.copyOf(builder.indexes);
+    }
+
+    public static Builder builder(Class<?> entityType) {
+        return new Builder(entityType);
+    }
+
+    public static final class Builder {
+        private final Class<?> entityType;
+        private final List<List<SortModel.Order>> indexes = new ArrayList<>();
+
+        private Builder(Class<?> entityType) {
+            this.entityType = Objects.requireNonNull(entityType, "Entity type cannot be null");
+        }
+
+        /**
+         * Registers an ascending index.
+         *
+         * @param properties the indexed properties, in the order of the index.
+         * @return this builder.
+         */
+        public Builder index(String... properties) {
+            if (properties.length == 0) {
+                throw new IllegalArgumentException("An index requires at least one property");
+            }
+            return index(SortModel.by(Arrays.stream(properties)
+                    .map(property -> SortModel.Order.by(property, SortModel.Direction.ASC))
+                    .toList()));
+        }
+
+        /**
+         * Registers an index whose columns have their own direction, e.g. {@code (customer_id ASC, created_at DESC)}.
+         *
+         * @param index the indexed properties and their directions, in the order of the index.
+         * @return this builder.
+         */
+        public Builder index(SortModel index) {
+            if (index == null || index.isEmpty()) {
+                throw new IllegalArgumentException("An index requires at least one property");
+            }
+            indexes.add(index.getOrders());
+            return this;
+        }
+
+        public SortRegistry build() {
+            if (indexes.isEmpty()) {
+                throw new IllegalArgumentException("At least one index must be registered for " + entityType.getSimpleName());
+            }
+            return new SortRegistry(this);
+        }
+    }
+
+    /**
+     * Converts a sort into a Spring Data {@link Sort}, if it matches a registered index.
+     *
+     * @param sortModel the domain sort.
+     * @return the cached Spring Data sort, {@link Sort#unsorted()} if the sort is null or empty.
+     * @throws MalFormedQueryException if the sort does not match any registered index.
+     */
+    public Sort toSpringSort(SortModel sortModel) {
+        if (sortModel == null || sortModel.isEmpty()) {
+            return Sort.unsorted();
+        }
+        Sort sort = sorts.get(sortModel);
+        if (sort != null) {
+            return sort;
+        }
+        assertIndexed(sortModel);
+        return sorts.computeIfAbsent(sortModel, PageableMapper::toSpringSort);
+    }
+
+    /**
+     * Same as {@link PageableMapper#toSpringPageable(PageableModel)}, with a sort checked and cached by this registry.
+     *
+     * @param pageableModel the domain pagination model.
+     * @return the Spring Data pageable.
+     * @throws MalFormedQueryException if the sort does not match any registered index.
+     */
+    public Pageable toSpringPageable(PageableModel pageableModel) {
+        return PageableMapper.toSpringPageable(pageableModel, this::toSpringSort);
+    }
+
+    /**
+     * Same as {@link PageableMapper#toLookaheadPageable(PageableModel)}, with a sort checked and cached by this
+     * registry.
+     *
+     * @param pageableModel the domain pagination model.
+     * @return the Spring Data pageable.
+     * @throws MalFormedQueryException if the sort does not match any registered index.
+     */
+    public Pageable toLookaheadPageable(PageableModel pageableModel) {
+        return PageableMapper.toLookaheadPageable(pageableModel, this::toSpringSort);
+    }
+
+    /**
+     * Checks that a sort matches a registered index.
+     *
+     * @param sortModel the domain sort, accepted if null or empty.
+     * @throws MalFormedQueryException if the sort does not match any registered index.
+     */
+    public void assertIndexed(SortModel sortModel) {
+        if (sortModel != null && !sortModel.isEmpty() && !isIndexed(sortModel)) {
+            throw new MalFormedQueryException(SORT_PARAMETER, "cannot sort " + entityType.getSimpleName()
+                    + " by " + describe(sortModel) + ", no index matches it");
+        }
+    }
+
+    /**
+     * @param sortModel a domain sort.
+     * @return whether the sort is empty or matches a registered index.
+     */
+    public boolean isIndexed(SortModel sortModel) {
+        if (sortModel == null || sortModel.isEmpty()) {
+            return true;
+        }
+        if (sorts.containsKey(sortModel)) {
+            return true;
+        }
+        for (List<SortModel.Order> index : indexes) {
+            if (matches(sortModel.getOrders(), index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(List<SortModel.Order> orders, List<SortModel.Order> index) {
+        if (orders.size() > index.size()) {
+            return false;
+        }
+        boolean reversed = orders.get(0).getDirection() != index.get(0).getDirection();
+        for (int i = 0; i < orders.size(); i++) {
+            SortModel.Order order = orders.get(i);
+            SortModel.Order indexed = index.get(i);
+            if (!order.getProperty().equals(indexed.getProperty())
+                    || (order.getDirection() != indexed.getDirection()) != reversed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String describe(SortModel sortModel) {
+        StringBuilder description = new StringBuilder();
+        for (SortModel.Order order : sortModel.getOrders()) {
+            if (!description.isEmpty()) {
+                description.append(", ");
+            }
+            description.append(order.getProperty()).append(' ').append(order.getDirection());
+        }
+        return description.toString();
+    }
+}
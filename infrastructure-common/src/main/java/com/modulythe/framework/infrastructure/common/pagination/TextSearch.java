@@ -0,0 +1,253 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.infrastructure.common.security.SqlSanitizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text search of a filter across several fields, answered by an index instead of a {@code LIKE '%x%'} scan of
+ * each column.
+ * <p>
+ * A search is registered per filter name on the filter builders ({@code FilterCriteriaBuilder.withFullTextSearch},
+ * {@code FilterSpecificationBuilder.textSearch}): the value of a string filter of that name is searched in the
+ * fields with the configured {@link Backend}, which also provides a relevance rank to sort the results by.
+ * A blank search value is ignored.
+ * </p>
+ * <p>
+ * This class renders the native SQL of the search, the values being bound through a callback returning the bind
+ * marker of the statement ({@code ?}, {@code $1}...). The text search configuration (language) is rendered as a
+ * literal, so that the condition matches an expression index such as
+ * {@code CREATE INDEX ON product USING gin (to_tsvector('english', concat_ws(' ', title, description)))};
+ * a stored {@link Builder#vectorField(String) tsvector column} is simpler to index and cheaper to rank.
+ * </p>
+ */
+public final class TextSearch {
+
+    /**
+     * Default text search configuration of the PostgreSQL full-text backend.
+     */
+    public static final String DEFAULT_LANGUAGE = "simple";
+
+    private static final Pattern LANGUAGE = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * How the search is run.
+     */
+    public enum Backend {
+        /**
+         * PostgreSQL full-text search: {@code tsvector @@ websearch_to_tsquery(...)}, ranked by {@code ts_rank}.
+         * Matches whole words after stemming, and supports the web search syntax (quoted phrases, {@code or},
+         * {@code -excluded}). Indexed with a GIN index on the tsvector.
+         */
+        POSTGRES_FULL_TEXT,
+        /**
+         * PostgreSQL trigram search ({@code pg_trgm}): {@code value <% field}, ranked by {@code word_similarity}.
+         * Tolerates typos and partial words. Indexed with a GIN {@code gin_trgm_ops} index on each field.
+         */
+        POSTGRES_TRIGRAM,
+        /**
+         * Portable case-insensitive {@code LIKE '%x%'} on each field, ranked by the number of matching fields.
+         * Not indexed: meant for databases without full-text support in plain SQL, typically H2 in tests.
+         */
+        LIKE
+    }
+
+    private final Backend backend;
+    private final List<String> fields;
+    private final String vectorField;
+    private final String language;
+
+    private TextSearch(Builder builder) {
+        this.backend = builder.backend;
+        this.fields = List.copyOf(builder.fields);
+        this.vectorField = builder.vectorField;
+        this.language = builder.language;
+    }
+
+    public static Builder builder(Backend backend, String... fields) {
+        return builder(backend, List.of(fields));
+    }
+
+    public static Builder builder(Backend backend, List<String> fields) {
+        return new Builder(backend, fields);
+    }
+
+    public Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * @return the searched fields (property names).
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return the field holding the precomputed tsvector of the searched fields, or null.
+     */
+    public String getVectorField() {
+        return vectorField;
+    }
+
+    /**
+     * @return the text search configuration of the PostgreSQL full-text backend.
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * Renders the search condition.
+     *
+     * @param columns maps a field to its column.
+     * @param text    the searched text.
+     * @param bind    binds a value and returns its marker.
+     * @return the SQL condition.
+     */
+    public String toSqlCondition(UnaryOperator<String> columns, String text, Function<Object, String> bind) {
+        return switch (backend) {
+            case POSTGRES_FULL_TEXT -> vector(columns) + " @@ " + query(text, bind);
+            case POSTGRES_TRIGRAM -> join(" OR ", columns, column -> bind.apply(text) + " <% " + column, "(", ")");
+            case LIKE -> join(" OR ", columns, column -> like(column, text, bind), "(", ")");
+        };
+    }
+
+    /**
+     * Renders the relevance rank of the rows matching the search, higher being more relevant.
+     *
+     * @param columns maps a field to its column.
+     * @param text    the searched text.
+     * @param bind    binds a value and returns its marker.
+     * @return the SQL rank expression.
+     */
+    public String toSqlRank(UnaryOperator<String> columns, String text, Function<Object, String> bind) {
+        return switch (backend) {
+            case POSTGRES_FULL_TEXT -> "ts_rank(" + vector(columns) + ", " + query(text, bind) + ")";
+            case POSTGRES_TRIGRAM -> join(", ", columns,
+                    column -> "word_similarity(" + bind.apply(text) + ", " + column + ")", "GREATEST(", ")");
+            case LIKE -> join(" + ", columns,
+                    column -> "CASE WHEN " + like(column, text, bind) + " THEN 1 ELSE 0 END", "(", ")");
+        };
+    }
+
+    /**
+     * @return the {@code LIKE} pattern of the portable backend, matched against the lower-cased fields.
+     */
+    public static String likePattern(String text) {
+        return SqlSanitizer.wrapWithWildcards(text.toLowerCase(Locale.ROOT));
+    }
+
+    private String vector(UnaryOperator<String> columns) {
+        if (vectorField != null) {
+            return columns.apply(vectorField);
+        }
+        return join(", ", columns, column -> column, "to_tsvector('" + language + "', concat_ws(' ', ", "))");
+    }
+
+    private String query(String text, Function<Object, String> bind) {
+        return "websearch_to_tsquery('" + language + "', " + bind.apply(text) + ")";
+    }
+
+    private static String like(String column, String text, Function<Object, String> bind) {
+        return "LOWER(" + column + ") LIKE " + bind.apply(likePattern(text));
+    }
+
+    private String join(String separator, UnaryOperator<String> columns, UnaryOperator<String> term,
+                        String prefix, String suffix) {
+        StringBuilder sql = new StringBuilder(prefix);
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sql.append(separator);
+            }
+            sql.append(term.apply(columns.apply(fields.get(i))));
+        }
+        return sql.append(suffix).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TextSearch that)) {
+            return false;
+        }
+        return backend == that.backend && fields.equals(that.fields)
+                && Objects.equals(vectorField, that.vectorField) && language.equals(that.language);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(backend, fields, vectorField, language);
+    }
+
+    @Override
+    public String toString() {
+        return "TextSearch{" + backend + " " + fields + (vectorField != null ? " vector=" + vectorField : "") + "}";
+    }
+
+    public static class Builder {
+        private final Backend backend;
+        private final List<String> fields;
+        private String vectorField;
+        private String language = DEFAULT_LANGUAGE;
+
+        private Builder(Backend backend, List<String> fields) {
+            this.backend = Objects.requireNonNull(backend, "Backend cannot be null");
+            Objects.requireNonNull(fields, "Fields cannot be null");
+            if (fields.isEmpty()) {
+                throw new IllegalArgumentException("A text search needs at least one field");
+            }
+            if (fields.stream().anyMatch(field -> field == null || field.isBlank())) {
+                throw new IllegalArgumentException("Text search fields cannot be blank");
+            }
+            if (new HashSet<>(fields).size() != fields.size()) {
+                throw new IllegalArgumentException("Duplicate text search field in " + fields);
+            }
+            this.fields = new ArrayList<>(fields);
+        }
+
+        /**
+         * Searches a stored tsvector field (e.g. a generated column
+         * {@code to_tsvector('english', concat_ws(' ', title, description))}) instead of computing the vector
+         * of the fields on each row. Only supported by {@link Backend#POSTGRES_FULL_TEXT}.
+         *
+         * @param vectorField the tsvector field.
+         * @return this builder.
+         */
+        public Builder vectorField(String vectorField) {
+            if (backend != Backend.POSTGRES_FULL_TEXT) {
+                throw new IllegalArgumentException("A vector field is only supported by " + Backend.POSTGRES_FULL_TEXT);
+            }
+            this.vectorField = Objects.requireNonNull(vectorField, "Vector field cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the text search configuration of {@link Backend#POSTGRES_FULL_TEXT} (e.g. {@code english}),
+         * {@value #DEFAULT_LANGUAGE} by default.
+         *
+         * @param language the name of the text search configuration.
+         * @return this builder.
+         */
+        public Builder language(String language) {
+            if (language == null || !LANGUAGE.matcher(language).matches()) {
+                throw new IllegalArgumentException("Invalid text search configuration: " + language);
+            }
+            this.language = language;
+            return this;
+        }
+
+        public TextSearch build() {
+            return new TextSearch(this);
+        }
+    }
+}
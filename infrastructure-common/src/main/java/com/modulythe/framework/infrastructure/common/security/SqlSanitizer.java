@@ -62,4 +62,34 @@ public final class SqlSanitizer {
     public static String wrapWithSuffixWildcard(String value) {
         return escapeWildcards(value) + "%";
     }
+
+    /**
+     * Computes the exclusive upper bound of the strings starting with a prefix, so that a prefix search can be
+     * expressed as the index range {@code col >= prefix AND col < bound}.
+     * <p>
+     * The bound is the prefix whose last code point is incremented, trailing code points that cannot be
+     * incremented being dropped. The range follows code point order, i.e. the order of the C collation:
+     * under a linguistic collation it may exclude matching rows, so it should only be used on columns
+     * (or indexes) declared with the C collation.
+     * </p>
+     *
+     * @param prefix The prefix, not escaped.
+     * @return The upper bound, or null if no string bounds the prefix (null or empty prefix).
+     */
+    public static String prefixUpperBound(String prefix) {
+        if (prefix == null) {
+            return null;
+        }
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            int start = end - Character.charCount(last);
+            if (last < Character.MAX_CODE_POINT) {
+                int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+                return new StringBuilder(start + 2).append(prefix, 0, start).appendCodePoint(next).toString();
+            }
+            end = start;
+        }
+        return null;
+    }
 }
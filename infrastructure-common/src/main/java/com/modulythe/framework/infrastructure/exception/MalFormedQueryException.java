@@ -6,7 +6,28 @@ public class MalFormedQueryException extends RuntimeException {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Name of the request parameter at fault, or null when the error is not tied to a parameter.
+     */
+    private final String parameter;
+
     public MalFormedQueryException(String message) {
         super(message);
+        this.parameter = null;
+    }
+
+    /**
+     * Constructs a MalFormedQueryException for an invalid request parameter.
+     *
+     * @param parameter the name of the parameter.
+     * @param reason    what is wrong with the parameter.
+     */
+    public MalFormedQueryException(String parameter, String reason) {
+        super("Invalid parameter '" + parameter + "': " + reason);
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
     }
 }
@@ -0,0 +1,22 @@
+package com.modulythe.framework.infrastructure.exception;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when a query runs longer than its time budget, typically because of a combination of filters the indexes
+ * do not serve. It is reported like any {@link MalFormedQueryException}: the client should narrow its filters.
+ */
+public class QueryBudgetExceededException extends MalFormedQueryException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param budget the exceeded time budget.
+     * @param cause  the timeout raised by the driver or the reactive pipeline.
+     */
+    public QueryBudgetExceededException(Duration budget, Throwable cause) {
+        super("Query exceeded its time budget of " + budget.toMillis() + " ms, narrow the filters");
+        initCause(cause);
+    }
+}
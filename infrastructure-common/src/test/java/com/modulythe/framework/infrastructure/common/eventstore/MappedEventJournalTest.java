@@ -0,0 +1,141 @@
+package com.modulythe.framework.infrastructure.common.eventstore;
+
+import com.modulythe.framework.application.projection.StoredDomainEvent;
+import com.modulythe.framework.domain.event.BaseDomainEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEventJournalTest {
+
+    static class TestEvent extends BaseDomainEvent<TestEvent> {
+        private final String label;
+
+        TestEvent(String label) {
+            super(TestEvent.class, DomainEventTypes.CREATED);
+            this.label = label;
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldAppendAndReadEventsInPositionOrder() {
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).open()) {
+            assertEquals(-1, journal.getHeadPosition());
+
+            assertEquals(0, journal.append("a-1", new TestEvent("first")));
+            assertEquals(1, journal.append("a-2", new TestEvent("second")));
+            assertEquals(2, journal.append(null, new TestEvent("third")));
+
+            List<StoredDomainEvent> events = journal.readFrom(1, 10);
+            assertEquals(2, events.size());
+            assertEquals(1, events.get(0).position());
+            assertEquals("a-2", events.get(0).aggregateId());
+            assertEquals("second", ((TestEvent) events.get(0).event()).label);
+            assertNull(events.get(1).aggregateId());
+            assertEquals(2, journal.getHeadPosition());
+        }
+    }
+
+    @Test
+    void shouldRollSegmentsAndIndexByAggregate() {
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).segmentSize(4096).open()) {
+            for (int i = 0; i < 200; i++) {
+                journal.append("aggregate-" + (i % 3), new TestEvent("event-" + i));
+            }
+
+            List<StoredDomainEvent> aggregateEvents = journal.readAggregate("aggregate-1");
+            assertEquals(67, aggregateEvents.size());
+            assertEquals("event-1", ((TestEvent) aggregateEvents.get(0).event()).label);
+            assertEquals("event-199", ((TestEvent) aggregateEvents.get(66).event()).label);
+
+            List<Long> replayed = new ArrayList<>();
+            assertEquals(150, journal.replay(50, event -> replayed.add(event.position())));
+            assertEquals(50L, replayed.get(0));
+            assertEquals(199L, replayed.get(149));
+        }
+    }
+
+    @Test
+    void shouldRecoverIndexesWhenReopened() {
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).segmentSize(4096).open()) {
+            for (int i = 0; i < 50; i++) {
+                journal.append("aggregate-" + (i % 2), new TestEvent("event-" + i));
+            }
+            journal.sync();
+        }
+
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).segmentSize(4096).open()) {
+            assertEquals(49, journal.getHeadPosition());
+            assertEquals(25, journal.readAggregate("aggregate-0").size());
+            assertEquals(50, journal.append("aggregate-0", new TestEvent("after-reopen")));
+        }
+    }
+
+    @Test
+    void shouldDiscardTornRecordAtTheTail() throws IOException {
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).open()) {
+            journal.append("a", new TestEvent("kept"));
+            journal.appendAndSync("a", new TestEvent("torn"));
+        }
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        corruptSecondRecord(segment);
+
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).open()) {
+            assertEquals(0, journal.getHeadPosition());
+            assertEquals(1, journal.append("a", new TestEvent("rewritten")));
+            assertEquals("rewritten", ((TestEvent) journal.readFrom(1, 1).get(0).event()).label);
+        }
+    }
+
+    @Test
+    void shouldMakeConcurrentAppendsDurable() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (MappedEventJournal journal = MappedEventJournal.builder(directory).open()) {
+            List<Future<Long>> positions = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int index = i;
+                positions.add(executor.submit(() -> journal.appendAndSync("a-" + index, new TestEvent("e"))));
+            }
+            for (Future<Long> position : positions) {
+                assertTrue(position.get() >= 0);
+            }
+            assertEquals(399, journal.getHeadPosition());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void corruptSecondRecord(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            int secondRecordOffset = Integer.BYTES * 2 + length.flip().getInt();
+            // Flip a payload byte so that the CRC no longer matches
+            ByteBuffer payloadByte = ByteBuffer.allocate(1);
+            long target = secondRecordOffset + Integer.BYTES * 2 + Long.BYTES + Short.BYTES + 3;
+            channel.read(payloadByte, target);
+            payloadByte.put(0, (byte) (payloadByte.get(0) ^ 0xFF));
+            payloadByte.rewind();
+            channel.write(payloadByte, target);
+        }
+    }
+}
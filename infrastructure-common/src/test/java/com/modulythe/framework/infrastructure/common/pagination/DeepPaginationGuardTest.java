@@ -0,0 +1,65 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.domain.common.pagination.KeysetCursor;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeepPaginationGuardTest {
+
+    static class Order {
+    }
+
+    private static final SortModel SORT = SortModel.by(List.of(SortModel.Order.by("id", SortModel.Direction.ASC)));
+    private static final List<Filter> FILTERS = List.of(new FilterString("name", "john"));
+
+    @Test
+    void shouldRejectDeepOffset() {
+        DeepPaginationGuard guard = DeepPaginationGuard.reject(100);
+
+        assertFalse(guard.guard(Order.class, FILTERS, PageableModel.of(10, 10, SORT)).isSeek());
+        MalFormedQueryException exception = assertThrows(MalFormedQueryException.class,
+                () -> guard.guard(Order.class, FILTERS, PageableModel.of(11, 10, SORT)));
+        assertEquals("page", exception.getParameter());
+        assertThrows(MalFormedQueryException.class,
+                () -> PageableMapper.toSpringPageable(PageableModel.slice(200000, 20, SORT), 10_000));
+    }
+
+    @Test
+    void shouldSeekToNextDeepPage_WhenLastRowWasRemembered() {
+        DeepPaginationGuard guard = DeepPaginationGuard.seek(100, 10, Duration.ofMinutes(1));
+        DeepPaginationGuard.GuardedPageable lastShallowPage = guard.guard(Order.class, FILTERS,
+                PageableModel.of(10, 10, SORT));
+
+        guard.remember(Order.class, FILTERS, lastShallowPage, List.of(100L));
+        DeepPaginationGuard.GuardedPageable deepPage = guard.guard(Order.class,
+                List.of(new FilterString("name", "john")), PageableModel.of(11, 10, SORT));
+
+        assertTrue(deepPage.isSeek());
+        assertEquals(11, deepPage.requested().getPageNumber());
+        assertEquals(KeysetCursor.after(List.of(100L)), deepPage.effective().getCursor());
+        assertEquals(10, deepPage.effective().getItemsPerPage());
+    }
+
+    @Test
+    void shouldRejectDeepJump_WhenNoCursorMatches() {
+        DeepPaginationGuard guard = DeepPaginationGuard.seek(100, 10, Duration.ofMinutes(1));
+        guard.remember(Order.class, FILTERS, guard.guard(Order.class, FILTERS, PageableModel.of(10, 10, SORT)),
+                List.of(100L));
+
+        assertThrows(MalFormedQueryException.class,
+                () -> guard.guard(Order.class, FILTERS, PageableModel.of(12, 10, SORT)));
+        assertThrows(MalFormedQueryException.class,
+                () -> guard.guard(Order.class, List.of(), PageableModel.of(11, 10, SORT)));
+        assertThrows(MalFormedQueryException.class,
+                () -> guard.guard(Order.class, FILTERS, PageableModel.of(6, 20, SORT)));
+    }
+}
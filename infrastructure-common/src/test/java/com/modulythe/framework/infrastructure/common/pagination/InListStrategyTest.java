@@ -0,0 +1,47 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InListStrategyTest {
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "1, 1", "2, 2", "3, 4", "4, 4", "5, 8", "1000, 1024", "1025, 2048"})
+    void shouldPadToNextPowerOfTwo(int size, int expected) {
+        assertEquals(expected, InListStrategy.paddedSize(size));
+    }
+
+    @Test
+    void shouldPadByRepeatingLastValue() {
+        assertEquals(List.of("a", "b", "c", "c"), InListStrategy.pad(List.of("a", "b", "c")));
+        assertEquals(List.of("a", "b"), InListStrategy.pad(List.of("a", "b")));
+    }
+
+    @Test
+    void shouldSplitPaddedListsIntoChunks() {
+        List<Integer> values = IntStream.range(0, 10).boxed().toList();
+
+        List<List<Integer>> chunks = InListStrategy.of(InListStrategy.Mode.PADDED, 4).chunks(values);
+
+        assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9)), chunks);
+    }
+
+    @Test
+    void shouldKeepSingleList_WhenNotPadded() {
+        List<Integer> values = IntStream.range(0, 10).boxed().toList();
+
+        assertEquals(List.of(values), InListStrategy.PLAIN.chunks(values));
+        assertEquals(List.of(values), InListStrategy.of(InListStrategy.Mode.ARRAY, 4).chunks(values));
+    }
+
+    @Test
+    void shouldRejectChunkSizeNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> InListStrategy.of(InListStrategy.Mode.PADDED, 1000));
+    }
+}
@@ -0,0 +1,21 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresGenericPlansTest {
+
+    @Test
+    void shouldNumberJdbcPlaceholders_OutsideQuotes() {
+        assertEquals("EXPLAIN (GENERIC_PLAN) select o.id from orders o where o.status=$1 and o.note<>'why?' and o.\"a?\"=$2",
+                PostgresGenericPlans.explain(
+                        "select o.id from orders o where o.status=? and o.note<>'why?' and o.\"a?\"=?"));
+    }
+
+    @Test
+    void shouldKeepNumberedMarkers() {
+        assertEquals("EXPLAIN (GENERIC_PLAN) SELECT * FROM orders WHERE customer_id = $1",
+                PostgresGenericPlans.explain("SELECT * FROM orders WHERE customer_id = $1"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.*;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuerySchemaTest {
+
+    private static final QuerySchema SCHEMA = QuerySchema.builder()
+            .filter("q", "title", Filter.FilterType.STRING)
+            .filter("amount", Filter.FilterType.NUMBER)
+            .filter("archived", Filter.FilterType.BOOLEAN)
+            .filter("status", Filter.FilterType.LIST)
+            .filter("quantity", Filter.FilterType.RANGE)
+            .filter("createdAt", Filter.FilterType.DATE)
+            .sortable("title", "amount")
+            .sortableAs("created", "createdAt")
+            .defaultSort(SortModel.by(List.of(SortModel.Order.by("createdAt", SortModel.Direction.DESC))))
+            .maxSize(50)
+            .build();
+
+    @Test
+    void shouldParseFiltersInDeclarationOrder() {
+        PageQuery query = SCHEMA.parse("?status=OPEN,CLOSED&q=red+chair%21&archived=FALSE&amount=12.5"
+                + "&createdAt=2024-01-01..2024-01-31&quantity=10..&status=PENDING&utm_source=mail");
+
+        assertEquals(List.of(
+                new FilterString("title", "red chair!"),
+                new FilterNumber("amount", 12.5),
+                new FilterBoolean("archived", false),
+                new FilterList("status", new FilterListValues(List.of("OPEN", "CLOSED", "PENDING"))),
+                FilterRange.builder().name("quantity").min(10).max(Integer.MAX_VALUE).build(),
+                FilterDate.builder()
+                        .name("createdAt")
+                        .startDate(LocalDate.of(2024, 1, 1))
+                        .endDate(LocalDate.of(2024, 1, 31))
+                        .filterDateType(FilterDate.FilterDateType.BETWEEN)
+                        .build()), query.getFilters());
+    }
+
+    @Test
+    void shouldParsePagination() {
+        PageQuery query = SCHEMA.parse("page=2&size=25&sort=created,desc&sort=title");
+        PageQuery defaults = SCHEMA.parse(null);
+
+        assertEquals(PageableModel.of(2, 25, SortModel.by(List.of(
+                SortModel.Order.by("createdAt", SortModel.Direction.DESC),
+                SortModel.Order.by("title", SortModel.Direction.ASC)))), query.getPageable());
+        assertEquals(PageableModel.of(0, QuerySchema.DEFAULT_PAGE_SIZE,
+                SortModel.by(List.of(SortModel.Order.by("createdAt", SortModel.Direction.DESC)))), defaults.getPageable());
+        assertTrue(defaults.getFilters().isEmpty());
+    }
+
+    @Test
+    void shouldReadDateBoundsAndEncodedListValues() {
+        PageQuery query = SCHEMA.parse("createdAt=..2024-03-01&status=A%2CB,C&q=");
+
+        assertEquals(List.of(
+                new FilterList("status", new FilterListValues(List.of("A,B", "C"))),
+                FilterDate.builder()
+                        .name("createdAt")
+                        .endDate(LocalDate.of(2024, 3, 1))
+                        .filterDateType(FilterDate.FilterDateType.BEFORE)
+                        .build()), query.getFilters());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "amount=abc,              amount",
+            "archived=yes,            archived",
+            "quantity=20..10,         quantity",
+            "createdAt=2024-02-30,    createdAt",
+            "createdAt=2024-03-01..2024-02-01, createdAt",
+            "page=-1,                 page",
+            "size=51,                 size",
+            "sort=secret,             sort",
+            "sort=title;drop,         sort",
+            "sort=title%2Cup,         sort",
+            "amount=1&amount=2,       amount",
+            "q=%E,                    q"
+    })
+    void shouldReportInvalidParameter(String rawQuery, String parameter) {
+        MalFormedQueryException exception = assertThrows(MalFormedQueryException.class, () -> SCHEMA.parse(rawQuery));
+
+        assertEquals(parameter, exception.getParameter());
+    }
+
+    @Test
+    void shouldDecodeEncodedParameterNamesOnce() {
+        QuerySchema schema = QuerySchema.builder()
+                .filter("a+b", "plus", Filter.FilterType.STRING)
+                .filter("a%b", "percent", Filter.FilterType.STRING)
+                .rejectUnknownParameters()
+                .build();
+
+        PageQuery query = schema.parse("a%2Bb=x&a%25b=y");
+
+        assertEquals(List.of(new FilterString("plus", "x"), new FilterString("percent", "y")), query.getFilters());
+    }
+
+    @Test
+    void shouldRejectUnknownParametersWhenConfigured() {
+        QuerySchema strict = QuerySchema.builder()
+                .filter("name", Filter.FilterType.STRING)
+                .oneBasedPages()
+                .rejectUnknownParameters()
+                .build();
+
+        MalFormedQueryException exception = assertThrows(MalFormedQueryException.class, () -> strict.parse("nme=x"));
+
+        assertEquals("nme", exception.getParameter());
+        assertEquals(0, strict.parse("page=1").getPageable().getPageNumber());
+        assertThrows(MalFormedQueryException.class, () -> strict.parse("page=0"));
+    }
+
+    @Test
+    void shouldRejectInvalidDeclarations() {
+        QuerySchema.Builder composite = QuerySchema.builder();
+        QuerySchema.Builder clash = QuerySchema.builder().filter("page", Filter.FilterType.NUMBER);
+
+        assertThrows(IllegalArgumentException.class, () -> composite.filter("any", Filter.FilterType.OR));
+        assertThrows(IllegalArgumentException.class, clash::build);
+    }
+}
@@ -0,0 +1,61 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortRegistryTest {
+
+    static class Order {
+    }
+
+    private static final SortRegistry REGISTRY = SortRegistry.builder(Order.class)
+            .index("createdAt", "id")
+            .index(sort(SortModel.Order.by("customerId", SortModel.Direction.ASC),
+                    SortModel.Order.by("createdAt", SortModel.Direction.DESC)))
+            .build();
+
+    private static SortModel sort(SortModel.Order... orders) {
+        return SortModel.by(List.of(orders));
+    }
+
+    @Test
+    void shouldAcceptIndexPrefixes_InIndexOrReversedDirections() {
+        assertTrue(REGISTRY.isIndexed(sort(SortModel.Order.by("createdAt", SortModel.Direction.DESC))));
+        assertTrue(REGISTRY.isIndexed(sort(SortModel.Order.by("createdAt", SortModel.Direction.DESC),
+                SortModel.Order.by("id", SortModel.Direction.DESC))));
+        assertTrue(REGISTRY.isIndexed(sort(SortModel.Order.by("customerId", SortModel.Direction.DESC),
+                SortModel.Order.by("createdAt", SortModel.Direction.ASC))));
+        assertTrue(REGISTRY.isIndexed(SortModel.empty()));
+    }
+
+    @Test
+    void shouldRejectUnindexedSorts() {
+        SortModel notIndexed = sort(SortModel.Order.by("amount", SortModel.Direction.ASC));
+        SortModel notPrefix = sort(SortModel.Order.by("id", SortModel.Direction.ASC));
+        SortModel mixedDirections = sort(SortModel.Order.by("createdAt", SortModel.Direction.ASC),
+                SortModel.Order.by("id", SortModel.Direction.DESC));
+
+        MalFormedQueryException exception = assertThrows(MalFormedQueryException.class,
+                () -> REGISTRY.toSpringSort(notIndexed));
+        assertEquals("sort", exception.getParameter());
+        assertThrows(MalFormedQueryException.class, () -> REGISTRY.toSpringSort(notPrefix));
+        assertThrows(MalFormedQueryException.class,
+                () -> REGISTRY.toSpringPageable(PageableModel.of(0, 10, mixedDirections)));
+    }
+
+    @Test
+    void shouldCacheConvertedSorts() {
+        Sort first = REGISTRY.toSpringSort(sort(SortModel.Order.by("createdAt", SortModel.Direction.ASC)));
+        Sort second = REGISTRY.toSpringSort(sort(SortModel.Order.by("createdAt", SortModel.Direction.ASC)));
+
+        assertSame(first, second);
+        assertSame(Sort.unsorted(), REGISTRY.toSpringSort(null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSearchTest {
+
+    private static final UnaryOperator<String> COLUMNS = field -> field.replace("Name", "_name");
+
+    private final List<Object> bindings = new ArrayList<>();
+    private final Function<Object, String> bind = value -> {
+        bindings.add(value);
+        return "$" + bindings.size();
+    };
+
+    @Test
+    void shouldRenderPostgresFullTextSearch() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.POSTGRES_FULL_TEXT, "title", "authorName")
+                .language("english")
+                .build();
+
+        assertEquals("to_tsvector('english', concat_ws(' ', title, author_name))"
+                        + " @@ websearch_to_tsquery('english', $1)",
+                search.toSqlCondition(COLUMNS, "lord rings", bind));
+        assertEquals("ts_rank(to_tsvector('english', concat_ws(' ', title, author_name)),"
+                        + " websearch_to_tsquery('english', $2))",
+                search.toSqlRank(COLUMNS, "lord rings", bind));
+        assertEquals(List.of("lord rings", "lord rings"), bindings);
+    }
+
+    @Test
+    void shouldSearchVectorField_WhenConfigured() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.POSTGRES_FULL_TEXT, "title")
+                .vectorField("searchVector")
+                .build();
+
+        assertEquals("searchVector @@ websearch_to_tsquery('simple', $1)",
+                search.toSqlCondition(UnaryOperator.identity(), "rings", bind));
+    }
+
+    @Test
+    void shouldRenderTrigramSearch() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.POSTGRES_TRIGRAM, "title", "authorName").build();
+
+        assertEquals("($1 <% title OR $2 <% author_name)", search.toSqlCondition(COLUMNS, "tolkein", bind));
+        assertEquals("GREATEST(word_similarity($3, title), word_similarity($4, author_name))",
+                search.toSqlRank(COLUMNS, "tolkein", bind));
+    }
+
+    @Test
+    void shouldRenderEscapedLikeSearch() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.LIKE, "title", "authorName").build();
+
+        assertEquals("(LOWER(title) LIKE $1 OR LOWER(author_name) LIKE $2)",
+                search.toSqlCondition(COLUMNS, "100% Tolkien", bind));
+        assertEquals("(CASE WHEN LOWER(title) LIKE $3 THEN 1 ELSE 0 END"
+                        + " + CASE WHEN LOWER(author_name) LIKE $4 THEN 1 ELSE 0 END)",
+                search.toSqlRank(COLUMNS, "100% Tolkien", bind));
+        assertEquals("%100\\% tolkien%", bindings.get(0));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        TextSearch.Builder trigram = TextSearch.builder(TextSearch.Backend.POSTGRES_TRIGRAM, "title");
+        TextSearch.Builder fullText = TextSearch.builder(TextSearch.Backend.POSTGRES_FULL_TEXT, "title");
+
+        assertThrows(IllegalArgumentException.class, () -> TextSearch.builder(TextSearch.Backend.LIKE));
+        assertThrows(IllegalArgumentException.class,
+                () -> TextSearch.builder(TextSearch.Backend.LIKE, "title", "title"));
+        assertThrows(IllegalArgumentException.class, () -> trigram.vectorField("searchVector"));
+        assertThrows(IllegalArgumentException.class, () -> fullText.language("english'); DROP TABLE x; --"));
+    }
+}
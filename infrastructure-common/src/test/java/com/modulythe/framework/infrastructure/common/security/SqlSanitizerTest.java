@@ -92,4 +92,15 @@ class SqlSanitizerTest {
         assertFalse(result.contains("%%"));
         assertTrue(result.contains("\\%"));
     }
+
+    @Test
+    void shouldComputePrefixUpperBound() {
+        assertEquals("abd", SqlSanitizer.prefixUpperBound("abc"));
+        assertEquals("a\uD800\uDC00", SqlSanitizer.prefixUpperBound("a\uFFFF"));
+        assertEquals("b", SqlSanitizer.prefixUpperBound("a\uDBFF\uDFFF"));
+        assertEquals("a\uE000", SqlSanitizer.prefixUpperBound("a\uD7FF"));
+        assertEquals("\uD83D\uDE01", SqlSanitizer.prefixUpperBound("\uD83D\uDE00"));
+        assertNull(SqlSanitizer.prefixUpperBound(""));
+        assertNull(SqlSanitizer.prefixUpperBound(null));
+    }
 }
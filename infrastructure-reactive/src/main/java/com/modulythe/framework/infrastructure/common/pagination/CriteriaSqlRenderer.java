@@ -0,0 +1,307 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.util.Pair;
+import org.springframework.data.util.ParsingUtils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Renders a Spring Data Relational {@link Criteria} to a native SQL condition with PostgreSQL bind markers
+ * ({@code $1}, {@code $2}...).
+ * <p>
+ * R2DBC repositories render criteria internally, against the entity mapping; this renderer is meant for the
+ * native statements built around the same criteria (planner estimates, aggregations), executed through
+ * {@link org.springframework.r2dbc.core.DatabaseClient}. Property names are mapped to columns with a
+ * configurable function, snake case by default as the default R2DBC naming strategy does.
+ * </p>
+ * <p>
+ * The {@link TextSearchCriteria full-text searches} nested in the criteria are rendered with their backend, and
+ * their relevance ranks with {@link #renderRelevance(CriteriaDefinition, int)}.
+ * </p>
+ * <p>
+ * {@code IN} lists are rendered according to the {@link #withInListStrategy(InListStrategy) IN-list strategy}:
+ * as is, padded to power-of-two sizes, or as a single array parameter ({@code col = ANY($1)}).
+ * </p>
+ */
+public class CriteriaSqlRenderer {
+
+    /**
+     * A rendered SQL fragment and the values bound to its markers, in order.
+     *
+     * @param sql      the SQL fragment.
+     * @param bindings the bound values, the first one bound to {@code $1} (or the configured first marker).
+     */
+    public record SqlFragment(String sql, List<Object> bindings) {
+
+        public SqlFragment {
+            bindings = List.copyOf(bindings);
+        }
+
+        public boolean isEmpty() {
+            return sql.isEmpty();
+        }
+    }
+
+    private final UnaryOperator<String> columnResolver;
+    private final InListStrategy inListStrategy;
+
+    public CriteriaSqlRenderer() {
+        this(property -> ParsingUtils.reconcatenateCamelCase(property, "_"));
+    }
+
+    /**
+     * @param columnResolver maps a property name to its column name.
+     */
+    public CriteriaSqlRenderer(UnaryOperator<String> columnResolver) {
+        this(columnResolver, InListStrategy.PLAIN);
+    }
+
+    private CriteriaSqlRenderer(UnaryOperator<String> columnResolver, InListStrategy inListStrategy) {
+        this.columnResolver = Objects.requireNonNull(columnResolver, "Column resolver cannot be null");
+        this.inListStrategy = Objects.requireNonNull(inListStrategy, "In list strategy cannot be null");
+    }
+
+    /**
+     * Returns a renderer binding {@code IN} lists with the given strategy. In {@link InListStrategy.Mode#ARRAY array}
+     * mode, {@code IN} and {@code NOT IN} are rendered as {@code col = ANY($1)} and {@code col <> ALL($1)}, the
+     * values being bound as an array of their common type.
+     *
+     * @param strategy the IN-list strategy.
+     * @return a renderer with the same column resolver.
+     */
+    public CriteriaSqlRenderer withInListStrategy(InListStrategy strategy) {
+        return new CriteriaSqlRenderer(columnResolver, strategy);
+    }
+
+    /**
+     * @param property a property name.
+     * @return the column of the property.
+     */
+    public String column(String property) {
+        return columnResolver.apply(property);
+    }
+
+    /**
+     * Renders a criteria, its markers starting at {@code $1}.
+     *
+     * @param criteria the criteria.
+     * @return the SQL condition (empty for an empty criteria) and its bindings.
+     */
+    public SqlFragment render(CriteriaDefinition criteria) {
+        return render(criteria, 0);
+    }
+
+    /**
+     * Renders a criteria, its markers following the given number of already bound values.
+     *
+     * @param criteria      the criteria.
+     * @param boundBindings the number of values already bound in the enclosing statement.
+     * @return the SQL condition (empty for an empty criteria) and its bindings.
+     */
+    public SqlFragment render(CriteriaDefinition criteria, int boundBindings) {
+        List<Object> bindings = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        if (criteria != null) {
+            appendChain(criteria, sql, bindings, boundBindings);
+        }
+        return new SqlFragment(sql.toString(), bindings);
+    }
+
+    /**
+     * Renders the WHERE clause of a criteria, with a leading space, or an empty string for an empty criteria.
+     *
+     * @param criteria the criteria.
+     * @return the WHERE clause and its bindings.
+     */
+    public SqlFragment renderWhere(CriteriaDefinition criteria) {
+        SqlFragment condition = render(criteria);
+        return condition.isEmpty() ? condition : new SqlFragment(" WHERE " + condition.sql(), condition.bindings());
+    }
+
+    /**
+     * Renders the relevance order of the full-text searches of a criteria: the rank of each search that is not
+     * negated, most relevant first, to be used as (the leading part of) the ORDER BY clause.
+     *
+     * @param criteria      the criteria.
+     * @param boundBindings the number of values already bound in the enclosing statement.
+     * @return the comma-separated sort expressions (empty if the criteria holds no search) and their bindings.
+     */
+    public SqlFragment renderRelevance(CriteriaDefinition criteria, int boundBindings) {
+        List<TextSearchCriteria> searches = new ArrayList<>();
+        if (criteria != null) {
+            collectTextSearches(criteria, searches);
+        }
+        List<Object> bindings = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        for (TextSearchCriteria search : searches) {
+            if (!sql.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(search.search().toSqlRank(columnResolver, search.text(),
+                    value -> bind(value, bindings, boundBindings))).append(" DESC");
+        }
+        return new SqlFragment(sql.toString(), bindings);
+    }
+
+    private static void collectTextSearches(CriteriaDefinition criteria, List<TextSearchCriteria> searches) {
+        Deque<CriteriaDefinition> chain = new ArrayDeque<>();
+        for (CriteriaDefinition current = criteria; current != null; current = current.getPrevious()) {
+            chain.push(current);
+        }
+        for (CriteriaDefinition part : chain) {
+            if (part instanceof TextSearchCriteria search) {
+                if (!search.negated()) {
+                    searches.add(search);
+                }
+            } else if (part.isGroup()) {
+                part.getGroup().forEach(member -> collectTextSearches(member, searches));
+            }
+        }
+    }
+
+    private void appendChain(CriteriaDefinition criteria, StringBuilder sql, List<Object> bindings, int offset) {
+        Deque<CriteriaDefinition> chain = new ArrayDeque<>();
+        for (CriteriaDefinition current = criteria; current != null; current = current.getPrevious()) {
+            if (!current.isEmpty()) {
+                chain.push(current);
+            }
+        }
+
+        boolean first = true;
+        for (CriteriaDefinition part : chain) {
+            if (!first) {
+                sql.append(part.getCombinator() == CriteriaDefinition.Combinator.OR ? " OR " : " AND ");
+            }
+            first = false;
+            if (part instanceof TextSearchCriteria search) {
+                appendTextSearch(search, sql, bindings, offset);
+            } else if (part.isGroup()) {
+                appendGroup(part.getGroup(), sql, bindings, offset);
+            } else {
+                appendComparison(part, sql, bindings, offset);
+            }
+        }
+    }
+
+    private void appendGroup(List<CriteriaDefinition> group, StringBuilder sql, List<Object> bindings, int offset) {
+        sql.append('(');
+        boolean first = true;
+        for (CriteriaDefinition member : group) {
+            if (!first) {
+                sql.append(member.getCombinator() == CriteriaDefinition.Combinator.OR ? " OR " : " AND ");
+            }
+            first = false;
+            sql.append('(');
+            appendChain(member, sql, bindings, offset);
+            sql.append(')');
+        }
+        sql.append(')');
+    }
+
+    private void appendComparison(CriteriaDefinition part, StringBuilder sql, List<Object> bindings, int offset) {
+        String column = columnResolver.apply(Objects.requireNonNull(part.getColumn()).toSql(IdentifierProcessing.NONE));
+        if (part.isIgnoreCase()) {
+            column = "UPPER(" + column + ")";
+        }
+        Object value = part.getValue();
+        CriteriaDefinition.Comparator comparator = Objects.requireNonNull(part.getComparator());
+
+        switch (comparator) {
+            case IS_NULL, IS_NOT_NULL, IS_TRUE, IS_FALSE -> sql.append(column).append(' ').append(comparator.getComparator());
+            case BETWEEN, NOT_BETWEEN -> {
+                Pair<?, ?> bounds = (Pair<?, ?>) value;
+                sql.append(column).append(' ').append(comparator.getComparator()).append(' ')
+                        .append(marker(bounds.getFirst(), part, bindings, offset)).append(" AND ")
+                        .append(marker(bounds.getSecond(), part, bindings, offset));
+            }
+            case IN, NOT_IN -> {
+                Collection<?> values = (Collection<?>) value;
+                if (values.isEmpty()) {
+                    // An empty IN list matches nothing, an empty NOT IN list everything
+                    sql.append(comparator == CriteriaDefinition.Comparator.IN ? "1 = 0" : "1 = 1");
+                    return;
+                }
+                appendInList(column, comparator, new ArrayList<>(values), part, sql, bindings, offset);
+            }
+            case INITIAL -> throw new MalFormedQueryException("Incomplete criteria on column " + column);
+            default -> sql.append(column).append(' ').append(comparator.getComparator()).append(' ')
+                    .append(marker(value, part, bindings, offset));
+        }
+    }
+
+    private void appendInList(String column, CriteriaDefinition.Comparator comparator, List<Object> values,
+                              CriteriaDefinition part, StringBuilder sql, List<Object> bindings, int offset) {
+        boolean in = comparator == CriteriaDefinition.Comparator.IN;
+        if (inListStrategy.getMode() == InListStrategy.Mode.ARRAY) {
+            sql.append(column).append(in ? " = ANY(" : " <> ALL(")
+                    .append(bind(toArray(values, part), bindings, offset)).append(')');
+            return;
+        }
+        List<List<Object>> chunks = inListStrategy.chunks(values);
+        if (chunks.size() > 1) {
+            sql.append('(');
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            if (i > 0) {
+                sql.append(in ? " OR " : " AND ");
+            }
+            sql.append(column).append(' ').append(comparator.getComparator()).append(" (");
+            List<Object> chunk = chunks.get(i);
+            for (int j = 0; j < chunk.size(); j++) {
+                if (j > 0) {
+                    sql.append(", ");
+                }
+                sql.append(marker(chunk.get(j), part, bindings, offset));
+            }
+            sql.append(')');
+        }
+        if (chunks.size() > 1) {
+            sql.append(')');
+        }
+    }
+
+    /**
+     * Builds the array parameter of an {@code IN} list, typed with the common class of its values so that the
+     * driver binds it as an array of the column type (e.g. {@code String[]} as {@code varchar[]}).
+     */
+    private static Object toArray(List<Object> values, CriteriaDefinition part) {
+        Class<?> type = null;
+        for (Object value : values) {
+            if (value != null) {
+                type = type == null || type == value.getClass() ? value.getClass() : Object.class;
+            }
+        }
+        Object array = Array.newInstance(type != null ? type : Object.class, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            Array.set(array, i, part.isIgnoreCase() && value instanceof String text ? text.toUpperCase() : value);
+        }
+        return array;
+    }
+
+    private void appendTextSearch(TextSearchCriteria search, StringBuilder sql, List<Object> bindings, int offset) {
+        String condition = search.search().toSqlCondition(columnResolver, search.text(),
+                value -> bind(value, bindings, offset));
+        sql.append(search.negated() ? "NOT (" + condition + ")" : condition);
+    }
+
+    private static String marker(Object value, CriteriaDefinition part, List<Object> bindings, int offset) {
+        return bind(part.isIgnoreCase() && value instanceof String text ? text.toUpperCase() : value, bindings, offset);
+    }
+
+    private static String bind(Object value, List<Object> bindings, int offset) {
+        bindings.add(value);
+        return "$" + (offset + bindings.size());
+    }
+}
@@ -5,11 +5,11 @@ import com.modulythe.framework.infrastructure.common.security.SqlSanitizer;
 import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
 import org.springframework.data.relational.core.query.Criteria;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class to build Spring Data Relational (R2DBC) Criteria from Domain Filters.
@@ -17,19 +17,60 @@ import java.util.*;
  * This class translates a list of domain {@link Filter} objects into a {@link Criteria} chain
  * suitable for use with ReactiveCrudRepository or R2dbcEntityTemplate.
  * </p>
+ * <p>
+ * Once configured, the builder should be {@link #freeze() frozen}: its configuration becomes immutable and is indexed
+ * per property, and the criteria templates compiled for each filter shape (property names, filter types and date
+ * sub-types) are cached, so that only the filter values are bound per request. A frozen builder is safe for
+ * concurrent use and can be shared as a singleton bean. A builder that is not frozen resolves its configuration
+ * and compiles its template on every call, and must not be shared between threads while being configured.
+ * </p>
+ * <p>
+ * String filters follow their {@link FilterString.MatchMode}, or the mode configured for their property with
+ * {@link #withMatchMode(FilterString.MatchMode, List)}. Prefix modes are translated to {@code col LIKE 'abc%'},
+ * and case-insensitive modes may run against a {@link #withNormalizedColumn(String, String) normalized shadow column}
+ * instead of {@code UPPER(col)}. On the columns declared with the C collation, prefix modes may also be
+ * {@link #withCollatedPrefixRange(List) bounded by an index range} ({@code col >= 'abc' AND col < 'abd'}), so that
+ * they can be answered from a B-tree index.
+ * </p>
+ * <p>
+ * A filter name may be bound to a {@link #withFullTextSearch(String, TextSearch) full-text search} across several
+ * fields instead of a {@link #withMultiFieldSearch(String, List) multi-field LIKE}, which scans each column.
+ * {@link Criteria} has no full-text operator: such criteria can only be run as native SQL rendered by
+ * {@link CriteriaSqlRenderer}, which also renders their relevance order.
+ * </p>
+ * <p>
+ * List filters are bound according to the {@link #withInListStrategy(InListStrategy) IN-list strategy}, padded to
+ * power-of-two sizes so that lists of different lengths share their prepared statement.
+ * </p>
  */
 public class FilterCriteriaBuilder {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    /**
+     * Maximum number of cached templates of a frozen builder; further shapes are compiled on each request.
+     */
+    static final int MAX_CACHED_TEMPLATES = 512;
+
+    private Map<String, List<String>> multiFieldMappings;
+    private Map<String, TextSearch> textSearches;
+    private Set<String> dateFields;
+    private Set<String> exactMatchFields;
+    private Map<String, FilterString.MatchMode> matchModes;
+    private Map<String, String> normalizedColumns;
+    private Set<String> collatedPrefixColumns;
+    private InListStrategy inListStrategy = InListStrategy.PLAIN;
 
-    private final Map<String, List<String>> multiFieldMappings;
-    private final Set<String> dateFields;
-    private final Set<String> exactMatchFields;
+    private Map<String, PropertyRule> rules = Map.of();
+    private final Map<List<ShapeElement>, CriteriaTemplate> templates = new ConcurrentHashMap<>();
+    private volatile boolean frozen;
 
     public FilterCriteriaBuilder() {
         this.multiFieldMappings = new HashMap<>();
+        this.textSearches = new HashMap<>();
         this.dateFields = new HashSet<>();
         this.exactMatchFields = new HashSet<>();
+        this.matchModes = new HashMap<>();
+        this.normalizedColumns = new HashMap<>();
+        this.collatedPrefixColumns = new HashSet<>();
     }
 
     /**
@@ -39,12 +80,37 @@ public class FilterCriteriaBuilder {
      * @param filterName   The name of the filter (e.g. "search")
      * @param entityFields The list of entity fields to search in (OR logic).
      * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
      */
     public FilterCriteriaBuilder withMultiFieldSearch(String filterName, List<String> entityFields) {
+        assertNotFrozen();
         this.multiFieldMappings.put(filterName, entityFields);
         return this;
     }
 
+    /**
+     * Maps a single filter name to a full-text search across several fields, answered by a full-text or trigram
+     * index instead of a {@code LIKE} scan of each column (e.g. "search" -> tsvector of title and description).
+     * A blank search value is ignored, a non-string filter of that name too.
+     * <p>
+     * The search is carried by a {@link TextSearchCriteria}: the built criteria must be rendered with
+     * {@link CriteriaSqlRenderer} and run through {@link org.springframework.r2dbc.core.DatabaseClient}, R2DBC
+     * repositories and templates do not support it. Takes precedence over a multi-field search of the same name.
+     * </p>
+     *
+     * @param filterName The name of the filter (e.g. "search")
+     * @param search     The full-text search definition.
+     * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
+     */
+    public FilterCriteriaBuilder withFullTextSearch(String filterName, TextSearch search) {
+        assertNotFrozen();
+        this.textSearches.put(
+                Objects.requireNonNull(filterName, "Filter name cannot be null"),
+                Objects.requireNonNull(search, "Text search cannot be null"));
+        return this;
+    }
+
     /**
      * Registers fields that should be treated as Date fields.
      * If a FilterString is encountered for these fields, it will be parsed as a Date (YYYY-MM-DD)
@@ -52,8 +118,10 @@ public class FilterCriteriaBuilder {
      *
      * @param fields The list of field names.
      * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
      */
     public FilterCriteriaBuilder withDateFields(List<String> fields) {
+        assertNotFrozen();
         if (fields != null) {
             this.dateFields.addAll(fields);
         }
@@ -67,117 +135,553 @@ public class FilterCriteriaBuilder {
      *
      * @param fields The list of field names.
      * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
      */
     public FilterCriteriaBuilder withExactMatchFields(List<String> fields) {
+        assertNotFrozen();
         if (fields != null) {
             this.exactMatchFields.addAll(fields);
         }
         return this;
     }
 
+    /**
+     * Sets the match mode of the string filters on the given fields that do not specify their own.
+     *
+     * @param mode   The match mode.
+     * @param fields The list of field names.
+     * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
+     */
+    public FilterCriteriaBuilder withMatchMode(FilterString.MatchMode mode, List<String> fields) {
+        assertNotFrozen();
+        Objects.requireNonNull(mode, "Match mode cannot be null");
+        if (fields != null) {
+            fields.forEach(field -> this.matchModes.put(field, mode));
+        }
+        return this;
+    }
+
+    /**
+     * Declares the normalized shadow column of a string field: a column holding its lower-cased value
+     * (e.g. a generated column {@code lower(name)}). Case-insensitive filters on the field are then run against it,
+     * with a lower-cased value, instead of {@code UPPER(col)}. If the column is declared with the C collation, it may
+     * also be {@link #withCollatedPrefixRange(List) bounded by an index range} on case-insensitive prefix filters.
+     *
+     * @param field            The field name.
+     * @param normalizedColumn The column holding the lower-cased value.
+     * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
+     */
+    public FilterCriteriaBuilder withNormalizedColumn(String field, String normalizedColumn) {
+        assertNotFrozen();
+        this.normalizedColumns.put(
+                Objects.requireNonNull(field, "Field cannot be null"),
+                Objects.requireNonNull(normalizedColumn, "Normalized column cannot be null"));
+        return this;
+    }
+
+    /**
+     * Declares the columns compared with the C collation ({@code COLLATE "C"}), on which prefix filters add an index
+     * range to the {@code LIKE}: {@code col >= 'abc' AND col < 'abd' AND col LIKE 'abc%'}.
+     * <p>
+     * The range is computed by incrementing the last character of the prefix, which only bounds the matching values
+     * when strings are ordered by code point: under any other collation, it would drop matching rows. The columns
+     * are the filtered fields, or their {@link #withNormalizedColumn(String, String) normalized shadow columns} for
+     * case-insensitive prefix filters.
+     * </p>
+     *
+     * @param columns The list of column names.
+     * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
+     */
+    public FilterCriteriaBuilder withCollatedPrefixRange(List<String> columns) {
+        assertNotFrozen();
+        if (columns != null) {
+            this.collatedPrefixColumns.addAll(columns);
+        }
+        return this;
+    }
+
+    /**
+     * Sets how the values of list filters are bound, {@link InListStrategy#PLAIN as is} by default.
+     * <p>
+     * {@link Criteria} has no array comparison: in {@link InListStrategy.Mode#ARRAY array} mode, the lists are padded
+     * as in {@link InListStrategy.Mode#PADDED padded} mode, and bound as arrays ({@code col = ANY($1)}) only when
+     * rendered by a {@link CriteriaSqlRenderer#withInListStrategy(InListStrategy) renderer in array mode}.
+     * </p>
+     *
+     * @param strategy The IN-list strategy.
+     * @return this builder for chaining.
+     * @throws IllegalStateException if the builder is frozen.
+     */
+    public FilterCriteriaBuilder withInListStrategy(InListStrategy strategy) {
+        assertNotFrozen();
+        this.inListStrategy = Objects.requireNonNull(strategy, "In list strategy cannot be null");
+        return this;
+    }
+
+    /**
+     * Freezes the configuration of this builder.
+     * <p>
+     * The configuration is copied into immutable collections and indexed per property, and the criteria templates
+     * start being cached. Further calls to the {@code with...} methods fail. Freezing twice has no effect.
+     * </p>
+     *
+     * @return this builder.
+     */
+    public synchronized FilterCriteriaBuilder freeze() {
+        if (frozen) {
+            return this;
+        }
+        Map<String, List<String>> mappings = new HashMap<>();
+        multiFieldMappings.forEach((name, fields) -> mappings.put(name, fields == null ? List.of() : List.copyOf(fields)));
+        this.multiFieldMappings = Map.copyOf(mappings);
+        this.textSearches = Map.copyOf(textSearches);
+        this.dateFields = Set.copyOf(dateFields);
+        this.exactMatchFields = Set.copyOf(exactMatchFields);
+        this.matchModes = Map.copyOf(matchModes);
+        this.normalizedColumns = Map.copyOf(normalizedColumns);
+        this.collatedPrefixColumns = Set.copyOf(collatedPrefixColumns);
+
+        Set<String> properties = new HashSet<>(multiFieldMappings.keySet());
+        properties.addAll(textSearches.keySet());
+        properties.addAll(dateFields);
+        properties.addAll(exactMatchFields);
+        Map<String, PropertyRule> index = new HashMap<>();
+        for (String property : properties) {
+            index.put(property, resolveRule(property));
+        }
+        this.rules = Map.copyOf(index);
+        this.frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * Builds a single {@link Criteria} object combining all the provided filters with AND logic.
+     * <p>
+     * The filters may be {@link FilterComposite AND/OR/NOT composites}; the expression is
+     * {@link FilterSimplifier simplified} first. {@link Criteria} has no negation, so NOT is pushed down to the
+     * leaves with De Morgan's laws, each leaf comparison being replaced by its complement
+     * (e.g. {@code LIKE} by {@code NOT LIKE}, {@code BETWEEN} by {@code NOT BETWEEN}).
+     * An expression that can never match is rendered as {@code p IS NULL AND p IS NOT NULL} on one of its properties.
+     * </p>
      *
      * @param filters the list of domain filters.
      * @return a {@link Criteria} representing the combined filters, or {@link Criteria#empty()} if the list is null or empty.
+     * @throws MalFormedQueryException if the expression can never match and references no property.
      */
     public Criteria build(List<Filter> filters) {
         if (filters == null || filters.isEmpty()) {
             return Criteria.empty();
         }
 
-        Criteria criteria = Criteria.empty();
-        for (Filter filter : filters) {
-            Criteria c = toCriteria(filter);
-            if (c != null && !c.isEmpty()) {
-                if (criteria.isEmpty()) {
-                    criteria = c;
-                } else {
-                    criteria = criteria.and(c);
-                }
+        Filter expression = FilterSimplifier.simplify(filters);
+        if (FilterSimplifier.isAlwaysFalse(expression)) {
+            return neverMatching(filters);
+        }
+        List<Filter> conjuncts = FilterSimplifier.conjuncts(expression);
+        List<ShapeElement> shape = new ArrayList<>(conjuncts.size());
+        for (Filter filter : conjuncts) {
+            shape.add(ShapeElement.of(filter));
+        }
+        return templateFor(shape).bind(conjuncts);
+    }
+
+    /**
+     * Builds the seek criteria of a keyset request, to be combined with the filters:
+     * {@code build(filters).and(seek(pageable))}.
+     * <p>
+     * The row-value comparison {@code (a, b) > (?, ?)} is not available in {@link Criteria}, so it is expanded to
+     * {@code a > ? OR (a = ? AND b > ?)}, each comparison following the direction of its sort order.
+     * A redundant {@code a >= ?} bound is added so that the database can range-scan the index of the leading key.
+     * </p>
+     *
+     * @param pageable the pagination request.
+     * @return the seek {@link Criteria}, or {@link Criteria#empty()} when the request is not a keyset one
+     * or has no cursor (first page).
+     * @throws MalFormedQueryException if the cursor does not match the sort orders.
+     */
+    public Criteria seek(PageableModel pageable) {
+        if (pageable == null || !pageable.isKeyset() || pageable.getCursor() == null) {
+            return Criteria.empty();
+        }
+
+        List<SortModel.Order> orders = pageable.getEffectiveSort().getOrders();
+        List<Object> values = pageable.getCursor().getValues();
+        if (values.size() != orders.size()) {
+            throw new MalFormedQueryException("Pagination cursor does not match the requested sort");
+        }
+
+        Criteria alternatives = null;
+        for (int i = 0; i < orders.size(); i++) {
+            Criteria term = null;
+            for (int j = 0; j < i; j++) {
+                String property = orders.get(j).getProperty();
+                term = term == null ? Criteria.where(property).is(values.get(j)) : term.and(property).is(values.get(j));
             }
+            String property = orders.get(i).getProperty();
+            Criteria.CriteriaStep step = term == null ? Criteria.where(property) : term.and(property);
+            term = orders.get(i).getDirection().isAscending()
+                    ? step.greaterThan(values.get(i))
+                    : step.lessThan(values.get(i));
+            alternatives = alternatives == null ? term : alternatives.or(term);
         }
-        return criteria;
+
+        Criteria.CriteriaStep leading = Criteria.where(orders.get(0).getProperty());
+        Criteria leadingBound = orders.get(0).getDirection().isAscending()
+                ? leading.greaterThanOrEquals(values.get(0))
+                : leading.lessThanOrEquals(values.get(0));
+        return leadingBound.and(alternatives);
     }
 
-    private Criteria toCriteria(Filter filter) {
-        String property = filter.getName();
+    /**
+     * @return the number of cached templates.
+     */
+    int cachedTemplates() {
+        return templates.size();
+    }
 
-        // Handle multi-field search (OR logic)
+    private void assertNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("FilterCriteriaBuilder is frozen and cannot be reconfigured");
+        }
+    }
+
+    private CriteriaTemplate templateFor(List<ShapeElement> shape) {
+        if (!frozen) {
+            return compile(shape);
+        }
+        CriteriaTemplate template = templates.get(shape);
+        if (template != null) {
+            return template;
+        }
+        template = compile(shape);
+        if (templates.size() < MAX_CACHED_TEMPLATES) {
+            CriteriaTemplate existing = templates.putIfAbsent(List.copyOf(shape), template);
+            return existing != null ? existing : template;
+        }
+        return template;
+    }
+
+    private CriteriaTemplate compile(List<ShapeElement> shape) {
+        List<CriteriaBinder> binders = new ArrayList<>(shape.size());
+        for (ShapeElement element : shape) {
+            binders.add(compileBinder(element, false));
+        }
+        return new CriteriaTemplate(binders);
+    }
+
+    private PropertyRule ruleOf(String property) {
+        if (frozen) {
+            return rules.getOrDefault(property, PropertyRule.DEFAULT);
+        }
+        return resolveRule(property);
+    }
+
+    private PropertyRule resolveRule(String property) {
+        if (textSearches.containsKey(property)) {
+            return PropertyRule.TEXT_SEARCH;
+        }
         if (multiFieldMappings.containsKey(property)) {
-            return buildMultiFieldCriteria(property, filter);
+            return PropertyRule.MULTI_FIELD;
+        }
+        if (dateFields.contains(property)) {
+            return PropertyRule.DATE;
         }
+        if (exactMatchFields.contains(property)) {
+            return PropertyRule.EXACT_MATCH;
+        }
+        return PropertyRule.DEFAULT;
+    }
 
-        return switch (filter.getType()) {
-            case STRING -> buildStringCriteria(property, (FilterString) filter);
-            case BOOLEAN -> Criteria.where(property).is(((FilterBoolean) filter).getValue());
-            case NUMBER -> Criteria.where(property).is(((FilterNumber) filter).getValue());
-            case DATE -> buildDateCriteria(property, (FilterDate) filter);
-            case RANGE -> {
+    private CriteriaBinder compileBinder(ShapeElement element, boolean negated) {
+        if (element.type().isComposite()) {
+            return compileCompositeBinder(element, negated);
+        }
+        String property = element.property();
+        PropertyRule rule = ruleOf(property);
+
+        if (rule == PropertyRule.TEXT_SEARCH) {
+            return compileTextSearchBinder(textSearches.get(property), element.type(), negated);
+        }
+
+        // Handle multi-field search (OR logic)
+        if (rule == PropertyRule.MULTI_FIELD) {
+            return compileMultiFieldBinder(multiFieldMappings.get(property), element.type(), negated);
+        }
+
+        return switch (element.type()) {
+            case STRING -> compileStringBinder(property, rule, stringMatchMode(element, rule), negated);
+            case BOOLEAN -> filter -> equality(property, ((FilterBoolean) filter).getValue(), negated);
+            case NUMBER -> filter -> equality(property, ((FilterNumber) filter).getValue(), negated);
+            case DATE -> compileDateBinder(property, element.dateType(), negated);
+            case RANGE -> filter -> {
                 FilterRange fr = (FilterRange) filter;
-                yield Criteria.where(property).between(fr.getMin(), fr.getMax());
+                return negated
+                        ? Criteria.where(property).notBetween(fr.getMin(), fr.getMax())
+                        : Criteria.where(property).between(fr.getMin(), fr.getMax());
+            };
+            case LIST -> compileListBinder(property, negated);
+            default -> throw new UnsupportedOperationException("Unsupported filter type: " + element.type());
+        };
+    }
+
+    /**
+     * Compiles the binder of an AND/OR/NOT composite, pushing a negation down to its operands:
+     * {@code not(and(a, b))} is bound as {@code not(a) OR not(b)}, {@code not(not(a))} as {@code a}.
+     *
+     * @param element The shape of the composite.
+     * @param negated Whether the composite is negated.
+     * @return The binder producing the criteria of the composite.
+     */
+    private CriteriaBinder compileCompositeBinder(ShapeElement element, boolean negated) {
+        if (element.type() == Filter.FilterType.NOT) {
+            CriteriaBinder operand = compileBinder(element.operands().get(0), !negated);
+            return filter -> operand.bind(((FilterComposite) filter).getOperand());
+        }
+        List<CriteriaBinder> operands = new ArrayList<>(element.operands().size());
+        for (ShapeElement operand : element.operands()) {
+            operands.add(compileBinder(operand, negated));
+        }
+        boolean or = (element.type() == Filter.FilterType.OR) != negated;
+        return filter -> {
+            List<Filter> operandFilters = ((FilterComposite) filter).getFilters();
+            List<Criteria> parts = new ArrayList<>(operands.size());
+            for (int i = 0; i < operands.size(); i++) {
+                parts.add(operands.get(i).bind(operandFilters.get(i)));
             }
-            case LIST -> {
-                FilterList fl = (FilterList) filter;
-                yield Criteria.where(property).in(fl.getValues().getValues());
+            return combine(parts, or);
+        };
+    }
+
+    /**
+     * Compiles the binder of a multi-field search (OR condition across multiple fields).
+     *
+     * @param fields  The entity fields mapped to the filter.
+     * @param type    The filter type; only string filters are supported.
+     * @param negated Whether the search is negated, matching rows where no field contains the value.
+     * @return A binder producing the OR criteria, or null criteria if fields are empty or the filter is not a string.
+     */
+    private static CriteriaBinder compileMultiFieldBinder(List<String> fields, Filter.FilterType type, boolean negated) {
+        if (fields == null || fields.isEmpty() || type != Filter.FilterType.STRING) {
+            return filter -> null;
+        }
+        List<String> targets = List.copyOf(fields);
+        return filter -> {
+            String sanitizedValue = SqlSanitizer.wrapWithWildcards(((FilterString) filter).getValue());
+            List<Criteria> parts = new ArrayList<>(targets.size());
+            for (String field : targets) {
+                Criteria.CriteriaStep step = Criteria.where(field);
+                parts.add((negated ? step.notLike(sanitizedValue) : step.like(sanitizedValue)).ignoreCase(true));
             }
-            default -> throw new UnsupportedOperationException("Unsupported filter type: " + filter.getType());
+            return combine(parts, !negated);
         };
     }
 
+    /**
+     * Compiles the binder of a full-text search, nesting its {@link TextSearchCriteria} in a criteria group.
+     *
+     * @param search  The full-text search mapped to the filter.
+     * @param type    The filter type; only string filters are supported.
+     * @param negated Whether the search is negated, matching rows not matching the search.
+     * @return A binder producing the search criteria, or null criteria for a blank value or a non-string filter.
+     */
+    private static CriteriaBinder compileTextSearchBinder(TextSearch search, Filter.FilterType type, boolean negated) {
+        if (type != Filter.FilterType.STRING) {
+            return filter -> null;
+        }
+        return filter -> {
+            String text = ((FilterString) filter).getValue();
+            return text == null || text.isBlank()
+                    ? null
+                    : Criteria.empty().and(new TextSearchCriteria(search, text.strip(), negated));
+        };
+    }
+
+    /**
+     * Resolves the match mode of a string filter: its own mode, otherwise the mode configured for its property.
+     */
+    private FilterString.MatchMode stringMatchMode(ShapeElement element, PropertyRule rule) {
+        if (element.matchMode() != null) {
+            return element.matchMode();
+        }
+        if (rule == PropertyRule.EXACT_MATCH) {
+            return FilterString.MatchMode.EXACT;
+        }
+        return matchModes.getOrDefault(element.property(), FilterString.DEFAULT_MATCH_MODE);
+    }
 
     /**
-     * Builds criteria for multi-field search logic (OR condition across multiple fields).
+     * Compiles the binder of a String-typed filter.
+     * This handles LIKE searches, exact matches and prefixes according to the match mode,
+     * and date parsing from strings (if configured).
      *
-     * @param property The filter property name.
-     * @param filter   The filter containing the search value.
-     * @return A {@link Criteria} object representing the OR logic, or null if fields are empty.
+     * @param property The property name.
+     * @param rule     The configured rule of the property.
+     * @param mode     The match mode of the filter.
+     * @param negated  Whether the filter is negated.
+     * @return The binder producing the criteria.
      */
-    private Criteria buildMultiFieldCriteria(String property, Filter filter) {
-        List<String> fields = multiFieldMappings.get(property);
-        if (fields == null || fields.isEmpty()) {
-            return null;
+    private CriteriaBinder compileStringBinder(String property, PropertyRule rule, FilterString.MatchMode mode, boolean negated) {
+        if (rule == PropertyRule.DATE) {
+            return filter -> parseDateCriteria(property, ((FilterString) filter).getValue(), negated);
         }
-        if (filter instanceof FilterString fs) {
-            String sanitizedValue = SqlSanitizer.wrapWithWildcards(fs.getValue());
-            Criteria orCriteria = null;
-            for (String field : fields) {
-                Criteria c = Criteria.where(field).like(sanitizedValue).ignoreCase(true);
-                if (orCriteria == null) {
-                    orCriteria = c;
-                } else {
-                    orCriteria = orCriteria.or(c);
-                }
+        String normalized = normalizedColumns.get(property);
+        boolean normalizedRange = normalized != null && collatedPrefixColumns.contains(normalized);
+        return switch (mode) {
+            case EXACT -> filter -> equality(property, ((FilterString) filter).getValue(), negated);
+            case PREFIX -> {
+                boolean range = collatedPrefixColumns.contains(property);
+                yield filter -> prefix(property, ((FilterString) filter).getValue(), negated, range);
             }
-            return orCriteria;
+            case CASE_INSENSITIVE_PREFIX -> normalized != null
+                    ? filter -> prefix(normalized, lowerCase(filter), negated, normalizedRange)
+                    : filter -> like(property, SqlSanitizer.wrapWithSuffixWildcard(((FilterString) filter).getValue()), negated)
+                    .ignoreCase(true);
+            case CONTAINS -> normalized != null
+                    ? filter -> like(normalized, SqlSanitizer.wrapWithWildcards(lowerCase(filter)), negated)
+                    // Default to LIKE with sanitized wildcards for security
+                    : filter -> like(property, SqlSanitizer.wrapWithWildcards(((FilterString) filter).getValue()), negated)
+                    .ignoreCase(true);
+        };
+    }
+
+    /**
+     * Builds a prefix criteria as a {@code LIKE}, bounded by an index range on the
+     * {@link #withCollatedPrefixRange(List) columns declared with the C collation}, where the range is exact.
+     * A negated prefix is a plain {@code NOT LIKE}, which no index range can answer anyway.
+     */
+    private static Criteria prefix(String column, String prefix, boolean negated, boolean range) {
+        String pattern = SqlSanitizer.wrapWithSuffixWildcard(prefix);
+        String upperBound = range ? SqlSanitizer.prefixUpperBound(prefix) : null;
+        if (negated || upperBound == null) {
+            return like(column, pattern, negated);
         }
-        return null;
+        return Criteria.where(column).greaterThanOrEquals(prefix)
+                .and(column).lessThan(upperBound)
+                .and(column).like(pattern);
+    }
+
+    private static Criteria like(String column, String pattern, boolean negated) {
+        Criteria.CriteriaStep step = Criteria.where(column);
+        return negated ? step.notLike(pattern) : step.like(pattern);
+    }
+
+    private static String lowerCase(Filter filter) {
+        return ((FilterString) filter).getValue().toLowerCase(Locale.ROOT);
     }
 
     /**
-     * Builds criteria for String-typed filters.
-     * This handles standard LIKE searches, exact matches (if configured), and date parsing from strings (if configured).
+     * Compiles the binder of a list filter: a single {@code IN} list, or padded chunks OR-ed together
+     * ({@code NOT IN} chunks AND-ed together when negated).
      *
      * @param property The property name.
-     * @param filter   The string filter.
-     * @return The resulting {@link Criteria}.
+     * @param negated  Whether the filter is negated.
+     * @return The binder producing the criteria.
      */
-    private Criteria buildStringCriteria(String property, FilterString filter) {
-        String value = filter.getValue();
+    private CriteriaBinder compileListBinder(String property, boolean negated) {
+        InListStrategy strategy = inListStrategy.getMode() == InListStrategy.Mode.ARRAY
+                ? InListStrategy.of(InListStrategy.Mode.PADDED, inListStrategy.getChunkSize())
+                : inListStrategy;
+        return filter -> {
+            List<List<String>> chunks = strategy.chunks(((FilterList) filter).getValues().getValues());
+            List<Criteria> parts = new ArrayList<>(chunks.size());
+            for (List<String> chunk : chunks) {
+                parts.add(negated ? Criteria.where(property).notIn(chunk) : Criteria.where(property).in(chunk));
+            }
+            return parts.size() == 1 ? parts.get(0) : combine(parts, !negated);
+        };
+    }
 
-        // 1. Check if it's a date field
-        if (dateFields.contains(property)) {
-            return parseDateCriteria(property, value);
+    /**
+     * Compiles the binder of a native {@link FilterDate}.
+     *
+     * @param property The property name.
+     * @param dateType The date filter type.
+     * @param negated  Whether the filter is negated.
+     * @return The binder producing the criteria.
+     */
+    private static CriteriaBinder compileDateBinder(String property, FilterDate.FilterDateType dateType, boolean negated) {
+        return switch (dateType) {
+            case BETWEEN -> filter -> {
+                FilterDate fd = (FilterDate) filter;
+                return negated
+                        ? Criteria.where(property).notBetween(fd.getStartDate(), fd.getEndDate())
+                        : Criteria.where(property).between(fd.getStartDate(), fd.getEndDate());
+            };
+            case AFTER -> filter -> negated
+                    ? Criteria.where(property).lessThanOrEquals(((FilterDate) filter).getStartDate())
+                    : Criteria.where(property).greaterThan(((FilterDate) filter).getStartDate());
+            case BEFORE -> filter -> negated
+                    ? Criteria.where(property).greaterThanOrEquals(((FilterDate) filter).getEndDate())
+                    : Criteria.where(property).lessThan(((FilterDate) filter).getEndDate());
+        };
+    }
+
+    private static Criteria equality(String property, Object value, boolean negated) {
+        return negated ? Criteria.where(property).not(value) : Criteria.where(property).is(value);
+    }
+
+    /**
+     * Combines criteria with AND or OR logic, each one in its own group so that chains mixing AND and OR
+     * keep their meaning whatever their position. Null and empty criteria, such as a blank search, leave the rows
+     * unconstrained: they are skipped from an AND, and make a whole OR unconstrained.
+     *
+     * @param parts the criteria to combine.
+     * @param or    whether to combine with OR logic rather than AND.
+     * @return the combined criteria, or {@link Criteria#empty()} if the rows are left unconstrained.
+     */
+    private static Criteria combine(List<Criteria> parts, boolean or) {
+        List<Criteria> kept = new ArrayList<>(parts.size());
+        for (Criteria part : parts) {
+            if (part != null && !part.isEmpty()) {
+                kept.add(part);
+            } else if (or) {
+                return Criteria.empty();
+            }
+        }
+        if (kept.isEmpty()) {
+            return Criteria.empty();
         }
+        if (kept.size() == 1) {
+            return kept.get(0);
+        }
+        Criteria combined = Criteria.empty().and(kept.get(0));
+        for (int i = 1; i < kept.size(); i++) {
+            combined = or ? combined.or(kept.get(i)) : combined.and(kept.get(i));
+        }
+        return combined;
+    }
 
-        // 2. Check if it's an exact match field
-        if (exactMatchFields.contains(property)) {
-            return Criteria.where(property).is(value);
+    /**
+     * Builds a criteria matching no row, for an expression simplified to a constant false.
+     */
+    private static Criteria neverMatching(List<Filter> filters) {
+        String property = firstProperty(filters);
+        if (property == null) {
+            throw new MalFormedQueryException("Filter expression can never match and references no property");
         }
+        return Criteria.where(property).isNull().and(property).isNotNull();
+    }
 
-        // 3. Default to LIKE with sanitized wildcards for security
-        String sanitizedValue = SqlSanitizer.wrapWithWildcards(value);
-        return Criteria.where(property).like(sanitizedValue).ignoreCase(true);
+    private static String firstProperty(List<Filter> filters) {
+        for (Filter filter : filters) {
+            if (filter == null) {
+                continue;
+            }
+            String property = filter instanceof FilterComposite composite
+                    ? firstProperty(composite.getFilters())
+                    : filter.getName();
+            if (property != null) {
+                return property;
+            }
+        }
+        return null;
     }
 
     /**
@@ -185,33 +689,104 @@ public class FilterCriteriaBuilder {
      *
      * @param property The property name.
      * @param value    The date string (YYYY-MM-DD).
+     * @param negated  Whether to match the dates outside of the day instead.
      * @return A {@link Criteria} for the date range.
      * @throws MalFormedQueryException if the date string format is invalid.
      */
-    private Criteria parseDateCriteria(String property, String value) {
-        try {
-            LocalDate date = LocalDate.parse(value, DATE_FORMATTER);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-            // Assume standard Spring Data convention for ranges (inclusive, exclusive)
-            return Criteria.where(property).greaterThanOrEquals(startOfDay).and(property).lessThan(endOfDay);
-        } catch (DateTimeParseException e) {
+    private static Criteria parseDateCriteria(String property, String value, boolean negated) {
+        LocalDate date = parseIsoDate(value);
+        if (date == null) {
             throw new MalFormedQueryException("Invalid date format for filter '" + property + "'. Expected format: YYYY-MM-DD. Value: " + value);
         }
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        // Assume standard Spring Data convention for ranges (inclusive, exclusive)
+        if (negated) {
+            return combine(List.of(
+                    Criteria.where(property).lessThan(startOfDay),
+                    Criteria.where(property).greaterThanOrEquals(endOfDay)), true);
+        }
+        return Criteria.where(property).greaterThanOrEquals(startOfDay).and(property).lessThan(endOfDay);
     }
 
     /**
-     * Builds criteria for native {@link FilterDate} objects.
+     * Parses a {@code YYYY-MM-DD} date without going through a {@link java.time.format.DateTimeFormatter}.
      *
-     * @param property The property name.
-     * @param fd       The date filter object.
-     * @return The resulting {@link Criteria}.
-     */
-    private Criteria buildDateCriteria(String property, FilterDate fd) {
-        return switch (fd.getFilterDateType()) {
-            case BETWEEN -> Criteria.where(property).between(fd.getStartDate(), fd.getEndDate());
-            case AFTER -> Criteria.where(property).greaterThan(fd.getStartDate());
-            case BEFORE -> Criteria.where(property).lessThan(fd.getEndDate());
-        };
+     * @param value the date string.
+     * @return the date, or null if the value is not a valid {@code YYYY-MM-DD} date.
+     */
+    static LocalDate parseIsoDate(String value) {
+        if (value == null || value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * How a property is translated, according to the builder configuration.
+     */
+    private enum PropertyRule {
+        DEFAULT,
+        TEXT_SEARCH,
+        MULTI_FIELD,
+        DATE,
+        EXACT_MATCH
+    }
+
+    /**
+     * Shape of a filter: what the compiled template depends on, values excluded.
+     */
+    private record ShapeElement(String property,
+                                Filter.FilterType type,
+                                FilterDate.FilterDateType dateType,
+                                FilterString.MatchMode matchMode,
+                                List<ShapeElement> operands) {
+
+        static ShapeElement of(Filter filter) {
+            FilterDate.FilterDateType dateType = filter instanceof FilterDate fd ? fd.getFilterDateType() : null;
+            FilterString.MatchMode matchMode = filter instanceof FilterString fs ? fs.getMatchMode() : null;
+            List<ShapeElement> operands = filter instanceof FilterComposite composite
+                    ? composite.getFilters().stream().map(ShapeElement::of).toList()
+                    : List.of();
+            return new ShapeElement(filter.getName(), filter.getType(), dateType, matchMode, operands);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CriteriaBinder {
+        Criteria bind(Filter filter);
+    }
+
+    private record CriteriaTemplate(List<CriteriaBinder> binders) {
+
+        Criteria bind(List<Filter> filters) {
+            List<Criteria> parts = new ArrayList<>(binders.size());
+            for (int i = 0; i < binders.size(); i++) {
+                parts.add(binders.get(i).bind(filters.get(i)));
+            }
+            return combine(parts, false);
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Estimates row counts from PostgreSQL statistics, to be used as the estimator of
+ * {@link com.modulythe.framework.application.pagination.PageCountResolver}.
+ * <p>
+ * Filtered estimates plan a {@code SELECT 1 FROM table WHERE ...} built from the same {@link Criteria} as the
+ * paginated query (rendered by {@link CriteriaSqlRenderer}); unfiltered tables are estimated from their statistics.
+ * </p>
+ */
+public class R2dbcCountEstimator {
+
+    private static final String TABLE_ESTIMATE_SQL = PostgresCountEstimates.TABLE_ESTIMATE_SQL.replace("?", "$1");
+
+    private final DatabaseClient databaseClient;
+    private final CriteriaSqlRenderer renderer;
+
+    public R2dbcCountEstimator(DatabaseClient databaseClient) {
+        this(databaseClient, new CriteriaSqlRenderer());
+    }
+
+    public R2dbcCountEstimator(DatabaseClient databaseClient, CriteriaSqlRenderer renderer) {
+        this.databaseClient = Objects.requireNonNull(databaseClient, "DatabaseClient cannot be null");
+        this.renderer = Objects.requireNonNull(renderer, "Criteria renderer cannot be null");
+    }
+
+    /**
+     * Estimates the number of rows of a table matching a criteria, from the query planner.
+     *
+     * @param tableName the (optionally schema-qualified) table name.
+     * @param criteria  the criteria of the paginated query.
+     * @return the planner estimate.
+     */
+    public Mono<Long> estimate(String tableName, Criteria criteria) {
+        CriteriaSqlRenderer.SqlFragment where = renderer.renderWhere(criteria);
+        return estimate("SELECT 1 FROM " + tableName + where.sql(), where.bindings());
+    }
+
+    /**
+     * Estimates the number of rows returned by a native SELECT statement, from the query planner.
+     *
+     * @param selectSql  the SELECT statement, with {@code $n} bind markers.
+     * @param parameters the values bound to the markers, in order.
+     * @return the planner estimate.
+     */
+    public Mono<Long> estimate(String selectSql, List<?> parameters) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(PostgresCountEstimates.explain(selectSql));
+        for (int i = 0; i < parameters.size(); i++) {
+            spec = spec.bind(i, parameters.get(i));
+        }
+        return spec.map(row -> row.get(0, String.class))
+                .all()
+                .reduce(new StringBuilder(), StringBuilder::append)
+                .map(plan -> PostgresCountEstimates.parsePlanRows(plan.toString()));
+    }
+
+    /**
+     * Estimates the number of rows of a table, from its statistics.
+     *
+     * @param tableName the (optionally schema-qualified) table name.
+     * @return the estimate, or -1 if the table has never been analyzed.
+     */
+    public Mono<Long> estimateTable(String tableName) {
+        return databaseClient.sql(TABLE_ESTIMATE_SQL)
+                .bind(0, tableName)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new TechnicalException("Unknown table: " + tableName)));
+    }
+}
@@ -0,0 +1,181 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.FacetModel;
+import com.modulythe.framework.domain.common.pagination.FacetResultModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the {@link FacetModel facets} of a {@link org.springframework.data.relational.core.query.Criteria} in a
+ * single native statement: the number of matching rows per value of the count facets, and the range of the range
+ * facets.
+ * <p>
+ * With the {@link Plan#GROUPING_SETS} plan (PostgreSQL, SQL Server, Oracle...), the table is read once:
+ * {@code GROUP BY GROUPING SETS ((status), (country), ())}, the empty set holding the total count and the ranges.
+ * The {@link Plan#UNION} plan, for databases without grouping sets, runs one {@code GROUP BY} branch per count facet
+ * and an aggregate branch, combined with {@code UNION ALL} in the same statement. The filters are rendered by
+ * {@link CriteriaSqlRenderer}, like the paginated query.
+ * </p>
+ */
+public class R2dbcFacetQuery {
+
+    /**
+     * How the facets are grouped in the statement.
+     */
+    public enum Plan {
+        GROUPING_SETS,
+        UNION
+    }
+
+    private static final Pattern COLUMN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final int TOTAL = -1;
+
+    private final DatabaseClient databaseClient;
+    private final CriteriaSqlRenderer renderer;
+    private final Plan plan;
+
+    public R2dbcFacetQuery(DatabaseClient databaseClient) {
+        this(databaseClient, new CriteriaSqlRenderer(), Plan.GROUPING_SETS);
+    }
+
+    public R2dbcFacetQuery(DatabaseClient databaseClient, CriteriaSqlRenderer renderer, Plan plan) {
+        this.databaseClient = Objects.requireNonNull(databaseClient, "DatabaseClient cannot be null");
+        this.renderer = Objects.requireNonNull(renderer, "Criteria renderer cannot be null");
+        this.plan = Objects.requireNonNull(plan, "Facet plan cannot be null");
+    }
+
+    private record FacetRow(int facet, String value, long count, Double[] bounds) {
+    }
+
+    /**
+     * Computes the facets of the rows of a table matching a criteria.
+     *
+     * @param tableName the (optionally schema-qualified) table name.
+     * @param criteria  the criteria of the search.
+     * @param facets    the facets to compute.
+     * @return the facets.
+     * @throws MalFormedQueryException if a facet is not a plain column name.
+     */
+    public Mono<FacetResultModel> compute(String tableName, CriteriaDefinition criteria, FacetModel facets) {
+        CriteriaSqlRenderer.SqlFragment statement = render(tableName, criteria, facets);
+        int ranges = facets.getRangeFacets().size();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(statement.sql());
+        for (int i = 0; i < statement.bindings().size(); i++) {
+            spec = spec.bind(i, statement.bindings().get(i));
+        }
+        return spec.map(row -> {
+                    Double[] bounds = new Double[2 * ranges];
+                    for (int i = 0; i < ranges; i++) {
+                        bounds[2 * i] = row.get("min" + i, Double.class);
+                        bounds[2 * i + 1] = row.get("max" + i, Double.class);
+                    }
+                    return new FacetRow(Objects.requireNonNull(row.get("facet", Integer.class)),
+                            row.get("val", String.class), Objects.requireNonNull(row.get("n", Long.class)), bounds);
+                })
+                .all()
+                .collectList()
+                .map(rows -> toResult(rows, facets));
+    }
+
+    /**
+     * Renders the facet statement: for each row, {@code facet} is the index of its count facet (or -1 for the totals),
+     * {@code val} its value, {@code n} its count, and {@code min<i>}/{@code max<i>} the range of the i-th range facet
+     * on the totals row.
+     */
+    CriteriaSqlRenderer.SqlFragment render(String tableName, CriteriaDefinition criteria, FacetModel facets) {
+        Objects.requireNonNull(tableName, "Table name cannot be null");
+        List<String> counts = columns(facets.getCountFacets());
+        List<String> ranges = columns(facets.getRangeFacets());
+        List<Object> bindings = new ArrayList<>();
+
+        if (counts.isEmpty()) {
+            String where = where(criteria, bindings);
+            return new CriteriaSqlRenderer.SqlFragment(totals(ranges, tableName, where), bindings);
+        }
+        StringBuilder sql = new StringBuilder();
+        if (plan == Plan.GROUPING_SETS) {
+            StringBuilder facet = new StringBuilder("CASE");
+            StringBuilder value = new StringBuilder("CASE");
+            for (int i = 0; i < counts.size(); i++) {
+                String grouped = " WHEN GROUPING(" + counts.get(i) + ") = 0 THEN ";
+                facet.append(grouped).append(i);
+                value.append(grouped).append("CAST(").append(counts.get(i)).append(" AS VARCHAR)");
+            }
+            sql.append("SELECT ").append(facet).append(" ELSE ").append(TOTAL).append(" END AS facet, ")
+                    .append(value).append(" END AS val, COUNT(*) AS n")
+                    .append(bounds(ranges, true))
+                    .append(" FROM ").append(tableName).append(where(criteria, bindings))
+                    .append(" GROUP BY GROUPING SETS (");
+            for (String column : counts) {
+                sql.append('(').append(column).append("), ");
+            }
+            sql.append("())");
+        } else {
+            for (int i = 0; i < counts.size(); i++) {
+                sql.append("SELECT ").append(i).append(" AS facet, CAST(").append(counts.get(i))
+                        .append(" AS VARCHAR) AS val, COUNT(*) AS n").append(bounds(ranges, false))
+                        .append(" FROM ").append(tableName).append(where(criteria, bindings))
+                        .append(" GROUP BY ").append(counts.get(i)).append(" UNION ALL ");
+            }
+            sql.append(totals(ranges, tableName, where(criteria, bindings)));
+        }
+        return new CriteriaSqlRenderer.SqlFragment(sql.toString(), bindings);
+    }
+
+    private String where(CriteriaDefinition criteria, List<Object> bindings) {
+        CriteriaSqlRenderer.SqlFragment condition = renderer.render(criteria, bindings.size());
+        bindings.addAll(condition.bindings());
+        return condition.isEmpty() ? "" : " WHERE " + condition.sql();
+    }
+
+    private static String totals(List<String> ranges, String tableName, String where) {
+        return "SELECT " + TOTAL + " AS facet, CAST(NULL AS VARCHAR) AS val, COUNT(*) AS n"
+                + bounds(ranges, true) + " FROM " + tableName + where;
+    }
+
+    private static String bounds(List<String> ranges, boolean aggregated) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < ranges.size(); i++) {
+            String min = aggregated ? "MIN(" + ranges.get(i) + ")" : "NULL";
+            String max = aggregated ? "MAX(" + ranges.get(i) + ")" : "NULL";
+            sql.append(", CAST(").append(min).append(" AS DOUBLE PRECISION) AS min").append(i)
+                    .append(", CAST(").append(max).append(" AS DOUBLE PRECISION) AS max").append(i);
+        }
+        return sql.toString();
+    }
+
+    private List<String> columns(List<String> properties) {
+        List<String> columns = new ArrayList<>(properties.size());
+        for (String property : properties) {
+            String column = renderer.column(property);
+            if (!COLUMN.matcher(column).matches()) {
+                throw new MalFormedQueryException("Facet '" + property + "' is not a column of the table");
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static FacetResultModel toResult(List<FacetRow> rows, FacetModel facets) {
+        FacetResultModel.FacetResultBuilder result = FacetResultModel.builder(facets);
+        List<String> ranges = facets.getRangeFacets();
+        for (FacetRow row : rows) {
+            if (row.facet() != TOTAL) {
+                result.count(facets.getCountFacets().get(row.facet()), row.value(), row.count());
+                continue;
+            }
+            result.totalItems(row.count());
+            for (int i = 0; i < ranges.size(); i++) {
+                result.range(ranges.get(i), row.bounds()[2 * i], row.bounds()[2 * i + 1]);
+            }
+        }
+        return result.build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.springframework.dao.QueryTimeoutException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Enforces a {@link QueryBudget} on R2DBC queries, e.g. those filtered by the criteria of
+ * {@link FilterCriteriaBuilder}.
+ * <p>
+ * A query exceeding its budget is cancelled: the subscription to the driver is disposed, which releases the
+ * connection and cancels the running statement, and a {@link QueryBudgetExceededException} is signalled instead.
+ * The same cancellation happens when the subscriber disconnects (e.g. the HTTP client goes away), as long as the
+ * query is not cached or shared. A count exceeding its budget falls back to the estimated count when an estimator is
+ * given, e.g. {@code R2dbcCountEstimator}.
+ * </p>
+ */
+public final class R2dbcQueryBudget {
+
+    private final QueryBudget budget;
+
+    public R2dbcQueryBudget(QueryBudget budget) {
+        this.budget = Objects.requireNonNull(budget, "Query budget cannot be null");
+    }
+
+    /**
+     * Bounds the content query by its budget. The budget is a deadline for the whole stream, not for the gap
+     * between two rows: a query steadily emitting slow rows is cancelled as well. After each row, the timer is
+     * re-armed with the time left until the deadline.
+     *
+     * @param <T>   the type of the rows.
+     * @param query the query.
+     * @return the query, failing with a {@link QueryBudgetExceededException} when the budget is exceeded.
+     */
+    public <T> Flux<T> query(Flux<T> query) {
+        Duration timeout = budget.queryTimeout();
+        return Flux.defer(() -> {
+            Scheduler scheduler = Schedulers.parallel();
+            long deadline = scheduler.now(TimeUnit.MILLISECONDS) + timeout.toMillis();
+            return query.timeout(Mono.delay(timeout, scheduler), row -> Mono.delay(
+                    Duration.ofMillis(Math.max(0, deadline - scheduler.now(TimeUnit.MILLISECONDS))), scheduler));
+        }).onErrorMap(TimeoutException.class, e -> new QueryBudgetExceededException(timeout, e));
+    }
+
+    /**
+     * Bounds the content query by its budget, a deadline for its single result.
+     *
+     * @param <T>   the type of the result.
+     * @param query the query.
+     * @return the query, failing with a {@link QueryBudgetExceededException} when the budget is exceeded.
+     */
+    public <T> Mono<T> query(Mono<T> query) {
+        return query.timeout(budget.queryTimeout())
+                .onErrorMap(TimeoutException.class, e -> new QueryBudgetExceededException(budget.queryTimeout(), e));
+    }
+
+    /**
+     * Bounds the count query by its budget.
+     *
+     * @param exactCount the COUNT query.
+     * @return the count, failing with a {@link QueryBudgetExceededException} when the budget is exceeded.
+     */
+    public Mono<Long> count(Mono<Long> exactCount) {
+        return exactCount.timeout(budget.countTimeout())
+                .onErrorMap(TimeoutException.class, e -> new QueryBudgetExceededException(budget.countTimeout(), e));
+    }
+
+    /**
+     * Bounds the count query by its budget, falling back to an estimated count when the budget is exceeded.
+     * The estimate is only subscribed after the timeout.
+     *
+     * @param exactCount     the COUNT query.
+     * @param estimatedCount the planner estimate of the number of rows, may be null.
+     * @return the exact count, or the estimate if the exact count exceeded its budget.
+     */
+    public Mono<PageCount> count(Mono<Long> exactCount, Mono<Long> estimatedCount) {
+        Mono<PageCount> exact = count(exactCount).map(PageCount::exact);
+        if (estimatedCount == null) {
+            return exact;
+        }
+        return exact.onErrorResume(QueryBudgetExceededException.class, e -> estimatedCount
+                .map(PageCount::estimated)
+                .switchIfEmpty(Mono.error(e)));
+    }
+
+    /**
+     * @return whether the exception, or one of its causes, tells that a query timed out.
+     */
+    static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryBudgetExceededException
+                    || cause instanceof TimeoutException
+                    || cause instanceof R2dbcTimeoutException
+                    || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.SlowQuery;
+import com.modulythe.framework.application.pagination.SlowQueryLog;
+import com.modulythe.framework.domain.common.pagination.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Times the R2DBC queries filtered by the criteria of {@link FilterCriteriaBuilder}, and records the slow ones in
+ * the {@link SlowQueryLog}: the shape of the filters, the filtered statement and its generic plan
+ * (see {@link PostgresGenericPlans}).
+ * <p>
+ * A query is timed from its subscription to its termination: completion, error or cancellation, recorded as the
+ * {@link SlowQuery.Outcome outcome} of the entry. To tell timeouts apart from other failures, time the query bounded
+ * by {@link R2dbcQueryBudget}: bounded the other way round, a timeout is seen as a cancellation. The recorded
+ * statement is the {@code SELECT * FROM table WHERE ...} rendered by {@link CriteriaSqlRenderer} from the same
+ * criteria, without the sort and limit of the page. Its plan is read once the query ended, on a subscription of its
+ * own, so that the completion of the query is not delayed. The generic plan leaves the {@code $n} markers unbound, which the extended
+ * query protocol rejects: the EXPLAIN is sent as an R2DBC {@link io.r2dbc.spi.Batch}, run by the PostgreSQL driver
+ * with the simple query protocol. When the log is disabled, queries are returned untouched.
+ * </p>
+ */
+public final class R2dbcSlowQueryDetector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(R2dbcSlowQueryDetector.class);
+
+    private final SlowQueryLog log;
+    private final DatabaseClient databaseClient;
+    private final CriteriaSqlRenderer renderer;
+
+    public R2dbcSlowQueryDetector(SlowQueryLog log, DatabaseClient databaseClient) {
+        this(log, databaseClient, new CriteriaSqlRenderer());
+    }
+
+    public R2dbcSlowQueryDetector(SlowQueryLog log, DatabaseClient databaseClient, CriteriaSqlRenderer renderer) {
+        this.log = Objects.requireNonNull(log, "Slow query log cannot be null");
+        this.databaseClient = Objects.requireNonNull(databaseClient, "DatabaseClient cannot be null");
+        this.renderer = Objects.requireNonNull(renderer, "Criteria renderer cannot be null");
+    }
+
+    /**
+     * Times a filter query, recording it if it is slow, whether it completed, failed, timed out or was cancelled.
+     *
+     * @param <T>       the type of the rows.
+     * @param scope     the queried type.
+     * @param tableName the (optionally schema-qualified) queried table.
+     * @param criteria  the criteria of the query.
+     * @param filters   the filters the criteria were built from.
+     * @param query     the query.
+     * @return the query, timed.
+     */
+    public <T> Flux<T> time(Class<?> scope,
+                            String tableName,
+                            CriteriaDefinition criteria,
+                            List<Filter> filters,
+                            Flux<T> query) {
+        if (!log.isEnabled()) {
+            return query;
+        }
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            Consumer<SlowQuery.Outcome> ended = outcome -> {
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                if (log.isSlow(elapsed)) {
+                    Mono.defer(() -> record(scope, tableName, criteria, filters, elapsed, outcome))
+                            .subscribe(null, e -> LOGGER.warn("Could not record a slow {} query", scope.getSimpleName(), e));
+                }
+            };
+            return query.doOnComplete(() -> ended.accept(SlowQuery.Outcome.COMPLETED))
+                    .doOnError(e -> ended.accept(R2dbcQueryBudget.isTimeout(e)
+                            ? SlowQuery.Outcome.TIMED_OUT
+                            : SlowQuery.Outcome.FAILED))
+                    .doOnCancel(() -> ended.accept(SlowQuery.Outcome.CANCELLED));
+        });
+    }
+
+    /**
+     * Times a filter query returning at most one result, recording it if it is slow.
+     *
+     * @param <T>       the type of the result.
+     * @param scope     the queried type.
+     * @param tableName the (optionally schema-qualified) queried table.
+     * @param criteria  the criteria of the query.
+     * @param filters   the filters the criteria were built from.
+     * @param query     the query.
+     * @return the query, timed.
+     */
+    public <T> Mono<T> time(Class<?> scope,
+                            String tableName,
+                            CriteriaDefinition criteria,
+                            List<Filter> filters,
+                            Mono<T> query) {
+        if (!log.isEnabled()) {
+            return query;
+        }
+        return time(scope, tableName, criteria, filters, query.flux()).singleOrEmpty();
+    }
+
+    private Mono<Void> record(Class<?> scope,
+                              String tableName,
+                              CriteriaDefinition criteria,
+                              List<Filter> filters,
+                              Duration elapsed,
+                              SlowQuery.Outcome outcome) {
+        String sql = "SELECT * FROM " + tableName + renderer.renderWhere(criteria).sql();
+        Mono<List<String>> plans = log.isExplain()
+                ? explain(sql).map(List::of).onErrorResume(e -> Mono.just(List.of("EXPLAIN failed: " + e.getMessage())))
+                : Mono.just(List.of());
+        return plans.doOnNext(plan -> log.record(new SlowQuery(Instant.now(), scope.getSimpleName(),
+                        SlowQueryLog.shapeOf(filters), elapsed.toMillis(), outcome, List.of(sql), plan)))
+                .then();
+    }
+
+    private Mono<String> explain(String sql) {
+        String explain = PostgresGenericPlans.explain(sql);
+        return databaseClient.inConnectionMany(connection -> Flux.from(connection.createBatch().add(explain).execute())
+                        .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class))))
+                .reduce(new StringBuilder(), (plan, line) -> plan.append(line).append('\n'))
+                .map(StringBuilder::toString);
+    }
+}
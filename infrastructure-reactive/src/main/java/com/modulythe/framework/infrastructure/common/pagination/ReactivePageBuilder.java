@@ -1,11 +1,14 @@
 package com.modulythe.framework.infrastructure.common.pagination;
 
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.domain.common.pagination.CursorPageModel;
 import com.modulythe.framework.domain.common.pagination.PageModel;
 import com.modulythe.framework.domain.common.pagination.PageableModel;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Utility class to build a Domain {@link PageModel} from Reactive sources.
@@ -50,4 +53,98 @@ public final class ReactivePageBuilder {
                             .build();
                 });
     }
+
+    /**
+     * Builds a {@link Mono} containing a {@link PageModel} from a count resolved by
+     * {@link com.modulythe.framework.application.pagination.PageCountResolver}, which may be cached or estimated.
+     *
+     * @param <T>      the type of the content elements.
+     * @param content  the {@link Flux} emitting the content elements for the current page.
+     * @param count    the {@link Mono} emitting the total count, exact or estimated.
+     * @param pageable the original {@link PageableModel} request containing page number and size.
+     * @return a {@link Mono} that emits the constructed {@link PageModel}.
+     */
+    public static <T> Mono<PageModel<T>> buildResolvedPage(
+            Flux<T> content,
+            Mono<PageCount> count,
+            PageableModel pageable) {
+
+        return Mono.zip(content.collectList(), count)
+                .map(tuple -> PageModel.builder(tuple.getT1())
+                        .itemsPerPage(pageable.getItemsPerPage())
+                        .pageNumber(pageable.getPageNumber())
+                        .totalItems(tuple.getT2().count())
+                        .totalEstimated(tuple.getT2().estimated())
+                        .build());
+    }
+
+    /**
+     * Builds a {@link Mono} containing a slice {@link PageModel}, without any count query.
+     * <p>
+     * The content is expected to start at the offset of the requested page
+     * (see {@link PageableMapper#toLookaheadPageable(PageableModel)}); at most {@code itemsPerPage + 1} rows
+     * are requested from it, the extra row telling whether a next page exists.
+     * </p>
+     *
+     * @param <T>      the type of the content elements.
+     * @param content  the {@link Flux} emitting the rows from the offset of the current page.
+     * @param pageable the original {@link PageableModel} request containing page number and size.
+     * @return a {@link Mono} that emits the slice, whose total items are {@link PageModel#UNKNOWN_TOTAL_ITEMS}.
+     */
+    public static <T> Mono<PageModel<T>> buildSlice(
+            Flux<T> content,
+            PageableModel pageable) {
+
+        return content.take(pageable.getItemsPerPage() + 1L)
+                .collectList()
+                .map(rows -> PageModel.ofSlice(rows, pageable));
+    }
+
+    /**
+     * Builds a {@link Mono} containing a {@link PageModel} in the mode requested by the {@link PageableModel}.
+     * <p>
+     * The count {@link Mono} is only subscribed for {@link PageableModel.Mode#PAGED} requests;
+     * slice requests skip it entirely.
+     * </p>
+     *
+     * @param <T>           the type of the content elements.
+     * @param content       the {@link Flux} emitting the content elements for the current page.
+     * @param totalElements the {@link Mono} emitting the total number of elements, subscribed only when needed.
+     * @param pageable      the original {@link PageableModel} request.
+     * @return a {@link Mono} that emits the constructed {@link PageModel}.
+     */
+    public static <T> Mono<PageModel<T>> build(
+            Flux<T> content,
+            Mono<Long> totalElements,
+            PageableModel pageable) {
+
+        if (pageable.isSlice()) {
+            return buildSlice(content, pageable);
+        }
+        return buildPage(content, totalElements, pageable);
+    }
+
+    /**
+     * Builds a {@link Mono} containing a {@link CursorPageModel} from the rows of a keyset query.
+     * <p>
+     * The content is expected to be filtered with the seek criteria and sorted with
+     * {@link PageableModel#getEffectiveSort()}; at most {@code itemsPerPage + 1} rows are requested from it,
+     * the extra row telling whether another page exists. No count query is involved.
+     * </p>
+     *
+     * @param <T>          the type of the content elements.
+     * @param content      the {@link Flux} emitting the rows located after (or before) the cursor.
+     * @param pageable     the keyset {@link PageableModel} request.
+     * @param keyExtractor extracts the sort key values of a row, in the order of the sort orders.
+     * @return a {@link Mono} that emits the constructed {@link CursorPageModel}.
+     */
+    public static <T> Mono<CursorPageModel<T>> buildCursorPage(
+            Flux<T> content,
+            PageableModel pageable,
+            Function<? super T, ? extends List<?>> keyExtractor) {
+
+        return content.take(pageable.getItemsPerPage() + 1L)
+                .collectList()
+                .map(rows -> CursorPageModel.of(rows, pageable, keyExtractor));
+    }
 }
@@ -0,0 +1,121 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.ProjectionModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Runs a {@link Criteria} as a paginated query selecting a {@link ProjectionModel projection} instead of
+ * whole entities.
+ * <p>
+ * Only the columns of the projection properties are listed in the {@code SELECT} clause, and the rows are mapped
+ * to the projection type by Spring Data R2DBC, matching the constructor parameters (or properties) by name.
+ * The count query, run for paged requests only, shares the criteria of the content query.
+ * </p>
+ * <p>
+ * R2DBC has no joins: the properties must be columns of the entity table, nested paths are rejected.
+ * </p>
+ *
+ * @param <T> the type of the entity.
+ * @param <P> the type of the projection.
+ */
+public final class ReactiveProjectionQuery<T, P> {
+
+    private final R2dbcEntityOperations operations;
+    private final Class<T> entityType;
+    private final ProjectionModel<P> projection;
+    private final Criteria criteria;
+
+    private ReactiveProjectionQuery(Builder<T, P> builder) {
+        this.operations = builder.operations;
+        this.entityType = builder.entityType;
+        this.projection = builder.projection;
+        this.criteria = builder.criteria;
+    }
+
+    public static <T, P> Builder<T, P> builder(R2dbcEntityOperations operations,
+                                               Class<T> entityType,
+                                               ProjectionModel<P> projection) {
+        return new Builder<>(operations, entityType, projection);
+    }
+
+    public static final class Builder<T, P> {
+        private final R2dbcEntityOperations operations;
+        private final Class<T> entityType;
+        private final ProjectionModel<P> projection;
+        private Criteria criteria = Criteria.empty();
+
+        private Builder(R2dbcEntityOperations operations, Class<T> entityType, ProjectionModel<P> projection) {
+            this.operations = Objects.requireNonNull(operations, "R2dbcEntityOperations cannot be null");
+            this.entityType = Objects.requireNonNull(entityType, "Entity type cannot be null");
+            this.projection = Objects.requireNonNull(projection, "Projection cannot be null");
+        }
+
+        /**
+         * @param criteria the filters, typically built by {@link FilterCriteriaBuilder}.
+         * @return this builder.
+         */
+        public Builder<T, P> criteria(Criteria criteria) {
+            this.criteria = criteria == null ? Criteria.empty() : criteria;
+            return this;
+        }
+
+        /**
+         * @return the query.
+         * @throws MalFormedQueryException if a projection property is a nested path.
+         */
+        public ReactiveProjectionQuery<T, P> build() {
+            for (String property : projection.getProperties()) {
+                if (property.indexOf('.') >= 0) {
+                    throw new MalFormedQueryException(
+                            "Nested projection property '" + property + "' is not supported by R2DBC");
+                }
+            }
+            return new ReactiveProjectionQuery<>(this);
+        }
+    }
+
+    /**
+     * Reads the requested page of projections.
+     * <p>
+     * Paged requests subscribe to a count query next to the content query; slice requests read one extra row
+     * instead.
+     * </p>
+     *
+     * @param pageable the pagination request, in paged or slice mode.
+     * @return a {@link Mono} that emits the page of projections, or an {@link IllegalArgumentException}
+     * for keyset requests.
+     */
+    public Mono<PageModel<P>> page(PageableModel pageable) {
+        Objects.requireNonNull(pageable, "Pageable cannot be null");
+        if (pageable.isKeyset()) {
+            return Mono.error(new IllegalArgumentException("Keyset pagination is not supported by projection queries"));
+        }
+
+        Query query = Query.query(criteria)
+                .columns(projection.getProperties())
+                .with(pageable.isSlice()
+                        ? PageableMapper.toLookaheadPageable(pageable)
+                        : PageableMapper.toSpringPageable(pageable));
+        Flux<P> content = operations.select(entityType)
+                .as(projection.getType())
+                .matching(query)
+                .all();
+        return ReactivePageBuilder.build(content, count(), pageable);
+    }
+
+    /**
+     * @return a {@link Mono} that emits the number of entities matching the criteria.
+     */
+    public Mono<Long> count() {
+        return operations.count(Query.query(criteria), entityType);
+    }
+}
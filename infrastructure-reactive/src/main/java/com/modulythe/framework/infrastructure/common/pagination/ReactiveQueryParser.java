@@ -0,0 +1,39 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Utility class reading the filters and pagination of a WebFlux request with a {@link QuerySchema}.
+ * <p>
+ * The raw query string is parsed directly, without going through {@link ServerHttpRequest#getQueryParams()},
+ * which decodes every parameter into a {@link org.springframework.util.MultiValueMap} first.
+ * </p>
+ */
+public final class ReactiveQueryParser {
+
+    private ReactiveQueryParser() {
+        // Utility class
+    }
+
+    /**
+     * Parses the query string of a request.
+     *
+     * @param request the request.
+     * @param schema  the parameters declared by the endpoint.
+     * @return the filters and pagination request.
+     * @throws com.modulythe.framework.infrastructure.exception.MalFormedQueryException if a parameter is invalid.
+     */
+    public static PageQuery parse(ServerHttpRequest request, QuerySchema schema) {
+        return schema.parse(request.getURI().getRawQuery());
+    }
+
+    /**
+     * Parses the query string of the request of an exchange.
+     *
+     * @see #parse(ServerHttpRequest, QuerySchema)
+     */
+    public static PageQuery parse(ServerWebExchange exchange, QuerySchema schema) {
+        return parse(exchange.getRequest(), schema);
+    }
+}
@@ -0,0 +1,177 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class to stream query results straight to a WebFlux response, without materializing them.
+ * <p>
+ * Unlike {@link ReactivePageBuilder}, which collects the page into a list, the rows are serialized one by one as
+ * they are emitted by the repository and written as {@link DataBuffer}s. Demand flows from the HTTP writer back to
+ * the database driver: rows are requested in batches of at most {@link #DEFAULT_PREFETCH} (see
+ * {@link Flux#limitRate(int)}), so memory stays bounded whatever the size of the result.
+ * </p>
+ * <p>
+ * As the body is written while rows are read, the page envelope is sent as response headers
+ * ({@link #PAGE_NUMBER_HEADER}, {@link #PAGE_SIZE_HEADER}, {@link #TOTAL_COUNT_HEADER}, {@link #TOTAL_PAGES_HEADER}).
+ * An error raised after the first row has been written can no longer change the status: the response is aborted.
+ * </p>
+ */
+public final class ReactiveStreamBuilder {
+
+    public static final String PAGE_NUMBER_HEADER = "X-Page-Number";
+    public static final String PAGE_SIZE_HEADER = "X-Page-Size";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String TOTAL_PAGES_HEADER = "X-Total-Pages";
+
+    /**
+     * Default maximum number of rows requested at once from the source.
+     */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    private static final DataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+    private static final byte[] NEW_LINE = {'\n'};
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+    private static final byte[] SEPARATOR = {','};
+
+    /**
+     * Serialization format of a streamed body.
+     */
+    public enum StreamFormat {
+        /**
+         * Newline delimited JSON: one JSON document per line, consumable line by line.
+         */
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        /**
+         * A single JSON array, written element by element.
+         */
+        JSON_ARRAY(MediaType.APPLICATION_JSON);
+
+        private final MediaType mediaType;
+
+        StreamFormat(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+    }
+
+    private ReactiveStreamBuilder() {
+        // Utility class
+    }
+
+    /**
+     * Encodes a {@link Flux} of rows into a {@link Flux} of {@link DataBuffer}s, one row at a time.
+     *
+     * @param <T>      the type of the rows.
+     * @param content  the rows to write.
+     * @param format   the serialization format.
+     * @param mapper   the JSON mapper serializing each row.
+     * @param prefetch the maximum number of rows requested at once from the source.
+     * @return the encoded body.
+     */
+    public static <T> Flux<DataBuffer> encode(Flux<T> content, StreamFormat format, ObjectMapper mapper, int prefetch) {
+        Flux<T> rows = content.limitRate(prefetch);
+        if (format == StreamFormat.NDJSON) {
+            return rows.map(row -> wrap(toJson(mapper, row), NEW_LINE));
+        }
+        Flux<DataBuffer> elements = rows.index()
+                .map(indexed -> indexed.getT1() == 0
+                        ? wrap(toJson(mapper, indexed.getT2()))
+                        : wrap(SEPARATOR, toJson(mapper, indexed.getT2())));
+        return Flux.concat(
+                Mono.fromSupplier(() -> wrap(ARRAY_START)),
+                elements,
+                Mono.fromSupplier(() -> wrap(ARRAY_END)));
+    }
+
+    /**
+     * Builds a streamed response exporting every row of a query.
+     *
+     * @param <T>     the type of the rows.
+     * @param content the rows to export, typically an unpaged repository query.
+     * @param format  the serialization format.
+     * @param mapper  the JSON mapper serializing each row.
+     * @return the response, whose body is written as the rows are read.
+     */
+    public static <T> ResponseEntity<Flux<DataBuffer>> export(Flux<T> content, StreamFormat format, ObjectMapper mapper) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(encode(content, format, mapper, DEFAULT_PREFETCH));
+    }
+
+    /**
+     * Builds a streamed response for a page, its envelope being written as headers.
+     * <p>
+     * The count, when provided, is resolved before the first row is written, since headers precede the body.
+     * Without count (slice requests), the total headers are omitted.
+     * </p>
+     *
+     * @param <T>           the type of the rows.
+     * @param content       the rows of the page; at most {@code itemsPerPage} rows are written.
+     * @param totalElements the total number of elements across all pages, or null to omit it.
+     * @param pageable      the original {@link PageableModel} request containing page number and size.
+     * @param format        the serialization format.
+     * @param mapper        the JSON mapper serializing each row.
+     * @return the response, whose body is written as the rows are read.
+     */
+    public static <T> Mono<ResponseEntity<Flux<DataBuffer>>> streamPage(
+            Flux<T> content,
+            Mono<Long> totalElements,
+            PageableModel pageable,
+            StreamFormat format,
+            ObjectMapper mapper) {
+
+        int size = pageable.getItemsPerPage();
+        Flux<DataBuffer> body = encode(content.take(size), format, mapper, Math.min(size, DEFAULT_PREFETCH));
+        Mono<HttpHeaders> headers = totalElements == null
+                ? Mono.fromSupplier(() -> pageHeaders(pageable, null))
+                : totalElements.map(total -> pageHeaders(pageable, total));
+
+        return headers.map(envelope -> ResponseEntity.ok()
+                .headers(envelope)
+                .contentType(format.getMediaType())
+                .body(body));
+    }
+
+    private static HttpHeaders pageHeaders(PageableModel pageable, Long total) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(PAGE_NUMBER_HEADER, String.valueOf(pageable.getPageNumber()));
+        headers.set(PAGE_SIZE_HEADER, String.valueOf(pageable.getItemsPerPage()));
+        if (total != null) {
+            headers.set(TOTAL_COUNT_HEADER, String.valueOf(total));
+            headers.set(TOTAL_PAGES_HEADER, String.valueOf((total + pageable.getItemsPerPage() - 1) / pageable.getItemsPerPage()));
+        }
+        return headers;
+    }
+
+    private static byte[] toJson(ObjectMapper mapper, Object row) {
+        try {
+            return mapper.writeValueAsBytes(row);
+        } catch (JsonProcessingException e) {
+            throw new TechnicalException("Unable to serialize a streamed row of type " + row.getClass().getName(), e);
+        }
+    }
+
+    private static DataBuffer wrap(byte[] first, byte[] second) {
+        DataBuffer buffer = BUFFER_FACTORY.allocateBuffer(first.length + second.length);
+        return buffer.write(first).write(second);
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return BUFFER_FACTORY.wrap(bytes);
+    }
+}
@@ -0,0 +1,80 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A full-text search condition, produced by {@link FilterCriteriaBuilder} for the filters registered with
+ * {@link FilterCriteriaBuilder#withFullTextSearch(String, TextSearch)}.
+ * <p>
+ * {@link org.springframework.data.relational.core.query.Criteria} has no full-text operator, so the search is
+ * carried as this native condition, nested in the criteria like a group. It is rendered by
+ * {@link CriteriaSqlRenderer} only: criteria holding a search must be run as native SQL through
+ * {@link org.springframework.r2dbc.core.DatabaseClient}, the R2DBC repositories and
+ * {@link org.springframework.data.r2dbc.core.R2dbcEntityTemplate} do not support them.
+ * </p>
+ *
+ * @param search  the search definition.
+ * @param text    the searched text.
+ * @param negated whether the condition matches the rows not matching the search.
+ */
+public record TextSearchCriteria(TextSearch search, String text, boolean negated) implements CriteriaDefinition {
+
+    public TextSearchCriteria {
+        Objects.requireNonNull(search, "Text search cannot be null");
+        Objects.requireNonNull(text, "Searched text cannot be null");
+    }
+
+    @Override
+    public boolean isGroup() {
+        return false;
+    }
+
+    @Override
+    public List<CriteriaDefinition> getGroup() {
+        return List.of();
+    }
+
+    @Override
+    public SqlIdentifier getColumn() {
+        return null;
+    }
+
+    @Override
+    public Comparator getComparator() {
+        return null;
+    }
+
+    @Override
+    public Object getValue() {
+        return text;
+    }
+
+    @Override
+    public boolean isIgnoreCase() {
+        return false;
+    }
+
+    @Override
+    public CriteriaDefinition getPrevious() {
+        return null;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public Combinator getCombinator() {
+        return Combinator.INITIAL;
+    }
+}
@@ -0,0 +1,103 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.relational.core.query.Criteria;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a frozen {@link FilterCriteriaBuilder}, binding values into cached templates, with a mutable one
+ * compiling its template on every call.
+ * <p>
+ * Requests carry 5 or 10 filters mixing LIKE, exact match, string date, multi-field search, native date,
+ * number and boolean filters. Run with {@code main} from the test classpath; not part of the test suite.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterCriteriaBuilderBenchmark {
+
+    @Param({"5", "10"})
+    private int filterCount;
+
+    private FilterCriteriaBuilder mutableBuilder;
+    private FilterCriteriaBuilder frozenBuilder;
+    private List<List<Filter>> requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        mutableBuilder = configure(new FilterCriteriaBuilder());
+        frozenBuilder = configure(new FilterCriteriaBuilder()).freeze();
+
+        requests = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            requests.add(request(i).subList(0, filterCount));
+        }
+    }
+
+    @Benchmark
+    public Criteria mutable() {
+        return mutableBuilder.build(nextRequest());
+    }
+
+    @Benchmark
+    public Criteria frozen() {
+        return frozenBuilder.build(nextRequest());
+    }
+
+    private List<Filter> nextRequest() {
+        next = (next + 1) & 63;
+        return requests.get(next);
+    }
+
+    private static FilterCriteriaBuilder configure(FilterCriteriaBuilder builder) {
+        return builder
+                .withMultiFieldSearch("search", List.of("title", "description", "reference"))
+                .withDateFields(List.of("createdDate"))
+                .withExactMatchFields(List.of("status", "currency"));
+    }
+
+    private static List<Filter> request(int seed) {
+        LocalDate day = LocalDate.of(2024, 1, 1).plusDays(seed);
+        return List.of(
+                new FilterString("search", "order " + seed),
+                new FilterString("status", seed % 2 == 0 ? "ACTIVE" : "PENDING"),
+                new FilterString("createdDate", day.toString()),
+                FilterDate.builder()
+                        .name("updatedAt")
+                        .startDate(day)
+                        .filterDateType(FilterDate.FilterDateType.AFTER)
+                        .build(),
+                new FilterBoolean("archived", seed % 3 == 0),
+                new FilterString("customerName", "cust" + seed),
+                new FilterNumber("amount", 100.0 + seed),
+                new FilterString("currency", "EUR"),
+                FilterDate.builder()
+                        .name("dueDate")
+                        .startDate(day)
+                        .endDate(day.plusDays(30))
+                        .filterDateType(FilterDate.FilterDateType.BETWEEN)
+                        .build(),
+                new FilterString("country", "FR"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FilterCriteriaBuilderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,7 +1,14 @@
 package com.modulythe.framework.infrastructure.common.pagination;
 
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterComposite;
 import com.modulythe.framework.domain.common.pagination.FilterDate;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
 import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.domain.common.pagination.KeysetCursor;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
 import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,6 +68,56 @@ class FilterCriteriaBuilderTest {
         assertThat(result.toString()).contains("status = 'ACTIVE'");
     }
 
+    @Test
+    void build_ShouldBuildPrefixLike_WhenPrefixModeIsConfigured() {
+        // Given
+        builder.withMatchMode(FilterString.MatchMode.PREFIX, List.of("reference"));
+
+        // When
+        Criteria result = builder.build(List.of(new FilterString("reference", "AB_")));
+
+        // Then
+        assertThat(result.toString())
+                .contains("reference LIKE 'AB\\_%'")
+                .doesNotContain(">=")
+                .doesNotContain("<");
+    }
+
+    @Test
+    void build_ShouldBuildPrefixRange_WhenColumnIsCollated() {
+        // Given
+        builder.withMatchMode(FilterString.MatchMode.PREFIX, List.of("reference"))
+                .withCollatedPrefixRange(List.of("reference"));
+
+        // When
+        Criteria result = builder.build(List.of(new FilterString("reference", "AB_")));
+
+        // Then
+        assertThat(result.toString())
+                .contains("reference >= 'AB_'")
+                .contains("reference < 'AB`'")
+                .contains("reference LIKE 'AB\\_%'");
+    }
+
+    @Test
+    void build_ShouldUseNormalizedColumn_WhenFilterIsCaseInsensitivePrefix() {
+        // Given
+        builder.withNormalizedColumn("name", "name_lower")
+                .withCollatedPrefixRange(List.of("name_lower"));
+        Filter filter = new FilterString("name", "John", FilterString.MatchMode.CASE_INSENSITIVE_PREFIX);
+
+        // When
+        Criteria result = builder.build(List.of(filter));
+        Criteria exact = builder.build(List.of(new FilterString("name", "John", FilterString.MatchMode.EXACT)));
+
+        // Then
+        assertThat(result.toString())
+                .contains("name_lower >= 'john'")
+                .contains("name_lower < 'joho'")
+                .doesNotContain("UPPER");
+        assertThat(exact.toString()).contains("name = 'John'");
+    }
+
     @Test
     void build_ShouldBuildDateRange_WhenFieldIsDateAndFormatIsValid() {
         // Given
@@ -127,4 +184,215 @@ class FilterCriteriaBuilderTest {
         // Then
         assertThat(result.toString()).contains("publishDate BETWEEN");
     }
+
+    @Test
+    void seek_ShouldReturnEmptyCriteria_WhenFirstKeysetPage() {
+        PageableModel pageable = PageableModel.keyset(20,
+                SortModel.by(List.of(SortModel.Order.by("id", SortModel.Direction.ASC))), null);
+
+        assertThat(builder.seek(pageable).isEmpty()).isTrue();
+    }
+
+    @Test
+    void seek_ShouldExpandRowValueComparison_WhenCursorIsPresent() {
+        // Given
+        SortModel sort = SortModel.by(List.of(
+                SortModel.Order.by("createdAt", SortModel.Direction.DESC),
+                SortModel.Order.by("id", SortModel.Direction.ASC)));
+        PageableModel pageable = PageableModel.keyset(20, sort, KeysetCursor.after(List.of("2024-01-01", 7L)));
+
+        // When
+        Criteria result = builder.seek(pageable);
+
+        // Then
+        // Should be createdAt <= v AND (createdAt < v OR (createdAt = v AND id > 7))
+        assertThat(result.toString())
+                .contains("createdAt <= '2024-01-01'")
+                .contains("createdAt < '2024-01-01'")
+                .contains("createdAt = '2024-01-01'")
+                .contains("id > 7");
+    }
+
+    @Test
+    void build_ShouldProduceSameCriteria_WhenFrozen() {
+        // Given
+        builder.withExactMatchFields(List.of("status"))
+                .withMultiFieldSearch("search", List.of("firstName", "lastName"));
+        List<Filter> filters = List.of(new FilterString("status", "ACTIVE"), new FilterString("search", "doe"));
+        String expected = builder.build(filters).toString();
+
+        // When
+        Criteria result = builder.freeze().build(filters);
+
+        // Then
+        assertThat(result.toString()).isEqualTo(expected);
+    }
+
+    @Test
+    void build_ShouldReuseTemplate_WhenFrozenAndOnlyValuesDiffer() {
+        // Given
+        builder.withDateFields(List.of("createdDate")).freeze();
+
+        // When
+        Criteria first = builder.build(List.of(new FilterString("createdDate", "2023-10-05")));
+        Criteria second = builder.build(List.of(new FilterString("createdDate", "2024-02-29")));
+
+        // Then
+        assertThat(builder.cachedTemplates()).isEqualTo(1);
+        assertThat(first.toString()).contains("createdDate >= '2023-10-05");
+        assertThat(second.toString()).contains("createdDate < '2024-03-01");
+    }
+
+    @Test
+    void withExactMatchFields_ShouldThrowIllegalStateException_WhenFrozen() {
+        builder.freeze();
+
+        assertThatThrownBy(() -> builder.withExactMatchFields(List.of("status")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void parseIsoDate_ShouldRejectInvalidCalendarDates() {
+        assertThat(FilterCriteriaBuilder.parseIsoDate("2024-02-29")).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(FilterCriteriaBuilder.parseIsoDate("2023-02-29")).isNull();
+        assertThat(FilterCriteriaBuilder.parseIsoDate("2023-1-05")).isNull();
+        assertThat(FilterCriteriaBuilder.parseIsoDate("2023-10-0a")).isNull();
+    }
+
+    @Test
+    void build_ShouldCombineOperandsWithOr_WhenCompositeIsOr() {
+        // Given
+        builder.withExactMatchFields(List.of("status"));
+        Filter filter = FilterComposite.or(new FilterString("status", "ACTIVE"), new FilterString("status", "PENDING"));
+
+        // When
+        Criteria result = builder.build(List.of(filter));
+
+        // Then
+        assertThat(result.toString())
+                .contains("status = 'ACTIVE'")
+                .contains(" OR ")
+                .contains("status = 'PENDING'");
+    }
+
+    @Test
+    void build_ShouldPushNegationDownToLeaves_WhenCompositeIsNot() {
+        // Given
+        builder.withExactMatchFields(List.of("status"));
+        Filter filter = FilterComposite.not(FilterComposite.or(
+                new FilterString("status", "ACTIVE"),
+                new FilterString("name", "John")));
+
+        // When
+        Criteria result = builder.build(List.of(filter));
+
+        // Then
+        // not(a or b) is rendered as (not a) and (not b)
+        assertThat(result.toString())
+                .contains("status != 'ACTIVE'")
+                .contains(" AND ")
+                .contains("name NOT LIKE '%John%'")
+                .doesNotContain(" OR ");
+    }
+
+    @Test
+    void build_ShouldReturnNeverMatchingCriteria_WhenExpressionIsAlwaysFalse() {
+        // Given
+        FilterString filter = new FilterString("name", "John");
+
+        // When
+        Criteria result = builder.build(List.of(filter, FilterComposite.not(FilterComposite.and())));
+
+        // Then
+        assertThat(result.toString()).contains("name IS NULL").contains("name IS NOT NULL");
+    }
+
+    @Test
+    void build_ShouldRenderFullTextSearchAndRelevance_WhenFilterIsMappedToTextSearch() {
+        // Given
+        builder.withExactMatchFields(List.of("status"))
+                .withFullTextSearch("search", TextSearch.builder(TextSearch.Backend.POSTGRES_FULL_TEXT, "title", "description")
+                        .language("english")
+                        .build())
+                .freeze();
+        CriteriaSqlRenderer renderer = new CriteriaSqlRenderer();
+
+        // When
+        Criteria result = builder.build(List.of(new FilterString("status", "ACTIVE"), new FilterString("search", " lord rings ")));
+        CriteriaSqlRenderer.SqlFragment where = renderer.render(result);
+        CriteriaSqlRenderer.SqlFragment relevance = renderer.renderRelevance(result, where.bindings().size());
+
+        // Then
+        assertThat(where.sql())
+                .contains("status = $1")
+                .contains("to_tsvector('english', concat_ws(' ', title, description)) @@ websearch_to_tsquery('english', $2)");
+        assertThat(where.bindings()).containsExactly("ACTIVE", "lord rings");
+        assertThat(relevance.sql()).isEqualTo(
+                "ts_rank(to_tsvector('english', concat_ws(' ', title, description)), websearch_to_tsquery('english', $3)) DESC");
+    }
+
+    @Test
+    void build_ShouldNegateTextSearchAndSkipBlankValues() {
+        // Given
+        builder.withFullTextSearch("search", TextSearch.builder(TextSearch.Backend.POSTGRES_TRIGRAM, "title").build());
+        CriteriaSqlRenderer renderer = new CriteriaSqlRenderer();
+
+        // When
+        Criteria negated = builder.build(List.of(FilterComposite.not(new FilterString("search", "tolkein"))));
+        Criteria blank = builder.build(List.of(new FilterString("search", "  ")));
+
+        // Then
+        assertThat(renderer.render(negated).sql()).contains("NOT (($1 <% title))");
+        assertThat(renderer.renderRelevance(negated, 1).isEmpty()).isTrue();
+        assertThat(blank.isEmpty()).isTrue();
+    }
+
+    @Test
+    void build_ShouldLeaveOrUnconstrained_WhenAnOperandIsABlankSearch() {
+        // Given
+        builder.withExactMatchFields(List.of("status"))
+                .withFullTextSearch("search", TextSearch.builder(TextSearch.Backend.POSTGRES_TRIGRAM, "title").build());
+        Filter blank = new FilterString("search", " ");
+        Filter status = new FilterString("status", "ACTIVE");
+
+        // When
+        Criteria or = builder.build(List.of(FilterComposite.or(blank, status)));
+        Criteria allBlank = builder.build(List.of(FilterComposite.or(blank, new FilterString("search", "  "))));
+        Criteria and = builder.build(List.of(FilterComposite.and(blank, status)));
+
+        // Then
+        assertThat(or.isEmpty()).isTrue();
+        assertThat(allBlank.isEmpty()).isTrue();
+        assertThat(and.toString()).isEqualTo("status = 'ACTIVE'");
+    }
+
+    @Test
+    void build_ShouldPadInList_WhenInListStrategyIsPadded() {
+        // Given
+        builder.withInListStrategy(InListStrategy.of(InListStrategy.Mode.PADDED)).freeze();
+        Filter filter = new FilterList("status", new FilterListValues(List.of("OPEN", "PENDING", "CLOSED")));
+
+        // When
+        CriteriaSqlRenderer.SqlFragment sql = new CriteriaSqlRenderer().render(builder.build(List.of(filter)));
+
+        // Then
+        assertThat(sql.sql()).isEqualTo("status IN ($1, $2, $3, $4)");
+        assertThat(sql.bindings()).containsExactly("OPEN", "PENDING", "CLOSED", "CLOSED");
+    }
+
+    @Test
+    void render_ShouldBindInListAsArray_WhenRendererIsInArrayMode() {
+        // Given
+        builder.withInListStrategy(InListStrategy.of(InListStrategy.Mode.ARRAY));
+        CriteriaSqlRenderer renderer = new CriteriaSqlRenderer().withInListStrategy(InListStrategy.of(InListStrategy.Mode.ARRAY));
+        Filter filter = FilterComposite.not(new FilterList("status", new FilterListValues(List.of("OPEN", "PENDING", "CLOSED"))));
+
+        // When
+        CriteriaSqlRenderer.SqlFragment sql = renderer.render(builder.build(List.of(filter)));
+
+        // Then
+        assertThat(sql.sql()).isEqualTo("status <> ALL($1)");
+        assertThat(sql.bindings()).hasSize(1);
+        assertThat((String[]) sql.bindings().get(0)).containsExactly("OPEN", "PENDING", "CLOSED", "CLOSED");
+    }
 }
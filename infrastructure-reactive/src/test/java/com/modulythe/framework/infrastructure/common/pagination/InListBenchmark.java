@@ -0,0 +1,112 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the statement cache hit rate of list filters of random lengths with each {@link InListStrategy}.
+ * <p>
+ * Requests carry a list filter of 1 to 500 values, built with a frozen {@link FilterCriteriaBuilder} and rendered
+ * by {@link CriteriaSqlRenderer}. Each statement goes through an LRU cache of 64 statements keyed by the SQL string,
+ * as the prepared statement cache of the driver and Hibernate's query plan cache are: its hits and misses are
+ * reported as secondary results, next to the rendering time. Run with {@code main} from the test classpath;
+ * not part of the test suite.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InListBenchmark {
+
+    private static final int CACHED_STATEMENTS = 64;
+
+    @Param({"PLAIN", "PADDED", "ARRAY"})
+    private InListStrategy.Mode mode;
+
+    private FilterCriteriaBuilder builder;
+    private CriteriaSqlRenderer renderer;
+    private List<List<Filter>> requests;
+    private int next;
+
+    /**
+     * Statement cache of the benchmark thread, whose public fields are reported by JMH.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCache {
+
+        public long hits;
+        public long misses;
+
+        private final Map<String, Boolean> statements = new LinkedHashMap<>(CACHED_STATEMENTS * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > CACHED_STATEMENTS;
+            }
+        };
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+            statements.clear();
+        }
+
+        void execute(String sql) {
+            if (statements.put(sql, Boolean.TRUE) != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        InListStrategy strategy = InListStrategy.of(mode);
+        builder = new FilterCriteriaBuilder().withInListStrategy(strategy).freeze();
+        renderer = new CriteriaSqlRenderer().withInListStrategy(strategy);
+
+        Random random = new Random(42);
+        requests = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            List<String> values = new ArrayList<>();
+            int size = 1 + random.nextInt(500);
+            for (int j = 0; j < size; j++) {
+                values.add("REF-" + random.nextInt(100_000));
+            }
+            requests.add(List.of(new FilterList("reference", new FilterListValues(values))));
+        }
+    }
+
+    @Benchmark
+    public String render(StatementCache cache) {
+        next = (next + 1) & 1023;
+        String sql = renderer.render(builder.build(requests.get(next))).sql();
+        cache.execute(sql);
+        return sql;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InListBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.PaginationFactory;
+import com.modulythe.framework.domain.common.pagination.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link QuerySchema#parse(String)} with the usual controller path: the query string decoded into a
+ * {@link MultiValueMap} by Spring, then each parameter converted with {@link PaginationFactory}.
+ * <p>
+ * Run with {@code main} from the test classpath; not part of the test suite.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuerySchemaBenchmark {
+
+    private static final QuerySchema SCHEMA = QuerySchema.builder()
+            .filter("q", "title", Filter.FilterType.STRING)
+            .filter("amount", Filter.FilterType.NUMBER)
+            .filter("archived", Filter.FilterType.BOOLEAN)
+            .filter("status", Filter.FilterType.LIST)
+            .sortable("title", "amount")
+            .build();
+
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = "q=red+chair+" + i + "&amount=" + (10 + i) + ".5&archived=" + (i % 2 == 0)
+                    + "&status=OPEN,PENDING&page=" + (i % 5) + "&size=20&sort=amount,desc&utm_source=newsletter";
+        }
+    }
+
+    @Benchmark
+    public PageQuery schema() {
+        return SCHEMA.parse(nextQuery());
+    }
+
+    @Benchmark
+    public PageQuery multiValueMap() {
+        MultiValueMap<String, String> parameters = UriComponentsBuilder.fromUriString("/items?" + nextQuery())
+                .build()
+                .getQueryParams();
+        List<Filter> filters = new ArrayList<>();
+        filters.addAll(PaginationFactory.createFilters("title", decode(parameters.getFirst("q")), Filter.FilterType.STRING));
+        filters.addAll(PaginationFactory.createFilters("amount", parameters.getFirst("amount"), Filter.FilterType.NUMBER));
+        filters.addAll(PaginationFactory.createFilters("archived", parameters.getFirst("archived"), Filter.FilterType.BOOLEAN));
+        filters.addAll(PaginationFactory.createFilters("status",
+                Arrays.asList(parameters.getFirst("status").split(",")), Filter.FilterType.LIST));
+        String[] sort = parameters.getFirst("sort").split(",");
+        PageableModel pageable = PageableModel.of(Integer.parseInt(parameters.getFirst("page")),
+                Integer.parseInt(parameters.getFirst("size")),
+                SortModel.by(List.of(SortModel.Order.by(sort[0], SortModel.Direction.valueOf(sort[1].toUpperCase())))));
+        return new PageQuery(filters, pageable);
+    }
+
+    private String nextQuery() {
+        next = (next + 1) & 63;
+        return queries[next];
+    }
+
+    private static String decode(String value) {
+        return UriUtils.decode(value.replace('+', ' '), StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QuerySchemaBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
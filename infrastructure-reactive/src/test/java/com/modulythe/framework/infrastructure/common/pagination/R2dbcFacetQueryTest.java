@@ -0,0 +1,76 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.FacetModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class R2dbcFacetQueryTest {
+
+    private static final DatabaseClient UNUSED_CLIENT = (DatabaseClient) Proxy.newProxyInstance(
+            DatabaseClient.class.getClassLoader(), new Class<?>[]{DatabaseClient.class},
+            (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+    private static final FacetModel FACETS = FacetModel.builder()
+            .count("status", "countryCode")
+            .range("amount")
+            .build();
+
+    @Test
+    void render_ShouldGroupAllFacetsInOneScan_WhenGroupingSets() {
+        // Given
+        R2dbcFacetQuery query = new R2dbcFacetQuery(UNUSED_CLIENT);
+
+        // When
+        CriteriaSqlRenderer.SqlFragment sql = query.render("orders", Criteria.where("customerId").is(42), FACETS);
+
+        // Then
+        assertThat(sql.sql()).isEqualTo("SELECT CASE WHEN GROUPING(status) = 0 THEN 0"
+                + " WHEN GROUPING(country_code) = 0 THEN 1 ELSE -1 END AS facet,"
+                + " CASE WHEN GROUPING(status) = 0 THEN CAST(status AS VARCHAR)"
+                + " WHEN GROUPING(country_code) = 0 THEN CAST(country_code AS VARCHAR) END AS val, COUNT(*) AS n,"
+                + " CAST(MIN(amount) AS DOUBLE PRECISION) AS min0, CAST(MAX(amount) AS DOUBLE PRECISION) AS max0"
+                + " FROM orders WHERE customer_id = $1"
+                + " GROUP BY GROUPING SETS ((status), (country_code), ())");
+        assertThat(sql.bindings()).containsExactly(42);
+    }
+
+    @Test
+    void render_ShouldRepeatFiltersPerBranch_WhenUnion() {
+        // Given
+        R2dbcFacetQuery query = new R2dbcFacetQuery(UNUSED_CLIENT, new CriteriaSqlRenderer(), R2dbcFacetQuery.Plan.UNION);
+
+        // When
+        CriteriaSqlRenderer.SqlFragment sql = query.render("orders", Criteria.where("customerId").is(42),
+                FacetModel.builder().count("status").range("amount").build());
+
+        // Then
+        assertThat(sql.sql()).isEqualTo("SELECT 0 AS facet, CAST(status AS VARCHAR) AS val, COUNT(*) AS n,"
+                + " CAST(NULL AS DOUBLE PRECISION) AS min0, CAST(NULL AS DOUBLE PRECISION) AS max0"
+                + " FROM orders WHERE customer_id = $1 GROUP BY status"
+                + " UNION ALL SELECT -1 AS facet, CAST(NULL AS VARCHAR) AS val, COUNT(*) AS n,"
+                + " CAST(MIN(amount) AS DOUBLE PRECISION) AS min0, CAST(MAX(amount) AS DOUBLE PRECISION) AS max0"
+                + " FROM orders WHERE customer_id = $2");
+        assertThat(sql.bindings()).isEqualTo(List.of(42, 42));
+    }
+
+    @Test
+    void render_ShouldThrowMalFormedQueryException_WhenFacetIsNotAColumn() {
+        // Given
+        R2dbcFacetQuery query = new R2dbcFacetQuery(UNUSED_CLIENT);
+        FacetModel facets = FacetModel.builder().count("status; DROP TABLE orders").build();
+
+        // When / Then
+        assertThatThrownBy(() -> query.render("orders", Criteria.empty(), facets))
+                .isInstanceOf(MalFormedQueryException.class);
+    }
+}
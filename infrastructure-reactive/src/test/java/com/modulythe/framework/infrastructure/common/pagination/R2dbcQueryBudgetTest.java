@@ -0,0 +1,73 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class R2dbcQueryBudgetTest {
+
+    private final R2dbcQueryBudget budget = new R2dbcQueryBudget(
+            QueryBudget.of(Duration.ofSeconds(5), Duration.ofSeconds(1)));
+
+    private static Mono<Long> slowCount() {
+        return Mono.delay(Duration.ofSeconds(30)).thenReturn(12L);
+    }
+
+    @Test
+    void query_ShouldCancelAndFail_WhenBudgetIsExceeded() {
+        // Given
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        // When / Then
+        StepVerifier.withVirtualTime(() -> budget.query(Flux.<String>never().doOnCancel(() -> cancelled.set(true))))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(5))
+                .expectError(QueryBudgetExceededException.class)
+                .verify();
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void query_ShouldFail_WhenSteadyRowsExceedBudgetInTotal() {
+        // Given
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        // When / Then
+        StepVerifier.withVirtualTime(() -> budget.query(Flux.interval(Duration.ofSeconds(2)).doOnCancel(() -> cancelled.set(true))))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(4))
+                .expectNext(0L, 1L)
+                .thenAwait(Duration.ofSeconds(1))
+                .expectError(QueryBudgetExceededException.class)
+                .verify();
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void count_ShouldFallBackToEstimate_WhenBudgetIsExceeded() {
+        // When / Then
+        StepVerifier.withVirtualTime(() -> budget.count(slowCount(), Mono.just(120_000L)))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(PageCount.estimated(120_000))
+                .verifyComplete();
+    }
+
+    @Test
+    void count_ShouldFail_WhenBudgetIsExceededAndNoEstimateIsAvailable() {
+        // When / Then
+        StepVerifier.withVirtualTime(() -> budget.count(slowCount(), Mono.empty()))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectError(QueryBudgetExceededException.class)
+                .verify();
+    }
+}
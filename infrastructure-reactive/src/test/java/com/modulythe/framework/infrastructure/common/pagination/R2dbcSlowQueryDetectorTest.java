@@ -0,0 +1,157 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.SlowQuery;
+import com.modulythe.framework.application.pagination.SlowQueryLog;
+import com.modulythe.framework.application.pagination.SlowQueryProperties;
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException;
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class R2dbcSlowQueryDetectorTest {
+
+    private static final List<Filter> FILTERS = List.of(new FilterString("status", "OPEN"));
+
+    private final SlowQueryProperties properties = new SlowQueryProperties();
+    private final DatabaseClient databaseClient = mock(DatabaseClient.class);
+    private final Batch batch = mock(Batch.class);
+    private final Sinks.Many<String> plan = Sinks.many().unicast().onBackpressureBuffer();
+    private SlowQueryLog log;
+    private R2dbcSlowQueryDetector detector;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setThreshold(Duration.ZERO);
+        log = new SlowQueryLog(properties);
+        detector = new R2dbcSlowQueryDetector(log, databaseClient);
+
+        Connection connection = mock(Connection.class);
+        Result result = mock(Result.class);
+        when(databaseClient.inConnectionMany(any())).thenAnswer(invocation ->
+                invocation.<Function<Connection, Flux<?>>>getArgument(0).apply(connection));
+        when(connection.createBatch()).thenReturn(batch);
+        when(batch.add(anyString())).thenReturn(batch);
+        doReturn(Flux.just(result)).when(batch).execute();
+        doReturn(plan.asFlux()).when(result).map(any(BiFunction.class));
+    }
+
+    @Test
+    void time_ShouldCompleteBeforeExplaining_WhenQueryIsSlow() {
+        // Given
+        Flux<String> query = Flux.just("A-1", "A-2").delayElements(Duration.ofMillis(5));
+
+        // When
+        StepVerifier.create(detector.time(Object.class, "orders", Criteria.where("status").is("OPEN"), FILTERS, query))
+                .expectNext("A-1", "A-2")
+                .verifyComplete();
+
+        // Then
+        assertThat(log.getEntries()).isEmpty();
+        plan.tryEmitNext("Seq Scan on orders");
+        plan.tryEmitNext("  Filter: (status = $1)");
+        plan.tryEmitComplete();
+        verify(batch).add("EXPLAIN (GENERIC_PLAN) SELECT * FROM orders WHERE status = $1");
+        assertThat(log.getEntries()).singleElement().satisfies(entry -> {
+            assertThat(entry.scope()).isEqualTo("Object");
+            assertThat(entry.outcome()).isEqualTo(SlowQuery.Outcome.COMPLETED);
+            assertThat(entry.statements()).containsExactly("SELECT * FROM orders WHERE status = $1");
+            assertThat(entry.plans()).containsExactly("Seq Scan on orders\n  Filter: (status = $1)\n");
+        });
+    }
+
+    @Test
+    void time_ShouldRecordFailure_WhenExplainFails() {
+        // Given
+        doReturn(Flux.error(new IllegalStateException("generic plans need PostgreSQL 16"))).when(batch).execute();
+
+        // When
+        Mono<String> query = detector.time(Object.class, "orders", Criteria.where("status").is("OPEN"), FILTERS,
+                Mono.just("A-1").delayElement(Duration.ofMillis(5)));
+
+        // Then
+        StepVerifier.create(query).expectNext("A-1").verifyComplete();
+        assertThat(log.getEntries()).extracting(SlowQuery::plans)
+                .containsExactly(List.of("EXPLAIN failed: generic plans need PostgreSQL 16"));
+    }
+
+    @Test
+    void time_ShouldRecordFailure_WhenQueryFails() {
+        // Given
+        properties.setExplain(false);
+
+        // When / Then
+        StepVerifier.create(detector.time(Object.class, "orders", Criteria.where("status").is("OPEN"), FILTERS,
+                        Flux.<String>error(new IllegalStateException("connection lost"))))
+                .verifyError(IllegalStateException.class);
+        assertThat(log.getEntries()).extracting(SlowQuery::outcome).containsExactly(SlowQuery.Outcome.FAILED);
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void time_ShouldRecordTimeout_WhenQueryExceedsItsBudget() {
+        // Given
+        properties.setExplain(false);
+        R2dbcQueryBudget budget = new R2dbcQueryBudget(QueryBudget.of(Duration.ofSeconds(5), Duration.ofSeconds(1)));
+
+        // When / Then
+        StepVerifier.withVirtualTime(() -> detector.time(Object.class, "orders", Criteria.where("status").is("OPEN"),
+                        FILTERS, budget.query(Flux.<String>never())))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(5))
+                .verifyError(QueryBudgetExceededException.class);
+        assertThat(log.getEntries()).singleElement().satisfies(entry -> {
+            assertThat(entry.outcome()).isEqualTo(SlowQuery.Outcome.TIMED_OUT);
+            assertThat(entry.statements()).containsExactly("SELECT * FROM orders WHERE status = $1");
+        });
+    }
+
+    @Test
+    void time_ShouldRecordCancellation_WhenSubscriberGoesAway() {
+        // Given
+        properties.setExplain(false);
+
+        // When / Then
+        StepVerifier.create(detector.time(Object.class, "orders", Criteria.where("status").is("OPEN"), FILTERS,
+                        Flux.<String>never()))
+                .expectSubscription()
+                .thenCancel()
+                .verify();
+        assertThat(log.getEntries()).extracting(SlowQuery::outcome).containsExactly(SlowQuery.Outcome.CANCELLED);
+    }
+
+    @Test
+    void time_ShouldReturnQueryUntouched_WhenLogIsDisabled() {
+        // Given
+        properties.setEnabled(false);
+        Flux<String> query = Flux.just("A-1");
+
+        // When / Then
+        assertThat(detector.time(Object.class, "orders", Criteria.empty(), List.of(), query)).isSameAs(query);
+    }
+}
@@ -0,0 +1,80 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveStreamBuilderTest {
+
+    record Row(int id, String name) {
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static String asString(Flux<DataBuffer> body) {
+        return body.map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .reduce("", String::concat)
+                .block();
+    }
+
+    @Test
+    void encode_ShouldWriteOneDocumentPerLine_WhenNdjson() {
+        Flux<DataBuffer> body = ReactiveStreamBuilder.encode(
+                Flux.just(new Row(1, "a"), new Row(2, "b")), ReactiveStreamBuilder.StreamFormat.NDJSON, mapper, 16);
+
+        assertThat(asString(body)).isEqualTo("{\"id\":1,\"name\":\"a\"}\n{\"id\":2,\"name\":\"b\"}\n");
+    }
+
+    @Test
+    void encode_ShouldWriteJsonArray_WhenJsonArray() {
+        Flux<DataBuffer> body = ReactiveStreamBuilder.encode(
+                Flux.just(new Row(1, "a"), new Row(2, "b")), ReactiveStreamBuilder.StreamFormat.JSON_ARRAY, mapper, 16);
+        Flux<DataBuffer> empty = ReactiveStreamBuilder.encode(
+                Flux.<Row>empty(), ReactiveStreamBuilder.StreamFormat.JSON_ARRAY, mapper, 16);
+
+        assertThat(asString(body)).isEqualTo("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]");
+        assertThat(asString(empty)).isEqualTo("[]");
+    }
+
+    @Test
+    void encode_ShouldBoundDemandOnSource() {
+        AtomicLong maxRequest = new AtomicLong();
+        Flux<Row> source = Flux.range(0, 10_000)
+                .map(i -> new Row(i, "row"))
+                .doOnRequest(n -> maxRequest.accumulateAndGet(n, Math::max));
+
+        StepVerifier.create(ReactiveStreamBuilder.encode(source, ReactiveStreamBuilder.StreamFormat.NDJSON, mapper, 64), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+
+        assertThat(maxRequest.get()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void streamPage_ShouldExposeEnvelopeAsHeaders() {
+        PageableModel pageable = new PageableModel(1, 2);
+
+        StepVerifier.create(ReactiveStreamBuilder.streamPage(
+                        Flux.just(new Row(3, "c"), new Row(4, "d"), new Row(5, "e")), Mono.just(5L), pageable,
+                        ReactiveStreamBuilder.StreamFormat.NDJSON, mapper))
+                .assertNext(response -> {
+                    assertThat(response.getHeaders().getFirst(ReactiveStreamBuilder.TOTAL_COUNT_HEADER)).isEqualTo("5");
+                    assertThat(response.getHeaders().getFirst(ReactiveStreamBuilder.TOTAL_PAGES_HEADER)).isEqualTo("3");
+                    assertThat(response.getHeaders().getFirst(ReactiveStreamBuilder.PAGE_NUMBER_HEADER)).isEqualTo("1");
+                    assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+                    assertThat(asString(response.getBody())).hasLineCount(2);
+                })
+                .verifyComplete();
+    }
+}
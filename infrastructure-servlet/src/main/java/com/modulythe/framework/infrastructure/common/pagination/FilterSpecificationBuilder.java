@@ -2,14 +2,40 @@ package com.modulythe.framework.infrastructure.common.pagination;
 
 import com.modulythe.framework.domain.common.pagination.*;
 import com.modulythe.framework.infrastructure.common.security.SqlSanitizer;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Utility class to build Spring Data JPA Specifications from Domain Filters.
@@ -17,77 +43,808 @@ import java.util.List;
  * This class translates a list of domain {@link Filter} objects into a {@link Specification}
  * suitable for use with JpaSpecificationExecutor.
  * </p>
+ * <p>
+ * Filters are translated through compiled plans cached per filter shape (entity class, property names,
+ * filter types and date sub-types): the attribute types and predicate factories are resolved once per shape,
+ * and only the filter values are bound per request. Queries of the same shape therefore produce structurally
+ * identical criteria, which Hibernate can match in its query plan cache
+ * ({@code hibernate.criteria.plan_cache_enabled}).
+ * When built with the entity class, plans are compiled eagerly and unknown properties are rejected
+ * before any query is run.
+ * </p>
+ * <p>
+ * Properties may be dot-separated paths through associations ({@code customer.address.city}). Each association
+ * is LEFT joined once per query, however many filters, seek conditions or sort orders use it: existing joins and
+ * fetches of the query are reused, so combining {@link #fetch(String...)} with the filters reads the association
+ * in the same join. Embedded attributes are navigated without join. A path through a collection makes the query
+ * distinct, as it would otherwise return a row per matching element.
+ * </p>
+ * <p>
+ * String filters follow their {@link FilterString.MatchMode}, or the mode configured for their property with
+ * {@link #matchMode(String, FilterString.MatchMode)}. Prefix modes are translated to {@code col LIKE 'abc%'}, and
+ * case-insensitive modes may run against a {@link #normalizedProperty(String, String) normalized shadow column}
+ * instead of {@code lower(col)}. On the columns declared with the C collation, prefix modes may also be
+ * {@link #collatedPrefixRange(String...) bounded by an index range} ({@code col >= 'abc' AND col < 'abd'}), so that
+ * they can be answered from a B-tree index.
+ * </p>
+ * <p>
+ * A filter name may be bound to a {@link #textSearch(String, TextSearch) full-text search} across several
+ * properties, answered by a full-text or trigram index, and the results sorted by relevance with
+ * {@link #orderByRelevance(List)}. The PostgreSQL backends rely on the functions registered by
+ * {@link TextSearchFunctionContributor}.
+ * </p>
+ * <p>
+ * List filters are bound according to the {@link #inListStrategy(InListStrategy) IN-list strategy}: padded to
+ * power-of-two sizes, or as a single array parameter, so that lists of different lengths share their query plan.
+ * </p>
  *
  * @param <T> the entity type
  */
 public class FilterSpecificationBuilder<T> {
 
+    /**
+     * Maximum number of cached plans per builder; further shapes are compiled on each request.
+     */
+    static final int MAX_CACHED_PLANS = 512;
+
+    private final Class<T> entityType;
+    private final Map<FilterShape, FilterPlan> plans = new ConcurrentHashMap<>();
+    private final Map<String, FilterString.MatchMode> matchModes = new ConcurrentHashMap<>();
+    private final Map<String, String> normalizedProperties = new ConcurrentHashMap<>();
+    private final Set<String> collatedProperties = ConcurrentHashMap.newKeySet();
+    private final Map<String, TextSearch> textSearches = new ConcurrentHashMap<>();
+    private volatile InListStrategy inListStrategy = InListStrategy.PLAIN;
+
+    /**
+     * Creates a builder resolving attribute types from the JPA metamodel, on the first query of each shape.
+     */
+    public FilterSpecificationBuilder() {
+        this.entityType = null;
+    }
+
+    /**
+     * Creates a builder compiling its plans eagerly from the entity class.
+     *
+     * @param entityType the entity class.
+     */
+    public FilterSpecificationBuilder(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * Sets the match mode of the string filters on a property that do not specify their own.
+     * <p>
+     * Like {@link #normalizedProperty(String, String)}, it is meant to be called while configuring the builder:
+     * it discards the cached plans.
+     * </p>
+     *
+     * @param property the filtered property.
+     * @param mode     the match mode.
+     * @return this builder for chaining.
+     */
+    public FilterSpecificationBuilder<T> matchMode(String property, FilterString.MatchMode mode) {
+        matchModes.put(
+                Objects.requireNonNull(property, "Property cannot be null"),
+                Objects.requireNonNull(mode, "Match mode cannot be null"));
+        plans.clear();
+        return this;
+    }
+
+    /**
+     * Declares the normalized shadow property of a string property: a column holding its lower-cased value
+     * (e.g. a generated column {@code lower(name)}). Case-insensitive filters on the property are then run against it,
+     * with a lower-cased value, instead of calling {@code lower} on every row. If the column is declared with the
+     * C collation, it may also be {@link #collatedPrefixRange(String...) bounded by an index range} on
+     * case-insensitive prefix filters.
+     *
+     * @param property           the filtered property.
+     * @param normalizedProperty the property holding the lower-cased value.
+     * @return this builder for chaining.
+     * @throws MalFormedQueryException if the builder knows its entity class and the normalized property is unknown.
+     */
+    public FilterSpecificationBuilder<T> normalizedProperty(String property, String normalizedProperty) {
+        Objects.requireNonNull(property, "Property cannot be null");
+        Objects.requireNonNull(normalizedProperty, "Normalized property cannot be null");
+        if (entityType != null) {
+            resolve(entityType, normalizedProperty);
+        }
+        normalizedProperties.put(property, normalizedProperty);
+        plans.clear();
+        return this;
+    }
+
+    /**
+     * Declares the properties whose columns are compared with the C collation ({@code COLLATE "C"}), on which prefix
+     * filters add an index range to the {@code LIKE}: {@code col >= 'abc' AND col < 'abd' AND col LIKE 'abc%'}.
+     * <p>
+     * The range is computed by incrementing the last character of the prefix, which only bounds the matching values
+     * when strings are ordered by code point: under any other collation, it would drop matching rows. The properties
+     * are the filtered ones, or their {@link #normalizedProperty(String, String) normalized shadow properties} for
+     * case-insensitive prefix filters. Like {@link #matchMode(String, FilterString.MatchMode)}, it is meant to be
+     * called while configuring the builder: it discards the cached plans.
+     * </p>
+     *
+     * @param properties the properties whose columns use the C collation.
+     * @return this builder for chaining.
+     * @throws MalFormedQueryException if the builder knows its entity class and a property is unknown.
+     */
+    public FilterSpecificationBuilder<T> collatedPrefixRange(String... properties) {
+        for (String property : properties) {
+            Objects.requireNonNull(property, "Property cannot be null");
+            if (entityType != null) {
+                resolve(entityType, property);
+            }
+            collatedProperties.add(property);
+        }
+        plans.clear();
+        return this;
+    }
+
+    /**
+     * Maps a filter name to a full-text search across several properties, instead of a {@code LIKE} on a single one.
+     * A blank search value is ignored, a non-string filter of that name too.
+     * <p>
+     * With Hibernate, the search value is bound as a parameter, while the text search configuration of
+     * {@link TextSearch.Backend#POSTGRES_FULL_TEXT} is rendered as a literal, as in the native SQL of
+     * {@link TextSearch}, so that an expression index on {@code to_tsvector} can match the query. Like
+     * {@link #matchMode(String, FilterString.MatchMode)}, it is meant to be called while configuring the builder: it
+     * discards the cached plans.
+     * </p>
+     *
+     * @param filterName the name of the filter (e.g. "search").
+     * @param search     the full-text search definition.
+     * @return this builder for chaining.
+     * @throws MalFormedQueryException if the builder knows its entity class and a searched property is unknown.
+     */
+    public FilterSpecificationBuilder<T> textSearch(String filterName, TextSearch search) {
+        Objects.requireNonNull(filterName, "Filter name cannot be null");
+        Objects.requireNonNull(search, "Text search cannot be null");
+        if (entityType != null) {
+            search.getFields().forEach(field -> resolve(entityType, field));
+            if (search.getVectorField() != null) {
+                resolve(entityType, search.getVectorField());
+            }
+        }
+        textSearches.put(filterName, search);
+        plans.clear();
+        return this;
+    }
+
+    /**
+     * Sets how the values of list filters are bound, {@link InListStrategy#PLAIN as is} by default.
+     * <p>
+     * {@link InListStrategy.Mode#ARRAY Array} binding applies to string attributes and relies on the function
+     * registered by {@link InListFunctionContributor}; lists on other attributes are padded instead. Like
+     * {@link #matchMode(String, FilterString.MatchMode)}, it is meant to be called while configuring the builder:
+     * it discards the cached plans.
+     * </p>
+     *
+     * @param strategy the IN-list strategy.
+     * @return this builder for chaining.
+     */
+    public FilterSpecificationBuilder<T> inListStrategy(InListStrategy strategy) {
+        this.inListStrategy = Objects.requireNonNull(strategy, "In list strategy cannot be null");
+        plans.clear();
+        return this;
+    }
+
     /**
      * Builds a single {@link Specification} combining all the provided filters with AND logic.
+     * <p>
+     * The filters may be {@link FilterComposite AND/OR/NOT composites}; the expression is
+     * {@link FilterSimplifier simplified} first, and translated to nested {@code cb.and}, {@code cb.or}
+     * and {@code cb.not} predicates.
+     * </p>
      *
      * @param filters the list of domain filters.
      * @return a {@link Specification} representing the combined filters.
+     * @throws MalFormedQueryException if the builder knows its entity class and a filter targets an unknown property.
      */
     public Specification<T> build(List<Filter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        Filter expression = FilterSimplifier.simplify(filters);
+        if (FilterSimplifier.isAlwaysFalse(expression)) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        List<Filter> boundFilters = FilterSimplifier.conjuncts(expression);
+        if (boundFilters.isEmpty()) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        List<ShapeElement> elements = boundFilters.stream().map(ShapeElement::of).toList();
+        if (entityType != null) {
+            FilterPlan plan = planFor(new FilterShape(entityType, elements), null);
+            return (root, query, cb) -> plan.toPredicate(root, query, cb, boundFilters);
+        }
+        return (root, query, cb) -> planFor(new FilterShape(root.getJavaType(), elements), root)
+                .toPredicate(root, query, cb, boundFilters);
+    }
+
+    /**
+     * Builds a {@link Specification} fetch-joining associations, to be combined before the filters:
+     * {@code fetch("customer").and(build(filters))}.
+     * <p>
+     * The associations are loaded with the entities, instead of one lazy load per row when the result is rendered,
+     * and the filters on them reuse the fetch join. The fetches are skipped in the queries not selecting the entities
+     * of their root, whose result type is another class: count queries ({@code Long}), tuple or aggregate queries
+     * such as those of {@link JpaFacetQuery}. Fetch joins are not allowed there, and useless: the same specification
+     * serves both the page and the count query of {@code findAll(Specification, Pageable)}.
+     * </p>
+     * <p>
+     * Prefer fetching to-one associations: fetching a collection while paginating makes Hibernate paginate in memory.
+     * </p>
+     *
+     * @param paths the association paths, dot-separated for nested associations.
+     * @return the fetch {@link Specification}, matching every row.
+     * @throws MalFormedQueryException if the builder knows its entity class and a path is unknown.
+     */
+    public Specification<T> fetch(String... paths) {
+        List<String[]> segments = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            if (entityType != null) {
+                resolve(entityType, path);
+            }
+            segments.add(path.split("\\."));
+        }
         return (root, query, cb) -> {
-            if (filters == null || filters.isEmpty()) {
-                return cb.conjunction();
+            if (selectsRoot(root, query)) {
+                for (String[] path : segments) {
+                    FetchParent<?, ?> parent = root;
+                    for (String segment : path) {
+                        parent = fetch(parent, segment);
+                    }
+                }
             }
+            return cb.conjunction();
+        };
+    }
 
-            Predicate predicate = cb.conjunction();
-            for (Filter filter : filters) {
-                Predicate p = toPredicate(filter, root, cb);
-                if (p != null) {
-                    predicate = cb.and(predicate, p);
+    /**
+     * Builds a {@link Specification} sorting the results by the relevance of their {@link #textSearch(String,
+     * TextSearch) full-text searches}, most relevant first, to be combined with the filters:
+     * {@code build(filters).and(orderByRelevance(filters))}.
+     * <p>
+     * Only the searches of the top-level conjuncts of the filters are ranked. The order is skipped in count queries,
+     * and is replaced by the sort of the {@code Pageable}, if any, in {@code findAll(Specification, Pageable)}:
+     * request an unsorted page to sort by relevance. It cannot be combined with a keyset request, whose cursor
+     * needs the sort properties.
+     * </p>
+     *
+     * @param filters the list of domain filters.
+     * @return the ordering {@link Specification}, matching every row.
+     */
+    public Specification<T> orderByRelevance(List<Filter> filters) {
+        List<FilterString> searches = new ArrayList<>();
+        Filter expression = filters == null || filters.isEmpty() ? null : FilterSimplifier.simplify(filters);
+        if (expression != null && !FilterSimplifier.isAlwaysFalse(expression)) {
+            for (Filter filter : FilterSimplifier.conjuncts(expression)) {
+                if (filter instanceof FilterString search && textSearches.containsKey(search.getName())
+                        && searchText(search) != null) {
+                    searches.add(search);
+                }
+            }
+        }
+        return (root, query, cb) -> {
+            if (!searches.isEmpty() && query != null && !isCountQuery(query)) {
+                List<Order> orders = new ArrayList<>(searches.size());
+                for (FilterString search : searches) {
+                    TextSearch textSearch = textSearches.get(search.getName());
+                    List<PropertyPath> fields = textSearch.getFields().stream().map(field -> pathOf(root, field)).toList();
+                    PropertyPath vector = textSearch.getVectorField() != null ? pathOf(root, textSearch.getVectorField()) : null;
+                    orders.add(cb.desc(textSearchRank(textSearch, fields, vector, root, cb, searchText(search))));
                 }
+                query.orderBy(orders);
+            }
+            return cb.conjunction();
+        };
+    }
+
+    /**
+     * Builds the seek predicate of a keyset request, to be combined with the filters:
+     * {@code build(filters).and(seek(pageable))}.
+     * <p>
+     * The row-value comparison {@code (a, b) > (?, ?)} is not available in JPA criteria, so it is expanded to
+     * {@code a > ? OR (a = ? AND b > ?)}, each comparison following the direction of its sort order.
+     * A redundant {@code a >= ?} bound is added so that the database can range-scan the index of the leading key.
+     * </p>
+     *
+     * @param pageable the pagination request.
+     * @return the seek {@link Specification}, matching every row when the request is not a keyset one
+     * or has no cursor (first page).
+     */
+    public Specification<T> seek(PageableModel pageable) {
+        return (root, query, cb) -> {
+            if (pageable == null || !pageable.isKeyset() || pageable.getCursor() == null) {
+                return cb.conjunction();
+            }
+            return toSeekPredicate(pageable, root, cb);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate toSeekPredicate(PageableModel pageable, Root<T> root, CriteriaBuilder cb) {
+        List<SortModel.Order> orders = pageable.getEffectiveSort().getOrders();
+        List<Object> values = pageable.getCursor().getValues();
+        if (values.size() != orders.size()) {
+            throw new MalFormedQueryException("Pagination cursor does not match the requested sort");
+        }
+
+        Predicate[] alternatives = new Predicate[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            List<Predicate> terms = new ArrayList<>(i + 1);
+            for (int j = 0; j < i; j++) {
+                terms.add(cb.equal(path(root, orders.get(j).getProperty()), values.get(j)));
+            }
+            Expression<Comparable> path = path(root, orders.get(i).getProperty());
+            Comparable value = (Comparable) values.get(i);
+            terms.add(orders.get(i).getDirection().isAscending()
+                    ? cb.greaterThan(path, value)
+                    : cb.lessThan(path, value));
+            alternatives[i] = cb.and(terms.toArray(Predicate[]::new));
+        }
+
+        Expression<Comparable> leadingPath = path(root, orders.get(0).getProperty());
+        Comparable leadingValue = (Comparable) values.get(0);
+        Predicate leadingBound = orders.get(0).getDirection().isAscending()
+                ? cb.greaterThanOrEqualTo(leadingPath, leadingValue)
+                : cb.lessThanOrEqualTo(leadingPath, leadingValue);
+        return cb.and(leadingBound, cb.or(alternatives));
+    }
+
+    /**
+     * @return the number of cached plans.
+     */
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    private FilterPlan planFor(FilterShape shape, Root<?> root) {
+        FilterPlan plan = plans.get(shape);
+        if (plan != null) {
+            return plan;
+        }
+        plan = compile(shape, root);
+        if (plans.size() < MAX_CACHED_PLANS) {
+            FilterPlan existing = plans.putIfAbsent(shape, plan);
+            return existing != null ? existing : plan;
+        }
+        return plan;
+    }
+
+    private FilterPlan compile(FilterShape shape, Root<?> root) {
+        Function<String, PropertyPath> paths = property -> root != null && property.indexOf('.') < 0
+                ? new PropertyPath(new String[]{property}, new boolean[1],
+                root.getModel().getAttribute(property).getJavaType(), false)
+                : resolve(shape.entityType(), property);
+        List<FilterStep> steps = new ArrayList<>(shape.elements().size());
+        boolean[] distinct = new boolean[1];
+        Function<String, PropertyPath> tracking = property -> {
+            PropertyPath path = paths.apply(property);
+            distinct[0] |= path.throughCollection();
+            return path;
+        };
+        for (ShapeElement element : shape.elements()) {
+            steps.add(compileStep(element, tracking));
+        }
+        return new FilterPlan(steps, distinct[0]);
+    }
+
+    private FilterStep compileStep(ShapeElement element, Function<String, PropertyPath> paths) {
+        if (element.type().isComposite()) {
+            return compileCompositeStep(element, paths);
+        }
+        TextSearch search = textSearches.get(element.property());
+        if (search != null) {
+            return compileTextSearchStep(search, element.type(), paths);
+        }
+        PropertyPath property = paths.apply(element.property());
+        Class<?> attributeType = property.javaType();
+        return switch (element.type()) {
+            case STRING -> attributeType == String.class
+                    ? compileStringStep(element, property, paths)
+                    : (root, cb, filter) -> cb.equal(property.of(root), ((FilterString) filter).getValue());
+            case BOOLEAN -> (root, cb, filter) -> cb.equal(property.of(root), ((FilterBoolean) filter).getValue());
+            case NUMBER -> (root, cb, filter) -> cb.equal(property.of(root), ((FilterNumber) filter).getValue());
+            case DATE -> switch (element.dateType()) {
+                case BETWEEN -> (root, cb, filter) -> cb.between(
+                        property.<LocalDate>of(root),
+                        ((FilterDate) filter).getStartDate(),
+                        ((FilterDate) filter).getEndDate());
+                case AFTER -> (root, cb, filter) -> cb.greaterThan(
+                        property.<LocalDate>of(root), ((FilterDate) filter).getStartDate());
+                case BEFORE -> (root, cb, filter) -> cb.lessThan(
+                        property.<LocalDate>of(root), ((FilterDate) filter).getEndDate());
+            };
+            // Assuming integer range
+            case RANGE -> (root, cb, filter) -> cb.between(
+                    property.<Integer>of(root), ((FilterRange) filter).getMin(), ((FilterRange) filter).getMax());
+            case LIST -> compileListStep(property);
+            default -> (root, cb, filter) -> null;
+        };
+    }
+
+    /**
+     * Compiles the step of a filter on a string attribute, according to its match mode.
+     */
+    private FilterStep compileStringStep(ShapeElement element, PropertyPath property, Function<String, PropertyPath> paths) {
+        FilterString.MatchMode mode = element.matchMode() != null
+                ? element.matchMode()
+                : matchModes.getOrDefault(element.property(), FilterString.DEFAULT_MATCH_MODE);
+        String normalizedProperty = normalizedProperties.get(element.property());
+        PropertyPath normalized = normalizedProperty != null ? paths.apply(normalizedProperty) : null;
+        boolean normalizedRange = normalizedProperty != null && collatedProperties.contains(normalizedProperty);
+        return switch (mode) {
+            case EXACT -> (root, cb, filter) -> cb.equal(property.of(root), ((FilterString) filter).getValue());
+            case PREFIX -> {
+                boolean range = collatedProperties.contains(element.property());
+                yield (root, cb, filter) -> prefix(cb, property.of(root), ((FilterString) filter).getValue(), range);
+            }
+            case CASE_INSENSITIVE_PREFIX -> normalized != null
+                    ? (root, cb, filter) -> prefix(cb, normalized.of(root), lowerCase(filter), normalizedRange)
+                    : (root, cb, filter) -> cb.like(
+                    cb.lower(property.<String>of(root)), SqlSanitizer.wrapWithSuffixWildcard(lowerCase(filter)), '\\');
+            case CONTAINS -> normalized != null
+                    ? (root, cb, filter) -> cb.like(
+                    normalized.<String>of(root), SqlSanitizer.wrapWithWildcards(lowerCase(filter)), '\\')
+                    // Defaulting to case-insensitive like with escaped wildcards for security
+                    : (root, cb, filter) -> cb.like(
+                    cb.lower(property.<String>of(root)),
+                    SqlSanitizer.wrapWithWildcards(((FilterString) filter).getValue()).toLowerCase(),
+                    '\\');
+        };
+    }
+
+    /**
+     * Compiles the step of a list filter, according to the IN-list strategy.
+     */
+    private FilterStep compileListStep(PropertyPath property) {
+        InListStrategy strategy = inListStrategy;
+        if (strategy.getMode() == InListStrategy.Mode.ARRAY) {
+            if (property.javaType() == String.class) {
+                return (root, cb, filter) -> cb.isTrue(cb.function(InListFunctionContributor.IN_ARRAY, Boolean.class,
+                        property.of(root), parameter(cb, ((FilterList) filter).getValues().getValues().toArray(String[]::new))));
             }
-            return predicate;
+            strategy = InListStrategy.of(InListStrategy.Mode.PADDED, strategy.getChunkSize());
+        }
+        InListStrategy chunking = strategy;
+        return (root, cb, filter) -> {
+            List<List<String>> chunks = chunking.chunks(((FilterList) filter).getValues().getValues());
+            if (chunks.size() == 1) {
+                return property.of(root).in(chunks.get(0));
+            }
+            Predicate[] predicates = new Predicate[chunks.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                predicates[i] = property.of(root).in(chunks.get(i));
+            }
+            return cb.or(predicates);
         };
     }
 
-    private Predicate toPredicate(Filter filter, Root<T> root, CriteriaBuilder cb) {
-        String property = filter.getName();
-        // Simple support for nested properties (dot notation) could be added here if needed
-        Path<?> path = root.get(property);
+    /**
+     * Compiles the step of a full-text search; a non-string filter or a blank value adds no predicate.
+     */
+    private static FilterStep compileTextSearchStep(TextSearch search, Filter.FilterType type,
+                                                    Function<String, PropertyPath> paths) {
+        if (type != Filter.FilterType.STRING) {
+            return (root, cb, filter) -> null;
+        }
+        List<PropertyPath> fields = search.getFields().stream().map(paths).toList();
+        PropertyPath vector = search.getVectorField() != null ? paths.apply(search.getVectorField()) : null;
+        return (root, cb, filter) -> {
+            String text = searchText((FilterString) filter);
+            return text == null ? null : textSearchPredicate(search, fields, vector, root, cb, text);
+        };
+    }
+
+    private static Predicate textSearchPredicate(TextSearch search, List<PropertyPath> fields, PropertyPath vector,
+                                                 Root<?> root, CriteriaBuilder cb, String text) {
+        return switch (search.getBackend()) {
+            case POSTGRES_FULL_TEXT -> cb.isTrue(fullText(false, Boolean.class, search, fields, vector, root, cb, text));
+            case POSTGRES_TRIGRAM -> cb.or(fields.stream()
+                    .map(field -> cb.isTrue(cb.function(
+                            TextSearchFunctionContributor.TRGM_MATCH, Boolean.class, field.of(root), parameter(cb, text))))
+                    .toArray(Predicate[]::new));
+            case LIKE -> cb.or(fields.stream()
+                    .map(field -> cb.like(cb.lower(field.<String>of(root)), TextSearch.likePattern(text), '\\'))
+                    .toArray(Predicate[]::new));
+        };
+    }
 
-        return switch (filter.getType()) {
-            case STRING -> {
-                FilterString fs = (FilterString) filter;
-                // Defaulting to case-insensitive like with escaped wildcards for security
-                if (path.getJavaType() == String.class) {
-                    String sanitizedValue = SqlSanitizer.wrapWithWildcards(fs.getValue()).toLowerCase();
-                    yield cb.like(cb.lower((Path<String>) path), sanitizedValue, '\\');
+    private static Expression<? extends Number> textSearchRank(TextSearch search, List<PropertyPath> fields,
+                                                               PropertyPath vector, Root<?> root, CriteriaBuilder cb,
+                                                               String text) {
+        return switch (search.getBackend()) {
+            case POSTGRES_FULL_TEXT -> fullText(true, Double.class, search, fields, vector, root, cb, text);
+            case POSTGRES_TRIGRAM -> {
+                List<Expression<Double>> ranks = fields.stream()
+                        .map(field -> cb.function(
+                                TextSearchFunctionContributor.TRGM_RANK, Double.class, field.of(root), parameter(cb, text)))
+                        .toList();
+                yield ranks.size() == 1
+                        ? ranks.get(0)
+                        : cb.function("greatest", Double.class, ranks.toArray(Expression<?>[]::new));
+            }
+            case LIKE -> {
+                Expression<Integer> matches = null;
+                for (PropertyPath field : fields) {
+                    Expression<Integer> match = cb.<Integer>selectCase()
+                            .when(cb.like(cb.lower(field.<String>of(root)), TextSearch.likePattern(text), '\\'), 1)
+                            .otherwise(0);
+                    matches = matches == null ? match : cb.sum(matches, match);
                 }
-                yield cb.equal(path, fs.getValue());
-            }
-            case BOOLEAN -> {
-                FilterBoolean fb = (FilterBoolean) filter;
-                yield cb.equal(path, fb.getValue());
-            }
-            case NUMBER -> {
-                FilterNumber fn = (FilterNumber) filter;
-                yield cb.equal(path, fn.getValue());
-            }
-            case DATE -> {
-                FilterDate fd = (FilterDate) filter;
-                Path<LocalDate> datePath = (Path<LocalDate>) path;
-                yield switch (fd.getFilterDateType()) {
-                    case BETWEEN -> cb.between(datePath, fd.getStartDate(), fd.getEndDate());
-                    case AFTER -> cb.greaterThan(datePath, fd.getStartDate());
-                    case BEFORE -> cb.lessThan(datePath, fd.getEndDate());
-                };
-            }
-            case RANGE -> {
-                FilterRange fr = (FilterRange) filter;
-                // Assuming integer range
-                Path<Integer> intPath = (Path<Integer>) path;
-                yield cb.between(intPath, fr.getMin(), fr.getMax());
-            }
-            case LIST -> {
-                FilterList fl = (FilterList) filter;
-                yield path.in(fl.getValues().getValues());
-            }
-            default -> null;
+                yield matches;
+            }
+        };
+    }
+
+    /**
+     * Builds the {@link TextSearchFunctionContributor} call of a PostgreSQL full-text search, on the stored vector
+     * field if any, otherwise on the concatenation of the fields.
+     */
+    private static <R> Expression<R> fullText(boolean rank, Class<R> type, TextSearch search, List<PropertyPath> fields,
+                                              PropertyPath vector, Root<?> root, CriteriaBuilder cb, String text) {
+        if (vector != null) {
+            return cb.function(
+                    rank ? TextSearchFunctionContributor.FTS_VECTOR_RANK : TextSearchFunctionContributor.FTS_VECTOR_MATCH,
+                    type, vector.of(root), cb.literal(search.getLanguage()), parameter(cb, text));
+        }
+        Expression<?>[] document = new Expression<?>[fields.size() + 1];
+        document[0] = cb.literal(" ");
+        for (int i = 0; i < fields.size(); i++) {
+            document[i + 1] = fields.get(i).of(root);
+        }
+        return cb.function(rank ? TextSearchFunctionContributor.FTS_RANK : TextSearchFunctionContributor.FTS_MATCH,
+                type, cb.function("concat_ws", String.class, document), cb.literal(search.getLanguage()), parameter(cb, text));
+    }
+
+    /**
+     * Binds a value as a parameter: {@link CriteriaBuilder#literal(Object)} renders it inline with Hibernate, which
+     * would make a new statement of each value. Other providers get a literal.
+     */
+    private static <V> Expression<V> parameter(CriteriaBuilder cb, V value) {
+        return cb instanceof HibernateCriteriaBuilder hibernate ? hibernate.value(value) : cb.literal(value);
+    }
+
+    /**
+     * @return the stripped search value, or null if it is blank.
+     */
+    private static String searchText(FilterString filter) {
+        String text = filter.getValue();
+        return text == null || text.isBlank() ? null : text.strip();
+    }
+
+    /**
+     * Builds a prefix predicate as a {@code LIKE}, bounded by an index range on the
+     * {@link #collatedPrefixRange(String...) columns declared with the C collation}, where the range is exact.
+     */
+    private static Predicate prefix(CriteriaBuilder cb, Expression<String> path, String prefix, boolean range) {
+        Predicate like = cb.like(path, SqlSanitizer.wrapWithSuffixWildcard(prefix), '\\');
+        String upperBound = range ? SqlSanitizer.prefixUpperBound(prefix) : null;
+        if (upperBound == null) {
+            return like;
+        }
+        return cb.and(cb.greaterThanOrEqualTo(path, prefix), cb.lessThan(path, upperBound), like);
+    }
+
+    private static String lowerCase(Filter filter) {
+        return ((FilterString) filter).getValue().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Compiles the step of an AND/OR/NOT composite, whose operands have already been simplified.
+     */
+    private FilterStep compileCompositeStep(ShapeElement element, Function<String, PropertyPath> paths) {
+        List<FilterStep> operandSteps = new ArrayList<>(element.operands().size());
+        for (ShapeElement operand : element.operands()) {
+            operandSteps.add(compileStep(operand, paths));
+        }
+        if (element.type() == Filter.FilterType.NOT) {
+            FilterStep operandStep = operandSteps.get(0);
+            return (root, cb, filter) -> {
+                Predicate predicate = operandStep.toPredicate(root, cb, ((FilterComposite) filter).getOperand());
+                return predicate == null ? null : cb.not(predicate);
+            };
+        }
+        boolean and = element.type() == Filter.FilterType.AND;
+        return (root, cb, filter) -> {
+            Predicate[] predicates = toPredicates(operandSteps, root, cb, ((FilterComposite) filter).getFilters(), and);
+            if (predicates == null) {
+                return null;
+            }
+            return and ? cb.and(predicates) : cb.or(predicates);
         };
     }
+
+    /**
+     * Builds the predicates of the operands of a junction. An operand without predicate, such as a blank search,
+     * leaves the rows unconstrained: it is dropped from an AND, and makes a whole OR unconstrained.
+     *
+     * @return the predicates, or null if the junction is an OR with an unconstrained operand.
+     */
+    private static Predicate[] toPredicates(List<FilterStep> steps, Root<?> root, CriteriaBuilder cb, List<Filter> filters,
+                                            boolean and) {
+        List<Predicate> predicates = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            Predicate predicate = steps.get(i).toPredicate(root, cb, filters.get(i));
+            if (predicate != null) {
+                predicates.add(predicate);
+            } else if (!and) {
+                return null;
+            }
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    /**
+     * Resolves a property path of an entity, segment by segment: each attribute is read from its field, or from its
+     * getter for property access, and the element type of a collection is the type of the next segment.
+     */
+    static PropertyPath resolve(Class<?> entityType, String property) {
+        String[] segments = property.split("\\.");
+        boolean[] joined = new boolean[segments.length];
+        boolean throughCollection = false;
+        Class<?> type = entityType;
+        for (int i = 0; i < segments.length; i++) {
+            AnnotatedElement attribute = i == 0 || isNavigable(type) ? attribute(type, segments[i]) : null;
+            if (attribute == null) {
+                throw new MalFormedQueryException(
+                        "Unknown property '" + property + "' for " + entityType.getSimpleName());
+            }
+            Type genericType = attribute instanceof Field field ? field.getGenericType()
+                    : ((Method) attribute).getGenericReturnType();
+            type = attribute instanceof Field field ? field.getType() : ((Method) attribute).getReturnType();
+            if (Collection.class.isAssignableFrom(type)) {
+                type = elementType(genericType);
+                throughCollection = true;
+            }
+            joined[i] = !attribute.isAnnotationPresent(Embedded.class)
+                    && !attribute.isAnnotationPresent(EmbeddedId.class)
+                    && !type.isAnnotationPresent(Embeddable.class);
+        }
+        return new PropertyPath(segments, joined, type, throughCollection);
+    }
+
+    private static AnnotatedElement attribute(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 0
+                    && (method.getName().equals("get" + capitalized) || method.getName().equals("is" + capitalized))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether a type may hold attributes, i.e. is neither a basic type nor a JDK class.
+     */
+    private static boolean isNavigable(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.getName().startsWith("java.");
+    }
+
+    private static Class<?> elementType(Type collectionType) {
+        if (collectionType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return Object.class;
+    }
+
+    /**
+     * Reads a property path of the root, joining its associations.
+     */
+    private <Y> Path<Y> path(Root<T> root, String property) {
+        if (property.indexOf('.') < 0) {
+            return root.get(property);
+        }
+        return resolve(entityType != null ? entityType : root.getJavaType(), property).of(root);
+    }
+
+    private PropertyPath pathOf(Root<T> root, String property) {
+        return resolve(entityType != null ? entityType : root.getJavaType(), property);
+    }
+
+    /**
+     * Returns the join of an attribute: the fetch or join already made by the query if any, or a new LEFT join.
+     */
+    private static From<?, ?> join(From<?, ?> from, String attribute) {
+        for (Fetch<?, ?> fetch : from.getFetches()) {
+            if (fetch instanceof From<?, ?> fetched && fetch.getAttribute().getName().equals(attribute)) {
+                return fetched;
+            }
+        }
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute)) {
+                return join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+
+    private static Fetch<?, ?> fetch(FetchParent<?, ?> parent, String attribute) {
+        for (Fetch<?, ?> fetch : parent.getFetches()) {
+            if (fetch.getAttribute().getName().equals(attribute)) {
+                return fetch;
+            }
+        }
+        return parent.fetch(attribute, JoinType.LEFT);
+    }
+
+    /**
+     * @return whether the query selects the entities of its root, which fetch joins require.
+     */
+    private static boolean selectsRoot(Root<?> root, CriteriaQuery<?> query) {
+        return query != null && query.getResultType() == root.getJavaType();
+    }
+
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return query != null && (query.getResultType() == Long.class || query.getResultType() == long.class);
+    }
+
+    /**
+     * Shape of a filter: what the compiled plan depends on, values excluded.
+     */
+    private record ShapeElement(String property,
+                                Filter.FilterType type,
+                                FilterDate.FilterDateType dateType,
+                                FilterString.MatchMode matchMode,
+                                List<ShapeElement> operands) {
+
+        static ShapeElement of(Filter filter) {
+            FilterDate.FilterDateType dateType = filter instanceof FilterDate fd ? fd.getFilterDateType() : null;
+            FilterString.MatchMode matchMode = filter instanceof FilterString fs ? fs.getMatchMode() : null;
+            List<ShapeElement> operands = filter instanceof FilterComposite composite
+                    ? composite.getFilters().stream().map(ShapeElement::of).toList()
+                    : List.of();
+            return new ShapeElement(filter.getName(), filter.getType(), dateType, matchMode, operands);
+        }
+    }
+
+    private record FilterShape(Class<?> entityType, List<ShapeElement> elements) {
+    }
+
+    /**
+     * A resolved property path.
+     *
+     * @param segments          the attribute names.
+     * @param joined            whether each attribute is joined, rather than navigated (embedded attributes).
+     * @param javaType          the type of the last attribute.
+     * @param throughCollection whether the path goes through a collection.
+     */
+    record PropertyPath(String[] segments, boolean[] joined, Class<?> javaType, boolean throughCollection) {
+
+        <Y> Path<Y> of(Root<?> root) {
+            Path<?> current = root;
+            int last = segments.length - 1;
+            for (int i = 0; i < last; i++) {
+                current = joined[i] && current instanceof From<?, ?> from ? join(from, segments[i]) : current.get(segments[i]);
+            }
+            return current.get(segments[last]);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FilterStep {
+        Predicate toPredicate(Root<?> root, CriteriaBuilder cb, Filter filter);
+    }
+
+    private record FilterPlan(List<FilterStep> steps, boolean distinct) {
+
+        Predicate toPredicate(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb, List<Filter> filters) {
+            if (distinct && query != null) {
+                query.distinct(true);
+            }
+            return cb.and(toPredicates(steps, root, cb, filters, true));
+        }
+    }
 }
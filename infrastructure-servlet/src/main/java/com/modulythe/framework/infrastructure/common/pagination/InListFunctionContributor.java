@@ -0,0 +1,29 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL function of the {@link InListStrategy.Mode#ARRAY array} IN-list binding in Hibernate, so that
+ * {@link FilterSpecificationBuilder} can express {@code col = ANY(?)} in JPA criteria.
+ * <p>
+ * Discovered by Hibernate through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ * The function only renders SQL: it requires a database supporting array parameters, such as PostgreSQL.
+ * </p>
+ */
+public class InListFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code in_array(column, values)}: whether the column is equal to an element of the array parameter.
+     */
+    static final String IN_ARRAY = "in_array";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> bool = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        functionContributions.getFunctionRegistry().registerPattern(IN_ARRAY, "(?1 = any(?2))", bool);
+    }
+}
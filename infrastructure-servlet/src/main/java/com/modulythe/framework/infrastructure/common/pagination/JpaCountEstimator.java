@@ -0,0 +1,148 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Session;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Estimates row counts from PostgreSQL statistics, to be used as the estimator of
+ * {@link com.modulythe.framework.application.pagination.PageCountResolver}.
+ * <p>
+ * Filtered estimates plan either a native SELECT statement, or a {@link Specification} rendered to SQL by Hibernate;
+ * unfiltered lists can be estimated from the table statistics alone. The statements run on the JDBC connection of the
+ * current persistence context, so that the JSON output of EXPLAIN needs no type mapping.
+ * </p>
+ */
+public class JpaCountEstimator {
+
+    private final EntityManager entityManager;
+
+    public JpaCountEstimator(EntityManager entityManager) {
+        this.entityManager = Objects.requireNonNull(entityManager, "EntityManager cannot be null");
+    }
+
+    /**
+     * Estimates the number of rows returned by a native SELECT statement, from the query planner.
+     *
+     * @param selectSql  the SELECT statement, with JDBC {@code ?} placeholders.
+     * @param parameters the values bound to the placeholders, in order.
+     * @return the planner estimate.
+     * @throws TechnicalException if the statement cannot be planned.
+     */
+    public long estimate(String selectSql, List<?> parameters) {
+        String explain = PostgresCountEstimates.explain(selectSql);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(explain)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1));
+                    }
+                    return PostgresCountEstimates.parsePlanRows(plan.toString());
+                }
+            } catch (SQLException e) {
+                throw new TechnicalException("Unable to estimate the row count of: " + selectSql, e);
+            }
+        });
+    }
+
+    /**
+     * Estimates the number of entities matching a specification, from the query planner.
+     * <p>
+     * The specification is rendered by Hibernate as the SELECT of the entity ids, distinct if the specification asks
+     * for it, and sent with its parameters bound as an EXPLAIN: the query runs in a session of its own on the
+     * connection of the current persistence context, whose statement inspector prefixes the rendered SQL.
+     * </p>
+     *
+     * @param <T>           the type of the entity.
+     * @param entityType    the entity class, with a single id attribute.
+     * @param specification the filters, typically built by {@link FilterSpecificationBuilder}; null for none.
+     * @return the planner estimate.
+     * @throws TechnicalException if the output of EXPLAIN holds no estimate.
+     */
+    public <T> long estimate(Class<T> entityType, Specification<T> specification) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            try (Session explaining = session.getSessionFactory().withOptions()
+                    .connection(connection)
+                    .statementInspector((UnaryOperator<String>) PostgresCountEstimates::explain)
+                    .openSession()) {
+                CriteriaBuilder cb = explaining.getCriteriaBuilder();
+                CriteriaQuery<String> query = cb.createQuery(String.class);
+                Root<T> root = query.from(entityType);
+                if (specification != null) {
+                    Predicate predicate = specification.toPredicate(root, query, cb);
+                    if (predicate != null) {
+                        query.where(predicate);
+                    }
+                }
+                // Selected as text: EXPLAIN returns its plan in the single column read for it
+                EntityType<T> entity = explaining.getMetamodel().entity(entityType);
+                query.select(root.get(entity.getId(entity.getIdType().getJavaType())).cast(String.class));
+                return PostgresCountEstimates.parsePlanRows(String.join("", explaining.createQuery(query).getResultList()));
+            }
+        });
+    }
+
+    /**
+     * Estimates the number of rows of a table, from its statistics.
+     *
+     * @param tableName the (optionally schema-qualified) table name.
+     * @return the estimate, or -1 if the table has never been analyzed.
+     * @throws TechnicalException if the table does not exist or the statistics cannot be read.
+     */
+    public long estimateTable(String tableName) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(PostgresCountEstimates.TABLE_ESTIMATE_SQL)) {
+                statement.setString(1, tableName);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new TechnicalException("Unknown table: " + tableName);
+                    }
+                    return resultSet.getLong(1);
+                }
+            } catch (SQLException e) {
+                throw new TechnicalException("Unable to read the statistics of table " + tableName, e);
+            }
+        });
+    }
+
+    /**
+     * Estimates the number of rows of the table mapped by an entity, from its statistics.
+     * <p>
+     * The table name is read from {@link Table}, or derived from the entity name in snake case
+     * (the default Spring Boot naming strategy).
+     * </p>
+     *
+     * @param entityType the entity class.
+     * @return the estimate, or -1 if the table has never been analyzed.
+     */
+    public long estimateTable(Class<?> entityType) {
+        return estimateTable(tableName(entityType));
+    }
+
+    private static String tableName(Class<?> entityType) {
+        Table table = entityType.getAnnotation(Table.class);
+        if (table != null && !table.name().isEmpty()) {
+            return table.schema().isEmpty() ? table.name() : table.schema() + "." + table.name();
+        }
+        return entityType.getSimpleName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
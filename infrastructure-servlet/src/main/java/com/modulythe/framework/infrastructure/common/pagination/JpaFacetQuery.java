@@ -0,0 +1,206 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.FacetModel;
+import com.modulythe.framework.domain.common.pagination.FacetResultModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaSelect;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes the {@link FacetModel facets} of a {@link Specification}: the number of matching entities per value of
+ * the count facets, and the range of the range facets.
+ * <p>
+ * JPA criteria do not support {@code GROUPING SETS}, so the facets are computed in a single {@code UNION ALL}
+ * statement, like the union plan of {@code R2dbcFacetQuery}: one {@code GROUP BY} branch per count facet and an
+ * aggregate branch reading the total count and the {@code MIN}/{@code MAX} of every range facet, each with the same
+ * filters. Each count facet has a column of its own, null in the other branches, so that its values keep their type.
+ * </p>
+ * <p>
+ * The facets are checked when the query is built: unknown properties and non-numeric range facets are rejected.
+ * Entities are counted distinctly when the filters or a facet go through a collection.
+ * </p>
+ *
+ * @param <T> the type of the entity.
+ */
+public final class JpaFacetQuery<T> {
+
+    private static final int TOTAL = -1;
+
+    private final EntityManager entityManager;
+    private final Class<T> entityType;
+    private final FacetModel facets;
+    private final FilterSpecificationBuilder.PropertyPath[] countPaths;
+    private final FilterSpecificationBuilder.PropertyPath[] rangePaths;
+    private final Specification<T> specification;
+
+    private JpaFacetQuery(Builder<T> builder) {
+        this.entityManager = builder.entityManager;
+        this.entityType = builder.entityType;
+        this.facets = builder.facets;
+        this.countPaths = resolve(builder.entityType, builder.facets.getCountFacets(), false);
+        this.rangePaths = resolve(builder.entityType, builder.facets.getRangeFacets(), true);
+        this.specification = builder.specification;
+    }
+
+    public static <T> Builder<T> builder(EntityManager entityManager, Class<T> entityType, FacetModel facets) {
+        return new Builder<>(entityManager, entityType, facets);
+    }
+
+    public static final class Builder<T> {
+        private final EntityManager entityManager;
+        private final Class<T> entityType;
+        private final FacetModel facets;
+        private Specification<T> specification;
+
+        private Builder(EntityManager entityManager, Class<T> entityType, FacetModel facets) {
+            this.entityManager = Objects.requireNonNull(entityManager, "EntityManager cannot be null");
+            this.entityType = Objects.requireNonNull(entityType, "Entity type cannot be null");
+            this.facets = Objects.requireNonNull(facets, "Facets cannot be null");
+        }
+
+        /**
+         * @param specification the filters, typically built by {@link FilterSpecificationBuilder}.
+         * @return this builder.
+         */
+        public Builder<T> specification(Specification<T> specification) {
+            this.specification = specification;
+            return this;
+        }
+
+        /**
+         * @return the query.
+         * @throws MalFormedQueryException  if a facet property is unknown.
+         * @throws IllegalArgumentException if a range facet is not numeric.
+         */
+        public JpaFacetQuery<T> build() {
+            return new JpaFacetQuery<>(this);
+        }
+    }
+
+    /**
+     * Computes the facets of the entities matching the specification, in a single statement.
+     *
+     * @return the facets.
+     */
+    public FacetResultModel compute() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaSelect<Tuple> statement = null;
+        for (int i = 0; i < countPaths.length; i++) {
+            statement = statement == null ? counts(cb, i) : cb.unionAll(statement, counts(cb, i));
+        }
+        statement = statement == null ? totals(cb) : cb.unionAll(statement, totals(cb));
+
+        FacetResultModel.FacetResultBuilder result = FacetResultModel.builder(facets);
+        List<String> countFacets = facets.getCountFacets();
+        List<String> rangeFacets = facets.getRangeFacets();
+        int countColumn = 1 + countPaths.length;
+        for (Tuple row : entityManager.createQuery(statement).getResultList()) {
+            int facet = row.get(0, Integer.class);
+            long count = row.get(countColumn, Long.class);
+            if (facet != TOTAL) {
+                result.count(countFacets.get(facet), row.get(1 + facet), count);
+                continue;
+            }
+            result.totalItems(count);
+            for (int i = 0; i < rangePaths.length; i++) {
+                result.range(rangeFacets.get(i), (Number) row.get(countColumn + 1 + 2 * i),
+                        (Number) row.get(countColumn + 2 + 2 * i));
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Builds the branch of the i-th count facet: its values and their counts, the other columns being null.
+     */
+    private CriteriaQuery<Tuple> counts(CriteriaBuilder cb, int facet) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        boolean distinct = applySpecification(root, query, cb) || countPaths[facet].throughCollection();
+        Path<?> value = countPaths[facet].of(root);
+        List<Selection<?>> selections = new ArrayList<>(2 + countPaths.length + 2 * rangePaths.length);
+        selections.add(cb.literal(facet));
+        for (int i = 0; i < countPaths.length; i++) {
+            selections.add(i == facet ? value : cb.nullLiteral(JpaProjectionQuery.box(countPaths[i].javaType())));
+        }
+        selections.add(distinct ? cb.countDistinct(root) : cb.count(root));
+        for (FilterSpecificationBuilder.PropertyPath path : rangePaths) {
+            Class<?> type = JpaProjectionQuery.box(path.javaType());
+            selections.add(cb.nullLiteral(type));
+            selections.add(cb.nullLiteral(type));
+        }
+        return query.select(cb.tuple(selections)).groupBy(value);
+    }
+
+    /**
+     * Builds the branch of the totals: the number of matching entities and the range of each range facet, the
+     * values of the count facets being null.
+     */
+    private CriteriaQuery<Tuple> totals(CriteriaBuilder cb) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        boolean distinct = applySpecification(root, query, cb);
+        for (FilterSpecificationBuilder.PropertyPath path : rangePaths) {
+            distinct |= path.throughCollection();
+        }
+        List<Selection<?>> selections = new ArrayList<>(2 + countPaths.length + 2 * rangePaths.length);
+        selections.add(cb.literal(TOTAL));
+        for (FilterSpecificationBuilder.PropertyPath path : countPaths) {
+            selections.add(cb.nullLiteral(JpaProjectionQuery.box(path.javaType())));
+        }
+        selections.add(distinct ? cb.countDistinct(root) : cb.count(root));
+        for (FilterSpecificationBuilder.PropertyPath path : rangePaths) {
+            Path<Number> value = path.of(root);
+            selections.add(cb.min(value));
+            selections.add(cb.max(value));
+        }
+        return query.select(cb.tuple(selections));
+    }
+
+    /**
+     * Applies the specification, the query being grouped or aggregated instead of distinct.
+     *
+     * @return whether the specification made the query distinct.
+     */
+    private boolean applySpecification(Root<T> root, CriteriaQuery<Tuple> query, CriteriaBuilder cb) {
+        if (specification == null) {
+            return false;
+        }
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        boolean distinct = query.isDistinct();
+        query.distinct(false);
+        return distinct;
+    }
+
+    private static FilterSpecificationBuilder.PropertyPath[] resolve(Class<?> entityType, List<String> properties,
+                                                                    boolean numeric) {
+        FilterSpecificationBuilder.PropertyPath[] paths = new FilterSpecificationBuilder.PropertyPath[properties.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = FilterSpecificationBuilder.resolve(entityType, properties.get(i));
+            if (numeric && !isNumeric(paths[i].javaType())) {
+                throw new IllegalArgumentException("Range facet '" + properties.get(i) + "' is not numeric");
+            }
+        }
+        return paths;
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return Number.class.isAssignableFrom(type)
+                || (type.isPrimitive() && type != boolean.class && type != char.class && type != void.class);
+    }
+}
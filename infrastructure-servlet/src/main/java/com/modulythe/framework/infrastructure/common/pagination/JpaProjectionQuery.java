@@ -0,0 +1,235 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.ProjectionModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs a {@link Specification} as a paginated query selecting a {@link ProjectionModel projection} instead of
+ * whole entities.
+ * <p>
+ * The properties of the projection are selected with a constructor expression
+ * ({@code select new Projection(e.a, e.b.c) ...}), so that only their columns are read and no entity is loaded
+ * into the persistence context. The projection type may also be {@link Tuple}, each element being aliased
+ * with its property name. Nested properties reuse the LEFT joins of the filters built by
+ * {@link FilterSpecificationBuilder}.
+ * </p>
+ * <p>
+ * The projection is checked when the query is built: unknown properties, properties through a collection
+ * (which would return a row per element) and projection types without a matching constructor are rejected.
+ * Fetch specifications must not be combined with a projection, since no entity owns the fetched associations.
+ * </p>
+ *
+ * @param <T> the type of the entity.
+ * @param <P> the type of the projection.
+ */
+public final class JpaProjectionQuery<T, P> {
+
+    private final EntityManager entityManager;
+    private final Class<T> entityType;
+    private final ProjectionModel<P> projection;
+    private final FilterSpecificationBuilder.PropertyPath[] paths;
+    private final Specification<T> specification;
+
+    private JpaProjectionQuery(Builder<T, P> builder) {
+        this.entityManager = builder.entityManager;
+        this.entityType = builder.entityType;
+        this.projection = builder.projection;
+        this.paths = resolve(builder.entityType, builder.projection);
+        this.specification = builder.specification;
+    }
+
+    public static <T, P> Builder<T, P> builder(EntityManager entityManager,
+                                               Class<T> entityType,
+                                               ProjectionModel<P> projection) {
+        return new Builder<>(entityManager, entityType, projection);
+    }
+
+    public static final class Builder<T, P> {
+        private final EntityManager entityManager;
+        private final Class<T> entityType;
+        private final ProjectionModel<P> projection;
+        private Specification<T> specification;
+
+        private Builder(EntityManager entityManager, Class<T> entityType, ProjectionModel<P> projection) {
+            this.entityManager = Objects.requireNonNull(entityManager, "EntityManager cannot be null");
+            this.entityType = Objects.requireNonNull(entityType, "Entity type cannot be null");
+            this.projection = Objects.requireNonNull(projection, "Projection cannot be null");
+        }
+
+        /**
+         * @param specification the filters, typically built by {@link FilterSpecificationBuilder}.
+         * @return this builder.
+         */
+        public Builder<T, P> specification(Specification<T> specification) {
+            this.specification = specification;
+            return this;
+        }
+
+        /**
+         * @return the query.
+         * @throws MalFormedQueryException  if a property is unknown or goes through a collection.
+         * @throws IllegalArgumentException if the projection type has no constructor matching the properties.
+         */
+        public JpaProjectionQuery<T, P> build() {
+            return new JpaProjectionQuery<>(this);
+        }
+    }
+
+    /**
+     * Reads the requested page of projections.
+     * <p>
+     * Paged requests run a count query next to the content query; slice requests read one extra row instead.
+     * </p>
+     *
+     * @param pageable the pagination request, in paged or slice mode.
+     * @return the page of projections.
+     * @throws IllegalArgumentException for keyset requests, whose cursor is read from entities.
+     */
+    public PageModel<P> page(PageableModel pageable) {
+        Objects.requireNonNull(pageable, "Pageable cannot be null");
+        if (pageable.isKeyset()) {
+            throw new IllegalArgumentException("Keyset pagination is not supported by projection queries");
+        }
+
+        int size = pageable.getItemsPerPage();
+        List<P> rows = entityManager.createQuery(contentQuery(pageable))
+                .setFirstResult(Math.toIntExact((long) pageable.getPageNumber() * size))
+                .setMaxResults(pageable.isSlice() ? size + 1 : size)
+                .getResultList();
+        if (pageable.isSlice()) {
+            return ServletPageBuilder.buildSlice(rows, pageable);
+        }
+        return ServletPageBuilder.buildPage(rows, count(), pageable);
+    }
+
+    /**
+     * @return the number of entities matching the specification.
+     */
+    public long count() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+        applySpecification(root, query, cb);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private CriteriaQuery<P> contentQuery(PageableModel pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<P> query = cb.createQuery(projection.getType());
+        Root<T> root = query.from(entityType);
+        // The filters run first, so that the projected paths reuse their joins.
+        applySpecification(root, query, cb);
+
+        List<String> properties = projection.getProperties();
+        boolean tuple = projection.getType() == Tuple.class;
+        Selection<?>[] selections = new Selection<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            Selection<?> path = paths[i].of(root);
+            selections[i] = tuple ? path.alias(properties.get(i)) : path;
+        }
+        if (tuple) {
+            @SuppressWarnings("unchecked")
+            CriteriaQuery<Tuple> tupleQuery = (CriteriaQuery<Tuple>) query;
+            tupleQuery.select(cb.tuple(selections));
+        } else {
+            query.select(cb.construct(projection.getType(), selections));
+        }
+        query.orderBy(QueryUtils.toOrders(PageableMapper.toSpringSort(pageable.getSort()), root, cb));
+        return query;
+    }
+
+    private void applySpecification(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+
+    private static FilterSpecificationBuilder.PropertyPath[] resolve(Class<?> entityType, ProjectionModel<?> projection) {
+        List<String> properties = projection.getProperties();
+        FilterSpecificationBuilder.PropertyPath[] paths = new FilterSpecificationBuilder.PropertyPath[properties.size()];
+        Class<?>[] types = new Class<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = FilterSpecificationBuilder.resolve(entityType, properties.get(i));
+            if (paths[i].throughCollection()) {
+                throw new MalFormedQueryException(
+                        "Projection property '" + properties.get(i) + "' cannot go through a collection");
+            }
+            types[i] = paths[i].javaType();
+        }
+        if (projection.getType() != Tuple.class && !hasConstructor(projection.getType(), types)) {
+            throw new IllegalArgumentException("No constructor of " + projection.getType().getSimpleName()
+                    + " matches the projection properties " + properties);
+        }
+        return paths;
+    }
+
+    /**
+     * Looks for a constructor accepting the argument types, whatever its visibility: Hibernate instantiates
+     * non-public constructors too, such as the canonical constructor of a package-private record.
+     */
+    private static boolean hasConstructor(Class<?> type, Class<?>[] argumentTypes) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length == argumentTypes.length && accepts(parameterTypes, argumentTypes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean accepts(Class<?>[] parameterTypes, Class<?>[] argumentTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!box(parameterTypes[i]).isAssignableFrom(box(argumentTypes[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        return type == char.class ? Character.class : type;
+    }
+}
@@ -0,0 +1,167 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLTimeoutException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Enforces a {@link QueryBudget} on JPA queries, including the repository queries of the specifications built by
+ * {@link FilterSpecificationBuilder}.
+ * <p>
+ * While a query runs, the {@code jakarta.persistence.query.timeout} property is set on the entity manager, so that
+ * every statement it issues gets a JDBC query timeout and is cancelled by the driver when exceeded. JDBC timeouts
+ * have a granularity of one second: budgets are rounded up to the next second. A timeout is reported as a
+ * {@link QueryBudgetExceededException}; a count exceeding its budget falls back to the estimated count when an
+ * estimator is given.
+ * </p>
+ * <p>
+ * The entity manager must be bound to the transaction running the queries, e.g. the shared entity manager proxy
+ * within a transaction, or the queries given to {@link ParallelPageExecutor}:
+ * </p>
+ * <pre>{@code
+ * PageModel<Order> page = executor.resolvedPage(
+ *         () -> budget.query(() -> repository.findAll(spec, pageable).getContent()),
+ *         () -> budget.count(() -> repository.count(spec), () -> estimator.estimate(spec)),
+ *         pageableModel);
+ * }</pre>
+ */
+public final class JpaQueryBudget {
+
+    public static final String TIMEOUT_HINT = "jakarta.persistence.query.timeout";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JpaQueryBudget.class);
+
+    private final EntityManager entityManager;
+    private final QueryBudget budget;
+
+    /**
+     * @param entityManager the entity manager running the queries.
+     * @param budget        the budget of the queries.
+     */
+    public JpaQueryBudget(EntityManager entityManager, QueryBudget budget) {
+        this.entityManager = Objects.requireNonNull(entityManager, "EntityManager cannot be null");
+        this.budget = Objects.requireNonNull(budget, "Query budget cannot be null");
+    }
+
+    /**
+     * Runs the content query within its budget.
+     *
+     * @param <T>   the type of the result.
+     * @param query runs the query.
+     * @return the result of the query.
+     * @throws QueryBudgetExceededException if the query exceeds its budget.
+     */
+    public <T> T query(Supplier<T> query) {
+        return within(budget.queryTimeout(), query);
+    }
+
+    /**
+     * Runs the count query within its budget.
+     *
+     * @param exactCount runs the COUNT query.
+     * @return the count.
+     * @throws QueryBudgetExceededException if the count exceeds its budget.
+     */
+    public long count(LongSupplier exactCount) {
+        return within(budget.countTimeout(), exactCount::getAsLong);
+    }
+
+    /**
+     * Runs the count query within its budget, falling back to an estimated count when the budget is exceeded.
+     * <p>
+     * On PostgreSQL, a cancelled statement aborts the transaction, which would fail the estimate and the following
+     * queries. Within a transaction, the count therefore runs behind a savepoint, rolled back when the budget is
+     * exceeded before the estimate runs on the same connection. A count going through a transactional proxy that
+     * participates in the transaction, such as a Spring Data repository, also marks the transaction rollback-only
+     * when it fails, unless the transaction manager is configured with
+     * {@code setGlobalRollbackOnParticipationFailure(false)}.
+     * </p>
+     *
+     * @param exactCount     runs the COUNT query.
+     * @param estimatedCount returns the planner estimate of the number of rows, may be null.
+     * @return the exact count, or the estimate if the exact count exceeded its budget.
+     * @throws QueryBudgetExceededException if the count exceeds its budget and no estimator is given.
+     */
+    public PageCount count(LongSupplier exactCount, LongSupplier estimatedCount) {
+        if (estimatedCount == null) {
+            return PageCount.exact(count(exactCount));
+        }
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(connection ->
+                connection.getAutoCommit() ? null : connection.setSavepoint());
+        long count;
+        try {
+            count = count(exactCount);
+        } catch (QueryBudgetExceededException e) {
+            if (savepoint != null) {
+                session.doWork(connection -> {
+                    connection.rollback(savepoint);
+                    connection.releaseSavepoint(savepoint);
+                });
+            }
+            LOGGER.debug("Count exceeded its budget of {}, falling back to an estimate", budget.countTimeout());
+            return PageCount.estimated(estimatedCount.getAsLong());
+        }
+        if (savepoint != null) {
+            session.doWork(connection -> connection.releaseSavepoint(savepoint));
+        }
+        return PageCount.exact(count);
+    }
+
+    /**
+     * Sets the content query budget on a query built by hand, e.g. from a criteria query.
+     *
+     * @param <T>   the type of the result.
+     * @param query the query.
+     * @return the query.
+     */
+    public <T> TypedQuery<T> apply(TypedQuery<T> query) {
+        return query.setHint(TIMEOUT_HINT, timeoutMillis(budget.queryTimeout()));
+    }
+
+    private <T> T within(Duration timeout, Supplier<T> query) {
+        Object previous = entityManager.getProperties().get(TIMEOUT_HINT);
+        entityManager.setProperty(TIMEOUT_HINT, timeoutMillis(timeout));
+        try {
+            return query.get();
+        } catch (RuntimeException e) {
+            if (isTimeout(e)) {
+                throw new QueryBudgetExceededException(timeout, e);
+            }
+            throw e;
+        } finally {
+            // A timeout of 0 disables the JDBC query timeout
+            entityManager.setProperty(TIMEOUT_HINT, previous != null ? previous : 0);
+        }
+    }
+
+    static int timeoutMillis(Duration timeout) {
+        long seconds = (timeout.toMillis() + 999) / 1000;
+        return (int) Math.min(Integer.MAX_VALUE / 1000, seconds) * 1000;
+    }
+
+    /**
+     * @return whether the exception, or one of its causes, tells that a query timed out.
+     */
+    static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof jakarta.persistence.QueryTimeoutException
+                    || cause instanceof org.springframework.dao.QueryTimeoutException
+                    || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,117 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.SlowQuery;
+import com.modulythe.framework.application.pagination.SlowQueryLog;
+import com.modulythe.framework.domain.common.pagination.Filter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Times the JPA queries filtered by the specifications of {@link FilterSpecificationBuilder}, and records the slow
+ * ones in the {@link SlowQueryLog}: the shape of the filters, the SQL statements captured by
+ * {@link SqlCaptureInspector} and their generic plans (see {@link PostgresGenericPlans}).
+ * <p>
+ * When the log is disabled, queries run untouched. Slow queries are recorded once they ended, with their
+ * {@link SlowQuery.Outcome outcome}: a failed or timed-out query is recorded before its exception is rethrown. To tell
+ * timeouts apart, time the query bounded by {@link JpaQueryBudget}. The plans are read on the connection of the
+ * current persistence context; within a transaction, EXPLAIN runs behind a savepoint so that a failure (e.g. a
+ * PostgreSQL version without generic plans) does not abort the transaction of the caller. In a transaction already
+ * aborted by the query, the entry holds the reason EXPLAIN failed instead of the plans.
+ * </p>
+ */
+public final class JpaSlowQueryDetector {
+
+    private final SlowQueryLog log;
+    private final EntityManager entityManager;
+
+    public JpaSlowQueryDetector(SlowQueryLog log, EntityManager entityManager) {
+        this.log = Objects.requireNonNull(log, "Slow query log cannot be null");
+        this.entityManager = Objects.requireNonNull(entityManager, "EntityManager cannot be null");
+    }
+
+    /**
+     * Runs a filter query, recording it if it is slow, whether it completed, failed or timed out.
+     *
+     * @param <T>     the type of the result.
+     * @param scope   the queried type.
+     * @param filters the filters of the query.
+     * @param query   runs the query.
+     * @return the result of the query.
+     */
+    public <T> T time(Class<?> scope, List<Filter> filters, Supplier<T> query) {
+        if (!log.isEnabled()) {
+            return query.get();
+        }
+        List<String> enclosing = SqlCaptureInspector.start();
+        SlowQuery.Outcome outcome = SlowQuery.Outcome.FAILED;
+        long start = System.nanoTime();
+        try {
+            T result = query.get();
+            outcome = SlowQuery.Outcome.COMPLETED;
+            return result;
+        } catch (RuntimeException e) {
+            if (JpaQueryBudget.isTimeout(e)) {
+                outcome = SlowQuery.Outcome.TIMED_OUT;
+            }
+            throw e;
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            List<String> statements = SqlCaptureInspector.stop(enclosing);
+            if (log.isSlow(elapsed)) {
+                log.record(new SlowQuery(Instant.now(), scope.getSimpleName(), SlowQueryLog.shapeOf(filters),
+                        elapsed.toMillis(), outcome, statements, log.isExplain() ? explain(statements) : List.of()));
+            }
+        }
+    }
+
+    /**
+     * Reads the plans of the statements, never failing: the exception of a failed query must not be replaced, e.g. by
+     * the failure to set a savepoint in the transaction it aborted.
+     */
+    private List<String> explain(List<String> statements) {
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                List<String> plans = new ArrayList<>(statements.size());
+                for (String sql : statements) {
+                    plans.add(explain(connection, sql));
+                }
+                return plans;
+            });
+        } catch (RuntimeException e) {
+            return List.of("EXPLAIN failed: " + e.getMessage());
+        }
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PostgresGenericPlans.explain(sql))) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            }
+            return "EXPLAIN failed: " + e.getMessage();
+        } finally {
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
+            }
+        }
+    }
+}
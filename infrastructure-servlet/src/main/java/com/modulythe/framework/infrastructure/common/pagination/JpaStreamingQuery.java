@@ -0,0 +1,163 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs a {@link Specification} as a forward-only {@link Stream}, for exports too large to be loaded in memory.
+ * <p>
+ * Rows are fetched from the database {@link Builder#fetchSize(int) fetchSize} at a time, loaded read-only
+ * (no dirty-checking snapshot), and the persistence context is cleared every {@link Builder#clearEvery(int) N rows}
+ * so that the entities already consumed can be garbage collected: heap usage stays flat whatever the result size.
+ * </p>
+ * <p>
+ * The stream holds an open cursor: it must be consumed inside a transaction (PostgreSQL only honours the fetch size
+ * with auto-commit disabled) and closed, e.g. with try-with-resources. Entities handed to the consumer are detached
+ * once the following chunk is read, so lazy associations must be fetched while consuming the row.
+ * </p>
+ *
+ * @param <T> the type of the entity.
+ */
+public final class JpaStreamingQuery<T> {
+
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+    public static final int DEFAULT_CLEAR_EVERY = 1_000;
+
+    private final EntityManager entityManager;
+    private final Class<T> entityType;
+    private final Specification<T> specification;
+    private final SortModel sort;
+    private final int fetchSize;
+    private final int clearEvery;
+
+    private JpaStreamingQuery(Builder<T> builder) {
+        this.entityManager = builder.entityManager;
+        this.entityType = builder.entityType;
+        this.specification = builder.specification;
+        this.sort = builder.sort;
+        this.fetchSize = builder.fetchSize;
+        this.clearEvery = builder.clearEvery;
+    }
+
+    public static <T> Builder<T> builder(EntityManager entityManager, Class<T> entityType) {
+        return new Builder<>(entityManager, entityType);
+    }
+
+    public static final class Builder<T> {
+        private final EntityManager entityManager;
+        private final Class<T> entityType;
+        private Specification<T> specification;
+        private SortModel sort = SortModel.empty();
+        private int fetchSize = DEFAULT_FETCH_SIZE;
+        private int clearEvery = DEFAULT_CLEAR_EVERY;
+
+        private Builder(EntityManager entityManager, Class<T> entityType) {
+            this.entityManager = Objects.requireNonNull(entityManager, "EntityManager cannot be null");
+            this.entityType = Objects.requireNonNull(entityType, "Entity type cannot be null");
+        }
+
+        /**
+         * @param specification the filters, typically built by {@link FilterSpecificationBuilder}.
+         * @return this builder.
+         */
+        public Builder<T> specification(Specification<T> specification) {
+            this.specification = specification;
+            return this;
+        }
+
+        public Builder<T> sort(SortModel sort) {
+            this.sort = sort == null ? SortModel.empty() : sort;
+            return this;
+        }
+
+        /**
+         * @param fetchSize the number of rows fetched from the database per round trip.
+         * @return this builder.
+         */
+        public Builder<T> fetchSize(int fetchSize) {
+            if (fetchSize < 1) {
+                throw new IllegalArgumentException("Fetch size must be greater than 0");
+            }
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        /**
+         * @param clearEvery the number of rows after which the persistence context is cleared.
+         * @return this builder.
+         */
+        public Builder<T> clearEvery(int clearEvery) {
+            if (clearEvery < 1) {
+                throw new IllegalArgumentException("Clear interval must be greater than 0");
+            }
+            this.clearEvery = clearEvery;
+            return this;
+        }
+
+        public JpaStreamingQuery<T> build() {
+            return new JpaStreamingQuery<>(this);
+        }
+    }
+
+    /**
+     * Opens the stream of matching entities.
+     *
+     * @return the stream, to be closed once consumed.
+     */
+    public Stream<T> stream() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(PageableMapper.toSpringSort(sort), root, cb));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        return clearingEvery(typedQuery.getResultStream(), clearEvery, entityManager::clear);
+    }
+
+    /**
+     * Wraps a sequential stream so that an action runs every {@code interval} rows, right before the next row is read,
+     * i.e. once the previous rows have been fully processed downstream.
+     */
+    static <T> Stream<T> clearingEvery(Stream<T> source, int interval, Runnable clear) {
+        Spliterator<T> rows = source.spliterator();
+        Spliterator<T> clearing = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private long read;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (read > 0 && read % interval == 0) {
+                    clear.run();
+                }
+                boolean advanced = rows.tryAdvance(action);
+                if (advanced) {
+                    read++;
+                }
+                return advanced;
+            }
+        };
+        return StreamSupport.stream(clearing, false).onClose(source::close);
+    }
+}
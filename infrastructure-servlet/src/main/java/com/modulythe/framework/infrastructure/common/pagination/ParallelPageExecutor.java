@@ -0,0 +1,179 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs the content query and the count query of a page concurrently, then builds the {@link PageModel}
+ * with {@link ServletPageBuilder}.
+ * <p>
+ * Each query runs on a thread of its own (a virtual thread by default), in a transaction of its own provided by
+ * the given {@link TransactionOperations} (typically a read-only
+ * {@link org.springframework.transaction.support.TransactionTemplate}): the two queries use two connections,
+ * and the page latency becomes that of the slowest query instead of their sum. The connection pool must be sized
+ * accordingly, each paged request holding up to two connections at once.
+ * </p>
+ * <p>
+ * If one query fails, the other is cancelled (its thread is interrupted) and the failure is rethrown on the
+ * calling thread. The queries run outside the transaction of the caller, if any: the returned entities are
+ * detached, so lazy associations must be fetched by the queries themselves.
+ * </p>
+ */
+public final class ParallelPageExecutor implements AutoCloseable {
+
+    private final TransactionOperations transaction;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    /**
+     * Creates an executor running each query on a new virtual thread.
+     *
+     * @param transaction runs each query in a transaction.
+     */
+    public ParallelPageExecutor(TransactionOperations transaction) {
+        this(transaction, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    /**
+     * Creates an executor running the queries on the given executor service, which is not shut down on
+     * {@link #close()}.
+     *
+     * @param transaction runs each query in a transaction.
+     * @param executor    runs the queries.
+     */
+    public ParallelPageExecutor(TransactionOperations transaction, ExecutorService executor) {
+        this(transaction, executor, false);
+    }
+
+    private ParallelPageExecutor(TransactionOperations transaction, ExecutorService executor, boolean ownsExecutor) {
+        this.transaction = Objects.requireNonNull(transaction, "Transaction operations cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Reads a page, running the content and count queries concurrently.
+     * <p>
+     * Slice requests need no count: the content query alone runs, on the calling thread, and is expected to
+     * fetch {@code itemsPerPage + 1} rows (see {@link PageableMapper#toLookaheadPageable(PageableModel)}).
+     * </p>
+     *
+     * @param <T>      the type of the content elements.
+     * @param content  runs the content query.
+     * @param count    runs the count query; not called for slice requests.
+     * @param pageable the pagination request, in paged or slice mode.
+     * @return the page.
+     * @throws IllegalArgumentException for keyset requests, which have no count to parallelize.
+     */
+    public <T> PageModel<T> page(Supplier<List<T>> content, LongSupplier count, PageableModel pageable) {
+        if (pageable.isSlice()) {
+            return ServletPageBuilder.buildSlice(inTransaction(content), pageable);
+        }
+        assertNotKeyset(pageable);
+        Results<List<T>, Long> results = both(content, count::getAsLong);
+        return ServletPageBuilder.buildPage(results.first(), results.second(), pageable);
+    }
+
+    /**
+     * Reads a page whose count is resolved by
+     * {@link com.modulythe.framework.application.pagination.PageCountResolver}, running the content query and
+     * the count resolution concurrently.
+     *
+     * @param <T>      the type of the content elements.
+     * @param content  runs the content query.
+     * @param count    resolves the count, exact or estimated; not called for slice requests.
+     * @param pageable the pagination request, in paged or slice mode.
+     * @return the page.
+     * @throws IllegalArgumentException for keyset requests, which have no count to parallelize.
+     */
+    public <T> PageModel<T> resolvedPage(Supplier<List<T>> content, Supplier<PageCount> count, PageableModel pageable) {
+        if (pageable.isSlice()) {
+            return ServletPageBuilder.buildSlice(inTransaction(content), pageable);
+        }
+        assertNotKeyset(pageable);
+        Results<List<T>, PageCount> results = both(content, count);
+        return ServletPageBuilder.buildPage(results.first(), results.second(), pageable);
+    }
+
+    /**
+     * Shuts down the executor service if it was created by this executor.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertNotKeyset(PageableModel pageable) {
+        if (pageable.isKeyset()) {
+            throw new IllegalArgumentException("Keyset requests have no count query to run in parallel");
+        }
+    }
+
+    private <V> V inTransaction(Supplier<V> query) {
+        return transaction.execute(status -> query.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A, B> Results<A, B> both(Supplier<A> first, Supplier<B> second) {
+        CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        Future<Object> firstResult = completion.submit(() -> inTransaction(first));
+        Future<Object> secondResult;
+        try {
+            secondResult = completion.submit(() -> inTransaction(second));
+        } catch (RuntimeException e) {
+            firstResult.cancel(true);
+            throw e;
+        }
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                Future<Object> done = completion.take();
+                try {
+                    done.get();
+                } catch (ExecutionException e) {
+                    firstResult.cancel(true);
+                    secondResult.cancel(true);
+                    throw rethrow(e.getCause());
+                }
+            }
+            return new Results<>((A) firstResult.get(), (B) secondResult.get());
+        } catch (InterruptedException e) {
+            firstResult.cancel(true);
+            secondResult.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("Interrupted while waiting for the page queries", e);
+        } catch (ExecutionException e) {
+            // Unreachable: both futures completed successfully
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new TechnicalException("Page query failed", cause);
+    }
+
+    private record Results<A, B>(A first, B second) {
+    }
+}
@@ -1,9 +1,13 @@
 package com.modulythe.framework.infrastructure.common.pagination;
 
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.domain.common.pagination.CursorPageModel;
 import com.modulythe.framework.domain.common.pagination.PageModel;
 import com.modulythe.framework.domain.common.pagination.PageableModel;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Utility class to build a Domain {@link PageModel} from blocking sources.
@@ -38,4 +42,86 @@ public final class ServletPageBuilder {
                 .totalItems(totalElements)
                 .build();
     }
+
+    /**
+     * Builds a {@link PageModel} from a count resolved by
+     * {@link com.modulythe.framework.application.pagination.PageCountResolver}, which may be cached or estimated.
+     *
+     * @param <T>      the type of the content elements.
+     * @param content  the list of content elements for the current page.
+     * @param count    the total count, exact or estimated.
+     * @param pageable the original {@link PageableModel} request containing page number and size.
+     * @return the constructed {@link PageModel}.
+     */
+    public static <T> PageModel<T> buildPage(
+            List<T> content,
+            PageCount count,
+            PageableModel pageable) {
+
+        return PageModel.builder(content)
+                .itemsPerPage(pageable.getItemsPerPage())
+                .pageNumber(pageable.getPageNumber())
+                .totalItems(count.count())
+                .totalEstimated(count.estimated())
+                .build();
+    }
+
+    /**
+     * Builds a slice {@link PageModel}, without any count query, from the rows of a query fetching
+     * {@code itemsPerPage + 1} rows from the offset of the requested page
+     * (see {@link PageableMapper#toLookaheadPageable(PageableModel)}).
+     *
+     * @param <T>      the type of the content elements.
+     * @param rows     the rows from the offset of the current page, extra row included.
+     * @param pageable the original {@link PageableModel} request containing page number and size.
+     * @return the slice, whose total items are {@link PageModel#UNKNOWN_TOTAL_ITEMS}.
+     */
+    public static <T> PageModel<T> buildSlice(
+            List<T> rows,
+            PageableModel pageable) {
+
+        return PageModel.ofSlice(rows, pageable);
+    }
+
+    /**
+     * Builds a slice {@link PageModel} from a Spring Data {@link Slice}, as returned by repository methods
+     * declaring a {@code Slice} return type (which fetch the extra row by themselves instead of counting).
+     *
+     * @param <T>      the type of the content elements.
+     * @param slice    the Spring Data slice.
+     * @param pageable the original {@link PageableModel} request containing page number and size.
+     * @return the slice, whose total items are {@link PageModel#UNKNOWN_TOTAL_ITEMS}.
+     */
+    public static <T> PageModel<T> buildSlice(
+            Slice<T> slice,
+            PageableModel pageable) {
+
+        return PageModel.builder(slice.getContent())
+                .itemsPerPage(pageable.getItemsPerPage())
+                .pageNumber(pageable.getPageNumber())
+                .slice(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * Builds a {@link CursorPageModel} from the rows of a keyset query.
+     * <p>
+     * The rows are expected to be filtered with the seek specification, sorted with
+     * {@link PageableModel#getEffectiveSort()} and limited to {@code itemsPerPage + 1}
+     * (see {@link PageableMapper#toSpringPageable(PageableModel)}). No count query is involved.
+     * </p>
+     *
+     * @param <T>          the type of the content elements.
+     * @param rows         the rows located after (or before) the cursor.
+     * @param pageable     the keyset {@link PageableModel} request.
+     * @param keyExtractor extracts the sort key values of a row, in the order of the sort orders.
+     * @return the constructed {@link CursorPageModel}.
+     */
+    public static <T> CursorPageModel<T> buildCursorPage(
+            List<T> rows,
+            PageableModel pageable,
+            Function<? super T, ? extends List<?>> keyExtractor) {
+
+        return CursorPageModel.of(rows, pageable, keyExtractor);
+    }
 }
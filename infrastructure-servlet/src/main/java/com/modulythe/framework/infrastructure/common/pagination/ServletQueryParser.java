@@ -0,0 +1,29 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Utility class reading the filters and pagination of a Servlet request with a {@link QuerySchema}.
+ * <p>
+ * The raw query string is parsed directly, without going through {@link HttpServletRequest#getParameterMap()},
+ * so form parameters of a POST body are not read.
+ * </p>
+ */
+public final class ServletQueryParser {
+
+    private ServletQueryParser() {
+        // Utility class
+    }
+
+    /**
+     * Parses the query string of a request.
+     *
+     * @param request the request.
+     * @param schema  the parameters declared by the endpoint.
+     * @return the filters and pagination request.
+     * @throws com.modulythe.framework.infrastructure.exception.MalFormedQueryException if a parameter is invalid.
+     */
+    public static PageQuery parse(HttpServletRequest request, QuerySchema schema) {
+        return schema.parse(request.getQueryString());
+    }
+}
@@ -0,0 +1,179 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Utility class to stream query results to a Servlet response as CSV or NDJSON, without loading them in memory.
+ * <p>
+ * Unlike {@link ServletPageBuilder}, which takes a {@link List}, the rows are read from a {@link Stream}
+ * (see {@link JpaStreamingQuery}) and written one by one through a buffered writer. The body is written by
+ * Spring MVC on an async thread, after the controller has returned: the stream is therefore opened inside the
+ * body, in a transaction of its own provided by the given {@link TransactionOperations}
+ * (typically a read-only {@link org.springframework.transaction.support.TransactionTemplate}).
+ * </p>
+ */
+public final class ServletStreamBuilder {
+
+    /**
+     * Media type of CSV bodies.
+     */
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private ServletStreamBuilder() {
+        // Utility class
+    }
+
+    /**
+     * Builds a response streaming rows as newline delimited JSON.
+     *
+     * @param <T>         the type of the rows.
+     * @param transaction runs the export in a transaction.
+     * @param rows        opens the stream of rows; called on the writing thread, inside the transaction.
+     * @param mapper      the JSON mapper serializing each row.
+     * @return the response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ndjson(
+            TransactionOperations transaction,
+            Supplier<Stream<T>> rows,
+            ObjectMapper mapper) {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body(transaction, rows, (stream, out) -> writeNdjson(stream, out, mapper)));
+    }
+
+    /**
+     * Builds a response streaming rows as CSV (RFC 4180), with a header line.
+     *
+     * @param <T>         the type of the rows.
+     * @param transaction runs the export in a transaction.
+     * @param rows        opens the stream of rows; called on the writing thread, inside the transaction.
+     * @param header      the column names.
+     * @param columns     extracts the column values of a row, in the order of the header.
+     * @return the response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> csv(
+            TransactionOperations transaction,
+            Supplier<Stream<T>> rows,
+            List<String> header,
+            Function<? super T, ? extends List<?>> columns) {
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .body(body(transaction, rows, (stream, out) -> writeCsv(stream, out, header, columns)));
+    }
+
+    /**
+     * Writes rows as newline delimited JSON.
+     *
+     * @param <T>    the type of the rows.
+     * @param rows   the rows.
+     * @param out    the output, left open.
+     * @param mapper the JSON mapper serializing each row.
+     * @throws IOException if the output cannot be written.
+     */
+    public static <T> void writeNdjson(Stream<T> rows, OutputStream out, ObjectMapper mapper) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+            writer.write(mapper.writeValueAsString(iterator.next()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes rows as CSV (RFC 4180), with a header line.
+     * <p>
+     * Text values starting with a formula character ({@code = + - @}) are prefixed with a quote,
+     * so that spreadsheets do not evaluate them (CSV injection).
+     * </p>
+     *
+     * @param <T>     the type of the rows.
+     * @param rows    the rows.
+     * @param out     the output, left open.
+     * @param header  the column names.
+     * @param columns extracts the column values of a row, in the order of the header.
+     * @throws IOException if the output cannot be written.
+     */
+    public static <T> void writeCsv(Stream<T> rows,
+                                    OutputStream out,
+                                    List<String> header,
+                                    Function<? super T, ? extends List<?>> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeCsvLine(writer, header);
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+            List<?> values = columns.apply(iterator.next());
+            if (values.size() != header.size()) {
+                throw new IllegalArgumentException("Row has " + values.size() + " columns, header has " + header.size());
+            }
+            writeCsvLine(writer, values);
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        return quote ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(Stream<T> rows, OutputStream out) throws IOException;
+    }
+
+    private static <T> StreamingResponseBody body(TransactionOperations transaction,
+                                                  Supplier<Stream<T>> rows,
+                                                  RowWriter<T> writer) {
+        Objects.requireNonNull(transaction, "Transaction operations cannot be null");
+        return out -> {
+            try {
+                transaction.executeWithoutResult(status -> {
+                    try (Stream<T> stream = rows.get()) {
+                        writer.write(stream, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
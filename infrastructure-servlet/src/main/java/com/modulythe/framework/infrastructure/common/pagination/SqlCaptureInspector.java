@@ -0,0 +1,60 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate {@link StatementInspector} capturing the SQL statements issued on the current thread while
+ * {@link JpaSlowQueryDetector} times a query; statements are passed through unchanged.
+ * <p>
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} set to the name of
+ * this class. Outside a capture it only reads a thread local. At most {@value #MAX_STATEMENTS} statements are kept
+ * per capture, so that a query loading associations one by one does not fill the memory.
+ * </p>
+ */
+public class SqlCaptureInspector implements StatementInspector {
+
+    static final int MAX_STATEMENTS = 16;
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null && captured.size() < MAX_STATEMENTS) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts capturing the statements of the current thread.
+     *
+     * @return the enclosing capture, to give back to {@link #stop(List)}.
+     */
+    static List<String> start() {
+        List<String> enclosing = CAPTURED.get();
+        CAPTURED.set(new ArrayList<>());
+        return enclosing;
+    }
+
+    /**
+     * Stops the current capture, its statements being added to the enclosing capture if any.
+     *
+     * @param enclosing the capture returned by {@link #start()}.
+     * @return the statements captured since {@link #start()}.
+     */
+    static List<String> stop(List<String> enclosing) {
+        List<String> captured = CAPTURED.get();
+        if (enclosing == null) {
+            CAPTURED.remove();
+        } else {
+            int room = Math.max(0, MAX_STATEMENTS - enclosing.size());
+            enclosing.addAll(captured.subList(0, Math.min(captured.size(), room)));
+            CAPTURED.set(enclosing);
+        }
+        return captured;
+    }
+}
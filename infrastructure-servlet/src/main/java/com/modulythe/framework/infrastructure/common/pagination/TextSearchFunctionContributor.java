@@ -0,0 +1,62 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL functions of the PostgreSQL {@link TextSearch} backends in Hibernate, so that
+ * {@link FilterSpecificationBuilder} can express the {@code @@} and {@code <%} operators in JPA criteria.
+ * <p>
+ * Discovered by Hibernate through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ * The functions only render SQL: they require PostgreSQL, and the {@code pg_trgm} extension for the trigram ones.
+ * </p>
+ */
+public class TextSearchFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code fts_match(document, language, text)}: whether the text search matches the tsvector of a document.
+     */
+    static final String FTS_MATCH = "fts_match";
+    /**
+     * {@code fts_rank(document, language, text)}: the rank of a document for the text search.
+     */
+    static final String FTS_RANK = "fts_rank";
+    /**
+     * {@code fts_vector_match(vector, language, text)}: whether the text search matches a stored tsvector.
+     */
+    static final String FTS_VECTOR_MATCH = "fts_vector_match";
+    /**
+     * {@code fts_vector_rank(vector, language, text)}: the rank of a stored tsvector for the text search.
+     */
+    static final String FTS_VECTOR_RANK = "fts_vector_rank";
+    /**
+     * {@code trgm_match(column, text)}: whether the text is similar to a word of the column.
+     */
+    static final String TRGM_MATCH = "trgm_match";
+    /**
+     * {@code trgm_rank(column, text)}: the similarity of the text to the most similar word of the column.
+     */
+    static final String TRGM_RANK = "trgm_rank";
+
+    private static final String QUERY = "websearch_to_tsquery(cast(?2 as regconfig), ?3)";
+    private static final String DOCUMENT = "to_tsvector(cast(?2 as regconfig), ?1)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        BasicType<Boolean> bool = types.resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> rank = types.resolve(StandardBasicTypes.DOUBLE);
+
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        registry.registerPattern(FTS_MATCH, "(" + DOCUMENT + " @@ " + QUERY + ")", bool);
+        registry.registerPattern(FTS_RANK, "ts_rank(" + DOCUMENT + ", " + QUERY + ")", rank);
+        registry.registerPattern(FTS_VECTOR_MATCH, "(?1 @@ " + QUERY + ")", bool);
+        registry.registerPattern(FTS_VECTOR_RANK, "ts_rank(?1, " + QUERY + ")", rank);
+        registry.registerPattern(TRGM_MATCH, "(?2 <% ?1)", bool);
+        registry.registerPattern(TRGM_RANK, "word_similarity(?2, ?1)", rank);
+    }
+}
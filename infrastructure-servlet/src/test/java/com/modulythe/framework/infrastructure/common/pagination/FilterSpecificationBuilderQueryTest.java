@@ -0,0 +1,231 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterList;
+import com.modulythe.framework.domain.common.pagination.FilterListValues;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.Country;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.Customer;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.Line;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.sql.Array;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.modulythe.framework.domain.common.pagination.FilterComposite.and;
+import static com.modulythe.framework.domain.common.pagination.FilterComposite.or;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the specifications of {@link FilterSpecificationBuilder} through {@link SimpleJpaRepository}, as in production:
+ * a page query, then a count query built from the same specification.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FilterSpecificationBuilderQueryTest {
+
+    private final JpaTestDatabase database = JpaTestDatabase.h2();
+    private final FilterSpecificationBuilder<PurchaseOrder> builder = new FilterSpecificationBuilder<>(PurchaseOrder.class);
+
+    @BeforeAll
+    void insertOrders() {
+        database.entityManagerFactory().runInTransaction(entityManager -> {
+            Country france = country(entityManager, "FR");
+            Country spain = country(entityManager, "ES");
+            order(entityManager, "A-1", customer(entityManager, "Acme", france), "Desk", "Desk", "Lamp");
+            order(entityManager, "A-2", customer(entityManager, "Bolt", spain), "Chair");
+            order(entityManager, "A-3", customer(entityManager, "Acme Iberia", spain), "Desk");
+        });
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        database.dataSource().clear();
+    }
+
+    @AfterAll
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void shouldJoinEachAssociationOnce_WhenSeveralFiltersUseIt() {
+        List<Filter> filters = List.of(
+                new FilterString("customer.name", "Acme", FilterString.MatchMode.EXACT),
+                new FilterString("customer.country.code", "FR", FilterString.MatchMode.EXACT));
+
+        Page<String> page = findAll(builder.build(filters), PageRequest.of(0, 10, Sort.by("customer.name")));
+
+        assertEquals(List.of("A-1"), page.getContent());
+        String sql = pageQuery();
+        assertEquals(1, joins(sql, "customer"));
+        assertEquals(1, joins(sql, "country"));
+    }
+
+    @Test
+    void shouldReturnEachOrderOnce_WhenFilteringThroughCollection() {
+        List<Filter> filters = List.of(new FilterString("lines.product", "Desk", FilterString.MatchMode.EXACT));
+
+        Page<String> page = findAll(builder.build(filters), PageRequest.of(0, 1, Sort.by("reference")));
+
+        assertEquals(List.of("A-1"), page.getContent());
+        assertEquals(2, page.getTotalElements());
+        assertTrue(pageQuery().startsWith("select distinct"));
+        assertTrue(countQuery().contains("count(distinct"));
+    }
+
+    @Test
+    void shouldFilterOnFetchJoin_AndSkipFetchInCountQuery() {
+        Specification<PurchaseOrder> specification = builder.fetch("customer")
+                .and(builder.build(List.of(new FilterString("customer.name", "Acme", FilterString.MatchMode.PREFIX))));
+
+        List<Boolean> customersLoaded = database.entityManagerFactory().callInTransaction(entityManager -> {
+            Page<PurchaseOrder> page = repository(entityManager)
+                    .findAll(specification, PageRequest.of(0, 1, Sort.by("reference")));
+            assertEquals(2, page.getTotalElements());
+            return page.getContent().stream().map(order -> Hibernate.isInitialized(order.customer)).toList();
+        });
+
+        assertEquals(List.of(true), customersLoaded);
+        assertEquals(1, joins(pageQuery(), "customer"));
+        assertEquals(1, joins(countQuery(), "customer"));
+    }
+
+    @Test
+    void shouldMatchPrefixWithLikeOnly_UnlessPropertyIsCollated() {
+        List<Filter> filters = List.of(new FilterString("reference", "A-", FilterString.MatchMode.PREFIX));
+
+        Page<String> page = findAll(builder.build(filters), PageRequest.of(0, 10, Sort.by("reference")));
+
+        assertEquals(List.of("A-1", "A-2", "A-3"), page.getContent());
+        assertTrue(pageQuery().contains("reference like ? escape"));
+        assertFalse(pageQuery().contains("reference>=?"));
+
+        FilterSpecificationBuilder<PurchaseOrder> collated = new FilterSpecificationBuilder<>(PurchaseOrder.class)
+                .collatedPrefixRange("reference");
+        database.dataSource().clear();
+        page = findAll(collated.build(filters), PageRequest.of(0, 10, Sort.by("reference")));
+
+        assertEquals(List.of("A-1", "A-2", "A-3"), page.getContent());
+        assertTrue(pageQuery().contains("reference>=?"));
+        assertTrue(pageQuery().contains("reference<?"));
+    }
+
+    @Test
+    void shouldSearchAndRankByMatchingFields_WithLikeBackend() {
+        FilterSpecificationBuilder<PurchaseOrder> search = new FilterSpecificationBuilder<>(PurchaseOrder.class)
+                .textSearch("search", TextSearch.builder(TextSearch.Backend.LIKE, "customer.name", "customer.country.code")
+                        .build());
+        List<Filter> filters = List.of(new FilterString("search", " E "));
+
+        Page<String> page = findAll(search.build(filters).and(search.orderByRelevance(filters)), PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals("A-3", page.getContent().get(0));
+        assertTrue(pageQuery().contains("order by (case when lower(c1_0.name) like ? escape"), pageQuery());
+        assertFalse(countQuery().contains("order by"));
+    }
+
+    @Test
+    void shouldLeaveOrUnconstrained_WhenAnOperandIsABlankSearch() {
+        FilterSpecificationBuilder<PurchaseOrder> search = new FilterSpecificationBuilder<>(PurchaseOrder.class)
+                .textSearch("search", TextSearch.builder(TextSearch.Backend.LIKE, "customer.name").build());
+        Filter blank = new FilterString("search", " ");
+        Filter reference = new FilterString("reference", "A-1", FilterString.MatchMode.EXACT);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("reference"));
+
+        assertEquals(List.of("A-1", "A-2", "A-3"), findAll(search.build(List.of(or(blank, reference))), pageable).getContent());
+        assertEquals(List.of("A-1", "A-2", "A-3"),
+                findAll(search.build(List.of(or(blank, new FilterString("search", "  ")))), pageable).getContent());
+        assertEquals(List.of("A-1"), findAll(search.build(List.of(and(blank, reference))), pageable).getContent());
+    }
+
+    @Test
+    void shouldBindListAsSingleArrayParameter_WithArrayStrategy() {
+        FilterSpecificationBuilder<PurchaseOrder> arrays = new FilterSpecificationBuilder<>(PurchaseOrder.class)
+                .inListStrategy(InListStrategy.of(InListStrategy.Mode.ARRAY));
+        for (List<String> references : List.of(List.of("A-1", "A-3"), List.of("A-1", "A-2", "A-3"))) {
+            database.dataSource().clear();
+            List<Filter> filters = List.of(new FilterList("reference", new FilterListValues(references)));
+            Page<String> page = findAll(arrays.build(filters), PageRequest.of(0, 10, Sort.by("reference")));
+
+            assertEquals(references, page.getContent());
+            assertTrue(pageQuery().contains("where (po1_0.reference = any(?))"), pageQuery());
+            List<Object> parameters = database.dataSource().statements("from orders").get(0).parameters();
+            assertEquals(3, parameters.size());
+            assertInstanceOf(Array.class, parameters.get(0));
+        }
+    }
+
+    private Page<String> findAll(Specification<PurchaseOrder> specification, Pageable pageable) {
+        return database.entityManagerFactory().callInTransaction(entityManager ->
+                repository(entityManager).findAll(specification, pageable).map(order -> order.reference));
+    }
+
+    private static SimpleJpaRepository<PurchaseOrder, Long> repository(EntityManager entityManager) {
+        return new SimpleJpaRepository<>(PurchaseOrder.class, entityManager);
+    }
+
+    private String pageQuery() {
+        return database.dataSource().statements("from orders").stream()
+                .map(RecordingDataSource.RecordedStatement::sql)
+                .filter(sql -> !sql.contains("count("))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private String countQuery() {
+        return database.dataSource().statements("count(").get(0).sql();
+    }
+
+    private static int joins(String sql, String table) {
+        Matcher matcher = Pattern.compile("join " + table + "\\b", Pattern.CASE_INSENSITIVE).matcher(sql);
+        int joins = 0;
+        while (matcher.find()) {
+            joins++;
+        }
+        return joins;
+    }
+
+    private static Country country(EntityManager entityManager, String code) {
+        Country country = new Country();
+        country.code = code;
+        entityManager.persist(country);
+        return country;
+    }
+
+    private static Customer customer(EntityManager entityManager, String name, Country country) {
+        Customer customer = new Customer();
+        customer.name = name;
+        customer.country = country;
+        entityManager.persist(customer);
+        return customer;
+    }
+
+    private static void order(EntityManager entityManager, String reference, Customer customer, String... products) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.reference = reference;
+        order.customer = customer;
+        for (String product : products) {
+            Line line = new Line();
+            line.product = product;
+            line.quantity = 1;
+            order.lines.add(line);
+        }
+        entityManager.persist(order);
+    }
+}
@@ -0,0 +1,150 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterComposite;
+import com.modulythe.framework.domain.common.pagination.FilterDate;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterSpecificationBuilderTest {
+
+    static class Country {
+        private String code;
+    }
+
+    static class Customer {
+        private String name;
+        private String normalizedName;
+        private Country country;
+    }
+
+    static class Line {
+        private String product;
+    }
+
+    static class Order {
+        private String reference;
+        private LocalDate createdAt;
+        private Customer customer;
+        private List<Line> lines;
+    }
+
+    @Test
+    void shouldReusePlan_WhenOnlyValuesDiffer() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+
+        builder.build(List.of(new FilterString("reference", "A-1")));
+        builder.build(List.of(new FilterString("reference", "B-2")));
+
+        assertEquals(1, builder.cachedPlans());
+    }
+
+    @Test
+    void shouldCompileOnePlanPerDateType() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+
+        builder.build(List.of(dateFilter(FilterDate.FilterDateType.AFTER)));
+        builder.build(List.of(dateFilter(FilterDate.FilterDateType.BEFORE)));
+        builder.build(List.of(dateFilter(FilterDate.FilterDateType.AFTER)));
+
+        assertEquals(2, builder.cachedPlans());
+    }
+
+    @Test
+    void shouldRejectUnknownProperty_WhenEntityTypeIsKnown() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+        List<Filter> filters = List.of(new FilterString("supplier", "Acme"));
+
+        assertThrows(MalFormedQueryException.class, () -> builder.build(filters));
+        assertEquals(0, builder.cachedPlans());
+    }
+
+    @Test
+    void shouldCompileCompositeOperands() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+        Filter composite = FilterComposite.or(
+                new FilterString("reference", "A-1"),
+                FilterComposite.not(dateFilter(FilterDate.FilterDateType.AFTER)));
+
+        builder.build(List.of(composite));
+        List<Filter> unknownOperand = List.of(FilterComposite.or(
+                new FilterString("reference", "A-1"),
+                new FilterString("supplier", "Acme")));
+
+        assertEquals(1, builder.cachedPlans());
+        assertThrows(MalFormedQueryException.class, () -> builder.build(unknownOperand));
+    }
+
+    @Test
+    void shouldResolveNestedPaths_WhenEntityTypeIsKnown() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+
+        builder.build(List.of(new FilterString("customer.country.code", "FR"), new FilterString("lines.product", "Desk")));
+        List<Filter> unknownLeaf = List.of(new FilterString("customer.nickname", "Acme"));
+        List<Filter> throughBasic = List.of(new FilterString("reference.value", "A-1"));
+
+        assertEquals(1, builder.cachedPlans());
+        assertThrows(MalFormedQueryException.class, () -> builder.build(unknownLeaf));
+        assertThrows(MalFormedQueryException.class, () -> builder.build(throughBasic));
+    }
+
+    @Test
+    void shouldCompileOnePlanPerMatchMode() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class)
+                .matchMode("reference", FilterString.MatchMode.PREFIX)
+                .normalizedProperty("customer.name", "customer.normalizedName");
+
+        builder.build(List.of(new FilterString("reference", "A-")));
+        builder.build(List.of(new FilterString("reference", "B-", FilterString.MatchMode.PREFIX)));
+        builder.build(List.of(new FilterString("reference", "A-1", FilterString.MatchMode.EXACT)));
+        builder.build(List.of(new FilterString("customer.name", "acme", FilterString.MatchMode.CASE_INSENSITIVE_PREFIX)));
+
+        assertEquals(4, builder.cachedPlans());
+        builder.matchMode("reference", FilterString.MatchMode.EXACT);
+        assertEquals(0, builder.cachedPlans());
+        assertThrows(MalFormedQueryException.class, () -> builder.normalizedProperty("reference", "referenceLower"));
+    }
+
+    @Test
+    void shouldCompileTextSearchAcrossProperties_WhenFilterNameIsMapped() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class)
+                .textSearch("search", TextSearch.builder(TextSearch.Backend.POSTGRES_TRIGRAM, "reference", "customer.name")
+                        .build());
+
+        builder.build(List.of(new FilterString("search", "A-1")));
+        builder.build(List.of(new FilterString("search", "B-2")));
+
+        assertEquals(1, builder.cachedPlans());
+    }
+
+    @Test
+    void shouldRejectUnknownTextSearchProperty_WhenEntityTypeIsKnown() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+        TextSearch search = TextSearch.builder(TextSearch.Backend.LIKE, "reference", "supplier").build();
+
+        assertThrows(MalFormedQueryException.class, () -> builder.textSearch("search", search));
+    }
+
+    @Test
+    void shouldValidateFetchPaths_WhenEntityTypeIsKnown() {
+        FilterSpecificationBuilder<Order> builder = new FilterSpecificationBuilder<>(Order.class);
+
+        assertNotNull(builder.fetch("customer.country", "lines"));
+        assertThrows(MalFormedQueryException.class, () -> builder.fetch("supplier"));
+    }
+
+    private static FilterDate dateFilter(FilterDate.FilterDateType type) {
+        return FilterDate.builder()
+                .name("createdAt")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .filterDateType(type)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import com.modulythe.framework.infrastructure.exception.TechnicalException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaCountEstimatorTest {
+
+    @Test
+    void shouldExplainRenderedSpecification_WithItsParametersBound() {
+        try (JpaTestDatabase database = JpaTestDatabase.postgresql()) {
+            FilterSpecificationBuilder<PurchaseOrder> filters = new FilterSpecificationBuilder<>(PurchaseOrder.class);
+
+            // The recording data source returns no plan
+            database.entityManagerFactory().runInTransaction(entityManager -> assertThrows(TechnicalException.class,
+                    () -> new JpaCountEstimator(entityManager).estimate(PurchaseOrder.class, filters.build(List.of(
+                            new FilterString("customer.name", "Acme", FilterString.MatchMode.EXACT),
+                            new FilterString("lines.product", "Desk", FilterString.MatchMode.EXACT))))));
+
+            RecordingDataSource.RecordedStatement explain = database.dataSource().statements("from orders").get(0);
+            assertTrue(explain.sql().startsWith("EXPLAIN (FORMAT JSON) select distinct cast(po1_0.id as "), explain.sql());
+            assertEquals(List.of("Acme", "Desk"), explain.parameters());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.FacetModel;
+import com.modulythe.framework.domain.common.pagination.FacetResultModel;
+import com.modulythe.framework.domain.common.pagination.FilterRangeValues;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JpaFacetQueryTest {
+
+    static class Customer {
+        private String country;
+    }
+
+    static class Line {
+        private String product;
+        private int quantity;
+    }
+
+    static class Order {
+        private String status;
+        private BigDecimal amount;
+        private Customer customer;
+        private List<Line> lines;
+    }
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    @Test
+    void shouldBuild_WhenFacetsAreKnown() {
+        FacetModel facets = FacetModel.builder()
+                .count("status", "customer.country", "lines.product")
+                .range("amount", "lines.quantity")
+                .build();
+
+        assertNotNull(JpaFacetQuery.builder(entityManager, Order.class, facets).build());
+    }
+
+    @Test
+    void shouldRejectFacets_WhenUnknownOrRangeIsNotNumeric() {
+        JpaFacetQuery.Builder<Order> unknown = JpaFacetQuery.builder(entityManager, Order.class,
+                FacetModel.builder().count("customer.city").build());
+        JpaFacetQuery.Builder<Order> textRange = JpaFacetQuery.builder(entityManager, Order.class,
+                FacetModel.builder().range("status").build());
+
+        assertThrows(MalFormedQueryException.class, unknown::build);
+        assertThrows(IllegalArgumentException.class, textRange::build);
+    }
+
+    @Test
+    void shouldComputeFacets_WhenRunThroughHibernate() {
+        try (JpaTestDatabase database = JpaTestDatabase.h2()) {
+            database.entityManagerFactory().runInTransaction(entityManager -> {
+                JpaTestDatabase.Country france = country(entityManager, "FR");
+                JpaTestDatabase.Country spain = country(entityManager, "ES");
+                order(entityManager, "A-1", "OPEN", "100", customer(entityManager, "Acme", france),
+                        line("Desk", 1), line("Desk", 2), line("Lamp", 5));
+                order(entityManager, "A-2", "OPEN", "40", customer(entityManager, "Bolt", spain), line("Chair", 3));
+                order(entityManager, "A-3", "PENDING", "250", customer(entityManager, "Acme Iberia", spain),
+                        line("Desk", 1));
+            });
+            FilterSpecificationBuilder<PurchaseOrder> filters = new FilterSpecificationBuilder<>(PurchaseOrder.class);
+            Specification<PurchaseOrder> specification = filters.fetch("customer").and(filters.build(List.of(
+                    new FilterString("customer.name", "Acme", FilterString.MatchMode.PREFIX))));
+            FacetModel facets = FacetModel.builder()
+                    .count("status", "customer.country.code", "lines.product")
+                    .range("amount", "lines.quantity")
+                    .build();
+
+            FacetResultModel result = database.entityManagerFactory().callInTransaction(entityManager ->
+                    JpaFacetQuery.builder(entityManager, PurchaseOrder.class, facets)
+                            .specification(specification)
+                            .build()
+                            .compute());
+
+            assertEquals(2, result.getTotalItems());
+            assertEquals(Map.of("OPEN", 1L, "PENDING", 1L), result.getCounts("status"));
+            assertEquals(Map.of("FR", 1L, "ES", 1L), result.getCounts("customer.country.code"));
+            assertEquals(Map.of("Desk", 2L, "Lamp", 1L), result.getCounts("lines.product"));
+            assertEquals(Optional.of(new FilterRangeValues(100, 250)), result.getRange("amount"));
+            assertEquals(Optional.of(new FilterRangeValues(1, 5)), result.getRange("lines.quantity"));
+            List<RecordingDataSource.RecordedStatement> statements = database.dataSource().statements("from orders");
+            assertEquals(1, statements.size());
+            String sql = statements.get(0).sql();
+            assertEquals(4, sql.split("union all", -1).length, sql);
+            assertEquals(3, sql.split("group by", -1).length - 1, sql);
+        }
+    }
+
+    private static JpaTestDatabase.Country country(EntityManager entityManager, String code) {
+        JpaTestDatabase.Country country = new JpaTestDatabase.Country();
+        country.code = code;
+        entityManager.persist(country);
+        return country;
+    }
+
+    private static JpaTestDatabase.Customer customer(EntityManager entityManager, String name,
+                                                     JpaTestDatabase.Country country) {
+        JpaTestDatabase.Customer customer = new JpaTestDatabase.Customer();
+        customer.name = name;
+        customer.country = country;
+        entityManager.persist(customer);
+        return customer;
+    }
+
+    private static JpaTestDatabase.Line line(String product, int quantity) {
+        JpaTestDatabase.Line line = new JpaTestDatabase.Line();
+        line.product = product;
+        line.quantity = quantity;
+        return line;
+    }
+
+    private static void order(EntityManager entityManager, String reference, String status, String amount,
+                              JpaTestDatabase.Customer customer, JpaTestDatabase.Line... lines) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.reference = reference;
+        order.status = status;
+        order.amount = new BigDecimal(amount);
+        order.customer = customer;
+        order.lines.addAll(List.of(lines));
+        entityManager.persist(order);
+    }
+}
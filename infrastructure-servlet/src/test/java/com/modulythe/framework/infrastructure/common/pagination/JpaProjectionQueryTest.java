@@ -0,0 +1,113 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.ProjectionModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JpaProjectionQueryTest {
+
+    static class Customer {
+        private String name;
+    }
+
+    static class Line {
+        private String product;
+    }
+
+    static class Order {
+        private String reference;
+        private long quantity;
+        private BigDecimal amount;
+        private Customer customer;
+        private List<Line> lines;
+    }
+
+    public record OrderSummary(String reference, Long quantity, String customerName) {
+    }
+
+    record OrderCustomer(String reference, String customerName) {
+    }
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    @Test
+    void shouldBuild_WhenConstructorMatchesNestedProperties() {
+        assertNotNull(JpaProjectionQuery.builder(entityManager, Order.class,
+                ProjectionModel.of(OrderSummary.class, "reference", "quantity", "customer.name")).build());
+        assertNotNull(JpaProjectionQuery.builder(entityManager, Order.class,
+                ProjectionModel.of(Tuple.class, "reference", "amount")).build());
+    }
+
+    @Test
+    void shouldSelectProjections_WhenConstructorIsNotPublic() {
+        try (JpaTestDatabase database = JpaTestDatabase.h2()) {
+            database.entityManagerFactory().runInTransaction(entityManager -> {
+                JpaTestDatabase.Customer acme = new JpaTestDatabase.Customer();
+                acme.name = "Acme";
+                entityManager.persist(acme);
+                for (String reference : List.of("A-2", "A-1")) {
+                    JpaTestDatabase.PurchaseOrder order = new JpaTestDatabase.PurchaseOrder();
+                    order.reference = reference;
+                    order.customer = acme;
+                    entityManager.persist(order);
+                }
+            });
+            PageableModel byReference = PageableModel.of(0, 10, SortModel.by(List.of(
+                    SortModel.Order.by("reference", SortModel.Direction.ASC))));
+
+            PageModel<OrderCustomer> page = database.entityManagerFactory().callInTransaction(entityManager ->
+                    JpaProjectionQuery.builder(entityManager, JpaTestDatabase.PurchaseOrder.class,
+                            ProjectionModel.of(OrderCustomer.class, "reference", "customer.name")).build().page(byReference));
+            PageModel<Tuple> tuples = database.entityManagerFactory().callInTransaction(entityManager ->
+                    JpaProjectionQuery.builder(entityManager, JpaTestDatabase.PurchaseOrder.class,
+                            ProjectionModel.of(Tuple.class, "reference")).build().page(byReference));
+
+            assertEquals(List.of(new OrderCustomer("A-1", "Acme"), new OrderCustomer("A-2", "Acme")), page.getItems());
+            assertEquals(2, page.getTotalItems());
+            assertEquals(List.of("A-1", "A-2"), tuples.getItems().stream().map(tuple -> tuple.get("reference")).toList());
+        }
+    }
+
+    @Test
+    void shouldRejectProjection_WhenNoConstructorMatches() {
+        JpaProjectionQuery.Builder<Order, OrderSummary> reordered = JpaProjectionQuery.builder(entityManager,
+                Order.class, ProjectionModel.of(OrderSummary.class, "quantity", "reference", "customer.name"));
+        JpaProjectionQuery.Builder<Order, OrderSummary> missing = JpaProjectionQuery.builder(entityManager,
+                Order.class, ProjectionModel.of(OrderSummary.class, "reference", "quantity"));
+
+        assertThrows(IllegalArgumentException.class, reordered::build);
+        assertThrows(IllegalArgumentException.class, missing::build);
+    }
+
+    @Test
+    void shouldRejectProjection_WhenPropertyIsUnknownOrThroughCollection() {
+        JpaProjectionQuery.Builder<Order, Tuple> unknown = JpaProjectionQuery.builder(entityManager,
+                Order.class, ProjectionModel.of(Tuple.class, "customer.email"));
+        JpaProjectionQuery.Builder<Order, Tuple> collection = JpaProjectionQuery.builder(entityManager,
+                Order.class, ProjectionModel.of(Tuple.class, "lines.product"));
+
+        assertThrows(MalFormedQueryException.class, unknown::build);
+        assertThrows(MalFormedQueryException.class, collection::build);
+    }
+
+    @Test
+    void shouldRejectKeysetRequests() {
+        JpaProjectionQuery<Order, Tuple> query = JpaProjectionQuery.builder(entityManager, Order.class,
+                ProjectionModel.of(Tuple.class, "reference")).build();
+        PageableModel keyset = PageableModel.keyset(10, SortModel.by(List.of(
+                SortModel.Order.by("reference", SortModel.Direction.ASC))), null);
+
+        assertThrows(IllegalArgumentException.class, () -> query.page(keyset));
+    }
+}
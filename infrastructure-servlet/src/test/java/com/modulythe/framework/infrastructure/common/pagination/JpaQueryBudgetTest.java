@@ -0,0 +1,104 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.PageCount;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import com.modulythe.framework.infrastructure.exception.MalFormedQueryException;
+import com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class JpaQueryBudgetTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final JpaQueryBudget budget = new JpaQueryBudget(entityManager,
+            QueryBudget.of(Duration.ofSeconds(5), Duration.ofMillis(300)));
+
+    @Test
+    void shouldSetTimeoutWhileQueryRuns_ThenRestoreIt() {
+        assertEquals("rows", budget.query(() -> "rows"));
+
+        verify(entityManager).setProperty(JpaQueryBudget.TIMEOUT_HINT, 5000);
+        verify(entityManager).setProperty(JpaQueryBudget.TIMEOUT_HINT, 0);
+    }
+
+    @Test
+    void shouldReportTimeouts_AsQueryBudgetExceeded() {
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> budget.query(() -> {
+                    throw new org.springframework.dao.QueryTimeoutException("canceling statement");
+                }));
+
+        assertInstanceOf(MalFormedQueryException.class, exception);
+        assertThrows(IllegalStateException.class, () -> budget.query(() -> {
+            throw new IllegalStateException("not a timeout");
+        }));
+    }
+
+    @Test
+    void shouldSetTimeoutOnStatements_WhenRunThroughHibernate() {
+        try (JpaTestDatabase database = JpaTestDatabase.h2()) {
+            database.entityManagerFactory().runInTransaction(entityManager -> {
+                JpaQueryBudget hibernateBudget = new JpaQueryBudget(entityManager,
+                        QueryBudget.of(Duration.ofSeconds(5), Duration.ofMillis(300)));
+
+                hibernateBudget.query(() -> countOrders(entityManager));
+                hibernateBudget.count(() -> countOrders(entityManager));
+                countOrders(entityManager);
+            });
+
+            List<Integer> timeouts = database.dataSource().statements("from orders").stream()
+                    .map(RecordingDataSource.RecordedStatement::queryTimeout)
+                    .toList();
+            assertEquals(List.of(5, 1, 0), timeouts);
+        }
+    }
+
+    @Test
+    void shouldRollBackToSavepoint_ThenEstimate_WhenCountExceedsBudget() {
+        try (JpaTestDatabase database = JpaTestDatabase.h2()) {
+            database.entityManagerFactory().runInTransaction(entityManager -> {
+                JpaQueryBudget hibernateBudget = new JpaQueryBudget(entityManager,
+                        QueryBudget.of(Duration.ofSeconds(5), Duration.ofMillis(300)));
+
+                PageCount estimated = hibernateBudget.count(() -> {
+                    countOrders(entityManager);
+                    throw new QueryTimeoutException("canceling statement");
+                }, () -> 120_000);
+                assertEquals(PageCount.estimated(120_000), estimated);
+                assertEquals(List.of("set", "rollback", "release"), database.dataSource().savepoints());
+
+                database.dataSource().clear();
+                assertEquals(PageCount.exact(0), hibernateBudget.count(() -> countOrders(entityManager), () -> 120_000));
+                assertEquals(List.of("set", "release"), database.dataSource().savepoints());
+
+                database.dataSource().clear();
+                assertThrows(QueryBudgetExceededException.class, () -> hibernateBudget.count(() -> {
+                    throw new QueryTimeoutException("canceling statement");
+                }, null));
+                assertEquals(List.of(), database.dataSource().savepoints());
+            });
+        }
+    }
+
+    @Test
+    void shouldRoundTimeoutsUpToTheSecond() {
+        assertEquals(1000, JpaQueryBudget.timeoutMillis(Duration.ofMillis(300)));
+        assertEquals(2000, JpaQueryBudget.timeoutMillis(Duration.ofSeconds(2)));
+    }
+
+    private static long countOrders(EntityManager entityManager) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        return entityManager.createQuery(query.select(cb.count(query.from(PurchaseOrder.class)))).getSingleResult();
+    }
+}
@@ -0,0 +1,93 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.application.pagination.SlowQuery;
+import com.modulythe.framework.application.pagination.SlowQueryLog;
+import com.modulythe.framework.application.pagination.SlowQueryProperties;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.exception.QueryBudgetExceededException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JpaSlowQueryDetectorTest {
+
+    static class Order {
+    }
+
+    private final SqlCaptureInspector inspector = new SqlCaptureInspector();
+
+    private static SlowQueryLog log(Duration threshold) {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setEnabled(true);
+        properties.setThreshold(threshold);
+        properties.setExplain(false);
+        return new SlowQueryLog(properties);
+    }
+
+    @Test
+    void shouldRecordShapeAndStatements_WhenQueryIsSlow() {
+        SlowQueryLog log = log(Duration.ZERO);
+        JpaSlowQueryDetector detector = new JpaSlowQueryDetector(log, mock(EntityManager.class));
+
+        String result = detector.time(Order.class, List.of(new FilterString("name", "john")), () -> {
+            inspector.inspect("select o.id from orders o where o.name like ?");
+            return "rows";
+        });
+        inspector.inspect("select 1");
+
+        assertEquals("rows", result);
+        SlowQuery recorded = log.getEntries().get(0);
+        assertEquals("Order", recorded.scope());
+        assertEquals("name:STRING", recorded.filterShape());
+        assertEquals(SlowQuery.Outcome.COMPLETED, recorded.outcome());
+        assertEquals(List.of("select o.id from orders o where o.name like ?"), recorded.statements());
+        assertEquals(List.of(), recorded.plans());
+    }
+
+    @Test
+    void shouldRecordTimedOutQuery_BeforeRethrowingItsException() {
+        SlowQueryLog log = log(Duration.ZERO);
+        JpaSlowQueryDetector detector = new JpaSlowQueryDetector(log, mock(EntityManager.class));
+        QueryBudgetExceededException timeout = new QueryBudgetExceededException(Duration.ofSeconds(2),
+                new QueryTimeoutException("Statement was canceled"));
+
+        QueryBudgetExceededException thrown = assertThrows(QueryBudgetExceededException.class,
+                () -> detector.time(Order.class, List.of(), () -> {
+                    inspector.inspect("select o.id from orders o");
+                    throw timeout;
+                }));
+
+        assertSame(timeout, thrown);
+        SlowQuery recorded = log.getEntries().get(0);
+        assertEquals(SlowQuery.Outcome.TIMED_OUT, recorded.outcome());
+        assertEquals(List.of("select o.id from orders o"), recorded.statements());
+    }
+
+    @Test
+    void shouldRecordFailedQuery_BeforeRethrowingItsException() {
+        SlowQueryLog log = log(Duration.ZERO);
+        JpaSlowQueryDetector detector = new JpaSlowQueryDetector(log, mock(EntityManager.class));
+
+        assertThrows(IllegalStateException.class, () -> detector.time(Order.class, List.of(), () -> {
+            throw new IllegalStateException("connection lost");
+        }));
+
+        assertEquals(SlowQuery.Outcome.FAILED, log.getEntries().get(0).outcome());
+    }
+
+    @Test
+    void shouldNotRecord_WhenQueryIsFast() {
+        SlowQueryLog log = log(Duration.ofMinutes(1));
+        JpaSlowQueryDetector detector = new JpaSlowQueryDetector(log, mock(EntityManager.class));
+
+        detector.time(Order.class, List.of(), () -> inspector.inspect("select 1"));
+
+        assertTrue(log.getEntries().isEmpty());
+    }
+}
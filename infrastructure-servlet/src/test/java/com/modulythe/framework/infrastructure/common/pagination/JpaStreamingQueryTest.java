@@ -0,0 +1,87 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.Customer;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JpaStreamingQueryTest {
+
+    private final JpaTestDatabase database = JpaTestDatabase.h2();
+
+    @BeforeEach
+    void insertOrders() {
+        database.entityManagerFactory().runInTransaction(entityManager -> {
+            for (int i = 1; i <= 5; i++) {
+                Customer customer = new Customer();
+                customer.name = "Customer " + i;
+                entityManager.persist(customer);
+                PurchaseOrder order = new PurchaseOrder();
+                order.reference = "A-" + i;
+                order.customer = customer;
+                entityManager.persist(order);
+            }
+        });
+        database.dataSource().clear();
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void shouldStreamWithFetchSize_ThenCloseCursor_WhenStreamIsClosed() {
+        database.entityManagerFactory().runInTransaction(entityManager -> {
+            JpaStreamingQuery<PurchaseOrder> query = JpaStreamingQuery.builder(entityManager, PurchaseOrder.class)
+                    .specification((root, criteria, cb) -> cb.notEqual(root.get("reference"), "A-3"))
+                    .sort(SortModel.by(List.of(SortModel.Order.by("reference", SortModel.Direction.DESC))))
+                    .fetchSize(2)
+                    .build();
+
+            Stream<PurchaseOrder> rows = query.stream();
+            assertEquals(List.of("A-5", "A-4"), rows.limit(2).map(order -> order.reference).toList());
+            RecordingDataSource.RecordedStatement select = database.dataSource().statements("from orders").get(0);
+            assertEquals(2, select.fetchSize());
+            assertFalse(select.isClosed());
+
+            rows.close();
+            assertTrue(select.isClosed());
+        });
+    }
+
+    @Test
+    void shouldDetachConsumedEntities_EveryClearInterval() {
+        database.entityManagerFactory().runInTransaction(entityManager -> {
+            JpaStreamingQuery<PurchaseOrder> query = JpaStreamingQuery.builder(entityManager, PurchaseOrder.class)
+                    .sort(SortModel.by(List.of(SortModel.Order.by("reference", SortModel.Direction.ASC))))
+                    .fetchSize(2)
+                    .clearEvery(2)
+                    .build();
+
+            try (Stream<PurchaseOrder> rows = query.stream()) {
+                Iterator<PurchaseOrder> iterator = rows.iterator();
+                PurchaseOrder first = iterator.next();
+                assertEquals("Customer 1", first.customer.getName());
+                assertTrue(entityManager.unwrap(Session.class).isReadOnly(first));
+                PurchaseOrder second = iterator.next();
+                PurchaseOrder third = iterator.next();
+
+                assertFalse(entityManager.contains(first));
+                assertFalse(entityManager.contains(second));
+                assertTrue(entityManager.contains(third));
+                assertThrows(LazyInitializationException.class, () -> second.customer.getName());
+            }
+        });
+    }
+}
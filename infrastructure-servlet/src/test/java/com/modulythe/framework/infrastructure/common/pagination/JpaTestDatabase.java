@@ -0,0 +1,147 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.jpa.HibernatePersistenceConfiguration;
+import org.hibernate.tool.schema.Action;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A Hibernate session factory over the test entities, for the tests running JPA criteria through Hibernate.
+ * <p>
+ * The JDBC statements are recorded by a {@link RecordingDataSource}: {@link #h2()} runs them against an in-memory
+ * H2 database, {@link #h2(Path)} against one on disk, {@link #postgresql()} only renders them with the PostgreSQL
+ * dialect, for the functions H2 lacks.
+ * </p>
+ */
+final class JpaTestDatabase implements AutoCloseable {
+
+    @Entity
+    @Table(name = "country")
+    public static class Country {
+        @Id
+        @GeneratedValue
+        Long id;
+        String code;
+    }
+
+    @Entity
+    @Table(name = "customer")
+    public static class Customer {
+        @Id
+        @GeneratedValue
+        Long id;
+        String name;
+        @ManyToOne(fetch = FetchType.LAZY)
+        Country country;
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Entity
+    @Table(name = "order_line")
+    public static class Line {
+        @Id
+        @GeneratedValue
+        Long id;
+        String product;
+        int quantity;
+    }
+
+    @Entity
+    @Table(name = "orders")
+    public static class PurchaseOrder {
+        @Id
+        @GeneratedValue
+        Long id;
+        String reference;
+        String status;
+        BigDecimal amount;
+        LocalDate createdAt;
+        @ManyToOne(fetch = FetchType.LAZY)
+        Customer customer;
+        @OneToMany(cascade = CascadeType.ALL)
+        @JoinColumn(name = "order_id")
+        List<Line> lines = new ArrayList<>();
+    }
+
+    private final RecordingDataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private JpaTestDatabase(RecordingDataSource dataSource, HibernatePersistenceConfiguration configuration) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = configuration.createEntityManagerFactory();
+    }
+
+    /**
+     * @return a session factory over a new in-memory H2 database, whose schema is created from the entities.
+     */
+    static JpaTestDatabase h2() {
+        return h2("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    /**
+     * @param directory the directory of the database files.
+     * @return a session factory over a new H2 database stored on disk, for data sets larger than the heap.
+     */
+    static JpaTestDatabase h2(Path directory) {
+        return h2("jdbc:h2:file:" + directory.resolve("test").toAbsolutePath());
+    }
+
+    private static JpaTestDatabase h2(String url) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL(url);
+        RecordingDataSource dataSource = new RecordingDataSource(h2);
+        return new JpaTestDatabase(dataSource, configuration(dataSource)
+                .schemaToolingAction(Action.CREATE_DROP));
+    }
+
+    /**
+     * @return a session factory with the PostgreSQL dialect and no database: statements are recorded, not run,
+     * and queries return no rows.
+     */
+    static JpaTestDatabase postgresql() {
+        RecordingDataSource dataSource = new RecordingDataSource(null);
+        return new JpaTestDatabase(dataSource, configuration(dataSource)
+                .property(JdbcSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .property(JdbcSettings.ALLOW_METADATA_ON_BOOT, false));
+    }
+
+    private static HibernatePersistenceConfiguration configuration(RecordingDataSource dataSource) {
+        return new HibernatePersistenceConfiguration("test")
+                .managedClasses(Country.class, Customer.class, Line.class, PurchaseOrder.class)
+                .property(JdbcSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+    }
+
+    EntityManagerFactory entityManagerFactory() {
+        return entityManagerFactory;
+    }
+
+    RecordingDataSource dataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactory.close();
+    }
+}
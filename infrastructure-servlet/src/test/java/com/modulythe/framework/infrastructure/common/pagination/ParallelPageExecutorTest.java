@@ -0,0 +1,104 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.PageModel;
+import com.modulythe.framework.domain.common.pagination.PageableModel;
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelPageExecutorTest {
+
+    private final ParallelPageExecutor executor = new ParallelPageExecutor(TransactionOperations.withoutTransaction());
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldRunContentAndCountConcurrently() {
+        // Each query waits for the other to start: run one after the other, they would both time out
+        CountDownLatch started = new CountDownLatch(2);
+
+        PageModel<String> page = executor.page(
+                () -> {
+                    awaitOther(started);
+                    return List.of("a", "b");
+                },
+                () -> {
+                    awaitOther(started);
+                    return 5;
+                },
+                PageableModel.of(0, 2, SortModel.empty()));
+
+        assertEquals(List.of("a", "b"), page.getItems());
+        assertEquals(5, page.getTotalItems());
+    }
+
+    @Test
+    void shouldCancelCount_WhenContentFails() throws InterruptedException {
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch countInterrupted = new CountDownLatch(1);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> executor.page(
+                () -> {
+                    awaitQuietly(countStarted);
+                    throw new IllegalStateException("content failed");
+                },
+                () -> {
+                    countStarted.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                    } catch (InterruptedException e) {
+                        countInterrupted.countDown();
+                    }
+                    return 0;
+                },
+                PageableModel.of(0, 2, SortModel.empty())));
+
+        assertEquals("content failed", failure.getMessage());
+        assertTrue(countInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldSkipCount_WhenSliceIsRequested() {
+        AtomicBoolean counted = new AtomicBoolean();
+
+        PageModel<String> slice = executor.page(
+                () -> List.of("a", "b", "c"),
+                () -> {
+                    counted.set(true);
+                    return 0;
+                },
+                PageableModel.slice(0, 2, SortModel.empty()));
+
+        assertFalse(counted.get());
+        assertTrue(slice.isSlice());
+        assertTrue(slice.hasNext());
+        assertEquals(List.of("a", "b"), slice.getItems());
+    }
+
+    private static void awaitOther(CountDownLatch started) {
+        started.countDown();
+        if (!awaitQuietly(started)) {
+            throw new IllegalStateException("Queries did not run concurrently");
+        }
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Records the JDBC statements run through a data source: their SQL, bound parameters, fetch size and timeout, and
+ * whether they were closed, along with the savepoints of the connections.
+ * <p>
+ * Without target, statements are not run and read no rows, so that the SQL rendered for another database than H2
+ * can be checked.
+ * </p>
+ */
+final class RecordingDataSource implements DataSource {
+
+    /**
+     * A statement prepared or created on a recorded connection.
+     */
+    static final class RecordedStatement {
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private String sql;
+        private int fetchSize;
+        private int timeout;
+        private int queryTimeout;
+        private boolean closed;
+
+        String sql() {
+            return sql;
+        }
+
+        List<Object> parameters() {
+            return List.copyOf(parameters.values());
+        }
+
+        int fetchSize() {
+            return fetchSize;
+        }
+
+        /**
+         * @return the query timeout of the statement when it was last executed, in seconds: Hibernate resets it
+         * when releasing the statement.
+         */
+        int queryTimeout() {
+            return queryTimeout;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private final DataSource target;
+    private final List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> savepoints = Collections.synchronizedList(new ArrayList<>());
+
+    RecordingDataSource(DataSource target) {
+        this.target = target;
+    }
+
+    /**
+     * @return the statements run since the last {@link #clear()}, in order.
+     */
+    List<RecordedStatement> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    /**
+     * @return the statements whose SQL contains the given text.
+     */
+    List<RecordedStatement> statements(String sqlPart) {
+        return statements().stream()
+                .filter(statement -> statement.sql != null && statement.sql.toLowerCase().contains(sqlPart.toLowerCase()))
+                .toList();
+    }
+
+    /**
+     * @return the savepoint calls since the last {@link #clear()}: "set", "rollback" or "release".
+     */
+    List<String> savepoints() {
+        synchronized (savepoints) {
+            return List.copyOf(savepoints);
+        }
+    }
+
+    void clear() {
+        statements.clear();
+        savepoints.clear();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(target != null ? target.getConnection() : null));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class,
+                new ConnectionHandler(target != null ? target.getConnection(username, password) : null));
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // not logged
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // no timeout
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+        return Logger.getGlobal();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        throw new SQLException("Not a wrapper");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return false;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private boolean autoCommit = true;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement", "prepareCall", "createStatement" -> {
+                    RecordedStatement recorded = new RecordedStatement();
+                    recorded.sql = args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+                    statements.add(recorded);
+                    Object statement = connection != null ? delegate(connection, method, args) : null;
+                    return proxy(method.getReturnType(), new StatementHandler(recorded, statement));
+                }
+                case "setSavepoint" -> savepoints.add("set");
+                case "rollback" -> {
+                    if (args != null) {
+                        savepoints.add("rollback");
+                    }
+                }
+                case "releaseSavepoint" -> savepoints.add("release");
+                case "setAutoCommit" -> autoCommit = (Boolean) args[0];
+                default -> {
+                    // delegated
+                }
+            }
+            if (connection != null) {
+                return delegate(connection, method, args);
+            }
+            return switch (method.getName()) {
+                case "getAutoCommit" -> autoCommit;
+                case "isValid" -> true;
+                case "unwrap" -> proxy;
+                default -> defaultValue(method.getReturnType());
+            };
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final RecordedStatement recorded;
+        private final Object statement;
+
+        StatementHandler(RecordedStatement recorded, Object statement) {
+            this.recorded = recorded;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("setFetchSize")) {
+                recorded.fetchSize = (Integer) args[0];
+            } else if (name.equals("setQueryTimeout")) {
+                recorded.timeout = (Integer) args[0];
+            } else if (name.equals("close")) {
+                recorded.closed = true;
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recorded.parameters.put(index, args[1]);
+            } else if (name.startsWith("execute")) {
+                recorded.queryTimeout = recorded.timeout;
+                if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                    recorded.sql = sql;
+                }
+            }
+            if (statement != null) {
+                return delegate(statement, method, args);
+            }
+            if (name.equals("executeQuery") || name.equals("getResultSet")) {
+                return proxy(ResultSet.class, (resultSet, resultSetMethod, resultSetArgs) ->
+                        defaultValue(resultSetMethod.getReturnType()));
+            }
+            if (name.equals("getUpdateCount")) {
+                return -1;
+            }
+            return defaultValue(method.getReturnType());
+        }
+    }
+
+    private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        return type == boolean.class ? Boolean.FALSE : Array.get(Array.newInstance(type, 1), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        Class<?> proxied = type == Statement.class ? PreparedStatement.class : type;
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[]{proxied}, handler);
+    }
+}
@@ -0,0 +1,86 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServletStreamBuilderTest {
+
+    record Row(int id, String label) {
+    }
+
+    /**
+     * Counts the written lines without retaining them.
+     */
+    static class LineCountingOutputStream extends OutputStream {
+        long lines;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+
+    @Test
+    void shouldEscapeCsvValues() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ServletStreamBuilder.writeCsv(
+                Stream.of(new Row(1, "plain"), new Row(-2, "with, comma"), new Row(3, "say \"hi\""), new Row(4, "=SUM(A1)")),
+                out, List.of("id", "label"), row -> List.of(row.id(), row.label()));
+
+        assertEquals("id,label\r\n1,plain\r\n-2,\"with, comma\"\r\n3,\"say \"\"hi\"\"\"\r\n4,'=SUM(A1)\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ServletStreamBuilder.writeNdjson(Stream.of(new Row(1, "a"), new Row(2, "b")), out, new ObjectMapper());
+
+        assertEquals("{\"id\":1,\"label\":\"a\"}\n{\"id\":2,\"label\":\"b\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldExportOneMillionRowsLazily() throws IOException {
+        // Rows are generated on demand, as a database cursor would return them: nothing is retained but the current row
+        AtomicInteger clears = new AtomicInteger();
+        Stream<Row> rows = JpaStreamingQuery.clearingEvery(
+                IntStream.range(0, 1_000_000).mapToObj(i -> new Row(i, "label-" + i)),
+                JpaStreamingQuery.DEFAULT_CLEAR_EVERY,
+                clears::incrementAndGet);
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        try (rows) {
+            ServletStreamBuilder.writeCsv(rows, out, List.of("id", "label"), row -> List.of(row.id(), row.label()));
+        }
+
+        assertEquals(1_000_001, out.lines);
+        assertEquals(1_000, clears.get());
+    }
+
+    @Test
+    void shouldClearBeforeReadingTheNextChunk() {
+        AtomicInteger clears = new AtomicInteger();
+        List<Integer> clearsSeenByRow = JpaStreamingQuery.clearingEvery(Stream.of(1, 2, 3, 4, 5), 2, clears::incrementAndGet)
+                .map(row -> clears.get())
+                .toList();
+
+        assertEquals(List.of(0, 0, 1, 1, 2), clearsSeenByRow);
+    }
+}
@@ -0,0 +1,85 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.SortModel;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import com.modulythe.framework.infrastructure.common.pagination.ServletStreamBuilderTest.LineCountingOutputStream;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports a million orders from an H2 database on disk through {@link JpaStreamingQuery} and
+ * {@link ServletStreamBuilder}, as a controller would.
+ * <p>
+ * Run by the {@code constrained-heap} execution of surefire, with a heap far smaller than the million entities:
+ * the export only succeeds if consumed rows are released as it goes.
+ * </p>
+ */
+class ServletStreamExportTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int INSERT_CHUNK = 100_000;
+    private static final long MAX_HEAP = 128L * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private JpaTestDatabase database;
+
+    @BeforeEach
+    void insertOrders() {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP, "Only meaningful with a constrained heap, e.g. -Xmx96m");
+        database = JpaTestDatabase.h2(directory);
+        for (int chunk = 0; chunk < ROWS / INSERT_CHUNK; chunk++) {
+            int first = chunk * INSERT_CHUNK + 1;
+            int last = first + INSERT_CHUNK - 1;
+            database.entityManagerFactory().runInTransaction(entityManager -> entityManager.createNativeQuery(
+                            "insert into orders (id, reference, status) select x, concat('R-', x), 'OPEN' from system_range(?, ?)")
+                    .setParameter(1, first)
+                    .setParameter(2, last)
+                    .executeUpdate());
+        }
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    void shouldExportOneMillionOrders_WithFlatHeap() throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(new JpaTransactionManager(database.entityManagerFactory()));
+        transaction.setReadOnly(true);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(database.entityManagerFactory());
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = ServletStreamBuilder.csv(
+                transaction,
+                () -> JpaStreamingQuery.builder(entityManager, PurchaseOrder.class)
+                        .sort(SortModel.by(List.of(SortModel.Order.by("id", SortModel.Direction.ASC))))
+                        .build()
+                        .stream(),
+                List.of("id", "reference", "status"),
+                order -> List.of(order.id, order.reference, order.status));
+        response.getBody().writeTo(out);
+
+        assertEquals(ROWS + 1, out.lines);
+        assertEquals(JpaStreamingQuery.DEFAULT_FETCH_SIZE, database.dataSource().statements("from orders").get(0).fetchSize());
+    }
+}
@@ -0,0 +1,76 @@
+package com.modulythe.framework.infrastructure.common.pagination;
+
+import com.modulythe.framework.domain.common.pagination.Filter;
+import com.modulythe.framework.domain.common.pagination.FilterString;
+import com.modulythe.framework.infrastructure.common.pagination.JpaTestDatabase.PurchaseOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Renders the text searches of {@link FilterSpecificationBuilder} through Hibernate with the PostgreSQL dialect, to
+ * check the SQL of the functions registered by {@link TextSearchFunctionContributor} and their parameters.
+ */
+class TextSearchFunctionContributorTest {
+
+    private final JpaTestDatabase database = JpaTestDatabase.postgresql();
+
+    @AfterEach
+    void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    void shouldRenderFullTextSearch_WithLiteralLanguage_AndBoundText() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.POSTGRES_FULL_TEXT, "reference", "customer.name")
+                .language("english")
+                .build();
+
+        RecordingDataSource.RecordedStatement select = findAll(search, "desk lamp");
+
+        String document = "to_tsvector(cast('english' as regconfig), concat_ws(' ',po1_0.reference,c1_0.name))";
+        String query = "websearch_to_tsquery(cast('english' as regconfig), ?)";
+        assertTrue(select.sql().contains("where (" + document + " @@ " + query + ")"), select.sql());
+        assertTrue(select.sql().contains("order by ts_rank(" + document + ", " + query + ") desc"), select.sql());
+        assertEquals(List.of("desk lamp", "desk lamp", 0, 10), select.parameters());
+    }
+
+    @Test
+    void shouldRenderTrigramSearch_WithBoundText() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.POSTGRES_TRIGRAM, "reference", "customer.name").build();
+
+        RecordingDataSource.RecordedStatement select = findAll(search, "desk");
+
+        assertTrue(select.sql().contains("where ((? <% po1_0.reference) or (? <% c1_0.name))"), select.sql());
+        assertTrue(select.sql().contains("order by greatest(word_similarity(?, po1_0.reference),"
+                + "word_similarity(?, c1_0.name)) desc"), select.sql());
+        assertEquals(List.of("desk", "desk", "desk", "desk", 0, 10), select.parameters());
+    }
+
+    @Test
+    void shouldShareStatement_WhenSearchTextsDiffer() {
+        TextSearch search = TextSearch.builder(TextSearch.Backend.POSTGRES_FULL_TEXT, "reference").build();
+
+        String first = findAll(search, "desk").sql();
+        database.dataSource().clear();
+        String second = findAll(search, "lamp").sql();
+
+        assertEquals(first, second);
+    }
+
+    private RecordingDataSource.RecordedStatement findAll(TextSearch search, String text) {
+        FilterSpecificationBuilder<PurchaseOrder> builder = new FilterSpecificationBuilder<>(PurchaseOrder.class)
+                .textSearch("search", search);
+        List<Filter> filters = List.of(new FilterString("search", text));
+        Specification<PurchaseOrder> specification = builder.build(filters).and(builder.orderByRelevance(filters));
+        database.entityManagerFactory().runInTransaction(entityManager ->
+                new SimpleJpaRepository<>(PurchaseOrder.class, entityManager).findAll(specification, PageRequest.of(0, 10)));
+        return database.dataSource().statements("from orders").get(0);
+    }
+}